@@ -39,6 +39,7 @@ import ai.grakn.graql.QueryBuilder;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * <p>
@@ -204,6 +205,19 @@ public interface GraknTx extends AutoCloseable{
     @Nullable
     <T extends Concept> T getConcept(ConceptId id);
 
+    /**
+     * Get the {@link Concept}s with the identifiers provided, if they exist.
+     * This is faster than getting each {@link Concept} in turn because the lookups are batched.
+     *
+     * @param ids Unique identifiers for {@link Concept}s in the graph.
+     * @return The {@link Concept}s which exist, keyed by their identifier. Identifiers with no {@link Concept} are left out.
+     *
+     * @throws GraknTxOperationException if the graph is closed
+     * @throws ClassCastException if a concept is not an instance of {@link T}
+     */
+    @CheckReturnValue
+    <T extends Concept> Map<ConceptId, T> getConcepts(Collection<ConceptId> ids);
+
     /**
      * Get the {@link SchemaConcept} with the label provided, if it exists.
      *
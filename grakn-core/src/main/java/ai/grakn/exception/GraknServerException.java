@@ -27,6 +27,7 @@ import static ai.grakn.util.ErrorMessage.CANNOT_DELETE_KEYSPACE;
 import static ai.grakn.util.ErrorMessage.ENGINE_ERROR;
 import static ai.grakn.util.ErrorMessage.EXPLAIN_ONLY_MATCH;
 import static ai.grakn.util.ErrorMessage.INVALID_CONTENT_TYPE;
+import static ai.grakn.util.ErrorMessage.INVALID_POSITIVE_REQUEST_PARAMETER;
 import static ai.grakn.util.ErrorMessage.INVALID_QUERY_USAGE;
 import static ai.grakn.util.ErrorMessage.MISSING_MANDATORY_BODY_REQUEST_PARAMETERS;
 import static ai.grakn.util.ErrorMessage.MISSING_MANDATORY_REQUEST_PARAMETERS;
@@ -88,6 +89,13 @@ public class GraknServerException extends GraknBackendException {
         return new GraknServerException(MISSING_MANDATORY_REQUEST_PARAMETERS.getMessage(parameter), 400);
     }
 
+    /**
+     * Thrown when a request has a parameter which should be a positive integer but is not
+     */
+    public static GraknServerException requestInvalidPositiveParameter(String parameter, String value){
+        return new GraknServerException(INVALID_POSITIVE_REQUEST_PARAMETER.getMessage(parameter, value), 400);
+    }
+
     /**
      * Thrown when a request is missing mandatory parameters in the body
      */
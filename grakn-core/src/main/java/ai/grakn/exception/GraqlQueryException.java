@@ -40,6 +40,7 @@ import static ai.grakn.util.ErrorMessage.INSERT_UNDEFINED_VARIABLE;
 import static ai.grakn.util.ErrorMessage.INVALID_VALUE;
 import static ai.grakn.util.ErrorMessage.NEGATIVE_OFFSET;
 import static ai.grakn.util.ErrorMessage.NON_POSITIVE_LIMIT;
+import static ai.grakn.util.ErrorMessage.PERCENTILE_OUT_OF_RANGE;
 import static ai.grakn.util.ErrorMessage.VARIABLE_NOT_IN_QUERY;
 
 /**
@@ -208,6 +209,10 @@ public class GraqlQueryException extends GraknException{
         return new GraqlQueryException(NEGATIVE_OFFSET.getMessage(offset));
     }
 
+    public static GraqlQueryException percentileOutOfRange(int percentile) {
+        return new GraqlQueryException(PERCENTILE_OUT_OF_RANGE.getMessage(percentile));
+    }
+
     public static GraqlQueryException noSelectedVars() {
         return new GraqlQueryException(ErrorMessage.SELECT_NONE_SELECTED.getMessage());
     }
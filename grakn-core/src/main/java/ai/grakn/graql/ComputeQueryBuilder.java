@@ -27,6 +27,7 @@ import ai.grakn.graql.analytics.MeanQuery;
 import ai.grakn.graql.analytics.MedianQuery;
 import ai.grakn.graql.analytics.MinQuery;
 import ai.grakn.graql.analytics.PathQuery;
+import ai.grakn.graql.analytics.PercentileQuery;
 import ai.grakn.graql.analytics.StdQuery;
 import ai.grakn.graql.analytics.SumQuery;
 
@@ -89,6 +90,13 @@ public interface ComputeQueryBuilder {
     @CheckReturnValue
     MedianQuery median();
 
+    /**
+     * @param percentile the percentile to estimate, between 0 and 100
+     * @return a percentile query that will estimate the given percentile of values of the given resource types
+     */
+    @CheckReturnValue
+    PercentileQuery percentile(int percentile);
+
     /**
      * @return a path query that will find the shortest path between two instances
      */
@@ -27,6 +27,15 @@ import java.util.Collection;
 /**
  * Count the number of instances in the subgraph.
  *
+ * The count is answered from the instance counts maintained for each type when they are known, and by scanning the
+ * subgraph with an analytics job otherwise. Types which have never had an instance are counted as empty without
+ * scanning.
+ * <p>
+ * Exact counts are the last counts recorded by engine, plus the changes of the commit logs received by the engine
+ * answering the query which have not been counted yet. When several engines share a keyspace, the changes of commit
+ * logs sent to another engine are only included once they have been counted, which happens after the post processing
+ * delay.
+ *
  * @author Jason Liu
  */
 
@@ -46,6 +55,21 @@ public interface CountQuery extends ComputeQuery<Long> {
     @Override
     CountQuery in(Collection<Label> subLabels);
 
+    /**
+     * Answer the query from the running estimates of the instance counts, which may miss recent commits, rather than
+     * from exact counts. The subgraph is only scanned if there is no estimate for one of its types.
+     *
+     * @return a CountQuery answered from approximate counts
+     */
+    CountQuery approximate();
+
+    /**
+     * Always count by scanning the subgraph with an analytics job, ignoring the maintained instance counts.
+     *
+     * @return a CountQuery which scans the subgraph
+     */
+    CountQuery scan();
+
     /**
      * Execute the query.
      *
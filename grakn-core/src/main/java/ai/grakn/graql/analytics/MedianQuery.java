@@ -58,6 +58,14 @@ public interface MedianQuery extends ComputeQuery<Optional<Number>> {
     @Override
     MedianQuery in(Collection<Label> subLabels);
 
+    /**
+     * Estimate the median in a single pass over the resources, rather than finding it exactly in several passes.
+     * The estimate is within a small fraction of the number of values of the exact median.
+     *
+     * @return a MedianQuery which estimates the median
+     */
+    MedianQuery approximate();
+
     /**
      * Execute the query.
      *
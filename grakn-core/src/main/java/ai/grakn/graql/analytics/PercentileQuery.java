@@ -0,0 +1,79 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.analytics;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.Label;
+import ai.grakn.graql.ComputeQuery;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Estimate a percentile of the selected resource-type in a single pass over the resources.
+ * <p>
+ * The estimate is most accurate for extreme percentiles, and is within a small fraction of the number of values of
+ * the exact percentile.
+ *
+ * @author pluraliseseverythings
+ */
+public interface PercentileQuery extends ComputeQuery<Optional<Number>> {
+
+    /**
+     * @param resourceTypeLabels an array of types of resources to execute the query on
+     * @return a PercentileQuery with the subTypeLabels set
+     */
+    PercentileQuery of(String... resourceTypeLabels);
+
+    /**
+     * @param resourceLabels a collection of types of resources to execute the query on
+     * @return a PercentileQuery with the subTypeLabels set
+     */
+    PercentileQuery of(Collection<Label> resourceLabels);
+
+    /**
+     * @param subTypeLabels an array of types to include in the subgraph
+     * @return a PercentileQuery with the subTypeLabels set
+     */
+    @Override
+    PercentileQuery in(String... subTypeLabels);
+
+    /**
+     * @param subLabels a collection of types to include in the subgraph
+     * @return a PercentileQuery with the subLabels set
+     */
+    @Override
+    PercentileQuery in(Collection<Label> subLabels);
+
+    /**
+     * Execute the query.
+     *
+     * @return the estimated percentile if the given resource types have instances, otherwise an empty Optional
+     * instance
+     */
+    @Override
+    Optional<Number> execute();
+
+    /**
+     * @param tx the graph to execute the query on
+     * @return a PercentileQuery with the graph set
+     */
+    @Override
+    PercentileQuery withTx(GraknTx tx);
+}
@@ -0,0 +1,89 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.admin;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.Attribute;
+import ai.grakn.concept.ConceptId;
+
+import javax.annotation.CheckReturnValue;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * <p>
+ *     Serialises the creation of {@link Attribute}s with the same index across transactions
+ * </p>
+ *
+ * <p>
+ *     A transaction which is about to create a new {@link Attribute} first reserves the index of the
+ *     {@link Attribute}. The reservation is held until the transaction is closed, so a concurrent transaction
+ *     creating the same {@link Attribute} waits for the first one to commit and then reuses the {@link Attribute} it
+ *     committed rather than creating a duplicate.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public interface AttributeReservations {
+
+    /**
+     * Waits for any other holder of the index to release it and then reserves it. Implementations must not let two
+     * transactions wait on each other, for example by only waiting for reservations which come after all the
+     * reservations already held in a fixed order.
+     *
+     * @param keyspace The {@link Keyspace} of the transaction making the reservation
+     * @param index The index of the {@link Attribute} about to be created
+     * @param held The reservations already held by the transaction
+     * @return The reservation, or nothing if the index could not be reserved. In that case the
+     * {@link Attribute} can still be created and any duplicate is merged by post processing.
+     */
+    @CheckReturnValue
+    Optional<Reservation> reserve(Keyspace keyspace, String index, Collection<Reservation> held);
+
+    /**
+     * Forgets the {@link Attribute}s committed under reservations in a {@link Keyspace} which has been deleted
+     *
+     * @param keyspace The deleted {@link Keyspace}
+     */
+    void clear(Keyspace keyspace);
+
+    /**
+     * A reserved {@link Attribute} index held by a single transaction
+     */
+    interface Reservation {
+
+        /**
+         * @return The id of the {@link Attribute} committed by a previous holder of the reservation, if it is known
+         */
+        @CheckReturnValue
+        Optional<ConceptId> attributeId();
+
+        /**
+         * Releases the reservation after the {@link Attribute} was committed, so later holders can reuse it.
+         *
+         * @param attributeId The id of the committed {@link Attribute}
+         */
+        void releaseCommitted(ConceptId attributeId);
+
+        /**
+         * Releases the reservation without committing an {@link Attribute}
+         */
+        void release();
+    }
+}
@@ -174,12 +174,77 @@ public interface GraknAdmin {
      */
     void updateConceptCounts(Map<ConceptId, Long> conceptCounts);
 
+    /**
+     * Get the statistics which describe the data in this keyspace. These are shared across transactions.
+     *
+     * @return The {@link KeyspaceStatistics} of this keyspace
+     */
+    @CheckReturnValue
+    KeyspaceStatistics statistics();
+
+    /**
+     * Get the version of the schema of this keyspace. The version is stored in the keyspace and is replaced by a new
+     * random version whenever a transaction which modifies the schema is committed, so it identifies the schema across
+     * transactions, engines and recreated keyspaces and can be used to key anything derived from the schema.
+     *
+     * @return The current version of the schema
+     */
+    @CheckReturnValue
+    long getSchemaVersion();
+
+    /**
+     * Check whether this transaction has made changes which have not been committed yet.
+     *
+     * @return true if the schema or any instance has been modified in this transaction
+     */
+    @CheckReturnValue
+    boolean isModified();
+
+    /**
+     * Check whether this transaction has made changes to the schema which have not been committed yet.
+     *
+     * @return true if the schema has been modified in this transaction
+     */
+    @CheckReturnValue
+    boolean isSchemaModified();
+
+    /**
+     * Makes this transaction reserve the index of every {@link ai.grakn.concept.Attribute} it creates, so that
+     * concurrent transactions creating the same {@link ai.grakn.concept.Attribute} converge on a single one rather
+     * than relying on post processing to merge the duplicates. The reservations are released when the transaction is
+     * closed.
+     *
+     * @param reservations The service used to reserve attribute indices
+     */
+    void reserveAttributesWith(AttributeReservations reservations);
+
     /**
      * Creates a new shard for the concept
      * @param conceptId the id of the concept to shard
      */
     void shard(ConceptId conceptId);
 
+    /**
+     * Replaces the hashes of {@link ai.grakn.concept.Relationship}s which were created before relationship hashes were
+     * fixed width digests. This must be done once for each keyspace created by an older version, after which the
+     * transaction must be committed, so that duplicate relationships are detected. A running engine does this when
+     * it is sent a {@code RelationshipHashMigrationTask} for the keyspace.
+     *
+     * @return the number of relationships whose hash was replaced
+     */
+    long migrateRelationshipHashes();
+
+    /**
+     * Copies the values of {@link ai.grakn.concept.Attribute}s which were created before attribute values were
+     * indexed onto their isa edges, and marks the shards they belong to as indexed. Until this is done, comparisons
+     * of those attributes are answered by reading every attribute of their shards. This must be done once for each
+     * keyspace created by an older version, after which the transaction must be committed. A running engine does this
+     * when it is sent an {@code AttributeValueIndexMigrationTask} for the keyspace.
+     *
+     * @return the number of attributes whose value was indexed
+     */
+    long migrateAttributeValueIndex();
+
     /**
      *
      * @param key The concept property tp search by.
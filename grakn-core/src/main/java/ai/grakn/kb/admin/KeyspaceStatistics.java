@@ -0,0 +1,156 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.admin;
+
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Role;
+import ai.grakn.concept.Type;
+
+import javax.annotation.CheckReturnValue;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Statistics describing the data in a single keyspace
+ * </p>
+ *
+ * <p>
+ *     These statistics are shared by all transactions of a keyspace and are used by the query planner to estimate
+ *     the cost of traversals. They are refreshed incrementally as transactions commit and as the engine processes
+ *     commit logs, so they should be treated as estimates rather than exact values.
+ * </p>
+ *
+ * <p>
+ *     Exact instance counts are only known once an authoritative count has been recorded. They are kept exact by
+ *     adding the changes of the commit logs which have been received but not yet counted. Those changes are recorded
+ *     in batches, which are the unit in which commit logs are counted, so that the changes of a batch are only
+ *     dropped by the statistics which recorded them. Only the commit logs received by this JVM are recorded, so when
+ *     several engines share a keyspace the changes of commit logs received by the others are missing until counted.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public interface KeyspaceStatistics {
+
+    /**
+     * @param typeId The id of a {@link Type}
+     * @return The number of direct instances of the {@link Type}, if it is known
+     */
+    @CheckReturnValue
+    Optional<Long> instanceCount(ConceptId typeId);
+
+    /**
+     * @param typeId The id of a {@link Type}
+     * @return The exact number of direct instances of the {@link Type}, if an authoritative count has been recorded
+     */
+    @CheckReturnValue
+    Optional<Long> exactInstanceCount(ConceptId typeId);
+
+    /**
+     * @param roleId The id of a {@link Role}
+     * @return The number of times the {@link Role} has been played in a relationship, if it is known
+     */
+    @CheckReturnValue
+    Optional<Long> rolePlayerCount(ConceptId roleId);
+
+    /**
+     * Attributes are unique per value, so the number of distinct values of an {@link AttributeType} is the number
+     * of its instances.
+     *
+     * @param attributeTypeId The id of an {@link AttributeType}
+     * @return The number of distinct values of the {@link AttributeType}, if it is known
+     */
+    @CheckReturnValue
+    default Optional<Long> attributeValueCount(ConceptId attributeTypeId) {
+        return instanceCount(attributeTypeId);
+    }
+
+    /**
+     * Values are compared as they are persisted, so dates are given as milliseconds since the epoch. Values which
+     * have since been deleted may still be included.
+     *
+     * @param attributeTypeId The id of an {@link AttributeType} whose values are numbers or dates
+     * @return The smallest value added to the {@link AttributeType}, if it is known
+     */
+    @CheckReturnValue
+    Optional<Double> minimumValue(ConceptId attributeTypeId);
+
+    /**
+     * Values are compared as they are persisted, so dates are given as milliseconds since the epoch. Values which
+     * have since been deleted may still be included.
+     *
+     * @param attributeTypeId The id of an {@link AttributeType} whose values are numbers or dates
+     * @return The largest value added to the {@link AttributeType}, if it is known
+     */
+    @CheckReturnValue
+    Optional<Double> maximumValue(ConceptId attributeTypeId);
+
+    /**
+     * The epoch changes whenever an instance or role player count becomes known, or at least doubles or halves since
+     * the epoch last changed. Plans built on these statistics only need to be rebuilt when it changes.
+     *
+     * @return The current epoch of the statistics
+     */
+    @CheckReturnValue
+    long epoch();
+
+    /**
+     * Records authoritative instance counts, such as those centrally maintained by engine.
+     *
+     * @param instanceCounts The ids of {@link Type}s mapped to their total number of instances
+     */
+    default void updateInstanceCounts(Map<ConceptId, Long> instanceCounts) {
+        updateInstanceCounts(instanceCounts, Collections.emptySet());
+    }
+
+    /**
+     * Records authoritative instance counts which include the changes of some batches of commit logs. The pending
+     * changes those batches recorded for the counted {@link Type}s are dropped. Batches which were not recorded in
+     * these statistics are ignored.
+     *
+     * @param instanceCounts The ids of {@link Type}s mapped to their total number of instances
+     * @param countedBatches The ids of the batches whose changes are included in the totals
+     */
+    void updateInstanceCounts(Map<ConceptId, Long> instanceCounts, Set<String> countedBatches);
+
+    /**
+     * Records the instance count changes of a commit log which has been received but not yet counted.
+     *
+     * @param batchId The id of the batch the commit log will be counted in
+     * @param pendingChanges The ids of {@link Type}s mapped to the number of instances they have gained or lost
+     */
+    void addPendingInstanceCounts(String batchId, Map<ConceptId, Long> pendingChanges);
+
+    /**
+     * Drops the pending changes of a batch of commit logs which will never be counted.
+     *
+     * @param batchId The id of the batch
+     */
+    void discardPendingInstanceCounts(String batchId);
+
+    /**
+     * @return The ids of the batches with changes which are still pending
+     */
+    @CheckReturnValue
+    Set<String> pendingBatches();
+}
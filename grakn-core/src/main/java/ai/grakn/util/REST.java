@@ -41,6 +41,7 @@ public class REST {
             @Deprecated
             public static final String GRAQL = "/kb/graql";
             public static final String ANY_GRAQL = "/kb/graql/execute";
+            public static final String LOAD = "/kb/load";
         }
 
         /**
@@ -108,6 +109,8 @@ public class REST {
         public static final String TASK_RUN_WAIT_PARAMETER = "wait";
         public static final String TASK_LOADER_MUTATIONS = "mutations";
         public static final String BATCH_NUMBER = "batchNumber";
+        public static final String LOADER_BATCH_SIZE = "batchSize";
+        public static final String LOADER_WRITERS = "writers";
         public static final String LIMIT_PARAM = "limit";
         public static final String OFFSET_PARAM = "offset";
         public static final String TASKS_PARAM = "tasks";
@@ -121,6 +124,9 @@ public class REST {
         public static final String COMMIT_LOG_COUNTING = "types-with-new-counts";
         public static final String COMMIT_LOG_CONCEPT_ID = "concept-id";
         public static final String COMMIT_LOG_SHARDING_COUNT = "sharding-count";
+        public static final String COMMIT_LOG_MODIFIED_TYPES = "modified-types";
+        public static final String COMMIT_LOG_SCHEMA_MODIFIED = "schema-modified";
+        public static final String COMMIT_LOG_COUNTING_BATCH = "counting-batch";
 
         /**
          * Concept controller request parameters
@@ -173,6 +179,7 @@ public class REST {
             public static final String APPLICATION_JSON = "application/json";
             public static final String APPLICATION_TEXT = "application/text";
             public static final String APPLICATION_HAL ="application/hal+json";
+            public static final String APPLICATION_NDJSON = "application/x-ndjson";
             public static final String APPLICATION_ALL ="*/*";
         }
 
@@ -205,6 +212,16 @@ public class REST {
             public static final String ID = "id";
             public static final String STATUS = "status";
         }
+
+        /**
+         * Json fields used to report the progress of a bulk load
+         */
+        public static class Loader {
+            public static final String BATCH = "batch";
+            public static final String LOADED = "loaded";
+            public static final String ERROR = "error";
+            public static final String FAILED_BATCHES = "failed-batches";
+        }
     }
 
     /**
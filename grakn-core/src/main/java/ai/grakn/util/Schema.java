@@ -157,7 +157,9 @@ public final class Schema {
         //Other Properties
         THING_TYPE_LABEL_ID(Integer.class), IS_ABSTRACT(Boolean.class), IS_IMPLICIT(Boolean.class),
         REGEX(String.class), DATA_TYPE(String.class), SHARD_COUNT(Long.class), CURRENT_LABEL_ID(Integer.class),
+        SCHEMA_VERSION(Long.class),
         RULE_WHEN(String.class), RULE_THEN(String.class), CURRENT_SHARD(String.class),
+        IS_VALUE_INDEXED(Boolean.class),
 
         //Supported Data Types
         VALUE_STRING(String.class), VALUE_LONG(Long.class),
@@ -185,7 +187,13 @@ public final class Schema {
         RELATIONSHIP_ROLE_VALUE_LABEL_ID(Integer.class),
         ROLE_LABEL_ID(Integer.class),
         RELATIONSHIP_TYPE_LABEL_ID(Integer.class),
-        REQUIRED(Boolean.class);
+        REQUIRED(Boolean.class),
+
+        //Attribute values copied onto isa edges, so they share their keys with the matching vertex properties
+        VALUE_STRING(String.class), VALUE_LONG(Long.class),
+        VALUE_DOUBLE(Double.class), VALUE_BOOLEAN(Boolean.class),
+        VALUE_INTEGER(Integer.class), VALUE_FLOAT(Float.class),
+        VALUE_DATE(Long.class);
 
         private final Class dataType;
 
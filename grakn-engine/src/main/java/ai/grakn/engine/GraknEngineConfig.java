@@ -63,6 +63,10 @@ public class GraknEngineConfig {
     public static final String SERVER_PORT_NUMBER = "server.port";
 
     public static final String LOADER_REPEAT_COMMITS = "loader.repeat-commits";
+    public static final String LOADER_BATCH_SIZE = "loader.batch-size";
+    public static final String LOADER_WRITERS = "loader.writers";
+    public static final String LOADER_ATTRIBUTE_RESERVATION_TIMEOUT = "loader.attribute-reservation-timeout";
+    public static final String LOADER_ATTRIBUTE_RESERVATION_LEASE = "loader.attribute-reservation-lease";
 
     public static final String REDIS_HOST = "queue.host";
     public static final String REDIS_SENTINEL_HOST = "redis.sentinel.host";
@@ -75,11 +79,22 @@ public class GraknEngineConfig {
 
     // Engine Config
     public static final String TASK_MANAGER_IMPLEMENTATION = "taskmanager.implementation";
+    public static final String SINGLE_ENGINE = "taskmanager.single-engine";
 
     // Delay for the post processing task in milliseconds
     public static final String POST_PROCESSING_TASK_DELAY = "tasks.postprocessing.delay";
+    public static final String POST_PROCESSING_WINDOW = "tasks.postprocessing.window";
+    public static final String POST_PROCESSING_MAX_PENDING = "tasks.postprocessing.max-pending";
     public static final String TASKS_RETRY_DELAY = "tasks.retry.delay";
 
+    // Whether inferred answers are shared across transactions
+    public static final String REASONER_SHARED_CACHE = "reasoner.shared-cache";
+
+    // Whether the loaded graph of a keyspace is reused by later analytics jobs
+    public static final String ANALYTICS_SNAPSHOT = "knowledge-base.analytics.snapshot";
+    public static final String ANALYTICS_SNAPSHOT_STORAGE_LEVEL = "knowledge-base.analytics.snapshot.storage-level";
+    public static final String ANALYTICS_SNAPSHOT_TTL = "knowledge-base.analytics.snapshot.ttl";
+
     public static final int WEBSOCKET_TIMEOUT = 3600000;
 
     private static String configFilePath = null;
@@ -22,15 +22,18 @@ import ai.grakn.engine.controller.CommitLogController;
 import ai.grakn.engine.controller.ConceptController;
 import ai.grakn.engine.controller.DashboardController;
 import ai.grakn.engine.controller.GraqlController;
+import ai.grakn.engine.controller.LoaderController;
 import ai.grakn.engine.controller.SystemController;
 import ai.grakn.engine.controller.TasksController;
 import ai.grakn.engine.controller.UserController;
 import ai.grakn.engine.data.RedisWrapper;
 import ai.grakn.engine.data.RedisWrapper.Builder;
 import ai.grakn.engine.factory.EngineGraknTxFactory;
-import ai.grakn.engine.lock.JedisLockProvider;
+import ai.grakn.engine.lock.JedisNotifyingLockProvider;
 import ai.grakn.engine.lock.LockProvider;
+import ai.grakn.engine.lock.LockingAttributeReservations;
 import ai.grakn.engine.lock.ProcessWideLockProvider;
+import ai.grakn.engine.postprocessing.PostProcessingAggregator;
 import ai.grakn.engine.session.RemoteSession;
 import ai.grakn.engine.tasks.connection.RedisCountStorage;
 import ai.grakn.engine.tasks.manager.StandaloneTaskManager;
@@ -41,6 +44,9 @@ import ai.grakn.engine.util.EngineID;
 import ai.grakn.engine.util.JWTHandler;
 import ai.grakn.exception.GraknBackendException;
 import ai.grakn.exception.GraknServerException;
+import ai.grakn.graql.internal.reasoner.cache.InferredAnswerCache;
+import ai.grakn.kb.internal.ValidationTimes;
+import ai.grakn.kb.internal.computer.GraphSnapshots;
 import ai.grakn.util.GraknVersion;
 import ai.grakn.util.REST;
 import com.codahale.metrics.Gauge;
@@ -68,6 +74,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.function.ObjLongConsumer;
 
 import static ai.grakn.engine.GraknEngineConfig.QUEUE_CONSUMERS;
 import static ai.grakn.engine.GraknEngineConfig.REDIS_HOST;
@@ -100,9 +107,12 @@ public class GraknEngineServer implements AutoCloseable {
     private final EngineID engineId = EngineID.me();
     private final Service spark = Service.ignite();
     private final TaskManager taskManager;
+    private final PostProcessingAggregator postProcessingAggregator;
     private final EngineGraknTxFactory factory;
     private final MetricRegistry metricRegistry;
+    private final ObjLongConsumer<String> validationTimesListener;
     private final LockProvider lockProvider;
+    private final LockingAttributeReservations attributeReservations;
     private final GraknEngineStatus graknEngineStatus = new GraknEngineStatus();
     private final RedisWrapper redisWrapper;
 
@@ -110,16 +120,31 @@ public class GraknEngineServer implements AutoCloseable {
         this.prop = prop;
         // Metrics
         this.metricRegistry = new MetricRegistry();
+        this.validationTimesListener = (kind, nanos) ->
+                metricRegistry.timer(name(ValidationTimes.class, kind)).update(nanos, TimeUnit.NANOSECONDS);
+        ValidationTimes.setListener(validationTimesListener);
         // Redis connection pool
         this.redisWrapper = redisWrapper;
         // Lock provider
         String taskManagerClassName = prop.getProperty(GraknEngineConfig.TASK_MANAGER_IMPLEMENTATION);
         boolean inMemoryQueue = !taskManagerClassName.contains("RedisTaskManager");
-        this.lockProvider = inMemoryQueue ? new ProcessWideLockProvider()
-                : new JedisLockProvider(redisWrapper.getJedisPool());
-        this.factory = EngineGraknTxFactory.create(prop.getProperties());
+        // Locks only need to be shared through redis when several engines share the task queue
+        boolean singleEngine = inMemoryQueue || prop.getPropertyAsBool(GraknEngineConfig.SINGLE_ENGINE, false);
+        this.lockProvider = singleEngine ? new ProcessWideLockProvider()
+                : new JedisNotifyingLockProvider(redisWrapper.getJedisPool(), metricRegistry);
+        this.attributeReservations = new LockingAttributeReservations(
+                singleEngine ? null : lockProvider,
+                prop.tryIntProperty(GraknEngineConfig.LOADER_ATTRIBUTE_RESERVATION_TIMEOUT, 5000),
+                prop.tryIntProperty(GraknEngineConfig.LOADER_ATTRIBUTE_RESERVATION_LEASE, 600000));
+        this.factory = EngineGraknTxFactory.create(prop.getProperties(), attributeReservations);
         // Task manager
         this.taskManager = startTaskManager(inMemoryQueue, redisWrapper.getJedisPool(), lockProvider);
+        // Coalesces commit logs before submitting their post processing to the task manager
+        this.postProcessingAggregator = new PostProcessingAggregator(taskManager,
+                prop.getPropertyAsInt(GraknEngineConfig.POST_PROCESSING_TASK_DELAY),
+                prop.tryIntProperty(GraknEngineConfig.POST_PROCESSING_WINDOW, 1000),
+                prop.tryIntProperty(GraknEngineConfig.POST_PROCESSING_MAX_PENDING, 10000),
+                metricRegistry);
     }
 
     public static GraknEngineServer create(GraknEngineConfig prop) {
@@ -169,7 +194,10 @@ public class GraknEngineServer implements AutoCloseable {
         synchronized (this) {
             stopTaskManager();
             stopHTTP();
+            attributeReservations.close();
+            lockProvider.close();
             redisWrapper.close();
+            ValidationTimes.removeListener(validationTimesListener);
         }
     }
 
@@ -245,7 +273,11 @@ public class GraknEngineServer implements AutoCloseable {
         RemoteSession graqlWebSocket = passwordProtected ? RemoteSession.passwordProtected(usersHandler) : RemoteSession.create();
         spark.webSocket(REST.WebPath.REMOTE_SHELL_URI, graqlWebSocket);
 
-        int postProcessingDelay = prop.getPropertyAsInt(GraknEngineConfig.POST_PROCESSING_TASK_DELAY);
+        InferredAnswerCache.get().setEnabled(prop.getPropertyAsBool(GraknEngineConfig.REASONER_SHARED_CACHE, false));
+        GraphSnapshots.get().configure(
+                prop.getPropertyAsBool(GraknEngineConfig.ANALYTICS_SNAPSHOT, false),
+                prop.tryProperty(GraknEngineConfig.ANALYTICS_SNAPSHOT_STORAGE_LEVEL).orElse(GraphSnapshots.DEFAULT_STORAGE_LEVEL),
+                prop.tryProperty(GraknEngineConfig.ANALYTICS_SNAPSHOT_TTL).map(Long::parseLong).orElse(GraphSnapshots.DEFAULT_TTL_MS));
 
         // Start all the controllers
         new GraqlController(factory, spark, metricRegistry);
@@ -254,8 +286,13 @@ public class GraknEngineServer implements AutoCloseable {
         new SystemController(factory, spark, graknEngineStatus, metricRegistry);
         new AuthController(spark, passwordProtected, jwtHandler, usersHandler);
         new UserController(spark, usersHandler);
-        new CommitLogController(spark, postProcessingDelay, taskManager);
+        new CommitLogController(spark, postProcessingAggregator);
         new TasksController(spark, taskManager, metricRegistry);
+        new LoaderController(factory, spark, postProcessingAggregator,
+                prop.getPropertyAsInt(GraknEngineConfig.LOADER_REPEAT_COMMITS),
+                prop.tryIntProperty(GraknEngineConfig.LOADER_BATCH_SIZE, 100),
+                prop.tryIntProperty(GraknEngineConfig.LOADER_WRITERS, 4),
+                metricRegistry);
 
         // This method will block until all the controllers are ready to serve requests
         spark.awaitInitialization();
@@ -319,6 +356,7 @@ public class GraknEngineServer implements AutoCloseable {
 
     private void stopTaskManager() {
         try {
+            postProcessingAggregator.close();
             taskManager.close();
         } catch (Exception e){
             LOG.error(getFullStackTrace(e));
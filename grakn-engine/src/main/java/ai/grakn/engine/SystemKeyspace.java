@@ -30,6 +30,7 @@ import ai.grakn.engine.factory.EngineGraknTxFactory;
 import ai.grakn.exception.GraknBackendException;
 import ai.grakn.exception.InvalidKBException;
 import ai.grakn.kb.admin.GraknAdmin;
+import ai.grakn.kb.internal.cache.KeyspaceStatisticsImpl;
 import com.google.common.base.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -151,6 +152,9 @@ public class SystemKeyspace {
             graph.admin().commitNoLogs();
         }
 
+        KeyspaceStatisticsImpl.clear(keyspace);
+        factory.keyspaceDeleted(keyspace);
+
         return true;
     }
 
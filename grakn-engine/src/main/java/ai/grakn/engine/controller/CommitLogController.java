@@ -19,15 +19,12 @@
 package ai.grakn.engine.controller;
 
 import ai.grakn.Keyspace;
-import ai.grakn.engine.postprocessing.PostProcessingTask;
-import ai.grakn.engine.postprocessing.UpdatingInstanceCountTask;
-import ai.grakn.engine.tasks.manager.TaskConfiguration;
-import ai.grakn.engine.tasks.manager.TaskManager;
-import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.engine.postprocessing.PostProcessingAggregator;
 import ai.grakn.util.REST;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
+import mjson.Json;
 import spark.Request;
 import spark.Response;
 import spark.Service;
@@ -35,11 +32,12 @@ import spark.Service;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
-import java.util.concurrent.CompletableFuture;
 
 import static ai.grakn.engine.controller.util.Requests.mandatoryQueryParameter;
 import static ai.grakn.util.REST.Request.COMMIT_LOG_COUNTING;
 import static ai.grakn.util.REST.Request.COMMIT_LOG_FIXING;
+import static ai.grakn.util.REST.Request.COMMIT_LOG_MODIFIED_TYPES;
+import static ai.grakn.util.REST.Request.COMMIT_LOG_SCHEMA_MODIFIED;
 import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
 
 /**
@@ -49,12 +47,10 @@ import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
  */
 //TODO Implement delete
 public class CommitLogController {
-    private final TaskManager manager;
-    private final int postProcessingDelay;
+    private final PostProcessingAggregator aggregator;
 
-    public CommitLogController(Service spark, int postProcessingDelay, TaskManager manager){
-        this.postProcessingDelay = postProcessingDelay;
-        this.manager = manager;
+    public CommitLogController(Service spark, PostProcessingAggregator aggregator){
+        this.aggregator = aggregator;
 
         spark.post(REST.WebPath.COMMIT_LOG_URI, this::submitConcepts);
         spark.delete(REST.WebPath.COMMIT_LOG_URI, this::deleteConcepts);
@@ -76,26 +72,19 @@ public class CommitLogController {
     @ApiImplicitParams({
         @ApiImplicitParam(name = "keyspace", value = "The key space of an opened graph", required = true, dataType = "string", paramType = "path"),
         @ApiImplicitParam(name = COMMIT_LOG_FIXING, value = "A Json Array of IDs representing concepts to be post processed", required = true, dataType = "string", paramType = "body"),
-        @ApiImplicitParam(name = COMMIT_LOG_COUNTING, value = "A Json Array types with new and removed instances", required = true, dataType = "string", paramType = "body")
+        @ApiImplicitParam(name = COMMIT_LOG_COUNTING, value = "A Json Array types with new and removed instances", required = true, dataType = "string", paramType = "body"),
+        @ApiImplicitParam(name = COMMIT_LOG_MODIFIED_TYPES, value = "A Json Array of IDs of types with modified instances", dataType = "string", paramType = "body"),
+        @ApiImplicitParam(name = COMMIT_LOG_SCHEMA_MODIFIED, value = "True if the schema was modified", dataType = "boolean", paramType = "body")
     })
     private String submitConcepts(Request req, Response res) {
         Keyspace keyspace = Keyspace.of(mandatoryQueryParameter(req, KEYSPACE_PARAM));
 
-        // Instances to post process
-        TaskState postProcessingTaskState = PostProcessingTask.createTask(this.getClass(), postProcessingDelay);
-        TaskConfiguration postProcessingTaskConfiguration = PostProcessingTask.createConfig(keyspace, req.body());
+        Json commitLog = Json.read(req.body());
 
-        //Instances to count
-        TaskState countingTaskState = UpdatingInstanceCountTask.createTask(this.getClass());
-        TaskConfiguration countingTaskConfiguration = UpdatingInstanceCountTask.createConfig(keyspace, req.body());
-
-        // TODO Use an engine wide executor here
-        CompletableFuture.allOf(
-                CompletableFuture.runAsync(() -> manager.addTask(postProcessingTaskState, postProcessingTaskConfiguration)),
-                CompletableFuture.runAsync(() -> manager.addTask(countingTaskState, countingTaskConfiguration)))
-                .join();
+        // Instances to post process and count are merged with the logs of other transactions
+        aggregator.submit(keyspace, commitLog);
 
         // TODO return Json
-        return "PP Task [ " + postProcessingTaskState.getId().getValue() + " ] and Counting task [" + countingTaskState.getId().getValue() + "] created for graph [" + keyspace + "]";
+        return "Commit log queued for post processing of graph [" + keyspace + "]";
     }
 }
@@ -32,8 +32,11 @@ import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.Printer;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.analytics.PathQuery;
+import ai.grakn.graql.internal.gremlin.TraversalPlanCache;
 import ai.grakn.graql.internal.printer.Printers;
+import ai.grakn.graql.internal.reasoner.cache.InferredAnswerCache;
 import ai.grakn.util.REST;
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import io.swagger.annotations.Api;
@@ -52,7 +55,14 @@ import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 import static ai.grakn.GraknTxType.WRITE;
 import static ai.grakn.engine.controller.util.Requests.mandatoryBody;
@@ -67,6 +77,7 @@ import static ai.grakn.util.REST.Request.Graql.QUERY;
 import static ai.grakn.util.REST.Request.KEYSPACE;
 import static ai.grakn.util.REST.Response.ContentType.APPLICATION_HAL;
 import static ai.grakn.util.REST.Response.ContentType.APPLICATION_JSON_GRAQL;
+import static ai.grakn.util.REST.Response.ContentType.APPLICATION_NDJSON;
 import static ai.grakn.util.REST.Response.ContentType.APPLICATION_TEXT;
 import static com.codahale.metrics.MetricRegistry.name;
 import static java.lang.Boolean.parseBoolean;
@@ -81,10 +92,11 @@ import static java.lang.Boolean.parseBoolean;
  */
 @Path("/graph/graql")
 @Api(value = "/graph/graql", description = "Endpoints used to query the graph by ID or Graql get query and build HAL objects.")
-@Produces({"application/json", "text/plain"})
+@Produces({"application/json", "text/plain", "application/x-ndjson"})
 public class GraqlController {
 
     private static final Logger LOG = LoggerFactory.getLogger(GraqlController.class);
+    private static final int STREAM_FLUSH_INTERVAL = 100;
     private final EngineGraknTxFactory factory;
     private final Timer executeGraqlGetTimer;
     private final Timer executeGraqlPostTimer;
@@ -95,6 +107,16 @@ public class GraqlController {
         this.executeGraqlGetTimer = metricRegistry.timer(name(GraqlController.class, "execute-graql-get"));
         this.executeGraqlPostTimer = metricRegistry.timer(name(GraqlController.class, "execute-graql-post"));
 
+        TraversalPlanCache planCache = TraversalPlanCache.get();
+        metricRegistry.register(name(GraqlController.class, "plan-cache", "hits"), (Gauge<Long>) () -> planCache.stats().hitCount());
+        metricRegistry.register(name(GraqlController.class, "plan-cache", "misses"), (Gauge<Long>) () -> planCache.stats().missCount());
+        metricRegistry.register(name(GraqlController.class, "plan-cache", "size"), (Gauge<Long>) planCache::size);
+
+        InferredAnswerCache answerCache = InferredAnswerCache.get();
+        metricRegistry.register(name(GraqlController.class, "inferred-answer-cache", "hits"), (Gauge<Long>) () -> answerCache.stats().hitCount());
+        metricRegistry.register(name(GraqlController.class, "inferred-answer-cache", "misses"), (Gauge<Long>) () -> answerCache.stats().missCount());
+        metricRegistry.register(name(GraqlController.class, "inferred-answer-cache", "size"), (Gauge<Long>) answerCache::size);
+
         spark.post(REST.WebPath.KB.ANY_GRAQL, this::executeGraql);
         spark.get(REST.WebPath.KB.GRAQL,    this::executeGraqlGET);
 
@@ -121,7 +143,14 @@ public class GraqlController {
 
         try(GraknTx graph = factory.tx(keyspace, WRITE); Timer.Context context = executeGraqlPostTimer.time()) {
             Query<?> query = graph.graql().materialise(materialise).infer(infer).parse(queryString);
-            Object resp = respond(response, acceptType, executeQuery(graph.getKeyspace(), limitEmbedded, query, acceptType));
+            Object resp;
+            if(acceptType.equals(APPLICATION_NDJSON)) {
+                if(!(query instanceof GetQuery)) throw GraknServerException.contentTypeQueryMismatch(acceptType, query);
+                streamAnswers(response, (GetQuery) query);
+                resp = "";
+            } else {
+                resp = respond(response, acceptType, executeQuery(graph.getKeyspace(), limitEmbedded, query, acceptType));
+            }
             graph.commit();
             return resp;
         }
@@ -131,7 +160,8 @@ public class GraqlController {
     @Path("/")
     @ApiOperation(
             value = "Executes graql query on the server and build a representation for each concept in the query result. " +
-                    "Return type is determined by the provided accept type: application/graql+json, application/hal+json or application/text")
+                    "Return type is determined by the provided accept type: application/graql+json, application/hal+json, application/text " +
+                    "or application/x-ndjson. The last streams the answers of a get query as one json object per line.")
     @ApiImplicitParams({
             @ApiImplicitParam(name = KEYSPACE,    value = "Name of graph to use", required = true, dataType = "string", paramType = "query"),
             @ApiImplicitParam(name = QUERY,       value = "Get query to execute", required = true, dataType = "string", paramType = "query"),
@@ -153,6 +183,11 @@ public class GraqlController {
 
             if(!validContentType(acceptType, query)) throw GraknServerException.contentTypeQueryMismatch(acceptType, query);
 
+            if(acceptType.equals(APPLICATION_NDJSON)) {
+                streamAnswers(response, (GetQuery) query);
+                return "";
+            }
+
             Object responseBody = executeGET(graph.getKeyspace(), limitEmbedded, query, acceptType);
             return respond(response, acceptType, responseBody);
         }
@@ -188,6 +223,10 @@ public class GraqlController {
         else if(query instanceof AggregateQuery && acceptType.equals(APPLICATION_HAL)) {
             return false;
         }
+        // Only the answers of get queries can be streamed
+        else if(!(query instanceof GetQuery) && acceptType.equals(APPLICATION_NDJSON)) {
+            return false;
+        }
 
         return true;
     }
@@ -207,6 +246,34 @@ public class GraqlController {
         return responseBody;
     }
 
+    /**
+     * Stream the answers of a query to the client as they are found, with each answer printed as json on its own line.
+     * Answers are only retrieved as fast as the client reads them, so the whole result is never held in memory.
+     *
+     * @param response response to the client
+     * @param query read query to be executed
+     */
+    private static void streamAnswers(Response response, GetQuery query) {
+        response.type(APPLICATION_NDJSON);
+        response.status(200);
+
+        Printer<?> printer = Printers.json();
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(response.raw().getOutputStream(), StandardCharsets.UTF_8));
+            Iterator<String> answers = query.stream().map(printer::graqlString).iterator();
+            int written = 0;
+            while (answers.hasNext()) {
+                writer.write(answers.next());
+                writer.write('\n');
+                if (++written % STREAM_FLUSH_INTERVAL == 0) writer.flush();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Execute a query and return a response in the format specified by the request.
      *
@@ -231,9 +298,8 @@ public class GraqlController {
                 throw GraknServerException.unsupportedContentType(acceptType);
         }
 
-        String formatted = printer.graqlString(query.execute());
-
-        return acceptType.equals(APPLICATION_TEXT) ? formatted : Json.read(formatted);
+        // The response body is a string, so the formatted result does not need to be parsed into json first
+        return printer.graqlString(query.execute());
     }
 
     static String getAcceptType(Request request) {
@@ -0,0 +1,272 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.controller;
+
+import ai.grakn.GraknTx;
+import ai.grakn.Keyspace;
+import ai.grakn.engine.factory.EngineGraknTxFactory;
+import ai.grakn.engine.postprocessing.GraknTxMutators;
+import ai.grakn.engine.postprocessing.PostProcessingAggregator;
+import ai.grakn.exception.GraknServerException;
+import ai.grakn.graql.Graql;
+import ai.grakn.graql.Query;
+import ai.grakn.graql.QueryBuilder;
+import ai.grakn.util.REST;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import mjson.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spark.Request;
+import spark.Response;
+import spark.Service;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static ai.grakn.engine.controller.util.Requests.mandatoryQueryParameter;
+import static ai.grakn.engine.controller.util.Requests.queryParameter;
+import static ai.grakn.util.ErrorMessage.READ_ONLY_QUERY;
+import static ai.grakn.util.REST.Request.KEYSPACE;
+import static ai.grakn.util.REST.Request.LOADER_BATCH_SIZE;
+import static ai.grakn.util.REST.Request.LOADER_WRITERS;
+import static ai.grakn.util.REST.Response.ContentType.APPLICATION_NDJSON;
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * <p>
+ *     Endpoint used to bulk load a stream of insert queries
+ * </p>
+ *
+ * <p>
+ *     The body of the request is a stream of json strings, each on its own line and each containing a single insert
+ *     query. The queries are grouped into batches which are parsed, executed and committed in their own transaction
+ *     by a pool of concurrent writers. Reading the request stops while all the writers are busy, so a client can keep
+ *     a single request open for an entire load.
+ * </p>
+ *
+ * <p>
+ *     The response is a stream of json objects, each on its own line, reporting the outcome of every batch as soon as
+ *     it is known, followed by a summary of the whole load. A failed batch does not stop the load.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class LoaderController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoaderController.class);
+
+    private final EngineGraknTxFactory factory;
+    private final PostProcessingAggregator aggregator;
+    private final int defaultBatchSize;
+    private final int maxWriters;
+    private final int maxRetry;
+    private final Timer batchTimer;
+    private final Meter loadedMeter;
+    private final Meter failedBatchMeter;
+
+    // Query builders are not thread safe, so every writer parses with its own
+    private final ThreadLocal<QueryBuilder> builder = ThreadLocal.withInitial(() -> Graql.withoutGraph().infer(false));
+
+    public LoaderController(EngineGraknTxFactory factory, Service spark, PostProcessingAggregator aggregator,
+                            int maxRetry, int defaultBatchSize, int maxWriters, MetricRegistry metricRegistry) {
+        this.factory = factory;
+        this.aggregator = aggregator;
+        this.maxRetry = maxRetry;
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxWriters = maxWriters;
+        this.batchTimer = metricRegistry.timer(name(LoaderController.class, "batch"));
+        this.loadedMeter = metricRegistry.meter(name(LoaderController.class, "loaded"));
+        this.failedBatchMeter = metricRegistry.meter(name(LoaderController.class, "failed-batches"));
+
+        spark.post(REST.WebPath.KB.LOAD, this::load);
+    }
+
+    @POST
+    @Path("/kb/load")
+    @ApiOperation(value = "Load a stream of insert queries, with one query encoded as a json string on each line. " +
+            "Returns the outcome of every batch as a json object on its own line.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = KEYSPACE, value = "Name of graph to use", required = true, dataType = "string", paramType = "query"),
+            @ApiImplicitParam(name = LOADER_BATCH_SIZE, value = "Number of queries committed in each transaction", dataType = "int", paramType = "query"),
+            @ApiImplicitParam(name = LOADER_WRITERS, value = "Number of transactions committed concurrently", dataType = "int", paramType = "query")
+    })
+    private String load(Request request, Response response) throws IOException {
+        Keyspace keyspace = Keyspace.of(mandatoryQueryParameter(request, KEYSPACE));
+        int batchSize = positiveQueryParameter(request, LOADER_BATCH_SIZE).orElse(defaultBatchSize);
+        int writers = Math.min(maxWriters, positiveQueryParameter(request, LOADER_WRITERS).orElse(maxWriters));
+
+        response.type(APPLICATION_NDJSON);
+        response.status(200);
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.raw().getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.raw().getOutputStream(), StandardCharsets.UTF_8));
+
+        ExecutorService writerPool = Executors.newFixedThreadPool(writers,
+                new ThreadFactoryBuilder().setNameFormat("loader-" + keyspace + "-%s").build());
+
+        // Bounds the number of batches held in memory to those being written and those waiting for a writer
+        Semaphore pendingBatches = new Semaphore(writers * 2);
+        Queue<Json> outcomes = new ConcurrentLinkedQueue<>();
+        LoadSummary summary = new LoadSummary();
+
+        try {
+            int batchNumber = 0;
+            List<String> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    submitBatch(writerPool, pendingBatches, outcomes, keyspace, batchNumber++, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+
+                writeOutcomes(writer, outcomes, summary);
+            }
+            if (!batch.isEmpty()) submitBatch(writerPool, pendingBatches, outcomes, keyspace, batchNumber, batch);
+
+            // Wait for all the batches to finish
+            pendingBatches.acquire(writers * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while loading into " + keyspace, e);
+        } finally {
+            writerPool.shutdownNow();
+        }
+
+        writeOutcomes(writer, outcomes, summary);
+        writeLine(writer, Json.object(
+                REST.Response.Loader.LOADED, summary.loaded,
+                REST.Response.Loader.FAILED_BATCHES, summary.failedBatches));
+        return "";
+    }
+
+    /**
+     * Retrieve an optional query parameter which must be a positive integer, returning a 400 to the client otherwise
+     */
+    private static Optional<Integer> positiveQueryParameter(Request request, String parameter) {
+        return queryParameter(request, parameter).map(value -> {
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed > 0) return parsed;
+            } catch (NumberFormatException e) {
+                // Reported below along with the non positive values
+            }
+            throw GraknServerException.requestInvalidPositiveParameter(parameter, value);
+        });
+    }
+
+    private void submitBatch(ExecutorService writerPool, Semaphore pendingBatches, Queue<Json> outcomes,
+                             Keyspace keyspace, int batchNumber, List<String> batch) throws InterruptedException {
+        pendingBatches.acquire();
+        writerPool.submit(() -> {
+            try {
+                outcomes.add(loadBatch(keyspace, batchNumber, batch));
+            } finally {
+                pendingBatches.release();
+            }
+        });
+    }
+
+    /**
+     * Parse, execute and commit a single batch of queries in one transaction
+     *
+     * @return the outcome of the batch
+     */
+    private Json loadBatch(Keyspace keyspace, int batchNumber, List<String> lines) {
+        try (Timer.Context context = batchTimer.time()) {
+            List<Query<?>> queries = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                Query<?> query = builder.get().<Query<?>>parse(Json.read(line).asString());
+                if (query.isReadOnly()) throw new IllegalArgumentException(READ_ONLY_QUERY.getMessage(query.toString()));
+                queries.add(query);
+            }
+
+            GraknTxMutators.runBatchMutationWithRetry(factory, keyspace, maxRetry, tx -> insert(tx, keyspace, queries));
+
+            loadedMeter.mark(queries.size());
+            return Json.object(REST.Response.Loader.BATCH, batchNumber, REST.Response.Loader.LOADED, queries.size());
+        } catch (RuntimeException e) {
+            LOG.debug("Failed to load batch " + batchNumber + " into " + keyspace, e);
+            failedBatchMeter.mark();
+            return Json.object(REST.Response.Loader.BATCH, batchNumber, REST.Response.Loader.ERROR, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private void insert(GraknTx tx, Keyspace keyspace, List<Query<?>> queries) {
+        queries.forEach(query -> query.withTx(tx).execute());
+
+        Optional<String> logs = tx.admin().commitNoLogs();
+        logs.ifPresent(log -> aggregator.submit(keyspace, Json.read(log)));
+    }
+
+    /**
+     * Write the outcomes of the batches which have finished so far
+     */
+    private static void writeOutcomes(Writer writer, Queue<Json> outcomes, LoadSummary summary) {
+        for (Json outcome = outcomes.poll(); outcome != null; outcome = outcomes.poll()) {
+            if (outcome.has(REST.Response.Loader.ERROR)) {
+                summary.failedBatches++;
+            } else {
+                summary.loaded += outcome.at(REST.Response.Loader.LOADED).asLong();
+            }
+            writeLine(writer, outcome);
+        }
+    }
+
+    private static void writeLine(Writer writer, Json json) {
+        try {
+            writer.write(json.toString());
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class LoadSummary {
+        private long loaded = 0;
+        private long failedBatches = 0;
+    }
+}
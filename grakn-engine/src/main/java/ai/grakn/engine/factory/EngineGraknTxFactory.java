@@ -25,7 +25,9 @@ import ai.grakn.Keyspace;
 import ai.grakn.engine.GraknEngineConfig;
 import ai.grakn.engine.SystemKeyspace;
 import ai.grakn.factory.FactoryBuilder;
+import ai.grakn.kb.admin.AttributeReservations;
 
+import javax.annotation.Nullable;
 import java.util.Properties;
 
 /**
@@ -47,18 +49,28 @@ public class EngineGraknTxFactory {
     private final Properties properties;
     private final String engineURI;
     private final SystemKeyspace systemKeyspace;
+    private final @Nullable AttributeReservations attributeReservations;
 
     public static EngineGraknTxFactory createAndLoadSystemSchema(Properties properties) {
-        return new EngineGraknTxFactory(properties, true);
+        return new EngineGraknTxFactory(properties, true, null);
     }
 
     public static EngineGraknTxFactory create(Properties properties) {
-        return new EngineGraknTxFactory(properties, false);
+        return new EngineGraknTxFactory(properties, false, null);
     }
 
-    private EngineGraknTxFactory(Properties properties, boolean loadSchema) {
+    /**
+     * Creates a factory whose transactions reserve the attributes they create, so that concurrent transactions
+     * converge on a single {@link ai.grakn.concept.Attribute} for each value.
+     */
+    public static EngineGraknTxFactory create(Properties properties, AttributeReservations attributeReservations) {
+        return new EngineGraknTxFactory(properties, false, attributeReservations);
+    }
+
+    private EngineGraknTxFactory(Properties properties, boolean loadSchema, @Nullable AttributeReservations attributeReservations) {
         this.properties = new Properties();
         this.properties.putAll(properties);
+        this.attributeReservations = attributeReservations;
         this.engineURI = properties.getProperty(GraknEngineConfig.SERVER_HOST_NAME) + ":" + properties.getProperty(GraknEngineConfig.SERVER_PORT_NUMBER);
         this.systemKeyspace = new SystemKeyspace(this, loadSchema);
     }
@@ -75,7 +87,20 @@ public class EngineGraknTxFactory {
         if(!keyspace.equals(SystemKeyspace.SYSTEM_KB_KEYSPACE)) {
             systemKeyspace.ensureKeyspaceInitialised(keyspace);
         }
-        return FactoryBuilder.getFactory(keyspace, engineURI, properties).open(type);
+        GraknTx tx = FactoryBuilder.getFactory(keyspace, engineURI, properties).open(type);
+        if(attributeReservations != null && !GraknTxType.READ.equals(type)) {
+            tx.admin().reserveAttributesWith(attributeReservations);
+        }
+        return tx;
+    }
+
+    /**
+     * Forgets the state this factory keeps about a {@link Keyspace} which has been deleted
+     *
+     * @param keyspace The deleted {@link Keyspace}
+     */
+    public void keyspaceDeleted(Keyspace keyspace){
+        if(attributeReservations != null) attributeReservations.clear(keyspace);
     }
 
     public Properties properties() {
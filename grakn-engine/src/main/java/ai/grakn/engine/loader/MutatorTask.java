@@ -22,8 +22,6 @@ import ai.grakn.GraknTx;
 import ai.grakn.Keyspace;
 import ai.grakn.engine.GraknEngineConfig;
 import ai.grakn.engine.postprocessing.GraknTxMutators;
-import ai.grakn.engine.postprocessing.PostProcessingTask;
-import ai.grakn.engine.postprocessing.UpdatingInstanceCountTask;
 import ai.grakn.engine.tasks.BackgroundTask;
 import ai.grakn.engine.tasks.manager.TaskConfiguration;
 import ai.grakn.graql.Graql;
@@ -34,7 +32,6 @@ import com.codahale.metrics.Timer.Context;
 import mjson.Json;
 
 import java.util.Collection;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static ai.grakn.util.ErrorMessage.ILLEGAL_ARGUMENT_EXCEPTION;
@@ -86,15 +83,8 @@ public class MutatorTask extends BackgroundTask {
                     }
                 });
 
-                Optional<String> result = graph.admin().commitNoLogs();
-                if(result.isPresent()){ // Submit more tasks if commit resulted in created commit logs
-                    String logs = result.get();
-                    addTask(PostProcessingTask.createTask(this.getClass(), engineConfiguration()
-                                    .getPropertyAsInt(GraknEngineConfig.POST_PROCESSING_TASK_DELAY)),
-                            PostProcessingTask.createConfig(graph.getKeyspace(), logs));
-                    addTask(UpdatingInstanceCountTask.createTask(this.getClass()),
-                            UpdatingInstanceCountTask.createConfig(graph.getKeyspace(), logs));
-                }
+                // The commit log is sent to engine, which coalesces it with the logs of other transactions
+                graph.commit();
                 return true;
             }
         }
@@ -0,0 +1,191 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.lock;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.util.Pool;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <p>
+ *     Distributed lock which waits for a notification from redis instead of polling
+ * </p>
+ *
+ * <p>
+ *     The lock is a key set with a random token which only the holder knows, so a holder whose lock expired cannot
+ *     release the lock of the next holder. Releasing the lock publishes on a channel of the lock, which the
+ *     {@link JedisNotifyingLockProvider} listens to on a single connection, so a waiter retries as soon as the lock is
+ *     released without holding a connection while it waits.
+ *     The lock expires if its holder dies, so the provider renews the locks held by this engine until they are
+ *     released.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class JedisNotifyingLock implements Lock {
+    private static final Logger LOG = LoggerFactory.getLogger(JedisNotifyingLock.class);
+    static final long EXPIRE_MS = 60 * 1000;
+
+    //Deletes the lock only if it is held with the given token and then notifies the waiters
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  redis.call('PUBLISH', ARGV[2], ARGV[1]) " +
+            "  return 1 " +
+            "end " +
+            "return 0";
+
+    //Extends the lock only if it is still held with the given token
+    private static final String RENEW_SCRIPT =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0";
+
+    private final Pool<Jedis> jedisPool;
+    private final JedisNotifyingLockProvider provider;
+    private final String lockName;
+    private final String lockKey;
+    private final Histogram waitTimes;
+    private @Nullable String token = null;
+
+    JedisNotifyingLock(Pool<Jedis> jedisPool, JedisNotifyingLockProvider provider, String lockName, Histogram waitTimes) {
+        Preconditions.checkNotNull(jedisPool, "JedisPool used in lock cannot be null");
+        Preconditions.checkArgument(lockName != null && !lockName.isEmpty(), "Lock name not valid");
+        this.jedisPool = jedisPool;
+        this.provider = provider;
+        this.lockName = lockName;
+        this.lockKey = "lock:" + lockName;
+        this.waitTimes = waitTimes;
+    }
+
+    @Override
+    public void lock() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                lockInterruptibly();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        tryLock(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean tryLock() {
+        return tryOnce();
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        Preconditions.checkNotNull(unit);
+        long start = System.currentTimeMillis();
+        long timeoutMs = unit.toMillis(time);
+        long deadline = timeoutMs >= Long.MAX_VALUE - start ? Long.MAX_VALUE : start + timeoutMs;
+
+        try {
+            if (tryOnce()) return true;
+            while (true) {
+                if (Thread.interrupted()) throw new InterruptedException();
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return false;
+                if (provider.awaitRelease(lockName, remaining, this::tryOnce)) return true;
+            }
+        } finally {
+            waitTimes.update(System.currentTimeMillis() - start);
+        }
+    }
+
+    @Override
+    public void unlock() {
+        String heldToken;
+        synchronized (this) {
+            if (token == null) throw new IllegalMonitorStateException("Lock [" + lockName + "] is not held");
+            heldToken = token;
+            token = null;
+        }
+        provider.released(this);
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            Object released = jedis.eval(RELEASE_SCRIPT, Collections.singletonList(lockKey),
+                    Arrays.asList(heldToken, JedisNotifyingLockProvider.releasedChannel(lockName)));
+            if (!Long.valueOf(1).equals(released)) {
+                LOG.warn("Lock [" + lockName + "] expired before it was released");
+            }
+        }
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("Conditions are not supported by distributed locks");
+    }
+
+    public String getLockName() {
+        return lockName;
+    }
+
+    /**
+     * Extends the expiry of the lock if it is still held by this holder
+     */
+    void renew() {
+        String heldToken;
+        synchronized (this) {
+            heldToken = token;
+        }
+        if (heldToken == null) return;
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            Object renewed = jedis.eval(RENEW_SCRIPT, Collections.singletonList(lockKey),
+                    Arrays.asList(heldToken, Long.toString(EXPIRE_MS)));
+            if (!Long.valueOf(1).equals(renewed)) {
+                LOG.warn("Lock [" + lockName + "] expired before it could be renewed");
+            }
+        }
+    }
+
+    private boolean tryOnce() {
+        String candidate = UUID.randomUUID().toString();
+        try (Jedis jedis = jedisPool.getResource()) {
+            if (!"OK".equals(jedis.set(lockKey, candidate, "NX", "PX", EXPIRE_MS))) return false;
+        }
+        synchronized (this) {
+            token = candidate;
+        }
+        provider.acquired(this);
+        return true;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.lock;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.util.Pool;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * <p>
+ *     Provides {@link JedisNotifyingLock}s, which are shared by all the engines using the same redis
+ * </p>
+ *
+ * <p>
+ *     A single connection subscribes to the release notifications of every lock and wakes the waiters of this
+ *     engine, so waiting does not hold a connection of the pool. At most {@link #MAX_WAITERS} threads wait for a
+ *     notification at once and the others wait for one of them to finish. Waiters also retry every
+ *     {@link #RETRY_MS}, in case a notification is missed while the subscription reconnects.
+ *     The locks held by this engine are renewed well before they expire.
+ * </p>
+ *
+ * <p>
+ *     The time spent waiting for each lock is recorded in the engine metrics.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class JedisNotifyingLockProvider implements LockProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(JedisNotifyingLockProvider.class);
+    private static final String RELEASED_CHANNEL_PREFIX = "lock-released:";
+    private static final int MAX_WAITERS = 256;
+    private static final long RETRY_MS = 1000;
+    private static final long RENEW_MS = JedisNotifyingLock.EXPIRE_MS / 3;
+
+    private final Pool<Jedis> jedisPool;
+    private final Histogram waitTimes;
+    private final Semaphore waiters = new Semaphore(MAX_WAITERS);
+    private final Map<String, Set<CountDownLatch>> releases = new ConcurrentHashMap<>();
+    private final Set<JedisNotifyingLock> heldLocks = ConcurrentHashMap.newKeySet();
+    private final ExecutorService subscriber = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("lock-release-subscriber-%d").setDaemon(true).build());
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("lock-renewer-%d").setDaemon(true).build());
+    private final JedisPubSub releaseListener = new JedisPubSub() {
+        @Override
+        public void onPMessage(String pattern, String channel, String message) {
+            notifyReleased(channel.substring(RELEASED_CHANNEL_PREFIX.length()));
+        }
+    };
+    private volatile boolean closed = false;
+
+    public JedisNotifyingLockProvider(Pool<Jedis> jedisPool, MetricRegistry metricRegistry) {
+        this.jedisPool = jedisPool;
+        this.waitTimes = metricRegistry.histogram(name(JedisNotifyingLockProvider.class, "wait-time"));
+        subscriber.submit(this::subscribe);
+        renewer.scheduleAtFixedRate(this::renewHeldLocks, RENEW_MS, RENEW_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Lock getLock(String lockName) {
+        return new JedisNotifyingLock(jedisPool, this, lockName, waitTimes);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (releaseListener.isSubscribed()) releaseListener.punsubscribe();
+        subscriber.shutdownNow();
+        renewer.shutdownNow();
+    }
+
+    static String releasedChannel(String lockName) {
+        return RELEASED_CHANNEL_PREFIX + lockName;
+    }
+
+    /**
+     * Waits until the lock is released or the timeout passes and then tries to acquire it
+     *
+     * @param lockName The name of the lock
+     * @param timeoutMs The longest time to wait
+     * @param acquire Tries to acquire the lock once
+     * @return true if the lock was acquired
+     */
+    boolean awaitRelease(String lockName, long timeoutMs, BooleanSupplier acquire) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        if (!waiters.tryAcquire(Math.min(timeoutMs, RETRY_MS), TimeUnit.MILLISECONDS)) return acquire.getAsBoolean();
+
+        CountDownLatch released = new CountDownLatch(1);
+        releases.compute(lockName, (name, latches) -> {
+            Set<CountDownLatch> watching = latches == null ? ConcurrentHashMap.newKeySet() : latches;
+            watching.add(released);
+            return watching;
+        });
+        try {
+            //The lock may have been released before this waiter was registered
+            if (acquire.getAsBoolean()) return true;
+            long remaining = timeoutMs - (System.currentTimeMillis() - start);
+            released.await(Math.min(remaining, RETRY_MS), TimeUnit.MILLISECONDS);
+            return acquire.getAsBoolean();
+        } finally {
+            releases.computeIfPresent(lockName, (name, latches) -> {
+                latches.remove(released);
+                return latches.isEmpty() ? null : latches;
+            });
+            waiters.release();
+        }
+    }
+
+    void acquired(JedisNotifyingLock lock) {
+        heldLocks.add(lock);
+    }
+
+    void released(JedisNotifyingLock lock) {
+        heldLocks.remove(lock);
+    }
+
+    private void notifyReleased(String lockName) {
+        releases.getOrDefault(lockName, Collections.emptySet()).forEach(CountDownLatch::countDown);
+    }
+
+    private void subscribe() {
+        while (!closed) {
+            try (Jedis jedis = jedisPool.getResource()) {
+                jedis.psubscribe(releaseListener, RELEASED_CHANNEL_PREFIX + "*");
+            } catch (RuntimeException e) {
+                if (closed) return;
+                LOG.warn("Lost the subscription to lock releases, waiters retry every " + RETRY_MS + "ms until it is back", e);
+                try {
+                    Thread.sleep(RETRY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void renewHeldLocks() {
+        for (JedisNotifyingLock lock : heldLocks) {
+            try {
+                lock.renew();
+            } catch (RuntimeException e) {
+                LOG.warn("Could not renew lock [" + lock.getLockName() + "]", e);
+            }
+        }
+    }
+}
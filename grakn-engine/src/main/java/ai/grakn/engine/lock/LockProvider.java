@@ -24,6 +24,13 @@ import java.util.concurrent.locks.Lock;
  *
  * @author Domenico Corapi
  */
-public interface LockProvider {
+public interface LockProvider extends AutoCloseable {
     Lock getLock(String lockName);
+
+    /**
+     * Stops any work done in the background for the locks of this provider
+     */
+    @Override
+    default void close() {
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.lock;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.kb.admin.AttributeReservations;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <p>
+ *     Reserves attribute indices using locks held for the lifetime of a transaction
+ * </p>
+ *
+ * <p>
+ *     Transactions of this engine are serialised by striped in-process semaphores, with separate stripes for each
+ *     keyspace. Semaphores are used rather than locks because a transaction may be closed by a different thread than
+ *     the one which made its reservations. When a distributed {@link LockProvider} is given, each stripe is also held
+ *     on a distributed lock so transactions of other engines are serialised too. A transaction only waits for a stripe
+ *     which comes after every stripe it already holds, and otherwise gives up on the reservation straight away. Every
+ *     engine orders stripes the same way, so transactions never wait on each other. Duplicates created after a
+ *     reservation was given up are merged by post processing.
+ * </p>
+ *
+ * <p>
+ *     A stripe is held until the transaction holding it commits or closes, and other transactions wait for it for at
+ *     most the reservation timeout. So that a transaction left open cannot hold its stripes forever, reservations are
+ *     released once they have been held for longer than the lease. The attributes they were made for may then be
+ *     duplicated, and post processing merges them.
+ * </p>
+ *
+ * <p>
+ *     The ids of recently committed attributes are remembered so the next holder of a reservation in this engine
+ *     can reuse the attribute directly.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class LockingAttributeReservations implements AttributeReservations, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(LockingAttributeReservations.class);
+    private static final String LOCK_KEY = "attribute-reservation";
+    private static final int STRIPES = 1 << 16;
+    private static final int MAX_COMMITTED_IDS = 100_000;
+
+    private final Map<Keyspace, Striped<Semaphore>> localLocks = new ConcurrentHashMap<>();
+    private final Cache<String, ConceptId> committedIds = CacheBuilder.newBuilder().maximumSize(MAX_COMMITTED_IDS).build();
+    private final Set<LockReservation> heldReservations = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leaseChecker = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("attribute-reservation-lease-%d").setDaemon(true).build());
+    private final @Nullable LockProvider distributedLocks;
+    private final long timeoutMs;
+    private final long leaseMs;
+
+    /**
+     * @param distributedLocks Provides the locks shared with other engines, or null if this is the only engine
+     * @param timeoutMs The longest time to wait for a reservation before giving up on it
+     * @param leaseMs The longest time a reservation is held before it is released
+     */
+    public LockingAttributeReservations(@Nullable LockProvider distributedLocks, long timeoutMs, long leaseMs) {
+        this.distributedLocks = distributedLocks;
+        this.timeoutMs = timeoutMs;
+        this.leaseMs = leaseMs;
+        long checkMs = Math.max(1, leaseMs / 2);
+        leaseChecker.scheduleAtFixedRate(this::releaseExpiredReservations, checkMs, checkMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Reservation> reserve(Keyspace keyspace, String index, Collection<Reservation> held) {
+        String key = keyspace.getValue() + "/" + index;
+        Striped<Semaphore> stripes = localLocks.computeIfAbsent(keyspace, k -> Striped.lazyWeakSemaphore(STRIPES, 1));
+        int stripe = Math.floorMod(index.hashCode(), stripes.size());
+
+        int lastHeld = -1;
+        for (Reservation reservation : held) {
+            if (reservation instanceof LockReservation) {
+                LockReservation lockReservation = (LockReservation) reservation;
+                //The stripe is already held by this transaction, which covers this index too
+                if (lockReservation.stripe == stripe) return Optional.of(new LockReservation(key, stripe, null, null));
+                lastHeld = Math.max(lastHeld, lockReservation.stripe);
+            }
+        }
+        boolean wait = stripe > lastHeld;
+        long deadline = System.currentTimeMillis() + timeoutMs;
+
+        Semaphore localLock = stripes.getAt(stripe);
+        try {
+            boolean acquired = wait ? localLock.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS) : localLock.tryAcquire();
+            if (!acquired) {
+                LOG.debug("Could not reserve attribute [" + key + "]");
+                return Optional.empty();
+            }
+
+            Lock distributedLock = null;
+            if (distributedLocks != null) {
+                distributedLock = distributedLocks.getLock(LOCK_KEY + "/" + keyspace.getValue() + "/" + stripe);
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                if (!(wait ? distributedLock.tryLock(remaining, TimeUnit.MILLISECONDS) : distributedLock.tryLock())) {
+                    localLock.release();
+                    LOG.debug("Could not reserve attribute [" + key + "] across engines");
+                    return Optional.empty();
+                }
+            }
+
+            LockReservation reservation = new LockReservation(key, stripe, localLock, distributedLock);
+            heldReservations.add(reservation);
+            return Optional.of(reservation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void clear(Keyspace keyspace) {
+        localLocks.remove(keyspace);
+        committedIds.asMap().keySet().removeIf(key -> key.startsWith(keyspace.getValue() + "/"));
+    }
+
+    /**
+     * Stops releasing reservations whose lease has expired
+     */
+    @Override
+    public void close() {
+        leaseChecker.shutdownNow();
+    }
+
+    private void releaseExpiredReservations() {
+        long now = System.currentTimeMillis();
+        heldReservations.forEach(reservation -> {
+            if (now - reservation.acquiredAt <= leaseMs) return;
+            LOG.warn("Releasing attribute reservation [" + reservation.key + "] held for longer than " + leaseMs + "ms");
+            try {
+                reservation.release();
+            } catch (RuntimeException e) {
+                LOG.warn("Could not release attribute reservation [" + reservation.key + "]", e);
+            }
+        });
+    }
+
+    /**
+     * A reservation held on the semaphore and, if there is one, the distributed lock of the stripe of an attribute
+     * index
+     */
+    private class LockReservation implements Reservation {
+        private final String key;
+        private final int stripe;
+        private final @Nullable Semaphore localLock;
+        private final @Nullable Lock distributedLock;
+        private final long acquiredAt = System.currentTimeMillis();
+        private boolean released = false;
+
+        /**
+         * @param localLock The semaphore acquired for the reservation, or null if the stripe is held by another
+         *                  reservation of the same transaction
+         * @param distributedLock The distributed lock acquired for the reservation, or null if there is none
+         */
+        LockReservation(String key, int stripe, @Nullable Semaphore localLock, @Nullable Lock distributedLock) {
+            this.key = key;
+            this.stripe = stripe;
+            this.localLock = localLock;
+            this.distributedLock = distributedLock;
+        }
+
+        @Override
+        public Optional<ConceptId> attributeId() {
+            return Optional.ofNullable(committedIds.getIfPresent(key));
+        }
+
+        @Override
+        public void releaseCommitted(ConceptId attributeId) {
+            committedIds.put(key, attributeId);
+            release();
+        }
+
+        @Override
+        public void release() {
+            synchronized (this) {
+                if (released) return;
+                released = true;
+            }
+            heldReservations.remove(this);
+
+            try {
+                if (distributedLock != null) distributedLock.unlock();
+            } finally {
+                if (localLock != null) localLock.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.graql.internal.reasoner.cache.InferredAnswerCache;
+import ai.grakn.kb.internal.computer.GraphSnapshots;
+import mjson.Json;
+
+import java.util.Set;
+
+import static ai.grakn.util.REST.Request.COMMIT_LOG_MODIFIED_TYPES;
+import static ai.grakn.util.REST.Request.COMMIT_LOG_SCHEMA_MODIFIED;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * <p>
+ *     Invalidates the data engine derives from the contents of a keyspace: inferred answers and the
+ *     {@link GraphSnapshots} of analytics jobs
+ * </p>
+ *
+ * <p>
+ *     Every commit log is received through {@link PostProcessingAggregator#submit(Keyspace, Json)}, whichever
+ *     controller it was produced by. Post processing tasks commit without producing logs, so they invalidate
+ *     the whole keyspace after changing it.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public final class CacheInvalidation {
+
+    private CacheInvalidation() {
+    }
+
+    /**
+     * Invalidate the data which depends on the changes described by a commit log
+     *
+     * @param keyspace The keyspace the commit log was produced by
+     * @param commitLog The commit log of a single transaction
+     */
+    public static void commitLogReceived(Keyspace keyspace, Json commitLog) {
+        GraphSnapshots.get().invalidate(keyspace);
+
+        InferredAnswerCache answerCache = InferredAnswerCache.get();
+        if (!answerCache.isEnabled()) return;
+
+        // Logs which do not list the modified types, or which modify the schema, can change any inferred answer
+        if (!commitLog.has(COMMIT_LOG_MODIFIED_TYPES) ||
+                (commitLog.has(COMMIT_LOG_SCHEMA_MODIFIED) && commitLog.at(COMMIT_LOG_SCHEMA_MODIFIED).asBoolean())) {
+            answerCache.invalidate(keyspace);
+            return;
+        }
+
+        Set<ConceptId> modifiedTypes = commitLog.at(COMMIT_LOG_MODIFIED_TYPES).asJsonList().stream()
+                .map(typeId -> ConceptId.of(typeId.asString()))
+                .collect(toSet());
+        answerCache.invalidate(keyspace, modifiedTypes);
+    }
+
+    /**
+     * Invalidate all the data derived from a keyspace which has been modified without a commit log
+     *
+     * @param keyspace The modified keyspace
+     */
+    public static void keyspaceModified(Keyspace keyspace) {
+        GraphSnapshots.get().invalidate(keyspace);
+
+        InferredAnswerCache answerCache = InferredAnswerCache.get();
+        if (answerCache.isEnabled()) answerCache.invalidate(keyspace);
+    }
+}
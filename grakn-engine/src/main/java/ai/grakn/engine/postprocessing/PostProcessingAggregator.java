@@ -0,0 +1,239 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.tasks.manager.TaskSubmitter;
+import ai.grakn.kb.internal.cache.KeyspaceStatisticsImpl;
+import ai.grakn.util.REST;
+import ai.grakn.util.Schema;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import mjson.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * <p>
+ *     Coalesces commit logs before they are post processed
+ * </p>
+ *
+ * <p>
+ *     Every committed transaction produces a commit log. Rather than creating a {@link PostProcessingTask} and an
+ *     {@link UpdatingInstanceCountTask} for each of them, the logs of a keyspace are merged over a time window:
+ *     the ids of the attributes to inspect are grouped by attribute index and the instance count changes are summed
+ *     by type. A single pair of tasks is then submitted for the merged log. The logs of a keyspace are submitted
+ *     early if they hold more jobs than the configured maximum.
+ * </p>
+ *
+ * <p>
+ *     Every commit log engine receives, from transactions or from the loader, passes through here, so this is where
+ *     its instance count changes are recorded as pending in the {@link KeyspaceStatisticsImpl} of its keyspace.
+ *     They are recorded under the id of the batch they are merged into and dropped once that batch is counted.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class PostProcessingAggregator implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PostProcessingAggregator.class);
+
+    private final TaskSubmitter taskSubmitter;
+    private final int postProcessingDelay;
+    private final int maxPendingJobs;
+    private final ScheduledExecutorService flusher;
+    private final Map<Keyspace, PendingLogs> pending = new HashMap<>();
+    private int pendingJobs = 0;
+
+    private final Meter receivedLogs;
+    private final Meter submittedLogs;
+    private final Histogram logsPerSubmission;
+
+    public PostProcessingAggregator(TaskSubmitter taskSubmitter, int postProcessingDelay, long windowMs,
+                                    int maxPendingJobs, MetricRegistry metricRegistry) {
+        this.taskSubmitter = taskSubmitter;
+        this.postProcessingDelay = postProcessingDelay;
+        this.maxPendingJobs = maxPendingJobs;
+
+        this.receivedLogs = metricRegistry.meter(name(PostProcessingAggregator.class, "received-logs"));
+        this.submittedLogs = metricRegistry.meter(name(PostProcessingAggregator.class, "submitted-logs"));
+        this.logsPerSubmission = metricRegistry.histogram(name(PostProcessingAggregator.class, "logs-per-submission"));
+        metricRegistry.register(name(PostProcessingAggregator.class, "pending-jobs"), (Gauge<Integer>) this::pendingJobs);
+        metricRegistry.register(name(PostProcessingAggregator.class, "coalescing-ratio"), (Gauge<Double>) () ->
+                submittedLogs.getCount() == 0 ? 1.0 : (double) receivedLogs.getCount() / submittedLogs.getCount());
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("post-processing-aggregator-%s").setDaemon(true).build());
+        this.flusher.scheduleWithFixedDelay(this::flush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Merge a commit log into the pending logs of its keyspace
+     *
+     * @param keyspace The keyspace the commit log was produced by
+     * @param commitLog The commit log of a single transaction
+     */
+    public void submit(Keyspace keyspace, Json commitLog) {
+        receivedLogs.mark();
+        CacheInvalidation.commitLogReceived(keyspace, commitLog);
+
+        PendingLogs full = null;
+        synchronized (this) {
+            PendingLogs logs = pending.computeIfAbsent(keyspace, PendingLogs::new);
+            int jobsBefore = logs.jobs();
+            Map<ConceptId, Long> countChanges = logs.merge(commitLog);
+            pendingJobs += logs.jobs() - jobsBefore;
+
+            // Exact instance counts include the changes of this log until its batch has been counted
+            if (!countChanges.isEmpty()) {
+                KeyspaceStatisticsImpl.of(keyspace).addPendingInstanceCounts(logs.batchId, countChanges);
+            }
+
+            if (logs.jobs() >= maxPendingJobs) {
+                full = pending.remove(keyspace);
+                pendingJobs -= full.jobs();
+            }
+        }
+
+        if (full != null) submitTasks(full);
+    }
+
+    /**
+     * Submit the tasks for the pending logs of every keyspace
+     */
+    public void flush() {
+        Map<Keyspace, PendingLogs> toSubmit;
+        synchronized (this) {
+            toSubmit = new HashMap<>(pending);
+            pending.clear();
+            pendingJobs = 0;
+        }
+
+        toSubmit.values().forEach(this::submitTasks);
+    }
+
+    /**
+     * @return The number of attribute indices and types waiting to be submitted across all keyspaces
+     */
+    public synchronized int pendingJobs() {
+        return pendingJobs;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private void submitTasks(PendingLogs logs) {
+        try {
+            String commitLog = logs.toJson().toString();
+            if (!logs.attributes.isEmpty()) {
+                taskSubmitter.addTask(PostProcessingTask.createTask(PostProcessingAggregator.class, postProcessingDelay),
+                        PostProcessingTask.createConfig(logs.keyspace, commitLog));
+            }
+            if (!logs.counts.isEmpty()) {
+                taskSubmitter.addTask(UpdatingInstanceCountTask.createTask(PostProcessingAggregator.class),
+                        UpdatingInstanceCountTask.createConfig(logs.keyspace, commitLog));
+            }
+            submittedLogs.mark();
+            logsPerSubmission.update(logs.logs);
+        } catch (RuntimeException e) {
+            LOG.error("Could not submit the post processing of " + logs.logs + " commit logs of " + logs.keyspace, e);
+            KeyspaceStatisticsImpl.of(logs.keyspace).discardPendingInstanceCounts(logs.batchId);
+        }
+    }
+
+    /**
+     * The merged commit logs of a single keyspace
+     */
+    private static class PendingLogs {
+        private final Keyspace keyspace;
+        private final String batchId = UUID.randomUUID().toString();
+        private final Map<String, Set<String>> attributes = new HashMap<>();
+        private final Map<String, Long> counts = new HashMap<>();
+        private int logs = 0;
+
+        PendingLogs(Keyspace keyspace) {
+            this.keyspace = keyspace;
+        }
+
+        int jobs() {
+            return attributes.size() + counts.size();
+        }
+
+        /**
+         * @return The instance count changes of the merged commit log
+         */
+        Map<ConceptId, Long> merge(Json commitLog) {
+            logs++;
+
+            if (commitLog.has(REST.Request.COMMIT_LOG_FIXING)) {
+                Json fixing = commitLog.at(REST.Request.COMMIT_LOG_FIXING).at(Schema.BaseType.ATTRIBUTE.name());
+                if (fixing != null) {
+                    fixing.asJsonMap().forEach((index, ids) -> {
+                        Set<String> merged = attributes.computeIfAbsent(index, e -> new HashSet<>());
+                        ids.asJsonList().forEach(id -> merged.add(id.asString()));
+                    });
+                }
+            }
+
+            Map<ConceptId, Long> countChanges = new HashMap<>();
+            if (commitLog.has(REST.Request.COMMIT_LOG_COUNTING)) {
+                commitLog.at(REST.Request.COMMIT_LOG_COUNTING).asJsonList().forEach(count -> {
+                    String conceptId = count.at(REST.Request.COMMIT_LOG_CONCEPT_ID).asString();
+                    long change = count.at(REST.Request.COMMIT_LOG_SHARDING_COUNT).asLong();
+                    counts.merge(conceptId, change, Long::sum);
+                    countChanges.merge(ConceptId.of(conceptId), change, Long::sum);
+                });
+            }
+            return countChanges;
+        }
+
+        Json toJson() {
+            Json countsJson = Json.array();
+            counts.forEach((conceptId, count) -> {
+                if (count != 0) {
+                    countsJson.add(Json.object(
+                            REST.Request.COMMIT_LOG_CONCEPT_ID, conceptId,
+                            REST.Request.COMMIT_LOG_SHARDING_COUNT, count));
+                }
+            });
+
+            return Json.object(
+                    REST.Request.COMMIT_LOG_FIXING, Json.object(Schema.BaseType.ATTRIBUTE.name(), Json.make(attributes)),
+                    REST.Request.COMMIT_LOG_COUNTING, countsJson,
+                    REST.Request.COMMIT_LOG_COUNTING_BATCH, batchId);
+        }
+    }
+}
@@ -30,11 +30,17 @@ import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
 import com.codahale.metrics.Timer.Context;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import mjson.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -57,10 +63,15 @@ import static com.codahale.metrics.MetricRegistry.name;
 public class PostProcessingTask extends BackgroundTask {
     private static final Logger LOG = LoggerFactory.getLogger(PostProcessingTask.class);
     private static final String JOB_FINISHED = "Post processing Job [{}] completed for indeces and ids: [{}]";
+    private static final String GROUP_FAILED = "Post processing of [{}] indices in a single transaction failed, retrying one index per transaction: [{}]";
+    private static final String INDEX_FAILED = "Post processing failed for the concept index [{}]";
     private static final String LOCK_KEY = "/post-processing-lock";
+    private static final int INDICES_PER_TRANSACTION = 100;
 
     /**
-     * Apply {@link ai.grakn.concept.Attribute} post processing jobs the concept ids in the provided configuration
+     * Apply {@link ai.grakn.concept.Attribute} post processing jobs the concept ids in the provided configuration.
+     * Indices are merged in groups, one transaction per group. When a group fails its indices are retried one per
+     * transaction, so that a failing index does not hold back the others.
      *
      * @return True if successful.
      */
@@ -69,22 +80,40 @@ public class PostProcessingTask extends BackgroundTask {
         try (Context context = metricRegistry()
                 .timer(name(PostProcessingTask.class, "execution")).time()) {
             Map<String, Set<ConceptId>> allToPostProcess = getPostProcessingJobs(Schema.BaseType.ATTRIBUTE, configuration());
+            Keyspace keyspace = Keyspace.of(configuration().json().at(REST.Request.KEYSPACE).asString());
+            int maxRetry = engineConfiguration().getPropertyAsInt(GraknEngineConfig.LOADER_REPEAT_COMMITS);
 
-            allToPostProcess.forEach((conceptIndex, conceptIds) -> {
+            // Indices are sorted so that concurrent tasks acquire the locks of their indices in the same order
+            List<String> conceptIndices = allToPostProcess.keySet().stream().sorted().collect(Collectors.toList());
+
+            List<String> failedIndices = new ArrayList<>();
+            Lists.partition(conceptIndices, INDICES_PER_TRANSACTION).forEach(indices -> {
                 Context contextSingle = metricRegistry()
                         .timer(name(PostProcessingTask.class, "execution-single")).time();
                 try {
-                    Keyspace keyspace = Keyspace.of(configuration().json().at(REST.Request.KEYSPACE).asString());
-                    int maxRetry = engineConfiguration()
-                            .getPropertyAsInt(GraknEngineConfig.LOADER_REPEAT_COMMITS);
-
                     GraknTxMutators.runMutationWithRetry(factory(), keyspace, maxRetry,
-                            (graph) -> runPostProcessingMethod(graph, conceptIndex, conceptIds));
+                            (graph) -> runPostProcessingMethod(graph, indices, allToPostProcess));
+                } catch (RuntimeException e) {
+                    // A single bad index should not stop the rest of the group from being merged
+                    LOG.warn(GROUP_FAILED, indices.size(), e.getMessage());
+                    indices.forEach(index -> {
+                        try {
+                            GraknTxMutators.runMutationWithRetry(factory(), keyspace, maxRetry,
+                                    (graph) -> runPostProcessingMethod(graph, Collections.singletonList(index), allToPostProcess));
+                        } catch (RuntimeException indexException) {
+                            LOG.error(INDEX_FAILED, index, indexException);
+                            failedIndices.add(index);
+                        }
+                    });
                 } finally {
                     contextSingle.stop();
                 }
             });
 
+            if (!failedIndices.isEmpty()) {
+                throw new RuntimeException("Post processing failed for the concept indices " + failedIndices);
+            }
+
             LOG.debug(JOB_FINISHED, Schema.BaseType.ATTRIBUTE.name(), allToPostProcess);
 
             return true;
@@ -106,22 +135,31 @@ public class PostProcessingTask extends BackgroundTask {
     }
 
     /**
-     * Apply the given post processing method to the provided concept index and set of ids.
+     * Merge the duplicates of several concept indices in a single transaction.
      *
-     * @param graph
-     * @param conceptIndex
-     * @param conceptIds
+     * @param graph The graph in which to merge the duplicates
+     * @param conceptIndices The sorted concept indices to post process
+     * @param allToPostProcess The concept ids to post process of every concept index
      */
-    private void runPostProcessingMethod(GraknTx graph, String conceptIndex, Set<ConceptId> conceptIds){
+    private void runPostProcessingMethod(GraknTx graph, List<String> conceptIndices, Map<String, Set<ConceptId>> allToPostProcess){
         Preconditions.checkNotNull(this.getLockProvider(), "Lock provider was null, possible race condition in initialisation");
-        if(graph.admin().duplicateResourcesExist(conceptIndex, conceptIds)){
 
-            // Acquire a lock when you post process on an index to prevent race conditions
-            // Lock is acquired after checking for duplicates to reduce runtime
-            Lock indexLock = this.getLockProvider().getLock(PostProcessingTask.LOCK_KEY + "/" + conceptIndex);
-            indexLock.lock();
+        // Locks are acquired after checking for duplicates to reduce runtime
+        List<String> duplicatedIndices = conceptIndices.stream()
+                .filter(conceptIndex -> graph.admin().duplicateResourcesExist(conceptIndex, allToPostProcess.get(conceptIndex)))
+                .collect(Collectors.toList());
+        if(duplicatedIndices.isEmpty()) return;
+
+        // Acquire a lock when you post process on an index to prevent race conditions
+        Deque<Lock> indexLocks = new ArrayDeque<>();
+        try {
+            for (String conceptIndex : duplicatedIndices) {
+                Lock indexLock = this.getLockProvider().getLock(PostProcessingTask.LOCK_KEY + "/" + conceptIndex);
+                indexLock.lock();
+                indexLocks.push(indexLock);
+
+                Set<ConceptId> conceptIds = allToPostProcess.get(conceptIndex);
 
-            try {
                 // execute the provided post processing method
                 graph.admin().fixDuplicateResources(conceptIndex, conceptIds);
 
@@ -130,12 +168,13 @@ public class PostProcessingTask extends BackgroundTask {
                         ifPresent(message -> {
                             throw new RuntimeException(message);
                         });
-
-                // persist merged concepts
-                graph.admin().commitNoLogs();
-            } finally {
-                indexLock.unlock();
             }
+
+            // persist merged concepts
+            graph.admin().commitNoLogs();
+            CacheInvalidation.keyspaceModified(graph.getKeyspace());
+        } finally {
+            while (!indexLocks.isEmpty()) indexLocks.pop().unlock();
         }
     }
 
@@ -150,18 +189,12 @@ public class PostProcessingTask extends BackgroundTask {
      */
     private Optional<String> validateMerged(GraknTx graph, String conceptIndex, Set<ConceptId> conceptIds){
         //Check number of valid concept Ids
-        int numConceptFound = 0;
-        for (ConceptId conceptId : conceptIds) {
-            if (graph.getConcept(conceptId) != null) {
-                numConceptFound++;
-                if (numConceptFound > 1) {
-                    StringBuilder conceptIdValues = new StringBuilder();
-                    for (ConceptId id : conceptIds) {
-                        conceptIdValues.append(id.getValue()).append(",");
-                    }
-                    return Optional.of("Not all concept were merged. The set of concepts [" + conceptIds.size() + "] with IDs [" + conceptIdValues.toString() + "] matched more than one concept");
-                }
+        if (graph.getConcepts(conceptIds).size() > 1) {
+            StringBuilder conceptIdValues = new StringBuilder();
+            for (ConceptId id : conceptIds) {
+                conceptIdValues.append(id.getValue()).append(",");
             }
+            return Optional.of("Not all concept were merged. The set of concepts [" + conceptIds.size() + "] with IDs [" + conceptIdValues.toString() + "] matched more than one concept");
         }
 
         //Check index
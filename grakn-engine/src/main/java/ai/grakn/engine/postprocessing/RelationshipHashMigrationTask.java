@@ -0,0 +1,83 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.engine.GraknEngineConfig;
+import ai.grakn.engine.tasks.BackgroundTask;
+import ai.grakn.engine.tasks.manager.TaskConfiguration;
+import ai.grakn.engine.tasks.manager.TaskSchedule;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.util.REST;
+import mjson.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ *     Task which replaces the relationship hashes of a keyspace created before hashes were fixed width digests
+ * </p>
+ *
+ * <p>
+ *     It is submitted once per keyspace through the tasks endpoint, with the keyspace in its configuration.
+ *     Until it has run, relationships stored with the old hashes are not found when checking for duplicates.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class RelationshipHashMigrationTask extends BackgroundTask {
+    private static final Logger LOG = LoggerFactory.getLogger(RelationshipHashMigrationTask.class);
+
+    @Override
+    public boolean start() {
+        Keyspace keyspace = Keyspace.of(configuration().json().at(REST.Request.KEYSPACE).asString());
+        int maxRetry = engineConfiguration().getPropertyAsInt(GraknEngineConfig.LOADER_REPEAT_COMMITS);
+
+        GraknTxMutators.runMutationWithRetry(factory(), keyspace, maxRetry, graph -> {
+            long migrated = graph.admin().migrateRelationshipHashes();
+            graph.admin().commitNoLogs();
+            LOG.info("Migrated the hashes of " + migrated + " relationships of keyspace " + keyspace);
+        });
+
+        return true;
+    }
+
+    /**
+     * Helper method which creates the task which migrates the relationship hashes of a keyspace
+     *
+     * @param creator The class which created the task
+     * @return The executable task state
+     */
+    public static TaskState createTask(Class creator){
+        return TaskState.of(RelationshipHashMigrationTask.class,
+                creator.getName(),
+                TaskSchedule.now(),
+                TaskState.Priority.LOW);
+    }
+
+    /**
+     * Helper method which creates the task config needed in order to migrate the relationship hashes of a keyspace
+     *
+     * @param keyspace The keyspace of the graph to execute this on.
+     * @return The task configuration encapsulating the above details in a manner executable by the task runner
+     */
+    public static TaskConfiguration createConfig(Keyspace keyspace){
+        return TaskConfiguration.of(Json.object(REST.Request.KEYSPACE, keyspace.getValue()));
+    }
+}
@@ -28,15 +28,16 @@ import ai.grakn.engine.tasks.manager.TaskConfiguration;
 import ai.grakn.engine.tasks.manager.TaskSchedule;
 import ai.grakn.engine.tasks.manager.TaskState;
 import ai.grakn.kb.internal.GraknTxAbstract;
+import ai.grakn.kb.internal.cache.KeyspaceStatisticsImpl;
 import ai.grakn.util.REST;
 import com.codahale.metrics.Timer.Context;
 import mjson.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
+import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
@@ -70,26 +71,20 @@ public class UpdatingInstanceCountTask extends BackgroundTask {
             //We Use redis to keep track of counts in order to ensure sharding happens in a centralised manner.
             //The graph cannot be used because each engine can have it's own snapshot of the graph with caching which makes
             //values only approximately correct
-            Set<ConceptId> conceptToShard = new HashSet<>();
-
-            //Update counts
-            jobs.forEach((key, value) -> {
-                metricRegistry()
-                        .histogram(name(UpdatingInstanceCountTask.class, "shard-size-increase"))
-                        .update(value);
-                Context contextSingle = metricRegistry()
-                        .timer(name(UpdatingInstanceCountTask.class, "execution-single")).time();
-                try {
-                    if (updateShardCounts(redis(), keyspace, key, value, shardingThreshold)) {
-                        conceptToShard.add(key);
-                    }
-                } finally {
-                    contextSingle.stop();
-                }
-            });
+            jobs.values().forEach(value -> metricRegistry()
+                    .histogram(name(UpdatingInstanceCountTask.class, "shard-size-increase"))
+                    .update(value));
+            //Changes pending in this engine are dropped once redis reports their batch as counted, whichever engine
+            //counted it, so the statistics only ever subtract what this engine added
+            KeyspaceStatisticsImpl statistics = KeyspaceStatisticsImpl.of(keyspace);
+            RedisCountStorage.InstanceCountUpdate update = redis().adjustInstanceCounts(
+                    keyspace, jobs, getCountingBatch(configuration()), statistics.pendingBatches(), shardingThreshold);
+
+            //Share the centralised counts with the query planner and count queries
+            statistics.updateInstanceCounts(update.instanceCounts(), update.countedBatches());
 
             //Shard anything which requires sharding
-            conceptToShard.forEach(type -> {
+            update.typesToShard().forEach(type -> {
                 Context contextSharding = metricRegistry().timer("sharding").time();
                 try {
                     shardConcept(redis(), factory(), keyspace, type, maxRetry, shardingThreshold);
@@ -118,20 +113,13 @@ public class UpdatingInstanceCountTask extends BackgroundTask {
     }
 
     /**
-     * Updates the type counts in redis and checks if sharding is needed.
-     *
-     * @param keyspace The keyspace of the graph which the type comes from
-     * @param conceptId The id of the concept with counts to update
-     * @param value The number of instances which the type has gained/lost
-     * @return true if sharding is needed.
+     * @param configuration The configuration which contains types counts
+     * @return The id of the batch of commit logs the counts were merged from, if the counts come from one
      */
-    private static boolean updateShardCounts(
-            RedisCountStorage redis, Keyspace keyspace, ConceptId conceptId, long value, long shardingThreshold){
-        long numShards = redis.getCount(RedisCountStorage.getKeyNumShards(keyspace, conceptId));
-        if(numShards == 0) numShards = 1;
-        long numInstances = redis.adjustCount(
-                RedisCountStorage.getKeyNumInstances(keyspace, conceptId), value);
-        return numInstances > shardingThreshold * numShards;
+    @Nullable
+    private static String getCountingBatch(TaskConfiguration configuration){
+        Json batch = configuration.json().at(REST.Request.COMMIT_LOG_COUNTING_BATCH);
+        return batch == null ? null : batch.asString();
     }
 
     /**
@@ -151,13 +139,15 @@ public class UpdatingInstanceCountTask extends BackgroundTask {
 
         try {
             //Check if sharding is still needed. Another engine could have sharded whilst waiting for lock
-            if (updateShardCounts(redis, keyspace, conceptId, 0, shardingThreshold)) {
+            Map<ConceptId, Long> noChange = Collections.singletonMap(conceptId, 0L);
+            if (redis.adjustInstanceCounts(keyspace, noChange, shardingThreshold).typesToShard().contains(conceptId)) {
 
                 //Shard
                 GraknTxMutators.runMutationWithRetry(factory, keyspace, maxRetry, graph -> {
                     graph.admin().shard(conceptId);
                     graph.admin().commitNoLogs();
                 });
+                CacheInvalidation.keyspaceModified(keyspace);
 
                 //Update number of shards
                 redis.adjustCount(RedisCountStorage.getKeyNumShards(keyspace, conceptId), 1);
@@ -194,7 +184,11 @@ public class UpdatingInstanceCountTask extends BackgroundTask {
     public static TaskConfiguration createConfig(Keyspace keyspace, String config){
         Json countingConfiguration = Json.object();
         countingConfiguration.set(REST.Request.KEYSPACE, keyspace.getValue());
-        countingConfiguration.set(REST.Request.COMMIT_LOG_COUNTING, Json.read(config).at(REST.Request.COMMIT_LOG_COUNTING));;
+        Json commitLog = Json.read(config);
+        countingConfiguration.set(REST.Request.COMMIT_LOG_COUNTING, commitLog.at(REST.Request.COMMIT_LOG_COUNTING));
+        if(commitLog.has(REST.Request.COMMIT_LOG_COUNTING_BATCH)) {
+            countingConfiguration.set(REST.Request.COMMIT_LOG_COUNTING_BATCH, commitLog.at(REST.Request.COMMIT_LOG_COUNTING_BATCH));
+        }
         return TaskConfiguration.of(countingConfiguration);
     }
 }
\ No newline at end of file
@@ -20,15 +20,24 @@ package ai.grakn.engine.tasks.connection;
 
 import ai.grakn.Keyspace;
 import ai.grakn.concept.ConceptId;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.util.Pool;
 
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -47,12 +56,19 @@ import static com.codahale.metrics.MetricRegistry.name;
 public class RedisCountStorage {
     private final static Logger LOG = LoggerFactory.getLogger(RedisCountStorage.class);
 
+    //Batches counted longer ago than this are forgotten, by which time every engine has refreshed its counts
+    private final static long COUNTED_BATCHES_TTL_MS = 60 * 60 * 1000;
+
     private final Timer contactRedisTimer;
+    private final Timer adjustInstanceCountsTimer;
+    private final Histogram instanceCountsPerCall;
     private Pool<Jedis> jedisPool;
 
     private RedisCountStorage(Pool<Jedis> jedisPool, MetricRegistry metricRegistry){
         this.jedisPool = jedisPool;
         this.contactRedisTimer = metricRegistry.timer(name(RedisCountStorage.class, "contact"));
+        this.adjustInstanceCountsTimer = metricRegistry.timer(name(RedisCountStorage.class, "adjust-instance-counts"));
+        this.instanceCountsPerCall = metricRegistry.histogram(name(RedisCountStorage.class, "instance-counts-per-call"));
     }
 
     public static RedisCountStorage create(Pool<Jedis> jedisPool, MetricRegistry metricRegistry) {
@@ -90,6 +106,92 @@ public class RedisCountStorage {
         });
     }
 
+    /**
+     * Adjusts the instance counts of several types and checks which of them need to be sharded. All the commands are
+     * pipelined, so this costs a single round trip to redis however many types are adjusted.
+     *
+     * @param keyspace the keyspace of the types
+     * @param changes the number of instances each type has gained or lost
+     * @param shardingThreshold the number of instances each shard of a type can hold
+     * @return the new instance counts and the types which have more instances than their shards can hold
+     */
+    public InstanceCountUpdate adjustInstanceCounts(Keyspace keyspace, Map<ConceptId, Long> changes, long shardingThreshold){
+        return adjustInstanceCounts(keyspace, changes, null, Collections.emptySet(), shardingThreshold);
+    }
+
+    /**
+     * Adjusts the instance counts of several types, checks which of them need to be sharded and records that the
+     * batch of commit logs the changes come from has been counted. When batches are involved the commands run in a
+     * single redis transaction, so the batches reported as counted are exactly those included in the returned
+     * instance counts.
+     *
+     * @param keyspace the keyspace of the types
+     * @param changes the number of instances each type has gained or lost
+     * @param countedBatch the id of the batch of commit logs the changes come from, if any
+     * @param batches the ids of the batches to check
+     * @param shardingThreshold the number of instances each shard of a type can hold
+     * @return the new instance counts, the types which have more instances than their shards can hold and which of
+     * the checked batches have been counted
+     */
+    public InstanceCountUpdate adjustInstanceCounts(Keyspace keyspace, Map<ConceptId, Long> changes,
+                                                    @Nullable String countedBatch, Set<String> batches,
+                                                    long shardingThreshold){
+        //The batch is recorded even without changes, otherwise it would never be reported as counted
+        if(changes.isEmpty() && countedBatch == null && batches.isEmpty()) {
+            return new InstanceCountUpdate(Collections.emptyMap(), Collections.emptySet(), Collections.emptySet());
+        }
+
+        instanceCountsPerCall.update(changes.size());
+        Map<ConceptId, Response<Long>> numInstances = new HashMap<>();
+        Map<ConceptId, Response<String>> numShards = new HashMap<>();
+        Map<String, Response<Double>> batchesCounted = new HashMap<>();
+        String countedBatchesKey = getKeyCountedBatches(keyspace);
+        long now = System.currentTimeMillis();
+        try(Context ignored = adjustInstanceCountsTimer.time()) {
+            withJedis(jedis -> {
+                Pipeline pipeline = jedis.pipelined();
+                boolean transactional = countedBatch != null || !batches.isEmpty();
+                if(transactional) pipeline.multi();
+                changes.forEach((type, change) -> {
+                    //Incrementing by 0 is still atomic and returns the current count
+                    numInstances.put(type, pipeline.incrBy(getKeyNumInstances(keyspace, type), change));
+                    numShards.put(type, pipeline.get(getKeyNumShards(keyspace, type)));
+                });
+                if(countedBatch != null) {
+                    pipeline.zadd(countedBatchesKey, now, countedBatch);
+                    pipeline.zremrangeByScore(countedBatchesKey, 0, now - COUNTED_BATCHES_TTL_MS);
+                }
+                batches.forEach(batch -> batchesCounted.put(batch, pipeline.zscore(countedBatchesKey, batch)));
+                if(transactional) pipeline.exec();
+                pipeline.sync();
+                return null;
+            });
+        }
+
+        Map<ConceptId, Long> instanceCounts = new HashMap<>();
+        Set<ConceptId> typesToShard = new HashSet<>();
+        changes.keySet().forEach(type -> {
+            long instances = numInstances.get(type).get();
+            String shards = numShards.get(type).get();
+            long shardCount = shards == null ? 1 : Math.max(1, Long.parseLong(shards));
+
+            instanceCounts.put(type, instances);
+            if(instances > shardingThreshold * shardCount) typesToShard.add(type);
+        });
+
+        Set<String> countedBatches = new HashSet<>();
+        batchesCounted.forEach((batch, score) -> {
+            if(score.get() != null) countedBatches.add(batch);
+        });
+        return new InstanceCountUpdate(instanceCounts, typesToShard, countedBatches);
+    }
+
+    private <X> X contactRedis(Function<Jedis, X> function){
+        try(Context ignored = contactRedisTimer.time()){
+            return withJedis(function);
+        }
+    }
+
     /**
      * A helper function which acquires a connection to redis from the pool and then uses it for some operations.
      * This function ensures the connection is closed properly.
@@ -98,8 +200,8 @@ public class RedisCountStorage {
      * @param <X> The type of the result returned.
      * @return The result of contacting redis.
      */
-    private <X> X contactRedis(Function<Jedis, X> function){
-        try(Jedis jedis = jedisPool.getResource(); Context ignored = contactRedisTimer.time()){
+    private <X> X withJedis(Function<Jedis, X> function){
+        try(Jedis jedis = jedisPool.getResource()){
             return function.apply(jedis);
         } catch (JedisException e) {
             LOG.error("Could not contact redis. Active: {}. Idle: {}", jedisPool.getNumActive(), jedisPool.getNumIdle(), e);
@@ -116,4 +218,43 @@ public class RedisCountStorage {
     public static String getKeyNumShards(Keyspace keyspace, ConceptId conceptId){
         return "NS_" + keyspace + "_" + conceptId.getValue();
     }
+    public static String getKeyCountedBatches(Keyspace keyspace){
+        return "CB_" + keyspace;
+    }
+
+    /**
+     * The outcome of adjusting the instance counts of several types
+     */
+    public static class InstanceCountUpdate {
+        private final Map<ConceptId, Long> instanceCounts;
+        private final Set<ConceptId> typesToShard;
+        private final Set<String> countedBatches;
+
+        InstanceCountUpdate(Map<ConceptId, Long> instanceCounts, Set<ConceptId> typesToShard, Set<String> countedBatches){
+            this.instanceCounts = instanceCounts;
+            this.typesToShard = typesToShard;
+            this.countedBatches = countedBatches;
+        }
+
+        /**
+         * @return the total number of instances of each adjusted type
+         */
+        public Map<ConceptId, Long> instanceCounts(){
+            return instanceCounts;
+        }
+
+        /**
+         * @return the adjusted types which have more instances than their shards can hold
+         */
+        public Set<ConceptId> typesToShard(){
+            return typesToShard;
+        }
+
+        /**
+         * @return the checked batches of commit logs which have been counted
+         */
+        public Set<String> countedBatches(){
+            return countedBatches;
+        }
+    }
 }
@@ -42,6 +42,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import static ai.grakn.graql.internal.hal.HALUtils.BASETYPE_PROPERTY;
@@ -57,6 +58,7 @@ import static ai.grakn.util.REST.Request.Graql.QUERY;
 import static ai.grakn.util.REST.Request.KEYSPACE;
 import static ai.grakn.util.REST.Response.ContentType.APPLICATION_HAL;
 import static ai.grakn.util.REST.Response.ContentType.APPLICATION_JSON_GRAQL;
+import static ai.grakn.util.REST.Response.ContentType.APPLICATION_NDJSON;
 import static ai.grakn.util.REST.Response.ContentType.APPLICATION_TEXT;
 import static ai.grakn.util.REST.Response.EXCEPTION;
 import static junit.framework.TestCase.assertTrue;
@@ -316,6 +318,28 @@ public class GraqlControllerReadOnlyTest {
         assertThat(jsonResponse(response), equalTo(Json.array()));
     }
 
+    @Test
+    public void GETGraqlMatchWithNdjsonType_EachAnswerIsStreamedOnItsOwnLine() {
+        String query = "match $x isa movie; get;";
+        Response response = sendRequest(APPLICATION_NDJSON);
+
+        assertThat(response.contentType(), equalTo(APPLICATION_NDJSON));
+
+        Json expectedAnswers = Json.read(
+                Printers.json().graqlString(sampleKB.tx().graql().parse(query).execute()));
+        Json answers = Json.array();
+        Arrays.stream(stringResponse(response).split("\n")).forEach(line -> answers.add(Json.read(line)));
+        assertThat(answers, equalTo(expectedAnswers));
+    }
+
+    @Test
+    public void GETGraqlAggregateWithNdjsonType_ResponseStatusIs406() {
+        String query = "match $x isa movie; aggregate count;";
+        Response response = sendRequest(query, APPLICATION_NDJSON);
+
+        assertThat(response.statusCode(), equalTo(406));
+    }
+
     @Test
     public void GETGraqlAggregateWithTextType_ResponseStatusIs200() {
         String query = "match $x isa movie; aggregate count;";
@@ -0,0 +1,166 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.controller;
+
+import ai.grakn.engine.factory.EngineGraknTxFactory;
+import ai.grakn.engine.postprocessing.PostProcessingAggregator;
+import ai.grakn.util.REST;
+import com.codahale.metrics.MetricRegistry;
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.response.Response;
+import mjson.Json;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ai.grakn.engine.controller.GraqlControllerReadOnlyTest.exception;
+import static ai.grakn.util.ErrorMessage.INVALID_POSITIVE_REQUEST_PARAMETER;
+import static ai.grakn.util.ErrorMessage.MISSING_MANDATORY_REQUEST_PARAMETERS;
+import static ai.grakn.util.REST.Request.KEYSPACE;
+import static ai.grakn.util.REST.Request.LOADER_BATCH_SIZE;
+import static ai.grakn.util.REST.Request.LOADER_WRITERS;
+import static ai.grakn.util.REST.Response.ContentType.APPLICATION_NDJSON;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class LoaderControllerTest {
+
+    private static EngineGraknTxFactory mockFactory = mock(EngineGraknTxFactory.class);
+    private static PostProcessingAggregator mockAggregator = mock(PostProcessingAggregator.class);
+
+    @ClassRule
+    public static SparkContext sparkContext = SparkContext.withControllers(spark -> {
+        new LoaderController(mockFactory, spark, mockAggregator, 1, 2, 2, new MetricRegistry());
+    });
+
+    @Test
+    public void POSTWithNoKeyspace_ResponseStatusIs400(){
+        Response response = RestAssured.with()
+                .body(body("insert $x isa person;"))
+                .post(REST.WebPath.KB.LOAD);
+
+        assertThat(response.statusCode(), equalTo(400));
+        assertThat(exception(response), containsString(MISSING_MANDATORY_REQUEST_PARAMETERS.getMessage(KEYSPACE)));
+    }
+
+    @Test
+    public void POSTQueries_ResponseContentTypeIsNdjson(){
+        Response response = sendRequest(body("match $x isa person; get;"));
+
+        assertThat(response.statusCode(), equalTo(200));
+        assertThat(response.contentType(), equalTo(APPLICATION_NDJSON));
+    }
+
+    @Test
+    public void POSTReadOnlyQuery_BatchFailsWithoutOpeningATransaction(){
+        List<Json> lines = responseLines(sendRequest(body("match $x isa person; get;")));
+
+        assertThat(lines.size(), equalTo(2));
+        assertThat(lines.get(0).at(REST.Response.Loader.BATCH).asInteger(), equalTo(0));
+        assertThat(lines.get(0).at(REST.Response.Loader.ERROR).asString(), containsString("only accepts queries that mutate the graph"));
+        verifyZeroInteractions(mockFactory);
+    }
+
+    @Test
+    public void POSTQueriesInSeveralBatches_OneOutcomeIsWrittenForEachBatchFollowedByASummary(){
+        String body = body("insert $x isa ;", "insert $x isa ;", "insert $x isa ;") + "\n\n";
+
+        List<Json> lines = responseLines(sendRequest(body));
+
+        // Batches of 2 queries, so 3 queries make 2 batches
+        assertThat(lines.size(), equalTo(3));
+        Json summary = lines.get(2);
+        assertThat(summary.at(REST.Response.Loader.LOADED).asLong(), equalTo(0L));
+        assertThat(summary.at(REST.Response.Loader.FAILED_BATCHES).asLong(), equalTo(2L));
+    }
+
+    @Test
+    public void POSTQueriesWithBatchSizeParameter_BatchSizeIsUsed(){
+        String body = body("insert $x isa ;", "insert $x isa ;", "insert $x isa ;");
+
+        Response response = RestAssured.with()
+                .queryParam(KEYSPACE, "loader")
+                .queryParam(LOADER_BATCH_SIZE, 1)
+                .body(body)
+                .post(REST.WebPath.KB.LOAD);
+
+        List<Json> lines = responseLines(response);
+        assertThat(lines.size(), equalTo(4));
+        assertThat(lines.get(3).at(REST.Response.Loader.FAILED_BATCHES).asLong(), equalTo(3L));
+    }
+
+    @Test
+    public void POSTWithNonPositiveBatchSize_ResponseStatusIs400(){
+        Response response = RestAssured.with()
+                .queryParam(KEYSPACE, "loader")
+                .queryParam(LOADER_BATCH_SIZE, 0)
+                .body(body("insert $x isa person;"))
+                .post(REST.WebPath.KB.LOAD);
+
+        assertThat(response.statusCode(), equalTo(400));
+        assertThat(exception(response), containsString(INVALID_POSITIVE_REQUEST_PARAMETER.getMessage(LOADER_BATCH_SIZE, "0")));
+        verifyZeroInteractions(mockFactory);
+    }
+
+    @Test
+    public void POSTWithNonPositiveWriters_ResponseStatusIs400(){
+        Response response = RestAssured.with()
+                .queryParam(KEYSPACE, "loader")
+                .queryParam(LOADER_WRITERS, -1)
+                .body(body("insert $x isa person;"))
+                .post(REST.WebPath.KB.LOAD);
+
+        assertThat(response.statusCode(), equalTo(400));
+        assertThat(exception(response), containsString(INVALID_POSITIVE_REQUEST_PARAMETER.getMessage(LOADER_WRITERS, "-1")));
+        verifyZeroInteractions(mockFactory);
+    }
+
+    @Test
+    public void POSTWithNonNumericWriters_ResponseStatusIs400(){
+        Response response = RestAssured.with()
+                .queryParam(KEYSPACE, "loader")
+                .queryParam(LOADER_WRITERS, "many")
+                .body(body("insert $x isa person;"))
+                .post(REST.WebPath.KB.LOAD);
+
+        assertThat(response.statusCode(), equalTo(400));
+        assertThat(exception(response), containsString(INVALID_POSITIVE_REQUEST_PARAMETER.getMessage(LOADER_WRITERS, "many")));
+    }
+
+    private static String body(String... queries){
+        return Arrays.stream(queries).map(query -> Json.make(query).toString()).collect(Collectors.joining("\n"));
+    }
+
+    private static List<Json> responseLines(Response response){
+        return Arrays.stream(response.body().asString().split("\n")).map(Json::read).collect(Collectors.toList());
+    }
+
+    private Response sendRequest(String body){
+        return RestAssured.with()
+                .queryParam(KEYSPACE, "loader")
+                .body(body)
+                .post(REST.WebPath.KB.LOAD);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.lock;
+
+import ai.grakn.util.EmbeddedRedis;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Stopwatch;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JedisNotifyingLockTest {
+
+    private static final int PORT = 7002;
+    private static final String LOCK_NAME = "NOTIFYING_LOCK_NAME";
+
+    private static JedisPool jedisPool;
+    private static MetricRegistry metricRegistry = new MetricRegistry();
+    private static JedisNotifyingLockProvider lockProvider;
+
+    @BeforeClass
+    public static void setupClass() {
+        EmbeddedRedis.start(PORT);
+        jedisPool = new JedisPool(new JedisPoolConfig(), "localhost", PORT);
+        lockProvider = new JedisNotifyingLockProvider(jedisPool, metricRegistry);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws InterruptedException {
+        lockProvider.close();
+        jedisPool.close();
+        EmbeddedRedis.stop();
+    }
+
+    @Test
+    public void whenAnotherHolderHasTheLock_TryLockFailsUntilItIsReleased() {
+        Lock lock = lockProvider.getLock(LOCK_NAME);
+        lock.lock();
+
+        assertFalse(lockProvider.getLock(LOCK_NAME).tryLock());
+        lock.unlock();
+
+        Lock other = lockProvider.getLock(LOCK_NAME);
+        assertTrue(other.tryLock());
+        other.unlock();
+    }
+
+    @Test
+    public void whenTheLockIsReleased_AWaiterAcquiresItWithoutWaitingForTheTimeout() throws Exception {
+        Lock lock = lockProvider.getLock(LOCK_NAME);
+        lock.lock();
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            Lock other = lockProvider.getLock(LOCK_NAME);
+            try {
+                boolean acquired = other.tryLock(30, TimeUnit.SECONDS);
+                if (acquired) other.unlock();
+                return acquired;
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        Thread.sleep(200);
+        lock.unlock();
+
+        assertTrue(waiter.get());
+        assertTrue(stopwatch.elapsed(TimeUnit.SECONDS) < 5);
+    }
+
+    @Test
+    public void whenTryingToLockWithATimeout_TheWaitTimeIsRecorded() throws InterruptedException {
+        long recorded = metricRegistry.histogram(MetricRegistry.name(JedisNotifyingLockProvider.class, "wait-time")).getCount();
+
+        Lock lock = lockProvider.getLock(LOCK_NAME);
+        assertTrue(lock.tryLock(1, TimeUnit.SECONDS));
+        lock.unlock();
+
+        assertEquals(recorded + 1,
+                metricRegistry.histogram(MetricRegistry.name(JedisNotifyingLockProvider.class, "wait-time")).getCount());
+    }
+
+    @Test
+    public void whenTryingToLockWithAShortTimeout_GiveUpOnceTheTimeoutPasses() throws InterruptedException {
+        Lock lock = lockProvider.getLock(LOCK_NAME);
+        lock.lock();
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        assertFalse(lockProvider.getLock(LOCK_NAME).tryLock(100, TimeUnit.MILLISECONDS));
+        assertTrue(stopwatch.elapsed(TimeUnit.MILLISECONDS) < 900);
+
+        lock.unlock();
+    }
+
+    @Test
+    public void whenALockIsRenewed_ItsExpiryIsExtended() {
+        JedisNotifyingLock lock = (JedisNotifyingLock) lockProvider.getLock(LOCK_NAME);
+        lock.lock();
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.pexpire("lock:" + LOCK_NAME, 1000L);
+            lock.renew();
+            assertTrue(jedis.pttl("lock:" + LOCK_NAME) > 1000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void whenManyThreadsWaitForALock_TheyDoNotHoldConnectionsWhileWaiting() throws Exception {
+        JedisPoolConfig config = new JedisPoolConfig();
+        //One connection for the subscription to releases and one shared by the lock holders and waiters
+        config.setMaxTotal(2);
+        config.setMaxWaitMillis(1000);
+        try (JedisPool smallPool = new JedisPool(config, "localhost", PORT);
+             JedisNotifyingLockProvider smallProvider = new JedisNotifyingLockProvider(smallPool, new MetricRegistry())) {
+            Lock lock = smallProvider.getLock(LOCK_NAME);
+            lock.lock();
+
+            List<CompletableFuture<Boolean>> waiters = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                waiters.add(CompletableFuture.supplyAsync(() -> {
+                    Lock other = smallProvider.getLock(LOCK_NAME);
+                    try {
+                        boolean acquired = other.tryLock(30, TimeUnit.SECONDS);
+                        if (acquired) other.unlock();
+                        return acquired;
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+
+            Thread.sleep(200);
+            lock.unlock();
+
+            for (CompletableFuture<Boolean> waiter : waiters) {
+                assertTrue(waiter.get());
+            }
+        }
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void whenUnlockingALockWhichIsNotHeld_Throw() {
+        lockProvider.getLock(LOCK_NAME).unlock();
+    }
+}
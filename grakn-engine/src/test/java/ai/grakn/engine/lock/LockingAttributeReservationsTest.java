@@ -0,0 +1,146 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.lock;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.kb.admin.AttributeReservations.Reservation;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LockingAttributeReservationsTest {
+
+    private final Keyspace keyspace = Keyspace.of("reservations");
+    private final LockingAttributeReservations reservations = new LockingAttributeReservations(null, 10, 60_000);
+
+    @After
+    public void closeReservations(){
+        reservations.close();
+    }
+
+    @Test
+    public void whenAnIndexIsReserved_ReservingItAgainTimesOut(){
+        Optional<Reservation> first = reserve("index");
+
+        assertTrue(first.isPresent());
+        assertFalse(reserve("index").isPresent());
+    }
+
+    @Test
+    public void whenAReservationIsReleased_TheIndexCanBeReservedAgain(){
+        reserve("index").get().release();
+
+        Reservation second = reserve("index").get();
+
+        assertFalse(second.attributeId().isPresent());
+    }
+
+    @Test
+    public void whenAReservationIsReleasedAfterCommitting_TheNextHolderGetsTheCommittedId(){
+        ConceptId attributeId = ConceptId.of("V123");
+        reserve("index").get().releaseCommitted(attributeId);
+
+        Reservation second = reserve("index").get();
+
+        assertEquals(Optional.of(attributeId), second.attributeId());
+    }
+
+    @Test
+    public void whenTheSameIndexIsReservedInDifferentKeyspaces_TheReservationsAreIndependent(){
+        assertTrue(reserve("index").isPresent());
+        assertTrue(reservations.reserve(Keyspace.of("other"), "index", Collections.emptyList()).isPresent());
+    }
+
+    @Test
+    public void whenAKeyspaceIsCleared_CommittedIdsAreForgotten(){
+        reserve("index").get().releaseCommitted(ConceptId.of("V123"));
+
+        reservations.clear(keyspace);
+
+        assertFalse(reserve("index").get().attributeId().isPresent());
+    }
+
+    @Test
+    public void whenReservingAnIndexOrderedBeforeAHeldReservation_GiveUpWithoutWaiting(){
+        try (LockingAttributeReservations reservations = new LockingAttributeReservations(null, 60_000, 600_000)) {
+            //"a" is in the stripe before "b"
+            reservations.reserve(keyspace, "a", Collections.emptyList()).get();
+            Reservation held = reservations.reserve(keyspace, "b", Collections.emptyList()).get();
+
+            long start = System.currentTimeMillis();
+            assertFalse(reservations.reserve(keyspace, "a", Collections.singleton(held)).isPresent());
+            assertTrue(System.currentTimeMillis() - start < 10_000);
+        }
+    }
+
+    @Test
+    public void whenAnIndexIsReservedByAnotherEngine_ReservingItTimesOutUntilItIsReleased(){
+        Map<String, Lock> sharedLocks = new ConcurrentHashMap<>();
+        LockProvider distributedLocks = lockName -> sharedLocks.computeIfAbsent(lockName, name -> new NonReentrantLock());
+
+        try (LockingAttributeReservations engine1 = new LockingAttributeReservations(distributedLocks, 10, 60_000);
+             LockingAttributeReservations engine2 = new LockingAttributeReservations(distributedLocks, 10, 60_000)) {
+            Reservation held = engine1.reserve(keyspace, "index", Collections.emptyList()).get();
+            assertFalse(engine2.reserve(keyspace, "index", Collections.emptyList()).isPresent());
+
+            held.release();
+            assertTrue(engine2.reserve(keyspace, "index", Collections.emptyList()).isPresent());
+        }
+    }
+
+    @Test
+    public void whenAReservationIsHeldForLongerThanTheLease_ItIsReleased() throws InterruptedException {
+        try (LockingAttributeReservations reservations = new LockingAttributeReservations(null, 10, 50)) {
+            Reservation held = reservations.reserve(keyspace, "index", Collections.emptyList()).get();
+
+            Thread.sleep(500);
+
+            assertTrue(reservations.reserve(keyspace, "index", Collections.emptyList()).isPresent());
+            held.release();
+        }
+    }
+
+    @Test
+    public void whenReservingAnIndexInAStripeAlreadyHeld_TheReservationIsMadeWithoutTakingTheStripeTwice(){
+        //"Aa" and "BB" have the same hash code, so they share a stripe
+        Reservation first = reserve("Aa").get();
+        Reservation second = reservations.reserve(keyspace, "BB", Collections.singleton(first)).get();
+
+        second.release();
+        assertFalse(reserve("Aa").isPresent());
+
+        first.release();
+        assertTrue(reserve("Aa").isPresent());
+        assertFalse(reserve("BB").isPresent());
+    }
+
+    private Optional<Reservation> reserve(String index){
+        return reservations.reserve(keyspace, index, Collections.emptyList());
+    }
+}
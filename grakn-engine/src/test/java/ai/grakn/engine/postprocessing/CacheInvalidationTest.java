@@ -0,0 +1,105 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.engine.tasks.manager.TaskSubmitter;
+import ai.grakn.kb.internal.computer.GraphSnapshots;
+import com.codahale.metrics.MetricRegistry;
+import mjson.Json;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import scala.Tuple2;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class CacheInvalidationTest {
+
+    private static final long ONE_HOUR = 60 * 60 * 1000;
+
+    private static JavaSparkContext sparkContext;
+
+    private final GraphSnapshots snapshots = GraphSnapshots.get();
+    private final Keyspace keyspace = Keyspace.of("invalidated");
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<JavaPairRDD<Object, VertexWritable>> loader = () -> {
+        loads.incrementAndGet();
+        return sparkContext.parallelizePairs(Collections.<Tuple2<Object, VertexWritable>>emptyList());
+    };
+
+    private final PostProcessingAggregator aggregator =
+            new PostProcessingAggregator(mock(TaskSubmitter.class), 0, ONE_HOUR, 100, new MetricRegistry());
+
+    @BeforeClass
+    public static void startSpark() {
+        SparkConf conf = new SparkConf()
+                .setMaster("local[1]")
+                .setAppName(CacheInvalidationTest.class.getSimpleName())
+                .set("spark.ui.enabled", "false");
+        sparkContext = new JavaSparkContext(conf);
+    }
+
+    @AfterClass
+    public static void stopSpark() {
+        sparkContext.stop();
+    }
+
+    @Before
+    public void enableSnapshots() {
+        snapshots.configure(true, GraphSnapshots.DEFAULT_STORAGE_LEVEL, GraphSnapshots.DEFAULT_TTL_MS);
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+    }
+
+    @After
+    public void disableSnapshots() {
+        aggregator.close();
+        snapshots.configure(false, GraphSnapshots.DEFAULT_STORAGE_LEVEL, GraphSnapshots.DEFAULT_TTL_MS);
+    }
+
+    @Test
+    public void whenACommitLogIsSubmittedToTheAggregator_TheSnapshotOfItsKeyspaceIsDropped() {
+        aggregator.submit(Keyspace.of("other"), Json.object());
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+        assertEquals(1, loads.get());
+
+        aggregator.submit(keyspace, Json.object());
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void whenPostProcessingModifiesAKeyspace_ItsSnapshotIsDropped() {
+        CacheInvalidation.keyspaceModified(keyspace);
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.tasks.manager.TaskConfiguration;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.engine.tasks.manager.TaskSubmitter;
+import ai.grakn.kb.internal.cache.KeyspaceStatisticsImpl;
+import ai.grakn.util.REST;
+import ai.grakn.util.Schema;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import mjson.Json;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class PostProcessingAggregatorTest {
+
+    private static final long ONE_HOUR = 60 * 60 * 1000;
+
+    private final Keyspace keyspace = Keyspace.of("aggregated");
+    private final TaskSubmitter taskSubmitter = mock(TaskSubmitter.class);
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final PostProcessingAggregator aggregator =
+            new PostProcessingAggregator(taskSubmitter, 0, ONE_HOUR, 100, metricRegistry);
+
+    @After
+    public void closeAggregator(){
+        aggregator.close();
+        KeyspaceStatisticsImpl.clear(keyspace);
+    }
+
+    @Test
+    public void whenLogsAreSubmitted_NoTasksAreCreatedUntilTheLogsAreFlushed(){
+        aggregator.submit(keyspace, commitLog("index", "V1", "type", 1));
+
+        verifyZeroInteractions(taskSubmitter);
+        assertThat(aggregator.pendingJobs(), equalTo(2));
+    }
+
+    @Test
+    public void whenSeveralLogsAreFlushed_OnePairOfTasksIsCreatedWithTheMergedLogs(){
+        aggregator.submit(keyspace, commitLog("index", "V1", "type", 1));
+        aggregator.submit(keyspace, commitLog("index", "V2", "type", 2));
+        aggregator.submit(keyspace, commitLog("other-index", "V3", "type", -1));
+
+        aggregator.flush();
+
+        List<TaskConfiguration> configurations = submittedConfigurations(2);
+        Json fixing = configurations.get(0).json().at(REST.Request.COMMIT_LOG_FIXING).at(Schema.BaseType.ATTRIBUTE.name());
+        assertThat(ids(fixing.at("index")), equalTo(Sets.newHashSet("V1", "V2")));
+        assertThat(ids(fixing.at("other-index")), equalTo(Sets.newHashSet("V3")));
+
+        Json counting = configurations.get(1).json().at(REST.Request.COMMIT_LOG_COUNTING).asJsonList().get(0);
+        assertThat(counting.at(REST.Request.COMMIT_LOG_CONCEPT_ID).asString(), equalTo("type"));
+        assertThat(counting.at(REST.Request.COMMIT_LOG_SHARDING_COUNT).asLong(), equalTo(2L));
+
+        assertThat(aggregator.pendingJobs(), equalTo(0));
+        assertThat(metricRegistry.getGauges().get(MetricRegistry.name(PostProcessingAggregator.class, "coalescing-ratio"))
+                .getValue(), equalTo(3.0));
+    }
+
+    @Test
+    public void whenTheLogsOfAKeyspaceHoldTooManyJobs_TheyAreSubmittedWithoutWaiting(){
+        for (int i = 0; i < 50; i++) {
+            aggregator.submit(keyspace, commitLog("index-" + i, "V" + i, "type-" + i, 1));
+        }
+
+        submittedConfigurations(2);
+        assertThat(aggregator.pendingJobs(), equalTo(0));
+    }
+
+    private List<TaskConfiguration> submittedConfigurations(int expected){
+        ArgumentCaptor<TaskConfiguration> configurations = ArgumentCaptor.forClass(TaskConfiguration.class);
+        verify(taskSubmitter, times(expected)).addTask(any(TaskState.class), configurations.capture());
+        return configurations.getAllValues();
+    }
+
+    private static Set<String> ids(Json ids){
+        return ids.asJsonList().stream().map(Json::asString).collect(Collectors.toSet());
+    }
+
+    private static Json commitLog(String index, String attributeId, String typeId, long count){
+        return Json.object(
+                REST.Request.COMMIT_LOG_FIXING, Json.object(Schema.BaseType.ATTRIBUTE.name(),
+                        Json.object(index, Json.array(attributeId))),
+                REST.Request.COMMIT_LOG_COUNTING, Json.array(Json.object(
+                        REST.Request.COMMIT_LOG_CONCEPT_ID, typeId,
+                        REST.Request.COMMIT_LOG_SHARDING_COUNT, count)));
+    }
+
+    @Test
+    public void whenALogIsSubmitted_ItsCountsArePendingUntilTheBatchItWasMergedIntoIsCounted(){
+        ConceptId typeId = ConceptId.of("type");
+        KeyspaceStatisticsImpl statistics = KeyspaceStatisticsImpl.of(keyspace);
+        statistics.updateInstanceCounts(ImmutableMap.of(typeId, 10L));
+
+        aggregator.submit(keyspace, commitLog("index", "V1", "type", 2));
+        aggregator.submit(keyspace, commitLog("index", "V2", "type", 1));
+        assertThat(statistics.exactInstanceCount(typeId), equalTo(Optional.of(13L)));
+
+        aggregator.flush();
+
+        String batch = submittedConfigurations(2).get(1).json().at(REST.Request.COMMIT_LOG_COUNTING_BATCH).asString();
+        assertThat(statistics.pendingBatches(), equalTo(Collections.singleton(batch)));
+
+        statistics.updateInstanceCounts(ImmutableMap.of(typeId, 13L), Collections.singleton(batch));
+        assertThat(statistics.exactInstanceCount(typeId), equalTo(Optional.of(13L)));
+        assertThat(statistics.pendingBatches(), empty());
+    }
+
+    @Test
+    public void whenTheTasksOfABatchCannotBeSubmitted_ItsCountsAreNoLongerPending(){
+        doThrow(new RuntimeException("no task storage")).when(taskSubmitter).addTask(any(TaskState.class), any(TaskConfiguration.class));
+
+        aggregator.submit(keyspace, commitLog("index", "V1", "type", 2));
+        aggregator.flush();
+
+        assertThat(KeyspaceStatisticsImpl.of(keyspace).pendingBatches(), empty());
+    }
+}
@@ -103,14 +103,17 @@ final public class TxFactoryJanus extends TxFactoryAbstract<GraknTxJanus, JanusG
 
     @Override
     public JanusGraph getGraphWithNewTransaction(JanusGraph graph, boolean batchloading){
-        if(graph.isClosed()) graph = buildTinkerPopGraph(batchloading);
-
         if(!graph.tx().isOpen()){
             graph.tx().open();
         }
         return graph;
     }
 
+    @Override
+    boolean isClosed(JanusGraph graph){
+        return graph.isClosed();
+    }
+
     @Override
     GraknTxJanus buildGraknGraphFromTinker(JanusGraph graph) {
         return new GraknTxJanus(graph, super.keyspace, super.engineUrl, super.properties);
@@ -205,7 +208,10 @@ final public class TxFactoryJanus extends TxFactoryAbstract<GraknTxJanus, JanusG
         ResourceBundle keys = ResourceBundle.getBundle("indices-edges");
         Set<String> edgeLabels = keys.keySet();
         for(String edgeLabel : edgeLabels){
-            String[] propertyKeyStrings = keys.getString(edgeLabel).split(",");
+            //Keys separated by '|' are alternatives which an edge never has together, so they are not indexed together
+            String declaredKeys = keys.getString(edgeLabel);
+            boolean alternativeKeys = declaredKeys.contains("|");
+            String[] propertyKeyStrings = declaredKeys.split("[,|]");
 
             //Get all the property keys we need
             Set<PropertyKey> propertyKeys = stream(propertyKeyStrings).map(keyId ->{
@@ -228,6 +234,7 @@ final public class TxFactoryJanus extends TxFactoryAbstract<GraknTxJanus, JanusG
             }
 
             //Create index on all property keys
+            if (alternativeKeys) continue;
             String propertyKeyId = propertyKeys.stream().map(Namifiable::name).collect(Collectors.joining("_"));
             if (management.getRelationIndex(relationType, edgeLabel + "by" + propertyKeyId) == null) {
                 PropertyKey [] allKeys = propertyKeys.toArray(new PropertyKey[propertyKeys.size()]);
@@ -0,0 +1,83 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.factory;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many transactions can be opened per second as more threads open them at once.
+ */
+@Ignore //Benchmark, run it manually when changing how transactions are opened
+public class TxFactoryJanusBenchmarkTest extends JanusTestBase {
+    private static final Logger LOG = LoggerFactory.getLogger(TxFactoryJanusBenchmarkTest.class);
+
+    private static final int[] THREADS = {1, 8, 64};
+    private static final int TRANSACTIONS_PER_THREAD = 200;
+
+    @Test
+    public void whenMoreThreadsOpenTransactionsAtOnce_ReportTheThroughput() throws Exception {
+        TxFactoryJanus factory = new TxFactoryJanus(Keyspace.of("benchmarkkeyspace"), Grakn.IN_MEMORY, TEST_PROPERTIES);
+
+        //Build the graph before measuring, so only opening transactions is timed
+        factory.open(GraknTxType.WRITE).close();
+
+        for (int threads : THREADS) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < TRANSACTIONS_PER_THREAD; j++) {
+                        factory.open(GraknTxType.WRITE).close();
+                    }
+                    return null;
+                }));
+            }
+
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long nanos = System.nanoTime() - startTime;
+            pool.shutdown();
+
+            int transactions = threads * TRANSACTIONS_PER_THREAD;
+            LOG.info("Opened " + transactions + " transactions on " + threads + " threads in " +
+                    TimeUnit.NANOSECONDS.toMillis(nanos) + "ms, " +
+                    transactions * TimeUnit.SECONDS.toNanos(1) / Math.max(1, nanos) + " transactions/s");
+        }
+    }
+}
@@ -24,10 +24,12 @@ import ai.grakn.Keyspace;
 import ai.grakn.exception.InvalidKBException;
 import ai.grakn.kb.internal.GraknTxJanus;
 import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
 import org.janusgraph.core.schema.JanusGraphManagement;
+import org.janusgraph.core.schema.RelationTypeIndex;
 import org.janusgraph.graphdb.database.StandardJanusGraph;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -37,6 +39,7 @@ import java.util.HashSet;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -84,6 +87,13 @@ public class TxFactoryJanusTest extends JanusTestBase {
             assertNotNull(management.getEdgeLabel(label));
         }
 
+        //Test Attribute Value Edge Indices
+        String isa = Schema.EdgeLabel.ISA.getLabel();
+        RelationTypeIndex longIndex = management.getRelationIndex(management.getRelationType(isa), isa + "by" + Schema.EdgeProperty.VALUE_LONG.name());
+        assertNotNull(longIndex);
+        assertEquals(Order.decr, longIndex.getSortOrder());
+        assertNotNull(management.getRelationIndex(management.getRelationType(isa), isa + "by" + Schema.EdgeProperty.VALUE_STRING.name()));
+
         //Test Properties
         Arrays.stream(Schema.VertexProperty.values()).forEach(property ->
                 assertNotNull(management.getPropertyKey(property.name())));
@@ -171,6 +181,40 @@ public class TxFactoryJanusTest extends JanusTestBase {
         }
     }
 
+    @Test
+    public void whenManyThreadsOpenTransactionsAtOnce_TheyShareOneGraphAndGetIndependentTransactions() throws Exception {
+        final int threads = 64;
+        final int transactionsPerThread = 50;
+        TxFactoryJanus factory = new TxFactoryJanus(Keyspace.of("contendedkeyspace"), Grakn.IN_MEMORY, TEST_PROPERTIES);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Set<Future<Set<JanusGraph>>> futures = new HashSet<>();
+        for(int i = 0; i < threads; i ++) {
+            futures.add(pool.submit(() -> {
+                Set<JanusGraph> graphs = new HashSet<>();
+                start.await();
+                for(int j = 0; j < transactionsPerThread; j ++) {
+                    GraknTxJanus graph = factory.open(GraknTxType.WRITE);
+                    assertFalse("Grakn graph is closed", graph.isClosed());
+                    graphs.add(graph.getTinkerPopGraph());
+                    graph.close();
+                    assertTrue("Grakn graph is still open after closing it", graph.isClosed());
+                }
+                return graphs;
+            }));
+        }
+
+        start.countDown();
+        Set<JanusGraph> graphs = new HashSet<>();
+        for (Future<Set<JanusGraph>> future: futures){
+            graphs.addAll(future.get());
+        }
+        pool.shutdown();
+
+        assertEquals(1, graphs.size());
+    }
+
     @Test
     public void testGraphNotClosed() throws InvalidKBException {
         TxFactoryJanus factory = new TxFactoryJanus(Keyspace.of("stuff"), Grakn.IN_MEMORY, TEST_PROPERTIES);
@@ -21,23 +21,28 @@ computeQuery   : 'compute' computeMethod ;
 
 variables      : VARIABLE (',' VARIABLE)* ;
 
-computeMethod  : min | max | median | mean | std | sum | count | path | cluster | degrees ;
+computeMethod  : min | max | median | percentile | mean | std | sum | count | path | cluster | degrees ;
 
 min            : MIN      'of' ofList      ('in' inList)? ';' ;
 max            : MAX      'of' ofList      ('in' inList)? ';' ;
-median         : MEDIAN   'of' ofList      ('in' inList)? ';' ;
+median         : MEDIAN   'of' ofList      ('in' inList)? ';' (APPROXIMATE ';')? ;
+percentile     : PERCENTILE INTEGER 'of' ofList ('in' inList)? ';' APPROXIMATE ';' ;
 mean           : MEAN     'of' ofList      ('in' inList)? ';' ;
 std            : STD      'of' ofList      ('in' inList)? ';' ;
 sum            : SUM      'of' ofList      ('in' inList)? ';' ;
 degrees        : DEGREES ('of' ofList)?    ('in' inList)? ';' ;
 cluster        : CLUSTER                   ('in' inList)? ';' clusterParam* ;
 path           : PATH    'from' id 'to' id ('in' inList)? ';' ;
-count          : COUNT                     ('in' inList)? ';' ;
+count          : COUNT                     ('in' inList)? ';' countParam* ;
 
 clusterParam   : MEMBERS      ';' # clusterMembers
                | SIZE INTEGER ';' # clusterSize
                ;
 
+countParam     : APPROXIMATE  ';' # countApproximate
+               | SCAN         ';' # countScan
+               ;
+
 ofList         : labelList ;
 inList         : labelList ;
 labelList      : label (',' label)* ;
@@ -109,14 +114,15 @@ id             : identifier ;
 
 // Some keywords can also be used as identifiers
 identifier     : ID | STRING
-               | MIN | MAX| MEDIAN | MEAN | STD | SUM | COUNT | PATH | CLUSTER
-               | DEGREES | MEMBERS | SIZE
+               | MIN | MAX| MEDIAN | PERCENTILE | MEAN | STD | SUM | COUNT | PATH | CLUSTER
+               | DEGREES | MEMBERS | SIZE | APPROXIMATE | SCAN
                ;
 
 // keywords
 MIN            : 'min' ;
 MAX            : 'max' ;
 MEDIAN         : 'median' ;
+PERCENTILE     : 'percentile' ;
 MEAN           : 'mean' ;
 STD            : 'std' ;
 SUM            : 'sum' ;
@@ -126,6 +132,8 @@ CLUSTER        : 'cluster' ;
 DEGREES        : 'degrees' ;
 MEMBERS        : 'members' ;
 SIZE           : 'size' ;
+APPROXIMATE    : 'approximate' ;
+SCAN           : 'scan' ;
 MATCH          : 'match' ;
 INSERT         : 'insert' ;
 DEFINE         : 'define' ;
@@ -319,6 +319,24 @@ public class Graql {
         return Aggregates.median(Graql.var(var));
     }
 
+    /**
+     * Create an aggregate that will estimate the median of a variable's values in a single pass.
+     * @param var the variable to find the median of
+     */
+    @CheckReturnValue
+    public static Aggregate<Answer, Optional<Number>> approximateMedian(String var) {
+        return Aggregates.approximateMedian(Graql.var(var));
+    }
+
+    /**
+     * Create an aggregate that will estimate the number of distinct concepts of a variable in a single pass.
+     * @param var the variable to count the distinct concepts of
+     */
+    @CheckReturnValue
+    public static Aggregate<Answer, Long> approximateCountDistinct(String var) {
+        return Aggregates.approximateCountDistinct(Graql.var(var));
+    }
+
     /**
      * Create an aggregate that will find the unbiased sample standard deviation of a variable's values.
      * @param var the variable to find the standard deviation of
@@ -0,0 +1,112 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.analytics;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ *     A mergeable HyperLogLog sketch of a stream of values, used to estimate the number of distinct values in a single
+ *     pass and in bounded memory
+ * </p>
+ *
+ * <p>
+ *     Each value is hashed into one of a fixed number of registers, which remembers the longest run of leading zeros
+ *     seen in the rest of the hashes. The relative error of the estimate is about {@code 1.04 / sqrt(registers)}, so
+ *     under one percent with the default precision. Few distinct values are counted almost exactly.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class DistinctSketch implements Serializable {
+
+    private static final long serialVersionUID = -2960384315734052181L;
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    public static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public DistinctSketch() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision the number of bits of the hash which select a register, so there are 2^precision registers
+     */
+    public DistinctSketch(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Precision must be between 4 and 18, not " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * @param value the value to add, which is only counted once however often it is added
+     */
+    public void add(String value) {
+        long hash = HASH.hashUnencodedChars(value).asLong();
+        int register = (int) (hash >>> (Long.SIZE - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), Long.SIZE - precision) + 1;
+        if (rank > registers[register]) registers[register] = (byte) rank;
+    }
+
+    /**
+     * Add all the values summarised by another sketch to this one
+     *
+     * @param other the sketch to merge into this one, which must have the same precision
+     * @return this sketch
+     */
+    public DistinctSketch merge(DistinctSketch other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of precision " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+        return this;
+    }
+
+    /**
+     * @return the estimated number of distinct values added to the sketch
+     */
+    public long count() {
+        int size = registers.length;
+        double sum = 0D;
+        int emptyRegisters = 0;
+        for (byte rank : registers) {
+            sum += Math.scalb(1D, -rank);
+            if (rank == 0) emptyRegisters++;
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / size);
+        double estimate = alpha * size * size / sum;
+
+        // the raw estimate is biased when few values have been added, when counting the empty registers is better
+        if (estimate <= 2.5 * size && emptyRegisters > 0) {
+            estimate = size * Math.log((double) size / emptyRegisters);
+        }
+        return Math.round(estimate);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.analytics;
+
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.LabelId;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * The MapReduce program for estimating the quantiles of the given resource in a single pass.
+ * <p>
+ * Every value is added to a {@link QuantileSketch}, weighted by the number of instances owning it, and the sketches
+ * are merged in the combine and reduce stages.
+ * <p>
+ *
+ * @author pluraliseseverythings
+ */
+
+public class QuantileMapReduce extends StatisticsMapReduce<QuantileSketch> {
+
+    // Needed internally for OLAP tasks
+    public QuantileMapReduce() {
+    }
+
+    public QuantileMapReduce(Set<LabelId> selectedLabelIds, AttributeType.DataType resourceDataType,
+                             String degreePropertyKey) {
+        super(selectedLabelIds, resourceDataType, degreePropertyKey);
+    }
+
+    @Override
+    public void safeMap(final Vertex vertex, final MapEmitter<Serializable, QuantileSketch> emitter) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (resourceIsValid(vertex)) {
+            Double degree = ((Long) vertex.value(degreePropertyKey)).doubleValue();
+            sketch.add(resourceValue(vertex).doubleValue(), degree);
+        }
+        emitter.emit(NullObject.instance(), sketch);
+    }
+
+    @Override
+    QuantileSketch reduceValues(Iterator<QuantileSketch> values) {
+        QuantileSketch sketch = new QuantileSketch();
+        values.forEachRemaining(sketch::merge);
+        return sketch;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.analytics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.OptionalDouble;
+
+/**
+ * <p>
+ *     A mergeable sketch of the distribution of a stream of weighted values, used to estimate quantiles in a single
+ *     pass and in bounded memory
+ * </p>
+ *
+ * <p>
+ *     Values are summarised by weighted centroids. Centroids near the middle of the distribution may absorb more
+ *     weight than centroids near its tails, so estimates are most accurate at extreme quantiles and the error of the
+ *     median is a small fraction of the number of values. The number of centroids is proportional to the compression.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class QuantileSketch implements Serializable {
+
+    private static final long serialVersionUID = 4625327151352744201L;
+
+    public static final int DEFAULT_COMPRESSION = 100;
+
+    private final int compression;
+
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+
+    // values which have been added but not yet merged into the centroids
+    private final int bufferCapacity;
+    private double[] bufferedMeans = new double[0];
+    private double[] bufferedWeights = new double[0];
+    private int buffered = 0;
+
+    private double totalWeight = 0D;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public QuantileSketch(int compression) {
+        if (compression <= 0) throw new IllegalArgumentException("Compression must be positive, not " + compression);
+        this.compression = compression;
+        this.bufferCapacity = compression * 5;
+    }
+
+    /**
+     * @param value the value to add once
+     */
+    public void add(double value) {
+        add(value, 1D);
+    }
+
+    /**
+     * @param value  the value to add
+     * @param weight the number of times the value occurs
+     */
+    public void add(double value, double weight) {
+        if (weight <= 0) return;
+
+        buffer(value, weight);
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add all the values summarised by another sketch to this one
+     *
+     * @param other the sketch to merge into this one
+     * @return this sketch
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        other.compress();
+        totalWeight += other.totalWeight;
+        for (int i = 0; i < other.means.length; i++) {
+            buffer(other.means[i], other.weights[i]);
+        }
+
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * @return the total weight of the values added to the sketch
+     */
+    public double count() {
+        return totalWeight;
+    }
+
+    /**
+     * @param quantile a quantile between 0 and 1, such as 0.5 for the median
+     * @return the estimated value at the quantile, or nothing if no values have been added
+     */
+    public OptionalDouble quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1, not " + quantile);
+        }
+
+        compress();
+        if (means.length == 0) return OptionalDouble.empty();
+        if (means.length == 1) return OptionalDouble.of(means[0]);
+
+        double target = quantile * totalWeight;
+
+        // the first and last centroids are interpolated towards the extreme values
+        double firstCentre = weights[0] / 2;
+        if (target < firstCentre) {
+            return OptionalDouble.of(interpolate(min, means[0], target / firstCentre));
+        }
+
+        double weightSoFar = 0D;
+        for (int i = 0; i < means.length - 1; i++) {
+            double centre = weightSoFar + weights[i] / 2;
+            double nextCentre = weightSoFar + weights[i] + weights[i + 1] / 2;
+            if (target < nextCentre) {
+                return OptionalDouble.of(interpolate(means[i], means[i + 1], (target - centre) / (nextCentre - centre)));
+            }
+            weightSoFar += weights[i];
+        }
+
+        int last = means.length - 1;
+        double lastCentre = totalWeight - weights[last] / 2;
+        return OptionalDouble.of(interpolate(means[last], max, (target - lastCentre) / (weights[last] / 2)));
+    }
+
+    /**
+     * Buffer a centroid, compressing the buffer when it is full. The buffer grows on demand, so that sketches of a
+     * few values stay small.
+     */
+    private void buffer(double mean, double weight) {
+        if (buffered == bufferCapacity) {
+            compress();
+        } else if (buffered == bufferedMeans.length) {
+            int length = Math.min(bufferCapacity, Math.max(4, buffered * 2));
+            bufferedMeans = Arrays.copyOf(bufferedMeans, length);
+            bufferedWeights = Arrays.copyOf(bufferedWeights, length);
+        }
+        bufferedMeans[buffered] = mean;
+        bufferedWeights[buffered] = weight;
+        buffered++;
+    }
+
+    private static double interpolate(double from, double to, double fraction) {
+        return from + (to - from) * Math.max(0D, Math.min(1D, fraction));
+    }
+
+    /**
+     * Merge the buffered values into the centroids, keeping the weight of each centroid within the bound of its
+     * quantile
+     */
+    private void compress() {
+        if (buffered == 0) return;
+
+        int size = means.length + buffered;
+        Integer[] order = new Integer[size];
+        double[] allMeans = Arrays.copyOf(means, size);
+        double[] allWeights = Arrays.copyOf(weights, size);
+        System.arraycopy(bufferedMeans, 0, allMeans, means.length, buffered);
+        System.arraycopy(bufferedWeights, 0, allWeights, means.length, buffered);
+        for (int i = 0; i < size; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble(i -> allMeans[i]));
+
+        double[] newMeans = new double[size];
+        double[] newWeights = new double[size];
+        int centroids = 0;
+        double weightSoFar = 0D;
+
+        double mean = allMeans[order[0]];
+        double weight = allWeights[order[0]];
+        for (int i = 1; i < size; i++) {
+            double nextMean = allMeans[order[i]];
+            double nextWeight = allWeights[order[i]];
+
+            double quantile = (weightSoFar + (weight + nextWeight) / 2) / totalWeight;
+            double limit = 4 * totalWeight * quantile * (1 - quantile) / compression;
+            if (weight + nextWeight <= limit) {
+                mean += (nextMean - mean) * nextWeight / (weight + nextWeight);
+                weight += nextWeight;
+            } else {
+                newMeans[centroids] = mean;
+                newWeights[centroids] = weight;
+                centroids++;
+                weightSoFar += weight;
+                mean = nextMean;
+                weight = nextWeight;
+            }
+        }
+        newMeans[centroids] = mean;
+        newWeights[centroids] = weight;
+        centroids++;
+
+        means = Arrays.copyOf(newMeans, centroids);
+        weights = Arrays.copyOf(newWeights, centroids);
+        buffered = 0;
+    }
+}
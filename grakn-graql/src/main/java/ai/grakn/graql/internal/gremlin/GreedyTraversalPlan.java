@@ -25,6 +25,7 @@ import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.PatternAdmin;
 import ai.grakn.graql.admin.VarPatternAdmin;
 import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import ai.grakn.graql.internal.gremlin.fragment.FragmentCostEstimator;
 import ai.grakn.graql.internal.gremlin.spanningtree.Arborescence;
 import ai.grakn.graql.internal.gremlin.spanningtree.ChuLiuEdmonds;
 import ai.grakn.graql.internal.gremlin.spanningtree.graph.DirectedEdge;
@@ -74,7 +75,7 @@ public class GreedyTraversalPlan {
 
         Set<? extends List<Fragment>> fragments = patterns.stream()
                 .map(conjunction -> new ConjunctionQuery(conjunction, graph))
-                .map(GreedyTraversalPlan::planForConjunction)
+                .map(query -> TraversalPlanCache.get().plan(query, graph, () -> planForConjunction(query, graph)))
                 .collect(toImmutableSet());
 
         return GraqlTraversal.create(fragments);
@@ -84,13 +85,18 @@ public class GreedyTraversalPlan {
      * Create a plan using Edmonds' algorithm with greedy approach to execute a single conjunction
      *
      * @param query the conjunction query to find a traversal plan
+     * @param graph the graph the plan will be executed on, whose statistics are used to estimate costs
      * @return a semi-optimal traversal plan to execute the given conjunction
      */
-    private static List<Fragment> planForConjunction(ConjunctionQuery query) {
+    private static List<Fragment> planForConjunction(ConjunctionQuery query, GraknTx graph) {
 
         List<Fragment> plan = new ArrayList<>();
         Map<NodeId, Node> allNodes = new HashMap<>();
 
+        // use the statistics of the knowledge base to refine the cost of each fragment before building the graph
+        FragmentCostEstimator.estimateCosts(query.getEquivalentFragmentSets().stream()
+                .flatMap(EquivalentFragmentSet::stream).collect(Collectors.toSet()), graph);
+
         Collection<Set<Fragment>> connectedFragmentSets = getConnectedFragmentSets(query, allNodes);
 
         connectedFragmentSets.forEach(fragmentSet -> {
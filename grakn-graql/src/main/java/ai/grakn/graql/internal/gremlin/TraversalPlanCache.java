@@ -0,0 +1,195 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.GraknTx;
+import ai.grakn.Keyspace;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>
+ *     Caches traversal plans of conjunctions by their shape
+ * </p>
+ *
+ * <p>
+ *     Two conjunctions have the same shape when they only differ by literal values, such as IDs and attribute values,
+ *     and by the names of anonymous variables. Parameterised queries therefore only need to be planned once.
+ *     The order of the fragment shapes in a plan is cached, and reapplied to the fragments of later queries.
+ * </p>
+ *
+ * <p>
+ *     Plans are only valid for the schema version they were created against, so a schema change invalidates all
+ *     plans of a keyspace. They are also only reused within the statistics epoch they were created in, so plans are
+ *     rebuilt as soon as the instance counts they were costed with change significantly.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class TraversalPlanCache {
+
+    private static final int MAX_CACHED_PLANS = 10_000;
+    private static final int PLAN_TIMEOUT_MINUTES = 10;
+
+    private static final TraversalPlanCache INSTANCE = new TraversalPlanCache();
+
+    private final Cache<PlanKey, ImmutableList<String>> plans = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PLANS)
+            .expireAfterWrite(PLAN_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    private TraversalPlanCache() {
+    }
+
+    /**
+     * @return the plan cache shared by all transactions
+     */
+    public static TraversalPlanCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the hit and miss statistics of the cache
+     */
+    public CacheStats stats() {
+        return plans.stats();
+    }
+
+    /**
+     * @return the number of plans currently cached
+     */
+    public long size() {
+        return plans.size();
+    }
+
+    /**
+     * Remove all cached plans
+     */
+    public void clear() {
+        plans.invalidateAll();
+    }
+
+    /**
+     * Get the plan of a conjunction, either by reapplying a cached plan of the same shape or by planning it.
+     *
+     * @param query   the conjunction to plan
+     * @param tx      the transaction the plan will be executed in
+     * @param planner creates a new plan for the conjunction when no cached plan is available
+     * @return a plan to execute the given conjunction
+     */
+    List<Fragment> plan(ConjunctionQuery query, GraknTx tx, Supplier<List<Fragment>> planner) {
+        Set<Fragment> fragments = new HashSet<>();
+        query.getEquivalentFragmentSets().forEach(set -> fragments.addAll(set.fragments()));
+
+        Map<Fragment, String> shapes = shapes(fragments);
+
+        // If two fragments have the same shape, they are interchangeable as long as their variables also have the
+        // same shape. We cannot guarantee this when the shortened variable names clash, so we do not cache these.
+        if (shapes == null) return planner.get();
+
+        PlanKey key = PlanKey.of(tx.getKeyspace(), tx.admin().getSchemaVersion(), tx.admin().statistics().epoch(),
+                ImmutableList.copyOf(shapes.values().stream().sorted().collect(toList())));
+
+        ImmutableList<String> cachedPlan = plans.getIfPresent(key);
+        if (cachedPlan != null) {
+            return applyPlan(cachedPlan, shapes);
+        }
+
+        List<Fragment> plan = planner.get();
+        if (new HashSet<>(plan).size() == plan.size()) {
+            plans.put(key, ImmutableList.copyOf(plan.stream().map(shapes::get).collect(toList())));
+        }
+        return plan;
+    }
+
+    private static List<Fragment> applyPlan(List<String> cachedPlan, Map<Fragment, String> shapes) {
+        Map<String, Deque<Fragment>> fragmentsByShape = new HashMap<>();
+        shapes.forEach((fragment, shape) ->
+                fragmentsByShape.computeIfAbsent(shape, s -> new ArrayDeque<>()).add(fragment));
+
+        // The key contains the shape of every fragment, so every shape in the cached plan has a matching fragment
+        return cachedPlan.stream().map(shape -> fragmentsByShape.get(shape).pop()).collect(toList());
+    }
+
+    /**
+     * Compute the shape of every fragment, naming anonymous variables canonically so that conjunctions which only
+     * differ by the names of anonymous variables have the same shapes.
+     */
+    private static @Nullable Map<Fragment, String> shapes(Set<Fragment> fragments) {
+        Set<String> shortNames = new HashSet<>();
+        Set<Var> allVars = new HashSet<>();
+        fragments.forEach(fragment -> {
+            allVars.addAll(fragment.vars());
+            allVars.addAll(fragment.dependencies());
+        });
+        for (Var var : allVars) {
+            if (!shortNames.add(var.shortName())) return null;
+        }
+
+        // Order the fragments by their shape when ignoring the names of anonymous variables
+        Function<Var, String> anonymousNames = var -> var.isUserDefinedName() ? "@" + var.getValue() : "#";
+        List<Fragment> orderedFragments = fragments.stream()
+                .sorted(Comparator.comparing(fragment -> fragment.shape(anonymousNames)))
+                .collect(toList());
+
+        // Then number the anonymous variables in the order they are found
+        Map<Var, String> canonicalNames = new HashMap<>();
+        Function<Var, String> canonicalName = var -> canonicalNames.computeIfAbsent(var, v ->
+                v.isUserDefinedName() ? "@" + v.getValue() : "#" + canonicalNames.size());
+        orderedFragments.forEach(fragment -> fragment.shape(canonicalName));
+
+        Map<Fragment, String> shapes = new HashMap<>();
+        orderedFragments.forEach(fragment -> shapes.put(fragment, fragment.shape(canonicalNames::get)));
+        return shapes;
+    }
+
+    @AutoValue
+    abstract static class PlanKey {
+        abstract @Nullable Keyspace keyspace();
+        abstract long schemaVersion();
+        abstract long statisticsEpoch();
+        abstract ImmutableList<String> shapes();
+
+        static PlanKey of(@Nullable Keyspace keyspace, long schemaVersion, long statisticsEpoch,
+                          ImmutableList<String> shapes) {
+            return new AutoValue_TraversalPlanCache_PlanKey(keyspace, schemaVersion, statisticsEpoch, shapes);
+        }
+    }
+}
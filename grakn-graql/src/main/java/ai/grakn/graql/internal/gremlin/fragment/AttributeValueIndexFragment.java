@@ -0,0 +1,104 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin.fragment;
+
+import ai.grakn.GraknTx;
+import ai.grakn.graql.ValuePredicate;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.internal.gremlin.spanningtree.graph.DirectedEdge;
+import ai.grakn.graql.internal.gremlin.spanningtree.graph.Node;
+import ai.grakn.graql.internal.gremlin.spanningtree.graph.NodeId;
+import ai.grakn.graql.internal.gremlin.spanningtree.util.Weighted;
+import com.google.auto.value.AutoValue;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static ai.grakn.util.Schema.EdgeLabel.ISA;
+import static ai.grakn.util.Schema.EdgeLabel.SHARD;
+import static ai.grakn.util.Schema.VertexProperty.IS_VALUE_INDEXED;
+
+/**
+ * A fragment representing traversing from an {@link ai.grakn.concept.AttributeType} to those of its
+ * {@link ai.grakn.concept.Attribute}s whose value satisfies a predicate.
+ * <p>
+ * The value of each attribute is copied onto its isa edge, where it is indexed, so the predicate is applied to the
+ * edges of each shard of the type without reading the attributes which do not satisfy it. Shards which were created
+ * before values were copied onto isa edges are scanned instead.
+ *
+ * @author pluraliseseverythings
+ */
+@AutoValue
+abstract class AttributeValueIndexFragment extends Fragment {
+
+    @Override
+    public abstract Var end();
+
+    abstract ValuePredicate predicate();
+
+    @Override
+    public GraphTraversal<Element, ? extends Element> applyTraversalInner(
+            GraphTraversal<Element, ? extends Element> traversal, GraknTx graph, Collection<Var> vars) {
+
+        GraphTraversal<Element, Vertex> shards = Fragments.inSubs(Fragments.isVertex(traversal)).in(SHARD.getLabel());
+
+        return shards.choose(__.has(IS_VALUE_INDEXED.name(), true),
+                predicate().applyPredicate(__.<Vertex>inE(ISA.getLabel())).outV(),
+                predicate().applyPredicate(__.<Vertex>in(ISA.getLabel()))
+        );
+    }
+
+    @Override
+    public String name() {
+        return "<-[isa:value " + predicate() + "]-";
+    }
+
+    @Override
+    String shapeName() {
+        return "<-[isa:value]-";
+    }
+
+    @Override
+    double internalFragmentCost() {
+        return COST_INSTANCES_PER_TYPE + ValueFragment.predicateCost(predicate());
+    }
+
+    /**
+     * The index reaches the instances of the type which satisfy the predicate, so the cost is that of an
+     * {@link InIsaFragment} filtered by a {@link ValueFragment}.
+     *
+     * @param instances     the number of instances of the type, as recorded in the keyspace statistics
+     * @param predicateCost the cost of filtering the instances with the predicate
+     * @return the cost of reaching the instances satisfying the predicate through the index
+     */
+    double costOfInstances(long instances, double predicateCost) {
+        return Math.log1p(instances) + predicateCost;
+    }
+
+    @Override
+    public Set<Weighted<DirectedEdge<Node>>> directedEdges(Map<NodeId, Node> nodes,
+                                                           Map<Node, Map<Node, Fragment>> edges) {
+        return directedEdges(NodeId.NodeType.ISA, nodes, edges);
+    }
+}
@@ -46,7 +46,7 @@ abstract class DataTypeFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_NODE_DATA_TYPE;
     }
 }
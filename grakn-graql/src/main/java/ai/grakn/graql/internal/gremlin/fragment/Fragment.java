@@ -35,10 +35,15 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ai.grakn.graql.internal.gremlin.spanningtree.util.Weighted.weighted;
 
@@ -66,7 +71,7 @@ import static ai.grakn.graql.internal.gremlin.spanningtree.util.Weighted.weighte
  */
 public abstract class Fragment {
 
-    // TODO: Find a better way to represent these values (either abstractly, or better estimates)
+    // These values are only used when there are no statistics available, see FragmentCostEstimator
 
     private static final long NUM_INSTANCES_PER_TYPE = 100;
     private static final long NUM_SUBTYPES_PER_TYPE = 3;
@@ -97,6 +102,9 @@ public abstract class Fragment {
     static final double COST_NODE_NOT_INTERNAL = -Math.log(1.1D);
     static final double COST_NODE_IS_ABSTRACT = -Math.log(1.1D);
 
+    // The cost of this fragment estimated from the statistics of the knowledge base, if any
+    private @Nullable Double accurateFragmentCost = null;
+
     /**
      * Get the corresponding property
      */
@@ -199,6 +207,38 @@ public abstract class Fragment {
      */
     public abstract String name();
 
+    /**
+     * The name of the fragment with any literal values, such as IDs and attribute values, left out. Fragments which
+     * only differ by literal values have the same shape name and can be planned in the same way.
+     */
+    String shapeName() {
+        return name();
+    }
+
+    /**
+     * Describe the shape of this fragment: its class, its variables and its name without literal values.
+     *
+     * @param varNames a function giving the name to use for each variable in the fragment, which must not contain '$'
+     */
+    public final String shape(Function<Var, String> varNames) {
+        // Replace the longest variable names first, so that no variable name is replaced inside another
+        String name = shapeName();
+        List<Var> namedVars = Stream.concat(vars().stream(), dependencies().stream()).distinct()
+                .sorted(Comparator.comparingInt((Var var) -> var.shortName().length()).reversed())
+                .collect(Collectors.toList());
+        for (Var var : namedVars) {
+            name = name.replace(var.shortName(), varNames.apply(var));
+        }
+
+        StringBuilder shape = new StringBuilder(getClass().getSimpleName()).append(varNames.apply(start()));
+        shape.append(name);
+        Var end = end();
+        if (end != null) shape.append(varNames.apply(end));
+        for (Var var : otherVars()) shape.append(",").append(varNames.apply(var));
+        for (Var var : dependencies()) shape.append("<").append(varNames.apply(var));
+        return shape.toString();
+    }
+
     /**
      * A starting fragment is a fragment that can start a traversal.
      * If any other fragment is present that refers to the same variable, the starting fragment can be omitted.
@@ -210,7 +250,21 @@ public abstract class Fragment {
     /**
      * Get the cost for executing the fragment.
      */
-    public abstract double fragmentCost();
+    public final double fragmentCost() {
+        return accurateFragmentCost != null ? accurateFragmentCost : internalFragmentCost();
+    }
+
+    /**
+     * Override the estimated cost of this fragment with one derived from the statistics of the knowledge base.
+     */
+    void setAccurateFragmentCost(double fragmentCost) {
+        accurateFragmentCost = fragmentCost;
+    }
+
+    /**
+     * Get the cost for executing the fragment, when no statistics are available.
+     */
+    abstract double internalFragmentCost();
 
     /**
      * If a fragment has fixed cost, the traversal is done using index. This makes the fragment a good starting point.
@@ -0,0 +1,210 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin.fragment;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.Role;
+import ai.grakn.concept.SchemaConcept;
+import ai.grakn.concept.Type;
+import ai.grakn.graql.ValuePredicate;
+import ai.grakn.graql.Var;
+import ai.grakn.kb.admin.KeyspaceStatistics;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Refines the cost of {@link Fragment}s using the {@link KeyspaceStatistics} of the knowledge base.
+ * <p>
+ * Only fragments where the relevant types are known (e.g. an {@link InIsaFragment} starting from a labelled type) and
+ * the statistics for all those types are available are refined. All other fragments keep their default estimates.
+ *
+ * @author pluraliseseverythings
+ */
+public class FragmentCostEstimator {
+
+    private final GraknTx tx;
+    private final KeyspaceStatistics statistics;
+
+    // The types each variable in the query is known to be labelled with or to be an instance of
+    private final Map<Var, Set<Label>> labelsOfVar = new HashMap<>();
+    private final Map<Var, Set<Label>> typesOfVar = new HashMap<>();
+
+    private FragmentCostEstimator(GraknTx tx) {
+        this.tx = tx;
+        this.statistics = tx.admin().statistics();
+    }
+
+    /**
+     * Set the cost of the given fragments using the statistics of the knowledge base, where possible.
+     *
+     * @param fragments all the fragments of a single conjunction
+     * @param tx        the transaction the fragments will be executed in
+     */
+    public static void estimateCosts(Collection<Fragment> fragments, GraknTx tx) {
+        new FragmentCostEstimator(tx).estimate(fragments);
+    }
+
+    private void estimate(Collection<Fragment> fragments) {
+        fragments.stream().filter(LabelFragment.class::isInstance).map(LabelFragment.class::cast).forEach(fragment ->
+                labelsOfVar.computeIfAbsent(fragment.start(), k -> new HashSet<>()).add(fragment.label())
+        );
+
+        fragments.stream().filter(InIsaFragment.class::isInstance).map(InIsaFragment.class::cast).forEach(fragment -> {
+            Set<Label> labels = labelsOfVar.get(fragment.start());
+            if (labels != null) typesOfVar.computeIfAbsent(fragment.end(), k -> new HashSet<>()).addAll(labels);
+        });
+
+        fragments.forEach(fragment -> estimatedCost(fragment).ifPresent(fragment::setAccurateFragmentCost));
+    }
+
+    private Optional<Double> estimatedCost(Fragment fragment) {
+        if (fragment instanceof InIsaFragment) {
+            return instanceCount(labelsOfVar.get(fragment.start())).map(Math::log1p);
+        } else if (fragment instanceof AttributeValueIndexFragment) {
+            AttributeValueIndexFragment valueIndex = (AttributeValueIndexFragment) fragment;
+            Set<Label> labels = labelsOfVar.get(fragment.start());
+            double predicateCost = filterCost(valueIndex.predicate(), labels)
+                    .orElseGet(() -> ValueFragment.predicateCost(valueIndex.predicate()));
+            return attributeValueCount(labels).map(instances -> valueIndex.costOfInstances(instances, predicateCost));
+        } else if (fragment instanceof InRolePlayerFragment) {
+            return rolePlayersPer(((InRolePlayerFragment) fragment).roleLabels(), Role::playedByTypes);
+        } else if (fragment instanceof OutRolePlayerFragment) {
+            return rolePlayersPer(((OutRolePlayerFragment) fragment).roleLabels(), Role::relationshipTypes);
+        } else if (fragment instanceof ValueFragment && ((ValueFragment) fragment).predicate().isSpecific()) {
+            return valueLookupCost(typesOfVar.get(fragment.start()));
+        } else if (fragment instanceof ValueFragment) {
+            return filterCost(((ValueFragment) fragment).predicate(), typesOfVar.get(fragment.start()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The average number of times the given roles are played per instance of the types on one side of the roles
+     */
+    private Optional<Double> rolePlayersPer(@Nullable Set<Label> roleLabels, Function<Role, Stream<? extends Type>> side) {
+        if (roleLabels == null) return Optional.empty();
+
+        Set<Role> roles = new HashSet<>();
+        for (Label label : roleLabels) {
+            SchemaConcept role = tx.getSchemaConcept(label);
+            if (role == null || !role.isRole()) return Optional.empty();
+            role.asRole().subs().forEach(roles::add);
+        }
+
+        long rolePlayers = 0;
+        for (Role role : roles) {
+            Optional<Long> count = statistics.rolePlayerCount(role.getId());
+            if (!count.isPresent()) return Optional.empty();
+            rolePlayers += count.get();
+        }
+
+        Set<Label> sideLabels = new HashSet<>();
+        roles.forEach(role -> side.apply(role).forEach(type -> sideLabels.add(type.getLabel())));
+
+        long finalRolePlayers = rolePlayers;
+        return instanceCount(sideLabels).map(instances -> Math.log1p(finalRolePlayers / Math.max(1D, instances)));
+    }
+
+    /**
+     * Attributes are unique per value, so a specific value matches at most one attribute of each attribute type
+     */
+    private Optional<Double> valueLookupCost(@Nullable Set<Label> labels) {
+        if (labels == null) return Optional.empty();
+
+        Set<Type> types = subTypes(labels);
+        if (types == null || types.isEmpty()) return Optional.empty();
+
+        return attributeValueCount(labels).map(values -> -Math.log(Math.max(1D, values) / types.size()));
+    }
+
+    /**
+     * The selectivity of a comparison, from the range of the values of the given attribute types
+     */
+    private Optional<Double> filterCost(ValuePredicate predicate, @Nullable Set<Label> labels) {
+        if (labels == null) return Optional.empty();
+
+        Set<Type> types = subTypes(labels);
+        if (types == null || types.isEmpty() || !types.stream().allMatch(Type::isAttributeType)) return Optional.empty();
+
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (Type type : types) {
+            Optional<Double> typeMin = statistics.minimumValue(type.getId());
+            Optional<Double> typeMax = statistics.maximumValue(type.getId());
+            if (!typeMin.isPresent() || !typeMax.isPresent()) return Optional.empty();
+            min = Math.min(min, typeMin.get());
+            max = Math.max(max, typeMax.get());
+        }
+
+        double finalMin = min;
+        double finalMax = max;
+        return attributeValueCount(labels).flatMap(values -> ValueFragment.predicateCost(predicate, finalMin, finalMax, values));
+    }
+
+    private Optional<Long> attributeValueCount(@Nullable Set<Label> labels) {
+        if (labels == null) return Optional.empty();
+
+        Set<Type> types = subTypes(labels);
+        if (types == null || !types.stream().allMatch(Type::isAttributeType)) return Optional.empty();
+
+        long values = 0;
+        for (Type type : types) {
+            Optional<Long> count = statistics.attributeValueCount(type.getId());
+            if (!count.isPresent()) return Optional.empty();
+            values += count.get();
+        }
+        return Optional.of(values);
+    }
+
+    private Optional<Long> instanceCount(@Nullable Set<Label> labels) {
+        if (labels == null) return Optional.empty();
+
+        Set<Type> types = subTypes(labels);
+        if (types == null) return Optional.empty();
+
+        long instances = 0;
+        for (Type type : types) {
+            // Abstract types cannot have direct instances, so their count is always known
+            if (type.isAbstract()) continue;
+            Optional<Long> count = statistics.instanceCount(type.getId());
+            if (!count.isPresent()) return Optional.empty();
+            instances += count.get();
+        }
+        return Optional.of(instances);
+    }
+
+    private @Nullable Set<Type> subTypes(Set<Label> labels) {
+        Set<Type> types = new HashSet<>();
+        for (Label label : labels) {
+            SchemaConcept schemaConcept = tx.getSchemaConcept(label);
+            if (schemaConcept == null || !schemaConcept.isType()) return null;
+            schemaConcept.asType().subs().forEach(types::add);
+        }
+        return types;
+    }
+}
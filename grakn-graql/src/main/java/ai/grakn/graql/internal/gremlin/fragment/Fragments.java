@@ -147,6 +147,15 @@ public class Fragments {
         return new AutoValue_ResourceIndexFragment(varProperty, start, resourceIndex);
     }
 
+    /**
+     * A {@link Fragment} that uses the attribute values stored on isa edges to find the instances of a type whose value
+     * satisfies a predicate.
+     */
+    public static Fragment attributeValueIndex(
+            @Nullable VarProperty varProperty, Var start, Var end, ValuePredicate predicate) {
+        return new AutoValue_AttributeValueIndexFragment(varProperty, start, end, predicate);
+    }
+
     static <T> GraphTraversal<T, Vertex> outSubs(GraphTraversal<T, Vertex> traversal) {
         // These traversals make sure to only navigate types by checking they do not have a `THING_TYPE_LABEL_ID` property
         return union(traversal, ImmutableSet.of(
@@ -71,7 +71,12 @@ abstract class IdFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    String shapeName() {
+        return canOperateOnEdges() ? "[id:edge]" : "[id]";
+    }
+
+    @Override
+    double internalFragmentCost() {
         return COST_NODE_INDEX;
     }
 
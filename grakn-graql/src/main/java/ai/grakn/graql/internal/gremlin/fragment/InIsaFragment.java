@@ -120,7 +120,7 @@ abstract class InIsaFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_INSTANCES_PER_TYPE;
     }
 
@@ -52,7 +52,7 @@ abstract class InRelatesFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_SAME_AS_PREVIOUS;
     }
 
@@ -50,7 +50,7 @@ abstract class InSubFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_SUBTYPES_PER_TYPE;
     }
 
@@ -43,7 +43,7 @@ abstract class IsAbstractFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_NODE_IS_ABSTRACT;
     }
 }
@@ -48,7 +48,7 @@ abstract class LabelFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_NODE_INDEX;
     }
 
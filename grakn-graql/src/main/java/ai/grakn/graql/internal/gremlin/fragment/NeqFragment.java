@@ -45,7 +45,7 @@ abstract class NeqFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         // This is arbitrary - we imagine about half the results are filtered out
         return COST_NODE_NEQ;
     }
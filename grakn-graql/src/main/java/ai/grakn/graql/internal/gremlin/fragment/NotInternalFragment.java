@@ -48,7 +48,7 @@ abstract class NotInternalFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_NODE_NOT_INTERNAL;
     }
 }
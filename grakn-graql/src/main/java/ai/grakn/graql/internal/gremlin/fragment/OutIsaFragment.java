@@ -67,7 +67,7 @@ abstract class OutIsaFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_SAME_AS_PREVIOUS;
     }
 
@@ -53,7 +53,7 @@ abstract class OutRelatesFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_ROLE_PLAYERS_PER_RELATION;
     }
 
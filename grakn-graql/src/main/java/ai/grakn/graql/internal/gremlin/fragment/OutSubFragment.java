@@ -51,7 +51,7 @@ abstract class OutSubFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_SAME_AS_PREVIOUS;
     }
 
@@ -47,7 +47,7 @@ abstract class RegexFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    double internalFragmentCost() {
         return COST_NODE_REGEX;
     }
 }
@@ -47,7 +47,12 @@ abstract class ResourceIndexFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
+    String shapeName() {
+        return "[index]";
+    }
+
+    @Override
+    double internalFragmentCost() {
         return COST_NODE_INDEX;
     }
 
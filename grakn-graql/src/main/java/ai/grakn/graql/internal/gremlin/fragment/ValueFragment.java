@@ -23,11 +23,15 @@ import ai.grakn.graql.ValuePredicate;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.VarPatternAdmin;
 import com.google.auto.value.AutoValue;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiPredicate;
 
 import static ai.grakn.util.CommonUtil.optionalToStream;
 import static java.util.stream.Collectors.toSet;
@@ -50,15 +54,62 @@ abstract class ValueFragment extends Fragment {
     }
 
     @Override
-    public double fragmentCost() {
-        if (predicate().isSpecific()) {
+    String shapeName() {
+        // The cost of a value fragment only depends on whether the predicate is specific
+        return predicate().isSpecific() ? "[value]" : "[value:filter]";
+    }
+
+    @Override
+    double internalFragmentCost() {
+        return predicateCost(predicate());
+    }
+
+    /**
+     * The cost of filtering instances with a predicate, which is also the selectivity of the predicate. This is used
+     * when nothing is known about the values being filtered.
+     */
+    static double predicateCost(ValuePredicate predicate) {
+        if (predicate.isSpecific()) {
             return COST_NODE_INDEX_VALUE;
         } else {
-            // Assume approximately half of values will satisfy a filter
+            // Without statistics of the values, assume approximately half of them will satisfy a filter
             return COST_NODE_UNSPECIFIC_PREDICATE;
         }
     }
 
+    /**
+     * The cost of filtering values with a comparison, assuming the values are spread evenly between the smallest and
+     * largest value. The fraction of values kept is never less than a single value.
+     *
+     * @param min    the smallest persisted value being filtered
+     * @param max    the largest persisted value being filtered
+     * @param values the number of values being filtered
+     * @return the cost, if the predicate compares against a number or a date
+     */
+    static Optional<Double> predicateCost(ValuePredicate predicate, double min, double max, long values) {
+        Optional<P<Object>> gremlinPredicate = predicate.getPredicate();
+        if (!gremlinPredicate.isPresent() || !(gremlinPredicate.get().getValue() instanceof Number)) {
+            return Optional.empty();
+        }
+
+        BiPredicate<?, ?> comparison = gremlinPredicate.get().getBiPredicate();
+        double value = ((Number) gremlinPredicate.get().getValue()).doubleValue();
+
+        double fraction;
+        if (comparison == Compare.gt || comparison == Compare.gte) {
+            fraction = max > min ? (max - value) / (max - min) : (value <= max ? 1D : 0D);
+        } else if (comparison == Compare.lt || comparison == Compare.lte) {
+            fraction = max > min ? (value - min) / (max - min) : (value >= min ? 1D : 0D);
+        } else if (comparison == Compare.neq) {
+            fraction = 1D;
+        } else {
+            return Optional.empty();
+        }
+
+        double smallestFraction = 1D / Math.max(1L, values);
+        return Optional.of(Math.log(Math.min(1D, Math.max(smallestFraction, fraction))));
+    }
+
     @Override
     public boolean hasFixedFragmentCost() {
         return predicate().isSpecific() && dependencies().isEmpty();
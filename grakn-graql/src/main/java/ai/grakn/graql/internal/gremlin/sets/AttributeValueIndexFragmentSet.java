@@ -0,0 +1,94 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin.sets;
+
+import ai.grakn.GraknTx;
+import ai.grakn.graql.ValuePredicate;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.VarProperty;
+import ai.grakn.graql.internal.gremlin.EquivalentFragmentSet;
+import ai.grakn.graql.internal.gremlin.fragment.Fragments;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import static ai.grakn.graql.internal.gremlin.sets.EquivalentFragmentSets.fragmentSetOfType;
+import static ai.grakn.graql.internal.gremlin.sets.EquivalentFragmentSets.hasDirectSubTypes;
+
+/**
+ * A query can use the attribute values stored on isa edges when the following criteria are met:
+ * <p>
+ * 1. There is an {@link IsaFragmentSet} and a {@link ValueFragmentSet} referring to the same instance {@link Var}.
+ * 2. The {@link IsaFragmentSet} refers to a type {@link Var} with a {@link LabelFragmentSet}.
+ * 3. The {@link LabelFragmentSet} refers to a type in the graph without direct sub-types.
+ * 4. The {@link ValueFragmentSet} is a predicate other than equality referring to a literal value.
+ * <p>
+ * When all these criteria are met, the {@link IsaFragmentSet} can be replaced with an
+ * {@link AttributeValueIndexFragmentSet}. Going from the type to its instances then only reaches the instances which
+ * satisfy the predicate. The {@link ValueFragmentSet} is kept, so the predicate is still applied when the instances
+ * are reached some other way. Equality predicates are left to the {@link ResourceIndexFragmentSet}.
+ *
+ * @author pluraliseseverythings
+ */
+class AttributeValueIndexFragmentSet extends EquivalentFragmentSet {
+
+    private AttributeValueIndexFragmentSet(
+            @Nullable VarProperty varProperty, Var instance, Var type, ValuePredicate predicate) {
+        super(
+                Fragments.attributeValueIndex(varProperty, type, instance, predicate),
+                Fragments.outIsa(varProperty, instance, type)
+        );
+    }
+
+    static boolean applyAttributeValueIndexOptimisation(
+            Collection<EquivalentFragmentSet> fragmentSets, GraknTx graph) {
+
+        Iterable<ValueFragmentSet> valueSets = comparisonValueFragments(fragmentSets)::iterator;
+
+        for (ValueFragmentSet valueSet : valueSets) {
+            Var attribute = valueSet.resource();
+
+            IsaFragmentSet isaSet = EquivalentFragmentSets.typeInformationOf(attribute, fragmentSets);
+            if (isaSet == null) continue;
+
+            LabelFragmentSet nameSet = EquivalentFragmentSets.typeLabelOf(isaSet.type(), fragmentSets);
+            if (nameSet == null) continue;
+
+            if (!hasDirectSubTypes(graph, nameSet.label())) {
+                fragmentSets.remove(isaSet);
+                fragmentSets.add(new AttributeValueIndexFragmentSet(
+                        null, attribute, isaSet.type(), valueSet.predicate()));
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Stream<ValueFragmentSet> comparisonValueFragments(Collection<EquivalentFragmentSet> fragmentSets) {
+        return fragmentSetOfType(ValueFragmentSet.class, fragmentSets)
+                .filter(valueFragmentSet -> {
+                    ValuePredicate predicate = valueFragmentSet.predicate();
+                    return !predicate.isSpecific() && predicate.getPredicate().isPresent() &&
+                            !predicate.getInnerVar().isPresent();
+                });
+    }
+
+}
@@ -36,6 +36,7 @@ import java.util.Collection;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static ai.grakn.graql.internal.gremlin.sets.AttributeValueIndexFragmentSet.applyAttributeValueIndexOptimisation;
 import static ai.grakn.graql.internal.gremlin.sets.LabelFragmentSet.applyRedundantLabelEliminationOptimisation;
 import static ai.grakn.graql.internal.gremlin.sets.ResourceIndexFragmentSet.applyResourceIndexOptimisation;
 import static ai.grakn.graql.internal.gremlin.sets.RolePlayerFragmentSet.applyRolePlayerRelationTypeOptimisation;
@@ -157,6 +158,7 @@ public class EquivalentFragmentSets {
         // TODO: Create a real interface for these when there are more of them
         ImmutableList<Supplier<Boolean>> optimisations = ImmutableList.of(
                 () -> applyResourceIndexOptimisation(fragmentSets, graph),
+                () -> applyAttributeValueIndexOptimisation(fragmentSets, graph),
                 () -> applyRolePlayerRoleOptimisation(fragmentSets, graph),
                 () -> applyRolePlayerRelationTypeOptimisation(fragmentSets, graph),
                 () -> applyRedundantLabelEliminationOptimisation(fragmentSets, graph)
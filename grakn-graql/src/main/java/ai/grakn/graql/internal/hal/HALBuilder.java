@@ -33,6 +33,7 @@ import ai.grakn.graql.internal.reasoner.atom.Atom;
 import ai.grakn.graql.internal.reasoner.explanation.RuleExplanation;
 import ai.grakn.graql.internal.reasoner.utils.Pair;
 import ai.grakn.util.REST;
+import com.google.common.collect.Iterators;
 import com.theoryinpractise.halbuilder.api.Representation;
 import com.theoryinpractise.halbuilder.api.RepresentationFactory;
 import mjson.Json;
@@ -45,6 +46,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -72,24 +74,38 @@ public class HALBuilder {
     private final static String ASSERTION_URL = "?keyspace=%s&query=match %s %s %s %s; %s &limitEmbedded=%s&infer=false&materialise=false";
 
 
+    /**
+     * Render the answers of a {@link GetQuery} as HAL. The answers are streamed and rendered one at a time, so a
+     * query which pages its answers with {@code offset} and {@code limit} only reads the answers of its page.
+     *
+     * @param offset the offset of the components embedded in each concept
+     * @param limit the maximum number of components embedded in each concept, or -1 for no limit
+     */
     public static Json renderHALArrayData(GetQuery getQuery, int offset, int limit) {
-        Collection<Answer> answers = getQuery.execute();
-        return renderHALArrayData(getQuery, answers, offset, limit, false);
+        try (Stream<Answer> answers = getQuery.stream()) {
+            return renderHALArrayData(getQuery, answers.iterator(), offset, limit, false);
+        }
     }
 
     public static Json renderHALArrayData(GetQuery getQuery, Collection<Answer> results, int offset, int limit, boolean filterInstances) {
+        return renderHALArrayData(getQuery, results.iterator(), offset, limit, filterInstances);
+    }
+
+    private static Json renderHALArrayData(GetQuery getQuery, Iterator<Answer> results, int offset, int limit, boolean filterInstances) {
+        if (!results.hasNext()) return Json.array();
+
         Keyspace keyspace = getQuery.tx().get().getKeyspace();
 
         //For each VarPatterAdmin containing a relationship we store a map containing varNames associated to RoleTypes
-        Map<VarPatternAdmin, Pair<Map<Var, String>, String>> roleTypes = new HashMap<>();
-        if (results.iterator().hasNext()) {
-            // Compute map on first answer in result, since it will be the same for all the answers
-            roleTypes = computeRoleTypesFromQuery(getQuery, results.iterator().next());
-        }
+        // Compute map on first answer in result, since it will be the same for all the answers
+        Answer firstAnswer = results.next();
+        Map<VarPatternAdmin, Pair<Map<Var, String>, String>> roleTypes = computeRoleTypesFromQuery(getQuery, firstAnswer);
+
         //Collect all the types explicitly asked in the get query
         Set<Label> typesAskedInQuery = getQuery.match().admin().getSchemaConcepts().stream().map(SchemaConcept::getLabel).collect(toSet());
 
-        return buildHALRepresentations(results, typesAskedInQuery, roleTypes, keyspace, offset, limit, filterInstances);
+        Iterator<Answer> answers = Iterators.concat(Iterators.singletonIterator(firstAnswer), results);
+        return buildHALRepresentations(answers, typesAskedInQuery, roleTypes, keyspace, offset, limit, filterInstances);
     }
 
     public static String renderHALConceptData(Concept concept, int separationDegree, Keyspace keyspace, int offset, int limit) {
@@ -128,9 +144,9 @@ public class HALBuilder {
         return conceptsArray;
     }
 
-    private static Json buildHALRepresentations(Collection<Answer> graqlResultsList, Set<Label> typesAskedInQuery, Map<VarPatternAdmin, Pair<Map<Var, String>, String>> roleTypes, Keyspace keyspace, int offset, int limit, boolean filterInstances) {
+    private static Json buildHALRepresentations(Iterator<Answer> graqlResults, Set<Label> typesAskedInQuery, Map<VarPatternAdmin, Pair<Map<Var, String>, String>> roleTypes, Keyspace keyspace, int offset, int limit, boolean filterInstances) {
         final Json lines = Json.array();
-        graqlResultsList.forEach(answer -> {
+        graqlResults.forEachRemaining(answer -> {
             Map<VarPatternAdmin, Boolean> inferredRelationships = buildInferredRelationshipsMap(answer);
             Map<Var, Representation> mapFromVarNameToHALObject = new HashMap<>();
             Stream<Map.Entry<Var, Concept>> entriesStream = answer.map().entrySet().stream();
@@ -25,6 +25,8 @@ import com.theoryinpractise.halbuilder.api.Representation;
 import com.theoryinpractise.halbuilder.api.RepresentationFactory;
 import com.theoryinpractise.halbuilder.standard.StandardRepresentationFactory;
 
+import java.util.stream.Stream;
+
 import static ai.grakn.graql.internal.hal.HALUtils.EXPLORE_CONCEPT_LINK;
 import static ai.grakn.graql.internal.hal.HALUtils.generateConceptState;
 import static ai.grakn.util.REST.WebPath.Concept.CONCEPT;
@@ -73,6 +75,14 @@ abstract class HALExploreConcept {
 
     abstract void populateEmbedded(Representation halResource, Concept concept);
 
+    /**
+     * Restricts a lazy stream of embedded components to the requested page, so only the components of the page are read
+     */
+    <T> Stream<T> page(Stream<T> components) {
+        Stream<T> page = components.skip(offset);
+        return limit >= 0 ? page.limit(limit) : page;
+    }
+
 
     public String render() {
         return halResource.toString(RepresentationFactory.HAL_JSON);
@@ -38,7 +38,7 @@ class HALExploreInstance extends HALExploreConcept {
 
     void populateEmbedded(Representation halResource, Concept concept) {
         // Thing resources
-        concept.asThing().attributes().forEach(currentAttribute -> {
+        page(concept.asThing().attributes()).forEach(currentAttribute -> {
             Representation embeddedResource = factory.newRepresentation(resourceLinkPrefix + currentAttribute.getId() + getURIParams())
                     .withProperty(DIRECTION_PROPERTY, OUTBOUND_EDGE);
             generateStateAndLinks(embeddedResource, currentAttribute);
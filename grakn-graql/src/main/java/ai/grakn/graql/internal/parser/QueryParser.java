@@ -215,6 +215,8 @@ public class QueryParser {
         registerAggregate("min", 1, args -> Aggregates.min((Var) args.get(0)));
         registerAggregate("mean", 1, args -> Aggregates.mean((Var) args.get(0)));
         registerAggregate("median", 1, args -> Aggregates.median((Var) args.get(0)));
+        registerAggregate("approximate-median", 1, args -> Aggregates.approximateMedian((Var) args.get(0)));
+        registerAggregate("approximate-count-distinct", 1, args -> Aggregates.approximateCountDistinct((Var) args.get(0)));
         registerAggregate("std", 1, args -> Aggregates.std((Var) args.get(0)));
 
         registerAggregate("group", 1, 2, args -> {
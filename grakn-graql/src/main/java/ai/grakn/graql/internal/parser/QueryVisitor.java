@@ -47,6 +47,7 @@ import ai.grakn.graql.analytics.MeanQuery;
 import ai.grakn.graql.analytics.MedianQuery;
 import ai.grakn.graql.analytics.MinQuery;
 import ai.grakn.graql.analytics.PathQuery;
+import ai.grakn.graql.analytics.PercentileQuery;
 import ai.grakn.graql.analytics.StdQuery;
 import ai.grakn.graql.analytics.SumQuery;
 import ai.grakn.graql.internal.antlr.GraqlBaseVisitor;
@@ -222,9 +223,25 @@ class QueryVisitor extends GraqlBaseVisitor {
             median = median.in(visitInList(ctx.inList()));
         }
 
+        if (ctx.APPROXIMATE() != null) {
+            median = median.approximate();
+        }
+
         return median;
     }
 
+    @Override
+    public PercentileQuery visitPercentile(GraqlParser.PercentileContext ctx) {
+        PercentileQuery percentile = queryBuilder.compute().percentile(Math.toIntExact(getInteger(ctx.INTEGER())))
+                .of(visitOfList(ctx.ofList()));
+
+        if (ctx.inList() != null) {
+            percentile = percentile.in(visitInList(ctx.inList()));
+        }
+
+        return percentile;
+    }
+
     @Override
     public MeanQuery visitMean(GraqlParser.MeanContext ctx) {
         MeanQuery mean = queryBuilder.compute().mean();
@@ -270,9 +287,25 @@ class QueryVisitor extends GraqlBaseVisitor {
             count = count.in(visitInList(ctx.inList()));
         }
 
+        count = chainOperators(ctx.countParam().stream().map(this::visitCountParam)).apply(count);
+
         return count;
     }
 
+    private UnaryOperator<CountQuery> visitCountParam(GraqlParser.CountParamContext ctx) {
+        return (UnaryOperator<CountQuery>) visit(ctx);
+    }
+
+    @Override
+    public UnaryOperator<CountQuery> visitCountApproximate(GraqlParser.CountApproximateContext ctx) {
+        return CountQuery::approximate;
+    }
+
+    @Override
+    public UnaryOperator<CountQuery> visitCountScan(GraqlParser.CountScanContext ctx) {
+        return CountQuery::scan;
+    }
+
     @Override
     public PathQuery visitPath(GraqlParser.PathContext ctx) {
         PathQuery path = queryBuilder.compute().path().from(visitId(ctx.id(0))).to(visitId(ctx.id(1)));
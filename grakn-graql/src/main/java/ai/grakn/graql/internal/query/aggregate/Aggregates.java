@@ -100,6 +100,20 @@ public class Aggregates {
         return new MedianAggregate(varName);
     }
 
+    /**
+     * Aggregate that estimates the median of a {@link Match} in a single pass.
+     */
+    public static Aggregate<Answer, Optional<Number>> approximateMedian(Var varName) {
+        return new ApproximateMedianAggregate(varName);
+    }
+
+    /**
+     * Aggregate that estimates the number of distinct concepts of a variable in a {@link Match} in a single pass.
+     */
+    public static Aggregate<Answer, Long> approximateCountDistinct(Var varName) {
+        return new ApproximateCountDistinctAggregate(varName);
+    }
+
     /**
      * Aggregate that finds the unbiased sample standard deviation of a {@link Match}
      */
@@ -0,0 +1,70 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ *
+ */
+
+package ai.grakn.graql.internal.query.aggregate;
+
+import ai.grakn.graql.Match;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.internal.analytics.DistinctSketch;
+
+import java.util.stream.Stream;
+
+/**
+ * Aggregate that estimates the number of distinct concepts a variable takes in the results of a {@link Match} in a
+ * single pass, without holding the results. Attributes are unique per value, so for attributes of one type this is
+ * the number of distinct values.
+ *
+ * @author pluraliseseverythings
+ */
+class ApproximateCountDistinctAggregate extends AbstractAggregate<Answer, Long> {
+
+    private final Var varName;
+
+    ApproximateCountDistinctAggregate(Var varName) {
+        this.varName = varName;
+    }
+
+    @Override
+    public Long apply(Stream<? extends Answer> stream) {
+        DistinctSketch sketch = new DistinctSketch();
+        stream.forEach(result -> sketch.add(result.get(varName).getId().getValue()));
+        return sketch.count();
+    }
+
+    @Override
+    public String toString() {
+        return "approximate-count-distinct " + varName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ApproximateCountDistinctAggregate that = (ApproximateCountDistinctAggregate) o;
+
+        return varName.equals(that.varName);
+    }
+
+    @Override
+    public int hashCode() {
+        return varName.hashCode();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ *
+ */
+
+package ai.grakn.graql.internal.query.aggregate;
+
+import ai.grakn.graql.Match;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.internal.analytics.QuantileSketch;
+
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
+
+/**
+ * Aggregate that estimates the median of a {@link Match} in a single pass, without holding or sorting the results.
+ *
+ * @author pluraliseseverythings
+ */
+class ApproximateMedianAggregate extends AbstractAggregate<Answer, Optional<Number>> {
+
+    private final Var varName;
+
+    ApproximateMedianAggregate(Var varName) {
+        this.varName = varName;
+    }
+
+    @Override
+    public Optional<Number> apply(Stream<? extends Answer> stream) {
+        QuantileSketch sketch = new QuantileSketch();
+        stream.forEach(result -> sketch.add(result.get(varName).<Number>asAttribute().getValue().doubleValue()));
+
+        OptionalDouble median = sketch.quantile(0.5);
+        return median.isPresent() ? Optional.of(median.getAsDouble()) : Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return "approximate-median " + varName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ApproximateMedianAggregate that = (ApproximateMedianAggregate) o;
+
+        return varName.equals(that.varName);
+    }
+
+    @Override
+    public int hashCode() {
+        return varName.hashCode();
+    }
+}
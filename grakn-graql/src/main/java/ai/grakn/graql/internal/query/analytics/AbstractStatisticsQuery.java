@@ -21,17 +21,28 @@ package ai.grakn.graql.internal.query.analytics;
 import ai.grakn.GraknTx;
 import ai.grakn.concept.AttributeType;
 import ai.grakn.concept.Label;
+import ai.grakn.concept.LabelId;
 import ai.grakn.concept.SchemaConcept;
 import ai.grakn.concept.Type;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.graql.Graql;
+import ai.grakn.graql.internal.analytics.DegreeStatisticsVertexProgram;
+import ai.grakn.graql.internal.analytics.DegreeVertexProgram;
+import ai.grakn.graql.internal.analytics.QuantileMapReduce;
+import ai.grakn.graql.internal.analytics.QuantileSketch;
 import ai.grakn.graql.internal.util.StringConverter;
 import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 
 import javax.annotation.Nullable;
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -67,11 +78,15 @@ abstract class AbstractStatisticsQuery<T> extends AbstractComputeQuery<T> {
 
     @Override
     final String graqlString() {
-        return getName() + resourcesString() + subtypeString();
+        return getName() + resourcesString() + subtypeString() + paramString();
     }
 
     abstract String getName();
 
+    String paramString() {
+        return "";
+    }
+
     private String resourcesString() {
         return " of " + statisticsResourceLabels.stream()
                 .map(StringConverter::typeLabelToString).collect(joining(", "));
@@ -142,6 +157,35 @@ abstract class AbstractStatisticsQuery<T> extends AbstractComputeQuery<T> {
 //                .match(or(checkResourceTypes), or(checkSubtypes)).aggregate(ask()).execute();
     }
 
+    /**
+     * Estimate a quantile of the values of the selected resources in a single pass, weighting each value by the
+     * number of selected instances which own it
+     *
+     * @param quantile a quantile between 0 and 1, such as 0.5 for the median
+     * @return the estimated quantile, or nothing if no selected instance owns a selected resource
+     */
+    Optional<Number> approximateQuantile(double quantile, Set<LabelId> allSubLabelIds,
+                                         Set<LabelId> statisticsResourceLabelIds, AttributeType.DataType dataType) {
+        long startTime = System.currentTimeMillis();
+
+        ComputerResult result = getGraphComputer().compute(
+                new DegreeStatisticsVertexProgram(statisticsResourceLabelIds),
+                new QuantileMapReduce(statisticsResourceLabelIds, dataType, DegreeVertexProgram.DEGREE),
+                allSubLabelIds);
+        Map<Serializable, QuantileSketch> sketches = result.memory().get(QuantileMapReduce.class.getName());
+        QuantileSketch sketch = sketches.get(MapReduce.NullObject.instance());
+
+        // No attribute in the subgraph is owned by a selected instance, so the sketch holds no values
+        OptionalDouble estimate = sketch == null ? OptionalDouble.empty() : sketch.quantile(quantile);
+        LOGGER.info("QuantileMapReduce is done in " + (System.currentTimeMillis() - startTime) + " ms");
+        if (!estimate.isPresent()) return Optional.empty();
+
+        Number finalResult = dataType.equals(AttributeType.DataType.LONG) ?
+                Math.round(estimate.getAsDouble()) : estimate.getAsDouble();
+        LOGGER.debug("Approximate quantile " + quantile + " = " + finalResult);
+        return Optional.of(finalResult);
+    }
+
     Set<Label> getCombinedSubTypes() {
         Set<Label> allSubTypes = getHasResourceRelationLabels(statisticsResourceTypes);
         allSubTypes.addAll(subLabels);
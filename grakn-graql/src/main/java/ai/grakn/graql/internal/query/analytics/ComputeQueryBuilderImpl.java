@@ -28,6 +28,7 @@ import ai.grakn.graql.analytics.MeanQuery;
 import ai.grakn.graql.analytics.MedianQuery;
 import ai.grakn.graql.analytics.MinQuery;
 import ai.grakn.graql.analytics.PathQuery;
+import ai.grakn.graql.analytics.PercentileQuery;
 import ai.grakn.graql.analytics.StdQuery;
 import ai.grakn.graql.analytics.SumQuery;
 
@@ -91,6 +92,11 @@ public class ComputeQueryBuilderImpl implements ComputeQueryBuilder {
         return new MedianQueryImpl(tx);
     }
 
+    @Override
+    public PercentileQuery percentile(int percentile) {
+        return new PercentileQueryImpl(tx, percentile);
+    }
+
     @Override
     public PathQuery path() {
         return new PathQueryImpl(tx);
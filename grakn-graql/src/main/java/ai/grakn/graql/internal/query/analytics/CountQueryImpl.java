@@ -21,9 +21,12 @@ package ai.grakn.graql.internal.query.analytics;
 import ai.grakn.GraknTx;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.LabelId;
+import ai.grakn.concept.Type;
 import ai.grakn.graql.analytics.CountQuery;
 import ai.grakn.graql.internal.analytics.CountMapReduce;
 import ai.grakn.graql.internal.analytics.CountVertexProgram;
+import ai.grakn.kb.admin.KeyspaceStatistics;
+import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 
 import java.util.Collection;
@@ -35,6 +38,9 @@ import static ai.grakn.graql.internal.analytics.GraknMapReduce.RESERVED_TYPE_LAB
 
 class CountQueryImpl extends AbstractComputeQuery<Long> implements CountQuery {
 
+    private boolean approximate = false;
+    private boolean scan = false;
+
     CountQueryImpl(Optional<GraknTx> graph) {
         this.tx = graph;
     }
@@ -45,6 +51,16 @@ class CountQueryImpl extends AbstractComputeQuery<Long> implements CountQuery {
         long startTime = System.currentTimeMillis();
 
         initSubGraph();
+        if (!scan) {
+            Optional<Long> maintainedCount = maintainedCount();
+            if (maintainedCount.isPresent()) {
+                LOGGER.debug("Count = " + maintainedCount.get());
+                LOGGER.info("Count is answered from the instance counts in "
+                        + (System.currentTimeMillis() - startTime) + " ms");
+                return maintainedCount.get();
+            }
+        }
+
         if (!selectedTypesHaveInstance()) {
             LOGGER.debug("Count = 0");
             LOGGER.info("CountMapReduce is done in " + (System.currentTimeMillis() - startTime) + " ms");
@@ -75,6 +91,59 @@ class CountQueryImpl extends AbstractComputeQuery<Long> implements CountQuery {
         return finalCount;
     }
 
+    /**
+     * Sum the maintained instance counts of the types in the subgraph.
+     *
+     * @return the number of instances in the subgraph, if the instance count of every type in it is known
+     */
+    private Optional<Long> maintainedCount() {
+        KeyspaceStatistics statistics = tx.get().admin().statistics();
+
+        long count = 0L;
+        for (Type type : subTypes) {
+            // meta types and abstract types have no direct instances
+            if (Schema.MetaSchema.isMetaLabel(type.getLabel()) || type.isAbstract()) continue;
+
+            // implicit relationships can be stored as edges, which are not counted as instances
+            if (type.isImplicit()) return Optional.empty();
+
+            Optional<Long> typeCount = approximate ?
+                    statistics.instanceCount(type.getId()) : statistics.exactInstanceCount(type.getId());
+            if (typeCount.isPresent()) {
+                count += typeCount.get();
+            } else if (hasDirectInstance(type)) {
+                return Optional.empty();
+            }
+            // types which have never had an instance are never counted, and have none
+        }
+        return Optional.of(count);
+    }
+
+    /**
+     * Look for a single instance attached to the shards of the type, which is far cheaper than counting them
+     */
+    private boolean hasDirectInstance(Type type) {
+        return tx.get().admin().getTinkerTraversal().V()
+                .has(Schema.VertexProperty.ID.name(), type.getId().getValue())
+                .in(Schema.EdgeLabel.SHARD.getLabel())
+                .in(Schema.EdgeLabel.ISA.getLabel())
+                .hasNext();
+    }
+
+    @Override
+    public CountQuery approximate() {
+        this.approximate = true;
+        this.scan = false;
+        return this;
+    }
+
+    @Override
+    public CountQuery scan() {
+        this.scan = true;
+        this.approximate = false;
+        return this;
+    }
+
     @Override
     public boolean isReadOnly() {
         return true;
@@ -92,7 +161,14 @@ class CountQueryImpl extends AbstractComputeQuery<Long> implements CountQuery {
 
     @Override
     String graqlString() {
-        return "count" + subtypeString();
+        String string = "count" + subtypeString();
+        if (approximate) {
+            string += " approximate;";
+        }
+        if (scan) {
+            string += " scan;";
+        }
+        return string;
     }
 
     @Override
@@ -100,4 +176,23 @@ class CountQueryImpl extends AbstractComputeQuery<Long> implements CountQuery {
         return (CountQuery) super.withTx(tx);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+
+        CountQueryImpl that = (CountQueryImpl) o;
+
+        return approximate == that.approximate && scan == that.scan;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (approximate ? 1 : 0);
+        result = 31 * result + (scan ? 1 : 0);
+        return result;
+    }
+
 }
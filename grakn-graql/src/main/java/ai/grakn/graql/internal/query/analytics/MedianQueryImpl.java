@@ -32,6 +32,8 @@ import java.util.Set;
 
 class MedianQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implements MedianQuery {
 
+    private boolean approximate = false;
+
     MedianQueryImpl(Optional<GraknTx> graph) {
         this.tx = graph;
     }
@@ -47,6 +49,8 @@ class MedianQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implemen
         Set<LabelId> allSubLabelIds = convertLabelsToIds(getCombinedSubTypes());
         Set<LabelId> statisticsResourceLabelIds = convertLabelsToIds(statisticsResourceLabels);
 
+        if (approximate) return approximateQuantile(0.5, allSubLabelIds, statisticsResourceLabelIds, dataType);
+
         ComputerResult result = getGraphComputer().compute(
                 new MedianVertexProgram(statisticsResourceLabelIds, dataType),
                 null, allSubLabelIds);
@@ -58,6 +62,12 @@ class MedianQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implemen
         return Optional.of(finalResult);
     }
 
+    @Override
+    public MedianQuery approximate() {
+        this.approximate = true;
+        return this;
+    }
+
     @Override
     public MedianQuery of(String... resourceTypeLabels) {
         return (MedianQuery) setStatisticsResourceType(resourceTypeLabels);
@@ -87,4 +97,25 @@ class MedianQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implemen
     String getName() {
         return "median";
     }
+
+    @Override
+    String paramString() {
+        return approximate ? " approximate;" : "";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+
+        MedianQueryImpl that = (MedianQueryImpl) o;
+
+        return approximate == that.approximate;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + (approximate ? 1 : 0);
+    }
 }
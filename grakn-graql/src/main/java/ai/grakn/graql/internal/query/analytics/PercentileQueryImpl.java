@@ -0,0 +1,106 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query.analytics;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.LabelId;
+import ai.grakn.exception.GraqlQueryException;
+import ai.grakn.graql.analytics.PercentileQuery;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+class PercentileQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implements PercentileQuery {
+
+    private final int percentile;
+
+    PercentileQueryImpl(Optional<GraknTx> graph, int percentile) {
+        if (percentile < 0 || percentile > 100) throw GraqlQueryException.percentileOutOfRange(percentile);
+        this.tx = graph;
+        this.percentile = percentile;
+    }
+
+    @Override
+    public Optional<Number> execute() {
+        LOGGER.info("Percentile is called");
+
+        initSubGraph();
+        AttributeType.DataType dataType = getDataTypeOfSelectedResourceTypes();
+        if (!selectedResourceTypesHaveInstance(statisticsResourceLabels)) return Optional.empty();
+        Set<LabelId> allSubLabelIds = convertLabelsToIds(getCombinedSubTypes());
+        Set<LabelId> statisticsResourceLabelIds = convertLabelsToIds(statisticsResourceLabels);
+
+        return approximateQuantile(percentile / 100D, allSubLabelIds, statisticsResourceLabelIds, dataType);
+    }
+
+    @Override
+    public PercentileQuery of(String... resourceTypeLabels) {
+        return (PercentileQuery) setStatisticsResourceType(resourceTypeLabels);
+    }
+
+    @Override
+    public PercentileQuery of(Collection<Label> resourceLabels) {
+        return (PercentileQuery) setStatisticsResourceType(resourceLabels);
+    }
+
+    @Override
+    public PercentileQuery in(String... subTypeLabels) {
+        return (PercentileQuery) super.in(subTypeLabels);
+    }
+
+    @Override
+    public PercentileQuery in(Collection<Label> subLabels) {
+        return (PercentileQuery) super.in(subLabels);
+    }
+
+    @Override
+    public PercentileQuery withTx(GraknTx tx) {
+        return (PercentileQuery) super.withTx(tx);
+    }
+
+    @Override
+    String getName() {
+        return "percentile " + percentile;
+    }
+
+    @Override
+    String paramString() {
+        // Percentiles are only ever estimated, which the syntax makes explicit
+        return " approximate;";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+
+        PercentileQueryImpl that = (PercentileQueryImpl) o;
+
+        return percentile == that.percentile;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + percentile;
+    }
+}
@@ -65,6 +65,17 @@ abstract class AbstractMatch implements MatchAdmin {
      */
     public abstract Stream<Answer> stream(Optional<GraknTx> graph);
 
+    /**
+     * Execute the query using the given graph, returning only the first results.
+     * Modifiers override this when knowing the number of results lets them do less work, such as ordering.
+     * @param graph the graph to use to execute the query
+     * @param count the maximum number of results to return
+     * @return a stream of at most {@code count} results
+     */
+    Stream<Answer> streamFirst(Optional<GraknTx> graph, long count) {
+        return stream(graph).limit(count);
+    }
+
     @Override
     public final Stream<Answer> stream() {
         return stream(Optional.empty());
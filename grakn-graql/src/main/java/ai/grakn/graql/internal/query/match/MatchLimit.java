@@ -42,7 +42,12 @@ class MatchLimit extends MatchModifier {
 
     @Override
     public Stream<Answer> stream(Optional<GraknTx> graph) {
-        return inner.stream(graph).limit(limit);
+        return inner.streamFirst(graph, limit);
+    }
+
+    @Override
+    Stream<Answer> streamFirst(Optional<GraknTx> graph, long count) {
+        return inner.streamFirst(graph, Math.min(limit, count));
     }
 
     @Override
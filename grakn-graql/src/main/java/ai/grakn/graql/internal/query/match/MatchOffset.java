@@ -45,6 +45,12 @@ class MatchOffset extends MatchModifier {
         return inner.stream(graph).skip(offset);
     }
 
+    @Override
+    Stream<Answer> streamFirst(Optional<GraknTx> graph, long count) {
+        long required = (count > Long.MAX_VALUE - offset) ? Long.MAX_VALUE : offset + count;
+        return inner.streamFirst(graph, required).skip(offset);
+    }
+
     @Override
     protected String modifierString() {
         return " offset " + offset + ";";
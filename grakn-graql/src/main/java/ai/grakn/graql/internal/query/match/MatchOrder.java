@@ -41,6 +41,11 @@ class MatchOrder extends MatchModifier {
         return order.orderStream(inner.stream(graph));
     }
 
+    @Override
+    Stream<Answer> streamFirst(Optional<GraknTx> graph, long count) {
+        return order.orderStream(inner.stream(graph), count);
+    }
+
     @Override
     protected String modifierString() {
         return " " + order.toString() + ";";
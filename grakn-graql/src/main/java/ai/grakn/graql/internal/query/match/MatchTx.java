@@ -48,6 +48,15 @@ class MatchTx extends MatchModifier {
         return inner.stream(Optional.of(this.tx));
     }
 
+    @Override
+    Stream<Answer> streamFirst(Optional<GraknTx> graph, long count) {
+        if (graph.isPresent()) {
+            throw GraqlQueryException.multipleTxs();
+        }
+
+        return inner.streamFirst(Optional.of(this.tx), count);
+    }
+
     @Override
     public Optional<GraknTx> tx() {
         return Optional.of(tx);
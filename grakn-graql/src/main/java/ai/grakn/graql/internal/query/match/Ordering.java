@@ -23,8 +23,14 @@ import ai.grakn.graql.Order;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Answer;
 import com.google.auto.value.AutoValue;
+import com.google.common.collect.Maps;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.stream.Stream;
 
 /**
@@ -50,6 +56,44 @@ abstract class Ordering {
         return stream.sorted(comparator());
     }
 
+    /**
+     * Order the stream, keeping only the first answers. Rather than sorting the whole stream, at most {@code limit}
+     * answers are kept in a bounded heap. Equal answers keep the order they were found in, so the result is the same
+     * as sorting the whole stream and then limiting it.
+     * @param stream the stream to order
+     * @param limit the maximum number of answers to return
+     */
+    Stream<Answer> orderStream(Stream<Answer> stream, long limit) {
+        if (limit <= 0) return Stream.empty();
+        if (limit >= Integer.MAX_VALUE) return orderStream(stream).limit(limit);
+
+        //The stream is only read once the returned stream is consumed, as with sorting
+        return Stream.of(stream).flatMap(answers -> first(answers, (int) limit));
+    }
+
+    private Stream<Answer> first(Stream<Answer> answers, int limit) {
+        Comparator<Map.Entry<Long, Answer>> ranking =
+                Comparator.<Map.Entry<Long, Answer>, Answer>comparing(Map.Entry::getValue, comparator())
+                        .thenComparing(Map.Entry::getKey);
+
+        //The heap is ordered from the last answer to keep, so that it can be replaced by a better answer
+        PriorityQueue<Map.Entry<Long, Answer>> kept = new PriorityQueue<>(ranking.reversed());
+        Iterator<Answer> iterator = answers.iterator();
+        for (long position = 0; iterator.hasNext(); position++) {
+            Map.Entry<Long, Answer> answer = Maps.immutableEntry(position, iterator.next());
+            if (kept.size() < limit) {
+                kept.add(answer);
+            } else if (ranking.compare(answer, kept.peek()) < 0) {
+                kept.poll();
+                kept.add(answer);
+            }
+        }
+
+        List<Map.Entry<Long, Answer>> sorted = new ArrayList<>(kept);
+        sorted.sort(ranking);
+        return sorted.stream().map(Map.Entry::getValue);
+    }
+
     private Comparator<Answer> comparator() {
         Comparator<Answer> comparator = Comparator.comparing(this::getOrderValue);
         return (order() == Order.desc) ? comparator.reversed() : comparator;
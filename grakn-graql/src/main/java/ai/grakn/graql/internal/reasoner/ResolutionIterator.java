@@ -20,7 +20,9 @@ package ai.grakn.graql.internal.reasoner;
 
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.internal.query.QueryAnswer;
+import ai.grakn.graql.internal.reasoner.cache.InferredAnswerCache;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
+import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
 import ai.grakn.graql.internal.reasoner.iterator.ReasonerQueryIterator;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
@@ -29,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Stack;
@@ -39,6 +42,15 @@ import java.util.Stack;
  * Iterator for query answers maintaining the iterative behaviour of the QSQ scheme.
  * </p>
  *
+ * <p>
+ * Iterations after the first one are semi-naive: only joins involving at least one answer derived in the previous
+ * iteration are performed. Once a semi-naive iteration derives no new answers, a full iteration confirms the fixpoint.
+ * </p>
+ *
+ * <p>
+ * When the {@link InferredAnswerCache} is enabled, complete answers to atomic queries are shared across transactions.
+ * </p>
+ *
  * @author Kasper Piskorski
  *
  */
@@ -49,21 +61,50 @@ public class ResolutionIterator extends ReasonerQueryIterator {
     private final ReasonerQueryImpl query;
     private final Set<Answer> answers = new HashSet<>();
 
-    private final QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
+    private final QueryCache<ReasonerAtomicQuery> cache;
+    private QueryCache<ReasonerAtomicQuery> dCache = null;
+    private final boolean semiNaive;
     private final Stack<ResolutionState> states = new Stack<>();
 
     private Answer nextAnswer = null;
     private final boolean reiterationRequired;
 
+    private boolean shareAnswers;
+    private final long sharedCacheVersion;
+    private final Iterator<Answer> sharedAnswers;
+
     private static final Logger LOG = LoggerFactory.getLogger(ReasonerQueryImpl.class);
 
     public ResolutionIterator(ReasonerQueryImpl q){
+        this(q, true);
+    }
+
+    /**
+     * @param q the query to resolve
+     * @param semiNaive whether iterations after the first one should only join answers derived in the previous one
+     */
+    ResolutionIterator(ReasonerQueryImpl q, boolean semiNaive){
         this.query = q;
         this.reiterationRequired = q.requiresReiteration();
-        states.push(query.subGoal(new QueryAnswer(), new UnifierImpl(), null, new HashSet<>(), cache));
+        this.semiNaive = semiNaive && reiterationRequired;
+        this.cache = new QueryCache<>(this.semiNaive);
+
+        //answers can only be shared if they do not depend on uncommitted changes
+        InferredAnswerCache sharedCache = InferredAnswerCache.get();
+        this.shareAnswers = sharedCache.isEnabled() && q instanceof ReasonerAtomicQuery && !q.tx().admin().isModified();
+        this.sharedCacheVersion = shareAnswers? sharedCache.version(q.tx().getKeyspace()) : 0;
+        this.sharedAnswers = shareAnswers?
+                sharedCache.getAnswers((ReasonerAtomicQuery) q).map(QueryAnswers::iterator).orElse(null) :
+                null;
+
+        if (sharedAnswers == null) {
+            states.push(query.subGoal(new QueryAnswer(), new UnifierImpl(), null, new HashSet<>(), cache, dCache));
+        }
     }
 
     private Answer findNextAnswer(){
+        if (sharedAnswers != null) return sharedAnswers.hasNext()? sharedAnswers.next() : null;
+
         while(!states.isEmpty()) {
             ResolutionState state = states.pop();
 
@@ -95,19 +136,40 @@ public class ResolutionIterator extends ReasonerQueryIterator {
     public boolean hasNext() {
         nextAnswer = findNextAnswer();
         if (nextAnswer != null) return true;
+        if (sharedAnswers != null) return false;
 
         //iter finished
         if (reiterationRequired) {
             long dAns = answers.size() - oldAns;
-            if (dAns != 0 || iter == 0) {
-                LOG.debug("iter: " + iter + " answers: " + answers.size() + " dAns = " + dAns);
+            QueryCache<ReasonerAtomicQuery> newAnswers = semiNaive? cache.takeDelta() : null;
+            long dCacheAns = newAnswers != null? newAnswers.answerSize(newAnswers.getQueries()) : dAns;
+            boolean semiNaiveIteration = dCache != null;
+            LOG.debug("iter: " + iter + (semiNaiveIteration? " (semi-naive)" : "") + " answers: " + answers.size() +
+                    " dAns = " + dAns + " dCacheAns = " + dCacheAns);
+
+            //a semi-naive iteration deriving nothing new is followed by a full one,
+            //which either finds answers the semi-naive join skipped or confirms the fixpoint
+            boolean fixpoint = !semiNaiveIteration && iter != 0 && dAns == 0;
+            if (!fixpoint) {
                 iter++;
-                states.push(query.subGoal(new QueryAnswer(), new UnifierImpl(), null, new HashSet<>(), cache));
+                dCache = semiNaiveIteration && dCacheAns == 0? null : newAnswers;
+                states.push(query.subGoal(new QueryAnswer(), new UnifierImpl(), null, new HashSet<>(), cache, dCache));
                 oldAns = answers.size();
                 return hasNext();
             }
         }
 
+        recordSharedAnswers();
         return false;
     }
+
+    /**
+     * shares the answers with other transactions once they are complete
+     */
+    private void recordSharedAnswers(){
+        if (shareAnswers && !query.tx().admin().isModified()) {
+            InferredAnswerCache.get().record((ReasonerAtomicQuery) query, answers, sharedCacheVersion);
+        }
+        shareAnswers = false;
+    }
 }
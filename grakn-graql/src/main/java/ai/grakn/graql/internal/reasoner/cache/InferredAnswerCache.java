@@ -0,0 +1,369 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.cache;
+
+import ai.grakn.GraknTx;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.SchemaConcept;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.graql.internal.query.QueryAnswer;
+import ai.grakn.graql.internal.reasoner.atom.Atom;
+import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
+import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.util.Schema;
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static ai.grakn.util.CommonUtil.toImmutableList;
+
+/**
+ *
+ * <p>
+ * Keyspace level cache of the complete answers to atomic queries, shared across transactions.
+ * </p>
+ *
+ * <p>
+ * Queries are matched up to unification, so answers resolved for one query are reused for all equivalent queries.
+ * Entries are bucketed by the equivalence hash of their query and compared by alpha-equivalence within a bucket,
+ * so distinct queries with the same hash do not evict or return each other's answers.
+ * Answers are stored as concept ids and rebound to the concepts of the transaction they are retrieved in.
+ * Entries are invalidated when instances of any of the types the query depends on, either directly or through rules,
+ * are modified. The invalidations are driven by commit logs, so the cache is eventually consistent and disabled
+ * by default.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ *
+ */
+public class InferredAnswerCache {
+
+    private static final int MAX_CACHED_ANSWERS = 100_000;
+    private static final int ANSWER_TIMEOUT_MINUTES = 10;
+
+    private static final InferredAnswerCache INSTANCE = new InferredAnswerCache();
+
+    private final Cache<AnswerKey, ImmutableList<CachedAnswers>> answers = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_ANSWERS)
+            .weigher((AnswerKey key, ImmutableList<CachedAnswers> bucket) ->
+                    bucket.stream().mapToInt(cached -> cached.answers().size() + 1).sum())
+            .expireAfterWrite(ANSWER_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    private final Map<Keyspace, KeyspaceVersions> versions = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = false;
+
+    private InferredAnswerCache() {
+    }
+
+    /**
+     * @return the answer cache shared by all transactions
+     */
+    public static InferredAnswerCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param enabled true if resolved answers should be shared across transactions
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    /**
+     * @return true if resolved answers are shared across transactions
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the hit and miss statistics of the cache
+     */
+    public CacheStats stats() {
+        return answers.stats();
+    }
+
+    /**
+     * @return the number of query hashes which currently have cached answers
+     */
+    public long size() {
+        return answers.size();
+    }
+
+    /**
+     * Remove all cached answers
+     */
+    public void clear() {
+        answers.invalidateAll();
+    }
+
+    /**
+     * Invalidate the answers of all queries which depend on any of the given types
+     *
+     * @param keyspace the keyspace the types belong to
+     * @param typeIds  ids of the types and roles with modified instances
+     */
+    public void invalidate(Keyspace keyspace, Collection<ConceptId> typeIds) {
+        versions(keyspace).invalidate(typeIds);
+    }
+
+    /**
+     * Invalidate the answers of all queries of a keyspace
+     *
+     * @param keyspace the keyspace whose answers are no longer valid
+     */
+    public void invalidate(Keyspace keyspace) {
+        versions(keyspace).invalidateAll();
+    }
+
+    /**
+     * @param keyspace the keyspace answers are going to be resolved in
+     * @return the current version of the keyspace, which needs to be provided when recording answers
+     */
+    public long version(Keyspace keyspace) {
+        return versions(keyspace).current();
+    }
+
+    /**
+     * Retrieve the cached answers of an equivalent query, unified with the given query.
+     *
+     * @param query the query to retrieve the answers of
+     * @return the complete answers to the query if they are cached and still valid
+     */
+    public Optional<QueryAnswers> getAnswers(ReasonerAtomicQuery query) {
+        GraknTx tx = query.tx();
+        AnswerKey key = AnswerKey.of(tx.getKeyspace(), tx.admin().getSchemaVersion(), query.hashCode());
+        ImmutableList<CachedAnswers> bucket = answers.getIfPresent(key);
+        if (bucket == null) return Optional.empty();
+
+        ReasonerAtomicQuery cachedQuery = null;
+        CachedAnswers cached = null;
+        for (CachedAnswers candidate : bucket) {
+            ReasonerAtomicQuery candidateQuery = ReasonerQueries.atomic(candidate.pattern(), tx);
+            if (candidateQuery.equals(query)) {
+                cachedQuery = candidateQuery;
+                cached = candidate;
+                break;
+            }
+        }
+        if (cached == null) return Optional.empty();
+
+        if (versions(tx.getKeyspace()).lastModified(cached.dependencies()) > cached.version()) {
+            remove(key, cached);
+            return Optional.empty();
+        }
+
+        QueryAnswers rebound = new QueryAnswers();
+        for (Map<Var, ConceptId> answer : cached.answers()) {
+            Map<Var, Concept> concepts = new HashMap<>();
+            for (Map.Entry<Var, ConceptId> entry : answer.entrySet()) {
+                Concept concept = tx.getConcept(entry.getValue());
+                //the concept was removed and the commit log has not been processed yet
+                if (concept == null) {
+                    remove(key, cached);
+                    return Optional.empty();
+                }
+                concepts.put(entry.getKey(), concept);
+            }
+            rebound.add(new QueryAnswer(concepts));
+        }
+
+        QueryCache<ReasonerAtomicQuery> queryCache = new QueryCache<>();
+        queryCache.record(cachedQuery, rebound);
+        return Optional.of(queryCache.getAnswers(query));
+    }
+
+    /**
+     * Record the complete answers to a query.
+     *
+     * @param query      the resolved query
+     * @param queryAnswers all the answers to the query
+     * @param version    the version of the keyspace when the resolution started
+     */
+    public void record(ReasonerAtomicQuery query, Collection<Answer> queryAnswers, long version) {
+        GraknTx tx = query.tx();
+        Set<ConceptId> dependencies = dependencies(query);
+
+        //the data changed while the query was being resolved, so the answers might already be stale
+        if (versions(tx.getKeyspace()).lastModified(dependencies) > version) return;
+
+        ImmutableList.Builder<ImmutableMap<Var, ConceptId>> answerIds = ImmutableList.builder();
+        queryAnswers.forEach(answer -> {
+            ImmutableMap.Builder<Var, ConceptId> ids = ImmutableMap.builder();
+            answer.map().forEach((var, concept) -> ids.put(var, concept.getId()));
+            answerIds.add(ids.build());
+        });
+
+        Conjunction<VarPatternAdmin> pattern = Patterns.conjunction(query.getPattern().varPatterns());
+        AnswerKey key = AnswerKey.of(tx.getKeyspace(), tx.admin().getSchemaVersion(), query.hashCode());
+        CachedAnswers cached = CachedAnswers.of(pattern, dependencies, version, answerIds.build());
+
+        //only the answers of an equivalent query are replaced, other queries with the same hash are kept
+        answers.asMap().merge(key, ImmutableList.of(cached), (bucket, added) -> Stream.concat(
+                bucket.stream().filter(entry -> !ReasonerQueries.atomic(entry.pattern(), tx).equals(query)),
+                added.stream()
+        ).collect(toImmutableList()));
+    }
+
+    /**
+     * Remove the answers of a single query, keeping the other queries with the same hash
+     */
+    private void remove(AnswerKey key, CachedAnswers cached) {
+        answers.asMap().computeIfPresent(key, (k, bucket) -> {
+            ImmutableList<CachedAnswers> remaining = bucket.stream()
+                    .filter(entry -> entry != cached)
+                    .collect(toImmutableList());
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private KeyspaceVersions versions(Keyspace keyspace) {
+        return versions.computeIfAbsent(keyspace, k -> new KeyspaceVersions());
+    }
+
+    /**
+     * Find the types whose instances determine the answers of the query, following the rules which can infer them.
+     *
+     * @return ids of the types and roles the query depends on, null if the query can depend on any type
+     */
+    private static @Nullable Set<ConceptId> dependencies(ReasonerAtomicQuery query) {
+        GraknTx tx = query.tx();
+
+        Set<ConceptId> typeIds = new HashSet<>();
+        Set<Atom> visitedAtoms = new HashSet<>();
+        Stack<Atom> atoms = new Stack<>();
+        query.getAtoms(Atom.class).forEach(atoms::push);
+        while (!atoms.isEmpty()) {
+            Atom atom = atoms.pop();
+            if (visitedAtoms.add(atom)) {
+                if (atom.getTypeId() == null) return null;
+                typeIds.add(atom.getTypeId());
+                atom.getApplicableRules()
+                        .flatMap(rule -> rule.getBody().getAtoms(Atom.class))
+                        .forEach(atoms::push);
+            }
+        }
+
+        Set<ConceptId> dependencies = new HashSet<>();
+        for (ConceptId typeId : typeIds) {
+            Concept concept = tx.getConcept(typeId);
+            if (concept == null || !concept.isSchemaConcept()) return null;
+
+            concept.asSchemaConcept().subs().forEach(sub -> {
+                dependencies.add(sub.getId());
+
+                //attributes are attached to their owners through implicit relationships
+                if (sub.isAttributeType()) {
+                    for (Schema.ImplicitType implicitType : ImmutableSet.of(Schema.ImplicitType.HAS, Schema.ImplicitType.KEY)) {
+                        SchemaConcept implicit = tx.getSchemaConcept(implicitType.getLabel(sub.getLabel()));
+                        if (implicit != null) dependencies.add(implicit.getId());
+                    }
+                }
+            });
+        }
+        return dependencies;
+    }
+
+    /**
+     * Tracks when the instances of each type of a keyspace were last modified
+     */
+    private static class KeyspaceVersions {
+        private final AtomicLong version = new AtomicLong();
+        private final Map<ConceptId, Long> typeVersions = new ConcurrentHashMap<>();
+        private volatile long keyspaceVersion = 0;
+
+        long current() {
+            return version.get();
+        }
+
+        void invalidate(Collection<ConceptId> typeIds) {
+            long newVersion = version.incrementAndGet();
+            typeIds.forEach(typeId -> typeVersions.put(typeId, newVersion));
+        }
+
+        void invalidateAll() {
+            keyspaceVersion = version.incrementAndGet();
+        }
+
+        /**
+         * @param typeIds the types to check, null for all types
+         * @return the last version in which instances of any of the types were modified
+         */
+        long lastModified(@Nullable Set<ConceptId> typeIds) {
+            if (typeIds == null) return version.get();
+            long lastModified = keyspaceVersion;
+            for (ConceptId typeId : typeIds) {
+                lastModified = Math.max(lastModified, typeVersions.getOrDefault(typeId, 0L));
+            }
+            return lastModified;
+        }
+    }
+
+    @AutoValue
+    abstract static class AnswerKey {
+        abstract @Nullable Keyspace keyspace();
+        abstract long schemaVersion();
+        abstract int queryHash();
+
+        static AnswerKey of(@Nullable Keyspace keyspace, long schemaVersion, int queryHash) {
+            return new AutoValue_InferredAnswerCache_AnswerKey(keyspace, schemaVersion, queryHash);
+        }
+    }
+
+    @AutoValue
+    abstract static class CachedAnswers {
+        abstract Conjunction<VarPatternAdmin> pattern();
+        abstract @Nullable Set<ConceptId> dependencies();
+        abstract long version();
+        abstract ImmutableList<ImmutableMap<Var, ConceptId>> answers();
+
+        static CachedAnswers of(Conjunction<VarPatternAdmin> pattern, @Nullable Set<ConceptId> dependencies,
+                                long version, ImmutableList<ImmutableMap<Var, ConceptId>> answers) {
+            return new AutoValue_InferredAnswerCache_CachedAnswers(pattern, dependencies, version, answers);
+        }
+    }
+}
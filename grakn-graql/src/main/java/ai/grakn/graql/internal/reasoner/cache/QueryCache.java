@@ -27,6 +27,8 @@ import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
 import ai.grakn.graql.internal.reasoner.UnifierImpl;
 import ai.grakn.graql.internal.reasoner.utils.Pair;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,16 +46,59 @@ import java.util.stream.Stream;
  */
 public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers> {
 
-    public QueryCache(){ super();}
+    //answers recorded since the delta was last taken, keyed by the cached query they are expressed in, null if not tracked
+    private final Map<Q, QueryAnswers> delta;
+
+    public QueryCache(){ this(false);}
+
+    /**
+     * @param trackDelta whether the answers recorded since the delta was last taken should be tracked
+     */
+    public QueryCache(boolean trackDelta){
+        super();
+        this.delta = trackDelta? new HashMap<>() : null;
+    }
+
+    /**
+     * returns the answers recorded since the last call without copying the cache,
+     * the cache must have been created with delta tracking
+     * @return cache containing only the answers recorded since the last call
+     */
+    public QueryCache<Q> takeDelta(){
+        if (delta == null) throw new IllegalStateException("The cache does not track the recorded answers");
+        QueryCache<Q> newAnswers = new QueryCache<>();
+        delta.forEach((query, answers) -> newAnswers.cache.put(query, new Pair<>(query, answers)));
+        delta.clear();
+        return newAnswers;
+    }
+
+    private void addAnswer(Pair<Q, QueryAnswers> match, Answer answer){
+        if (match.getValue().add(answer) && delta != null) {
+            delta.computeIfAbsent(match.getKey(), q -> new QueryAnswers()).add(answer);
+        }
+    }
+
+    private void addAnswers(Pair<Q, QueryAnswers> match, QueryAnswers answers){
+        if (delta == null) {
+            match.getValue().addAll(answers);
+        } else {
+            answers.forEach(answer -> addAnswer(match, answer));
+        }
+    }
+
+    private void putAnswers(Q query, QueryAnswers answers){
+        cache.put(query, new Pair<>(query, answers));
+        if (delta != null && !answers.isEmpty()) delta.put(query, new QueryAnswers(answers));
+    }
 
     @Override
     public QueryAnswers record(Q query, QueryAnswers answers) {
         Q equivalentQuery = contains(query)? cache.get(query).getKey() : null;
         if (equivalentQuery != null) {
             QueryAnswers unifiedAnswers = QueryAnswers.getUnifiedAnswers(equivalentQuery, query, answers);
-            cache.get(query).getValue().addAll(unifiedAnswers);
+            addAnswers(cache.get(query), unifiedAnswers);
         } else {
-            cache.put(query, new Pair<>(query, answers));
+            putAnswers(query, answers);
         }
         return getAnswers(query);
     }
@@ -64,12 +109,11 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
         Pair<Q, QueryAnswers> match =  cache.get(query);
         if (match != null) {
             Q equivalentQuery = match.getKey();
-            QueryAnswers answers = match.getValue();
             QueryAnswers unifiedAnswers = newAnswers.unify(query.getUnifier(equivalentQuery));
-            answers.addAll(unifiedAnswers);
-            return answers.stream();
+            addAnswers(match, unifiedAnswers);
+            return match.getValue().stream();
         } else {
-            cache.put(query, new Pair<>(query, newAnswers));
+            putAnswers(query, newAnswers);
             return newAnswers.stream();
         }
     }
@@ -104,11 +148,10 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
         Pair<Q, QueryAnswers> match =  cache.get(query);
         if (match != null) {
             Q equivalentQuery = match.getKey();
-            QueryAnswers answers = match.getValue();
             Answer unifiedAnswer = answer.unify(query.getUnifier(equivalentQuery));
-            answers.add(unifiedAnswer);
+            addAnswer(match, unifiedAnswer);
         } else {
-            cache.put(query, new Pair<>(query, new QueryAnswers(answer)));
+            putAnswers(query, new QueryAnswers(answer));
         }
         return answer;
     }
@@ -123,11 +166,10 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
     public Answer recordAnswerWithUnifier(Q query, Answer answer, Unifier unifier){
         Pair<Q, QueryAnswers> match =  cache.get(query);
         if (match != null) {
-            QueryAnswers answers = match.getValue();
             Answer unifiedAnswer = answer.unify(unifier);
-            answers.add(unifiedAnswer);
+            addAnswer(match, unifiedAnswer);
         } else {
-            cache.put(query, new Pair<>(query, new QueryAnswers(answer)));
+            putAnswers(query, new QueryAnswers(answer));
         }
         return answer;
     }
@@ -175,7 +217,18 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
         c2.cache.keySet().stream()
                 .filter(queries::contains)
                 .filter(this::contains)
-                .forEach( q -> cache.get(q).getValue().removeAll(c2.getAnswers(q)));
+                .forEach( q -> {
+                    QueryAnswers removed = c2.getAnswers(q);
+                    Pair<Q, QueryAnswers> match = cache.get(q);
+                    match.getValue().removeAll(removed);
+                    if (delta != null && delta.containsKey(match.getKey())) delta.get(match.getKey()).removeAll(removed);
+                });
+    }
+
+    @Override
+    public void clear(){
+        super.clear();
+        if (delta != null) delta.clear();
     }
 
     @Override
@@ -54,6 +54,7 @@ import ai.grakn.graql.internal.reasoner.utils.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -348,10 +349,11 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
     }
 
     @Override
-    public AtomicState subGoal(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals, QueryCache<ReasonerAtomicQuery> cache){
+    public AtomicState subGoal(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals,
+                               QueryCache<ReasonerAtomicQuery> cache, @Nullable QueryCache<ReasonerAtomicQuery> dCache){
         return getAtoms(NeqPredicate.class).findFirst().isPresent()?
-                new NeqComplementState(this, sub, u, parent, subGoals, cache) :
-                new AtomicState(this, sub, u, parent, subGoals, cache);
+                new NeqComplementState(this, sub, u, parent, subGoals, cache, dCache) :
+                new AtomicState(this, sub, u, parent, subGoals, cache, dCache);
     }
 
     /**
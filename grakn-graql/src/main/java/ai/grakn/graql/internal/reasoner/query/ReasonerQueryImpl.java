@@ -44,6 +44,7 @@ import ai.grakn.graql.internal.reasoner.cache.Cache;
 import ai.grakn.graql.internal.reasoner.cache.LazyQueryCache;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
 import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
+import ai.grakn.graql.internal.reasoner.rule.RuleCache;
 import ai.grakn.graql.internal.reasoner.rule.RuleUtil;
 import ai.grakn.graql.internal.reasoner.state.ConjunctiveState;
 import ai.grakn.graql.internal.reasoner.state.QueryState;
@@ -466,10 +467,12 @@ public class ReasonerQueryImpl implements ReasonerQuery {
      * @param parent parent state
      * @param subGoals set of visited sub goals
      * @param cache query cache
+     * @param dCache differential query cache with answers derived in the previous iteration, null if resolution is not semi-naive
      * @return resolution subGoal formed from this query
      */
-    public QueryState subGoal(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals, QueryCache<ReasonerAtomicQuery> cache){
-        return new ConjunctiveState(this, sub, u, parent, subGoals, cache);
+    public QueryState subGoal(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals,
+                              QueryCache<ReasonerAtomicQuery> cache, @Nullable QueryCache<ReasonerAtomicQuery> dCache){
+        return new ConjunctiveState(this, sub, u, parent, subGoals, cache, dCache);
     }
 
     /**
@@ -478,11 +481,13 @@ public class ReasonerQueryImpl implements ReasonerQuery {
      * @param parent parent state
      * @param subGoals set of visited sub goals
      * @param cache query cache
+     * @param dCache differential query cache with answers derived in the previous iteration, null if resolution is not semi-naive
      * @return resolution subGoals formed from this query obtained by expanding the inferred types contained in the query
      */
-    public LinkedList<QueryState> subGoals(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals, QueryCache<ReasonerAtomicQuery> cache){
+    public LinkedList<QueryState> subGoals(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals,
+                                           QueryCache<ReasonerAtomicQuery> cache, @Nullable QueryCache<ReasonerAtomicQuery> dCache){
         return getQueryStream(sub)
-                .map(q -> q.subGoal(sub, u, parent, subGoals, cache))
+                .map(q -> q.subGoal(sub, u, parent, subGoals, cache, dCache))
                 .collect(Collectors.toCollection(LinkedList::new));
     }
 
@@ -519,7 +524,7 @@ public class ReasonerQueryImpl implements ReasonerQuery {
      * @return true if because of the rule graph form, the resolution of this query may require reiteration
      */
     public boolean requiresReiteration() {
-        Set<InferenceRule> dependentRules = RuleUtil.getDependentRules(this);
+        Set<InferenceRule> dependentRules = RuleCache.get().getDependentRules(this);
         return RuleUtil.subGraphHasLoops(dependentRules, tx())
                || RuleUtil.subGraphHasRulesWithHeadSatisfyingBody(dependentRules);
     }
@@ -69,11 +69,15 @@ public class InferenceRule {
     private int priority = Integer.MAX_VALUE;
 
     public InferenceRule(Rule rule, GraknTx tx){
-        this.tx = tx;
-        this.ruleId = rule.getId();
         //TODO simplify once changes propagated to rule objects
-        this.body = ReasonerQueries.create(conjunction(rule.getWhen().admin()), tx);
-        this.head = ReasonerQueries.atomic(conjunction(rule.getThen().admin()), tx);
+        this(rule.getId(), conjunction(rule.getWhen().admin()), conjunction(rule.getThen().admin()), tx);
+    }
+
+    InferenceRule(ConceptId ruleId, Conjunction<VarPatternAdmin> body, Conjunction<VarPatternAdmin> head, GraknTx tx){
+        this.tx = tx;
+        this.ruleId = ruleId;
+        this.body = ReasonerQueries.create(body, tx);
+        this.head = ReasonerQueries.atomic(head, tx);
     }
 
     private InferenceRule(ReasonerAtomicQuery head, ReasonerQueryImpl body, ConceptId ruleId, GraknTx tx){
@@ -116,12 +120,12 @@ public class InferenceRule {
      */
     public int resolutionPriority(){
         if (priority == Integer.MAX_VALUE) {
-            priority = -RuleUtil.getDependentRules(getBody()).size();
+            priority = -RuleCache.get().countDependentRules(getBody());
         }
         return priority;
     }
 
-    private Conjunction<VarPatternAdmin> conjunction(PatternAdmin pattern){
+    static Conjunction<VarPatternAdmin> conjunction(PatternAdmin pattern){
         Set<VarPatternAdmin> vars = pattern
                 .getDisjunctiveNormalForm().getPatterns()
                 .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
@@ -0,0 +1,250 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.rule;
+
+import ai.grakn.GraknTx;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.Rule;
+import ai.grakn.concept.SchemaConcept;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.reasoner.atom.Atom;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static ai.grakn.util.CommonUtil.toImmutableSet;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ *
+ * <p>
+ * Keyspace level cache of the compiled rules of a schema, shared across transactions.
+ * </p>
+ *
+ * <p>
+ * The when and then patterns of every rule are parsed and normalised once, and the rules are indexed by the types
+ * they can infer, so finding the rules applicable to an atom neither parses patterns nor walks the rule graph.
+ * The compiled rules are independent of any transaction and are bound to the transaction they are retrieved in.
+ * Compiled rules are keyed by the schema version stored in the keyspace, which is replaced whenever a change to the
+ * rules or the schema is committed and differs between a deleted keyspace and its replacement, so any transaction of
+ * any engine finds the rules of the schema it reads. Transactions with uncommitted schema changes bypass the cache.
+ * The rules a query depends on are found by walking the same type index from the types of its atoms.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ *
+ */
+public class RuleCache {
+
+    private static final int MAX_CACHED_SCHEMAS = 100;
+    private static final int SCHEMA_TIMEOUT_MINUTES = 10;
+
+    private static final RuleCache INSTANCE = new RuleCache();
+
+    private final Cache<RuleKey, CompiledRules> rules = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SCHEMAS)
+            .expireAfterAccess(SCHEMA_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    private RuleCache() {
+    }
+
+    /**
+     * @return the rule cache shared by all transactions
+     */
+    public static RuleCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the hit and miss statistics of the cache
+     */
+    public CacheStats stats() {
+        return rules.stats();
+    }
+
+    /**
+     * Remove all compiled rules
+     */
+    public void clear() {
+        rules.invalidateAll();
+    }
+
+    /**
+     * @param type the type for which rules containing it in the head are sought, null for all rules
+     * @param tx   the transaction the rules will be resolved in
+     * @return rules containing the specified type or any of its subtypes in the head
+     */
+    public Stream<InferenceRule> getRulesWithType(@Nullable SchemaConcept type, GraknTx tx) {
+        if (tx.admin().isSchemaModified()) {
+            return RuleUtil.getRulesWithType(type, tx).map(rule -> new InferenceRule(rule, tx));
+        }
+
+        CompiledRules compiledRules = compiledRules(tx);
+        Collection<CompiledRule> withType = type != null ?
+                compiledRules.byConclusionType().get(type.getLabel()) :
+                compiledRules.all();
+        return withType.stream().map(rule -> rule.bind(tx));
+    }
+
+    /**
+     * @param query the query whose atoms are the entry points to the rule graph
+     * @return the rules the query may depend on: the rules concluding the types of its atoms, and recursively the rules
+     * concluding the types of their bodies
+     */
+    public Set<InferenceRule> getDependentRules(ReasonerQueryImpl query) {
+        GraknTx tx = query.tx();
+        return dependentRules(query).stream().map(rule -> rule.bind(tx)).collect(toSet());
+    }
+
+    /**
+     * @param query the query whose atoms are the entry points to the rule graph
+     * @return the number of rules the query may depend on
+     */
+    public int countDependentRules(ReasonerQueryImpl query) {
+        return dependentRules(query).size();
+    }
+
+    private Set<CompiledRule> dependentRules(ReasonerQueryImpl query) {
+        GraknTx tx = query.tx();
+        CompiledRules compiledRules = tx.admin().isSchemaModified() ? compile(tx) : compiledRules(tx);
+
+        Set<CompiledRule> rules = new HashSet<>();
+        Set<Label> visited = new HashSet<>();
+        Deque<Label> labels = new ArrayDeque<>();
+        for (Atom atom : query.selectAtoms()) {
+            //an untyped atom can depend on any rule
+            if (atom.getSchemaConcept() == null) return new HashSet<>(compiledRules.all());
+            labels.push(atom.getSchemaConcept().getLabel());
+        }
+
+        while (!labels.isEmpty()) {
+            Label label = labels.pop();
+            if (!visited.add(label)) continue;
+            for (CompiledRule rule : compiledRules.byConclusionType().get(label)) {
+                if (!rules.add(rule)) continue;
+                if (rule.hasUntypedBodyAtoms()) return new HashSet<>(compiledRules.all());
+                rule.bodyTypes().forEach(labels::push);
+            }
+        }
+        return rules;
+    }
+
+    private CompiledRules compiledRules(GraknTx tx) {
+        RuleKey key = RuleKey.of(tx.getKeyspace(), tx.admin().getSchemaVersion());
+        CompiledRules compiledRules = rules.getIfPresent(key);
+        if (compiledRules == null) {
+            compiledRules = compile(tx);
+            rules.put(key, compiledRules);
+        }
+        return compiledRules;
+    }
+
+    private static CompiledRules compile(GraknTx tx) {
+        ImmutableList.Builder<CompiledRule> all = ImmutableList.builder();
+        ImmutableSetMultimap.Builder<Label, CompiledRule> byConclusionType = ImmutableSetMultimap.builder();
+
+        RuleUtil.getRules(tx).forEach(rule -> {
+            CompiledRule compiledRule = CompiledRule.of(rule, tx);
+            all.add(compiledRule);
+
+            //a rule concluding a type can infer instances of all of its super types
+            Set<Label> labels = new HashSet<>();
+            rule.getConclusionTypes().forEach(type -> {
+                SchemaConcept superType = type;
+                while (superType != null && labels.add(superType.getLabel())) {
+                    byConclusionType.put(superType.getLabel(), compiledRule);
+                    superType = superType.sup();
+                }
+            });
+        });
+
+        return CompiledRules.of(all.build(), byConclusionType.build());
+    }
+
+    @AutoValue
+    abstract static class RuleKey {
+        abstract @Nullable Keyspace keyspace();
+        abstract long schemaVersion();
+
+        static RuleKey of(@Nullable Keyspace keyspace, long schemaVersion) {
+            return new AutoValue_RuleCache_RuleKey(keyspace, schemaVersion);
+        }
+    }
+
+    @AutoValue
+    abstract static class CompiledRules {
+        abstract ImmutableList<CompiledRule> all();
+        abstract ImmutableSetMultimap<Label, CompiledRule> byConclusionType();
+
+        static CompiledRules of(ImmutableList<CompiledRule> all, ImmutableSetMultimap<Label, CompiledRule> byConclusionType) {
+            return new AutoValue_RuleCache_CompiledRules(all, byConclusionType);
+        }
+    }
+
+    /**
+     * The normalised when and then patterns of a rule
+     */
+    @AutoValue
+    abstract static class CompiledRule {
+        abstract ConceptId ruleId();
+        abstract Conjunction<VarPatternAdmin> body();
+        abstract Conjunction<VarPatternAdmin> head();
+        abstract ImmutableSet<Label> bodyTypes();
+        abstract boolean hasUntypedBodyAtoms();
+
+        static CompiledRule of(Rule rule, GraknTx tx) {
+            Conjunction<VarPatternAdmin> body = InferenceRule.conjunction(rule.getWhen().admin());
+            Set<Atom> bodyAtoms = ReasonerQueries.create(body, tx).selectAtoms();
+            ImmutableSet<Label> bodyTypes = bodyAtoms.stream()
+                    .map(Atom::getSchemaConcept)
+                    .filter(Objects::nonNull)
+                    .map(SchemaConcept::getLabel)
+                    .collect(toImmutableSet());
+            boolean hasUntypedBodyAtoms = bodyAtoms.stream().anyMatch(atom -> atom.getSchemaConcept() == null);
+
+            return new AutoValue_RuleCache_CompiledRule(rule.getId(), body,
+                    InferenceRule.conjunction(rule.getThen().admin()), bodyTypes, hasUntypedBodyAtoms);
+        }
+
+        InferenceRule bind(GraknTx tx) {
+            return new InferenceRule(ruleId(), body(), head(), tx);
+        }
+    }
+}
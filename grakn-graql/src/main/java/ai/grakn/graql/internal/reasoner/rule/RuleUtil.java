@@ -23,8 +23,6 @@ import ai.grakn.concept.Rule;
 import ai.grakn.concept.SchemaConcept;
 import ai.grakn.concept.Type;
 import ai.grakn.graql.VarPattern;
-import ai.grakn.graql.internal.reasoner.atom.Atom;
-import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
 import ai.grakn.util.Schema;
 
 import java.util.HashSet;
@@ -139,27 +137,4 @@ public class RuleUtil {
         }
         return rules;
     }
-
-    /**
-     * @param query top query
-     * @return all rules that are reachable from the entry types
-     */
-    public static Set<InferenceRule> getDependentRules(ReasonerQueryImpl query){
-        Set<InferenceRule> rules = new HashSet<>();
-        Set<Atom> visitedAtoms = new HashSet<>();
-        Stack<Atom> atoms = new Stack<>();
-        query.selectAtoms().forEach(atoms::push);
-        while(!atoms.isEmpty()) {
-            Atom atom = atoms.pop();
-            if (!visitedAtoms.contains(atom)){
-                atom.getApplicableRules()
-                        .peek(rules::add)
-                        .flatMap(rule -> rule.getBody().selectAtoms().stream())
-                        .filter(visitedAtoms::contains)
-                        .forEach(atoms::add);
-                visitedAtoms.add(atom);
-            }
-        }
-        return rules;
-    }
 }
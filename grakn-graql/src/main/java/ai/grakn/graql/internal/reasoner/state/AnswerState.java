@@ -40,13 +40,21 @@ import java.util.Set;
  */
 class AnswerState extends ResolutionState {
 
-    AnswerState(Answer sub, Unifier u, QueryState parent) {
+    private final boolean delta;
+
+    AnswerState(Answer sub, Unifier u, QueryState parent, boolean delta) {
         super(sub, u, parent);
+        this.delta = delta;
     }
 
     @Override
     public boolean isAnswerState(){ return true;}
 
+    /**
+     * @return true if the answer might not have been known before the previous iteration of a semi-naive resolution
+     */
+    boolean isDelta(){ return delta;}
+
     @Override
     public ResolutionState generateSubGoal() {
         return getParentState().propagateAnswer(this);
@@ -21,12 +21,14 @@ package ai.grakn.graql.internal.reasoner.state;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Unifier;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
+import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
 import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
 import ai.grakn.graql.internal.reasoner.rule.RuleTuple;
 import ai.grakn.graql.internal.reasoner.utils.Pair;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
@@ -48,6 +50,7 @@ public class AtomicState extends QueryState{
     private final Iterator<RuleTuple> ruleIterator;
 
     private final Unifier cacheUnifier;
+    private final QueryAnswers deltaAnswers;
     private InferenceRule currentRule = null;
 
     public AtomicState(ReasonerAtomicQuery q,
@@ -55,11 +58,15 @@ public class AtomicState extends QueryState{
                        Unifier u,
                        QueryState parent,
                        Set<ReasonerAtomicQuery> subGoals,
-                       QueryCache<ReasonerAtomicQuery> cache) {
+                       QueryCache<ReasonerAtomicQuery> cache,
+                       @Nullable QueryCache<ReasonerAtomicQuery> dCache) {
 
-        super(sub, u, parent, subGoals, cache);
+        super(sub, u, parent, subGoals, cache, dCache);
         this.query = ReasonerQueries.atomic(q, sub);
 
+        //cached answers are known before the previous iteration unless they are in the differential cache
+        this.deltaAnswers = dCache != null && cache.contains(query)? dCache.getAnswers(query) : null;
+
         Pair<Stream<Answer>, Unifier> streamUnifierPair = query.lookupWithUnifier(cache);
         this.dbIterator = streamUnifierPair.getKey()
                 .map(a -> a.explain(a.getExplanation().setQuery(query)))
@@ -81,16 +88,30 @@ public class AtomicState extends QueryState{
     @Override
     public ResolutionState propagateAnswer(AnswerState state) {
         Answer answer = state.getAtomicAnswer(query, currentRule, cacheUnifier, getCache());
-        return !answer.isEmpty()? new AnswerState(answer, getUnifier(), getParentState()) : null;
+        return !answer.isEmpty()? new AnswerState(answer, getUnifier(), getParentState(), state.isDelta()) : null;
     }
 
     @Override
     public ResolutionState generateSubGoal() {
-        if (dbIterator.hasNext()) return new AnswerState(dbIterator.next(), getUnifier(), this);
+        if (dbIterator.hasNext()) {
+            Answer answer = dbIterator.next();
+            return new AnswerState(answer, getUnifier(), this, isDelta(answer));
+        }
         if (ruleIterator.hasNext()) return generateSubGoalFromRule(ruleIterator.next());
         return null;
     }
 
+    /**
+     * @param answer looked up answer to the query
+     * @return false if the answer was already known before the previous iteration of a semi-naive resolution
+     */
+    private boolean isDelta(Answer answer){
+        if (!isSemiNaive()) return true;
+        //answers of queries which cannot be inferred never change between iterations
+        if (!query.getAtom().isRuleResolvable()) return false;
+        return deltaAnswers == null || deltaAnswers.contains(answer);
+    }
+
     private ResolutionState generateSubGoalFromRule(RuleTuple ruleTuple){
         currentRule = ruleTuple.getRule();
         Unifier ruleUnifier = ruleTuple.getRuleUnifier();
@@ -105,6 +126,6 @@ public class AtomicState extends QueryState{
 
         Unifier combinedUnifier = ruleUnifier.combine(permutationUnifier);
 
-        return currentRule.getBody().subGoal(partialSubPrime, combinedUnifier, this, getSubGoals(), getCache());
+        return currentRule.getBody().subGoal(partialSubPrime, combinedUnifier, this, getSubGoals(), getCache(), getDifferentialCache());
     }
 }
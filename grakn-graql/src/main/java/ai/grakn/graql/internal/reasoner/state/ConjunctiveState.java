@@ -30,6 +30,7 @@ import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -59,8 +60,9 @@ public class ConjunctiveState extends QueryState {
                             Unifier u,
                             QueryState parent,
                             Set<ReasonerAtomicQuery> subGoals,
-                            QueryCache<ReasonerAtomicQuery> cache) {
-        super(sub, u, parent, subGoals, cache);
+                            QueryCache<ReasonerAtomicQuery> cache,
+                            @Nullable QueryCache<ReasonerAtomicQuery> dCache) {
+        super(sub, u, parent, subGoals, cache, dCache);
         this.query = ReasonerQueries.create(q, sub);
 
         if (!query.isRuleResolvable()){
@@ -82,18 +84,19 @@ public class ConjunctiveState extends QueryState {
 
     @Override
     public ResolutionState propagateAnswer(AnswerState state) {
-        return new AnswerState(state.getSubstitution(), getUnifier(), getParentState());
+        return new AnswerState(state.getSubstitution(), getUnifier(), getParentState(), state.isDelta());
     }
 
     @Override
     public ResolutionState generateSubGoal(){
         if (dbIterator.hasNext()){
-            return new AnswerState(dbIterator.next(), getUnifier(), getParentState());
+            //answers which do not involve inferred concepts never change between iterations
+            return new AnswerState(dbIterator.next(), getUnifier(), getParentState(), !isSemiNaive());
         }
 
         if (!subQueries.isEmpty() && !visited) {
             visited = true;
-            return new CumulativeState(subQueries, new QueryAnswer(), getUnifier(), this, getSubGoals(), getCache());
+            return new CumulativeState(subQueries, new QueryAnswer(), getUnifier(), this, getSubGoals(), getCache(), getDifferentialCache(), false);
         }
         return null;
     }
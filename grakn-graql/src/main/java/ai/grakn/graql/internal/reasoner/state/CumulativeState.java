@@ -23,6 +23,8 @@ import ai.grakn.graql.admin.Unifier;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+
+import javax.annotation.Nullable;
 import java.util.LinkedList;
 import java.util.Set;
 
@@ -39,27 +41,39 @@ class CumulativeState extends QueryState{
 
     private final LinkedList<ReasonerQueryImpl> subQueries;
     private final LinkedList<QueryState> feederGoals;
+    private final boolean delta;
 
     CumulativeState(LinkedList<ReasonerQueryImpl> qs,
                     Answer sub,
                     Unifier u,
                     QueryState parent,
                     Set<ReasonerAtomicQuery> subGoals,
-                    QueryCache<ReasonerAtomicQuery> cache) {
-        super(sub, u, parent, subGoals, cache);
+                    QueryCache<ReasonerAtomicQuery> cache,
+                    @Nullable QueryCache<ReasonerAtomicQuery> dCache,
+                    boolean delta) {
+        super(sub, u, parent, subGoals, cache, dCache);
         this.subQueries = new LinkedList<>(qs);
+        this.delta = delta;
         this.feederGoals = !subQueries.isEmpty()?
-               subQueries.removeFirst().subGoals(sub, u, this, subGoals, cache) :
+               subQueries.removeFirst().subGoals(sub, u, this, subGoals, cache, dCache) :
                new LinkedList<>();
     }
 
     @Override
     public ResolutionState propagateAnswer(AnswerState state) {
         Answer answer = getSubstitution().merge(state.getSubstitution(), true);
+        boolean answerDelta = delta || state.isDelta();
+
+        //semi-naive: a join of answers known before the previous iteration was already performed in that iteration,
+        //so partial answers are discarded as soon as no remaining subquery can contribute a new answer
+        if (isSemiNaive() && !answerDelta && subQueries.stream().noneMatch(ReasonerQueryImpl::isRuleResolvable)){
+            return null;
+        }
+
         if (subQueries.isEmpty()){
-            return new AnswerState(answer, getUnifier(), getParentState());
+            return new AnswerState(answer, getUnifier(), getParentState(), answerDelta);
         }
-        return new CumulativeState(subQueries, answer, getUnifier(), getParentState(), getSubGoals(), getCache());
+        return new CumulativeState(subQueries, answer, getUnifier(), getParentState(), getSubGoals(), getCache(), getDifferentialCache(), answerDelta);
     }
 
     @Override
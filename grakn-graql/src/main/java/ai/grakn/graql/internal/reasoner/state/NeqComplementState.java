@@ -24,6 +24,8 @@ import ai.grakn.graql.internal.reasoner.atom.predicate.NeqPredicate;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+
+import javax.annotation.Nullable;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -57,14 +59,15 @@ public class NeqComplementState extends AtomicState {
 
     private final Set<NeqPredicate> predicates;
 
-    public NeqComplementState(ReasonerAtomicQuery q, Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals, QueryCache<ReasonerAtomicQuery> cache) {
-        super(q, sub, u, parent, subGoals, cache);
+    public NeqComplementState(ReasonerAtomicQuery q, Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals,
+                              QueryCache<ReasonerAtomicQuery> cache, @Nullable QueryCache<ReasonerAtomicQuery> dCache) {
+        super(q, sub, u, parent, subGoals, cache, dCache);
 
         ReasonerAtomicQuery complementQuery = ReasonerQueries.atomic(q.positive(), sub);
         this.predicates = q.getAtoms(NeqPredicate.class).collect(Collectors.toSet());
         this.predicateSub = sub.filterVars(predicates.stream().flatMap(p -> p.getVarNames().stream()).collect(Collectors.toSet()));
 
-        complementState = complementQuery.subGoal(sub, u, this, subGoals, cache);
+        complementState = complementQuery.subGoal(sub, u, this, subGoals, cache, dCache);
     }
 
     @Override
@@ -75,7 +78,7 @@ public class NeqComplementState extends AtomicState {
                 .filter(p -> !p.isSatisfied(fullAnswer))
                 .findFirst().isPresent();
         return isNeqSatisfied?
-                new AnswerState(state.getSubstitution(), getUnifier(), getParentState()) :
+                new AnswerState(state.getSubstitution(), getUnifier(), getParentState(), state.isDelta()) :
                 null;
     }
 
@@ -22,6 +22,8 @@ import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Unifier;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
+
+import javax.annotation.Nullable;
 import java.util.Set;
 
 /**
@@ -37,11 +39,14 @@ public abstract class QueryState extends ResolutionState {
 
     private final Set<ReasonerAtomicQuery> subGoals;
     private final QueryCache<ReasonerAtomicQuery> cache;
+    private final QueryCache<ReasonerAtomicQuery> dCache;
 
-    QueryState(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals, QueryCache<ReasonerAtomicQuery> cache) {
+    QueryState(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals,
+               QueryCache<ReasonerAtomicQuery> cache, @Nullable QueryCache<ReasonerAtomicQuery> dCache) {
         super(sub, u, parent);
         this.subGoals = subGoals;
         this.cache = cache;
+        this.dCache = dCache;
     }
 
     /**
@@ -54,6 +59,18 @@ public abstract class QueryState extends ResolutionState {
      */
     QueryCache<ReasonerAtomicQuery> getCache(){ return cache;}
 
+    /**
+     * @return differential query cache holding the answers derived in the previous iteration,
+     * null if the resolution is not semi-naive
+     */
+    @Nullable
+    QueryCache<ReasonerAtomicQuery> getDifferentialCache(){ return dCache;}
+
+    /**
+     * @return true if answers derived exclusively from answers known before the previous iteration can be discarded
+     */
+    boolean isSemiNaive(){ return dCache != null;}
+
     /**
      * propagates the answer state up the tree and acknowledges (caches) its substitution
      * @param state to propagate
@@ -38,7 +38,8 @@ import static ai.grakn.util.CommonUtil.toImmutableSet;
 public class StringConverter {
 
     private static final ImmutableSet<String> ALLOWED_ID_KEYWORDS = ImmutableSet.of(
-            "min", "max", "median", "mean", "std", "sum", "count", "path", "cluster", "degrees", "members", "persist"
+            "min", "max", "median", "percentile", "mean", "std", "sum", "count", "path", "cluster", "degrees", "members", "persist",
+            "approximate", "scan"
     );
 
     public static final ImmutableSet<String> GRAQL_KEYWORDS = getKeywords().collect(toImmutableSet());
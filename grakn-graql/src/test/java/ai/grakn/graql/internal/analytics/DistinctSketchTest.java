@@ -0,0 +1,61 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.analytics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DistinctSketchTest {
+
+    @Test
+    public void whenTheSketchIsEmpty_ThereAreNoDistinctValues() {
+        assertEquals(0L, new DistinctSketch().count());
+    }
+
+    @Test
+    public void whenFewValuesAreAddedRepeatedly_TheyAreCountedOnce() {
+        DistinctSketch sketch = new DistinctSketch();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 100; i++) sketch.add("V" + i);
+        }
+
+        assertEquals(100D, sketch.count(), 2D);
+    }
+
+    @Test
+    public void whenManyValuesAreAddedToSeveralSketches_TheMergedCountIsClose() {
+        int values = 1_000_000;
+        DistinctSketch merged = new DistinctSketch();
+        for (int part = 0; part < 10; part++) {
+            DistinctSketch sketch = new DistinctSketch();
+            // every part overlaps half of the previous one
+            for (int i = part * values / 20; i < part * values / 20 + values / 10; i++) sketch.add("V" + i);
+            merged.merge(sketch);
+        }
+
+        long distinct = 9 * values / 20 + values / 10;
+        assertEquals(distinct, merged.count(), distinct * 0.03);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMergingSketchesOfDifferentPrecision_Throw() {
+        new DistinctSketch(10).merge(new DistinctSketch(12));
+    }
+}
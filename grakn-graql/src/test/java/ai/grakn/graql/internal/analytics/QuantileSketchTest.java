@@ -0,0 +1,74 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.analytics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void whenTheSketchIsEmpty_ThereIsNoQuantile() {
+        assertFalse(new QuantileSketch().quantile(0.5).isPresent());
+    }
+
+    @Test
+    public void whenFewValuesAreAdded_TheMedianIsExact() {
+        QuantileSketch odd = new QuantileSketch();
+        QuantileSketch even = new QuantileSketch();
+        for (int i = 1; i <= 9; i++) odd.add(i);
+        for (int i = 1; i <= 10; i++) even.add(i);
+
+        assertEquals(5D, odd.quantile(0.5).getAsDouble(), 0D);
+        assertEquals(5.5D, even.quantile(0.5).getAsDouble(), 0D);
+        assertEquals(1D, odd.quantile(0).getAsDouble(), 0D);
+        assertEquals(9D, odd.quantile(1).getAsDouble(), 0D);
+    }
+
+    @Test
+    public void whenValuesAreWeighted_TheyCountAsManyValues() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(1D, 1D);
+        sketch.add(2D, 5D);
+        sketch.add(3D, 1D);
+
+        assertEquals(7D, sketch.count(), 0D);
+        assertEquals(2D, sketch.quantile(0.5).getAsDouble(), 0D);
+    }
+
+    @Test
+    public void whenManyValuesAreAddedToSeveralSketches_TheMergedQuantilesAreClose() {
+        Random random = new Random(0);
+        int values = 100_000;
+        QuantileSketch merged = new QuantileSketch();
+        for (int part = 0; part < 10; part++) {
+            QuantileSketch sketch = new QuantileSketch();
+            for (int i = 0; i < values / 10; i++) sketch.add(random.nextDouble() * values);
+            merged.merge(sketch);
+        }
+
+        assertEquals(values, merged.count(), 0D);
+        assertEquals(values * 0.5, merged.quantile(0.5).getAsDouble(), values * 0.01);
+        assertEquals(values * 0.99, merged.quantile(0.99).getAsDouble(), values * 0.01);
+    }
+}
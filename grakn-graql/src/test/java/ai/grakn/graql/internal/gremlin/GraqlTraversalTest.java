@@ -34,6 +34,8 @@ import ai.grakn.graql.internal.gremlin.fragment.Fragments;
 import ai.grakn.graql.internal.pattern.Patterns;
 import ai.grakn.graql.internal.pattern.property.IdProperty;
 import ai.grakn.graql.internal.pattern.property.IsaProperty;
+import ai.grakn.kb.admin.GraknAdmin;
+import ai.grakn.kb.admin.KeyspaceStatistics;
 import ai.grakn.util.CommonUtil;
 import ai.grakn.util.Schema;
 import com.google.common.collect.ImmutableList;
@@ -98,6 +100,11 @@ public class GraqlTraversalTest {
     public static void setUp() {
         tx = mock(GraknTx.class);
 
+        // No statistics are available, so the default fragment costs are used
+        GraknAdmin admin = mock(GraknAdmin.class);
+        when(tx.admin()).thenReturn(admin);
+        when(admin.statistics()).thenReturn(mock(KeyspaceStatistics.class));
+
         // We have to mock out the `subTypes` call because the role-player edge optimisation checks it
 
         Label wifeLabel = Label.of("wife");
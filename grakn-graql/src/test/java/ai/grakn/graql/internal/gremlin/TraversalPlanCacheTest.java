@@ -0,0 +1,110 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.GraknTx;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.graql.VarPattern;
+import ai.grakn.kb.admin.GraknAdmin;
+import ai.grakn.kb.admin.KeyspaceStatistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import static ai.grakn.graql.Graql.var;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TraversalPlanCacheTest {
+
+    private final TraversalPlanCache planCache = TraversalPlanCache.get();
+    private GraknTx tx;
+    private GraknAdmin admin;
+    private KeyspaceStatistics statistics;
+
+    @Before
+    public void setUp() {
+        tx = mock(GraknTx.class);
+        admin = mock(GraknAdmin.class);
+        when(tx.admin()).thenReturn(admin);
+        when(tx.getKeyspace()).thenReturn(Keyspace.of("plancache"));
+        statistics = mock(KeyspaceStatistics.class);
+        when(admin.statistics()).thenReturn(statistics);
+        when(admin.getSchemaVersion()).thenReturn(1L);
+        planCache.clear();
+    }
+
+    @Test
+    public void whenPlanningQueriesWhichOnlyDifferByIds_TheSecondPlanIsReused() {
+        GraqlTraversal first = plan(var("x").id(ConceptId.of("V123")).isa(var("y")));
+        long hits = planCache.stats().hitCount();
+        GraqlTraversal second = plan(var("x").id(ConceptId.of("V456")).isa(var("y")));
+
+        assertEquals(hits + 1, planCache.stats().hitCount());
+        assertEquals(first.toString().replace("V123", "V456"), second.toString());
+    }
+
+    @Test
+    public void whenPlanningQueriesWhichOnlyDifferByAnonymousVariables_TheSecondPlanIsReused() {
+        plan(var().id(ConceptId.of("V123")).isa(var("y")));
+        long hits = planCache.stats().hitCount();
+        GraqlTraversal second = plan(var().id(ConceptId.of("V456")).isa(var("y")));
+
+        assertEquals(hits + 1, planCache.stats().hitCount());
+        assertThat(second.toString(), containsString("V456"));
+        assertThat(second.toString(), not(containsString("V123")));
+    }
+
+    @Test
+    public void whenTheSchemaChanges_CachedPlansAreNotReused() {
+        plan(var("x").id(ConceptId.of("V123")).isa(var("y")));
+        when(admin.getSchemaVersion()).thenReturn(2L);
+        long hits = planCache.stats().hitCount();
+        plan(var("x").id(ConceptId.of("V456")).isa(var("y")));
+
+        assertEquals(hits, planCache.stats().hitCount());
+    }
+
+    @Test
+    public void whenTheStatisticsChangeSignificantly_CachedPlansAreNotReused() {
+        plan(var("x").id(ConceptId.of("V123")).isa(var("y")));
+        when(statistics.epoch()).thenReturn(1L);
+        long hits = planCache.stats().hitCount();
+        plan(var("x").id(ConceptId.of("V456")).isa(var("y")));
+
+        assertEquals(hits, planCache.stats().hitCount());
+    }
+
+    @Test
+    public void whenPlanningQueriesWithDifferentStructures_CachedPlansAreNotReused() {
+        plan(var("x").id(ConceptId.of("V123")).isa(var("y")));
+        long hits = planCache.stats().hitCount();
+        plan(var("x").isa(var("y")).id(ConceptId.of("V456")).sub(var("z")));
+
+        assertEquals(hits, planCache.stats().hitCount());
+    }
+
+    private GraqlTraversal plan(VarPattern pattern) {
+        return GreedyTraversalPlan.createTraversal(pattern.admin(), tx);
+    }
+}
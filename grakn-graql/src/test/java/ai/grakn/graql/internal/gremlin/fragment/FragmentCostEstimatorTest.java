@@ -0,0 +1,165 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin.fragment;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Label;
+import ai.grakn.graql.Graql;
+import ai.grakn.graql.Var;
+import ai.grakn.kb.admin.GraknAdmin;
+import ai.grakn.kb.admin.KeyspaceStatistics;
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FragmentCostEstimatorTest {
+
+    private final Var type = Graql.var();
+    private final Var instance = Graql.var();
+
+    private final Label personLabel = Label.of("person");
+    private final ConceptId personId = ConceptId.of("V123");
+
+    private GraknTx tx;
+    private KeyspaceStatistics statistics;
+
+    @Before
+    public void setUp() {
+        tx = mock(GraknTx.class);
+        statistics = mock(KeyspaceStatistics.class);
+        GraknAdmin admin = mock(GraknAdmin.class);
+        when(tx.admin()).thenReturn(admin);
+        when(admin.statistics()).thenReturn(statistics);
+
+        EntityType person = mock(EntityType.class);
+        when(person.isType()).thenReturn(true);
+        when(person.asType()).thenReturn(person);
+        when(person.isAbstract()).thenReturn(false);
+        when(person.getId()).thenReturn(personId);
+        when(person.subs()).thenAnswer(inv -> Stream.of(person));
+        when(tx.getSchemaConcept(personLabel)).thenReturn(person);
+    }
+
+    @Test
+    public void whenInstanceCountIsKnown_TheCostOfInIsaReflectsIt() {
+        when(statistics.instanceCount(personId)).thenReturn(Optional.of(1_000_000L));
+
+        Fragment inIsa = Fragments.inIsa(null, type, instance);
+        FragmentCostEstimator.estimateCosts(ImmutableList.of(Fragments.label(null, type, personLabel), inIsa), tx);
+
+        assertEquals(Math.log1p(1_000_000L), inIsa.fragmentCost(), 0.0001);
+    }
+
+    @Test
+    public void whenInstanceCountIsUnknown_TheDefaultCostOfInIsaIsUsed() {
+        when(statistics.instanceCount(personId)).thenReturn(Optional.empty());
+
+        Fragment inIsa = Fragments.inIsa(null, type, instance);
+        FragmentCostEstimator.estimateCosts(ImmutableList.of(Fragments.label(null, type, personLabel), inIsa), tx);
+
+        assertEquals(Fragment.COST_INSTANCES_PER_TYPE, inIsa.fragmentCost(), 0.0001);
+    }
+
+    @Test
+    public void whenTypesHaveDifferentSizes_TheSmallerTypeIsCheaperToTraverse() {
+        Label smallLabel = Label.of("small");
+        ConceptId smallId = ConceptId.of("V456");
+        EntityType small = mock(EntityType.class);
+        when(small.isType()).thenReturn(true);
+        when(small.asType()).thenReturn(small);
+        when(small.isAbstract()).thenReturn(false);
+        when(small.getId()).thenReturn(smallId);
+        when(small.subs()).thenAnswer(inv -> Stream.of(small));
+        when(tx.getSchemaConcept(smallLabel)).thenReturn(small);
+
+        when(statistics.instanceCount(personId)).thenReturn(Optional.of(1_000_000L));
+        when(statistics.instanceCount(smallId)).thenReturn(Optional.of(10L));
+
+        Var smallType = Graql.var();
+        Fragment bigIsa = Fragments.inIsa(null, type, instance);
+        Fragment smallIsa = Fragments.inIsa(null, smallType, Graql.var());
+        FragmentCostEstimator.estimateCosts(ImmutableList.of(
+                Fragments.label(null, type, personLabel), bigIsa,
+                Fragments.label(null, smallType, smallLabel), smallIsa), tx);
+
+        assertTrue(smallIsa.fragmentCost() < bigIsa.fragmentCost());
+    }
+
+    @Test
+    public void whenAttributeCountIsKnown_TheCostOfTheValueIndexIsThatOfAFilteredInIsa() {
+        Label ageLabel = Label.of("age");
+        ConceptId ageId = ConceptId.of("V789");
+        AttributeType<?> age = mock(AttributeType.class);
+        when(age.isType()).thenReturn(true);
+        when(age.asType()).thenReturn(age);
+        when(age.isAttributeType()).thenReturn(true);
+        when(age.getId()).thenReturn(ageId);
+        when(age.subs()).thenAnswer(inv -> Stream.of(age));
+        when(tx.getSchemaConcept(ageLabel)).thenReturn(age);
+        when(statistics.instanceCount(ageId)).thenReturn(Optional.of(1_000L));
+        when(statistics.attributeValueCount(ageId)).thenReturn(Optional.of(1_000L));
+
+        Fragment valueIndex = Fragments.attributeValueIndex(null, type, instance, Graql.gt(10));
+        Fragment inIsa = Fragments.inIsa(null, type, instance);
+        Fragment value = Fragments.value(null, instance, Graql.gt(10));
+        FragmentCostEstimator.estimateCosts(
+                ImmutableList.of(Fragments.label(null, type, ageLabel), valueIndex, inIsa), tx);
+
+        assertEquals(inIsa.fragmentCost() + value.fragmentCost(), valueIndex.fragmentCost(), 0.0001);
+        assertTrue(valueIndex.fragmentCost() < inIsa.fragmentCost());
+    }
+
+    @Test
+    public void whenAttributeValueRangeIsKnown_TheCostOfAComparisonDependsOnHowManyValuesItKeeps() {
+        Label ageLabel = Label.of("age");
+        ConceptId ageId = ConceptId.of("V789");
+        AttributeType<?> age = mock(AttributeType.class);
+        when(age.isType()).thenReturn(true);
+        when(age.asType()).thenReturn(age);
+        when(age.isAttributeType()).thenReturn(true);
+        when(age.getId()).thenReturn(ageId);
+        when(age.subs()).thenAnswer(inv -> Stream.of(age));
+        when(tx.getSchemaConcept(ageLabel)).thenReturn(age);
+        when(statistics.instanceCount(ageId)).thenReturn(Optional.of(1_000L));
+        when(statistics.attributeValueCount(ageId)).thenReturn(Optional.of(1_000L));
+        when(statistics.minimumValue(ageId)).thenReturn(Optional.of(0D));
+        when(statistics.maximumValue(ageId)).thenReturn(Optional.of(100D));
+
+        Fragment mostAges = Fragments.attributeValueIndex(null, type, instance, Graql.gt(10));
+        Fragment fewAges = Fragments.attributeValueIndex(null, type, instance, Graql.gt(90));
+        Fragment noAges = Fragments.value(null, instance, Graql.lt(-5));
+        FragmentCostEstimator.estimateCosts(ImmutableList.of(Fragments.label(null, type, ageLabel),
+                Fragments.inIsa(null, type, instance), mostAges, fewAges, noAges), tx);
+
+        assertEquals(Math.log1p(1_000L) + Math.log(0.9), mostAges.fragmentCost(), 0.0001);
+        assertEquals(Math.log1p(1_000L) + Math.log(0.1), fewAges.fragmentCost(), 0.0001);
+        assertEquals(Math.log(1D / 1_000L), noAges.fragmentCost(), 0.0001);
+    }
+}
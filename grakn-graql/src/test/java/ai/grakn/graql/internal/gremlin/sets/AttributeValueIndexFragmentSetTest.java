@@ -0,0 +1,97 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin.sets;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.Label;
+import ai.grakn.graql.Graql;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.internal.gremlin.EquivalentFragmentSet;
+import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import ai.grakn.graql.internal.gremlin.fragment.Fragments;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static ai.grakn.graql.Graql.eq;
+import static ai.grakn.graql.Graql.gt;
+import static ai.grakn.graql.internal.gremlin.sets.EquivalentFragmentSets.isa;
+import static ai.grakn.graql.internal.gremlin.sets.EquivalentFragmentSets.label;
+import static ai.grakn.graql.internal.gremlin.sets.EquivalentFragmentSets.value;
+import static java.util.stream.Collectors.toSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AttributeValueIndexFragmentSetTest {
+
+    private static final Var attribute = Graql.var("x");
+    private static final Var type = Graql.var();
+    private static final Label AGE = Label.of("age");
+
+    private GraknTx graph;
+
+    @Before
+    public void setUp() {
+        graph = mock(GraknTx.class);
+
+        AttributeType age = mock(AttributeType.class);
+        when(age.subs()).thenAnswer(inv -> Stream.of(age));
+        when(graph.getSchemaConcept(AGE)).thenReturn(age);
+    }
+
+    @Test
+    public void whenOptimisingQueryWithAComparison_ReplaceIsaFragmentSetWithAttributeValueIndex() {
+        Collection<EquivalentFragmentSet> fragmentSets = Sets.newHashSet(
+                isa(null, attribute, type),
+                label(null, type, AGE),
+                value(null, attribute, gt(10))
+        );
+
+        assertTrue(AttributeValueIndexFragmentSet.applyAttributeValueIndexOptimisation(fragmentSets, graph));
+
+        Set<Fragment> fragments = fragmentSets.stream().flatMap(EquivalentFragmentSet::stream).collect(toSet());
+
+        assertFalse(fragmentSets.contains(isa(null, attribute, type)));
+        assertTrue(fragmentSets.contains(value(null, attribute, gt(10))));
+        assertThat(fragments, hasItems(
+                Fragments.attributeValueIndex(null, type, attribute, gt(10)),
+                Fragments.outIsa(null, attribute, type)
+        ));
+    }
+
+    @Test
+    public void whenOptimisingQueryWithAnEquality_DoNotUseAttributeValueIndex() {
+        Collection<EquivalentFragmentSet> fragmentSets = Sets.newHashSet(
+                isa(null, attribute, type),
+                label(null, type, AGE),
+                value(null, attribute, eq(10))
+        );
+
+        assertFalse(AttributeValueIndexFragmentSet.applyAttributeValueIndexOptimisation(fragmentSets, graph));
+    }
+}
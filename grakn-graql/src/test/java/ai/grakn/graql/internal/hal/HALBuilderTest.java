@@ -70,6 +70,15 @@ public class HALBuilderTest {
         assertTrue(halObj.at("_links").at("explore").asJsonList().get(0).at("href").asString().contains("explore"));
     }
 
+    @Test
+    public void whenExecuteExploreHALOnInstanceWithLimit_EnsureOnlyTheRequestedAttributesAreEmbedded() {
+        Json response = getHALRepresentation(academyKB.tx(), "match $x isa oil-platform; limit 1; get;");
+        Concept platform = academyKB.tx().getConcept(ConceptId.of(response.asJsonList().get(0).at("_id").asString()));
+
+        assertTrue(Json.read(HALExploreConcept(platform, academyKB.tx().getKeyspace(), 0, 5)).has("_embedded"));
+        assertFalse(Json.read(HALExploreConcept(platform, academyKB.tx().getKeyspace(), 0, 0)).has("_embedded"));
+    }
+
     @Test
     public void whenExecuteExploreHALOnAttribute_EnsureHALResponseContainsCorrectDataType() {
         Json response = getHALRepresentation(academyKB.tx(), "match $x label 'name'; get;");
@@ -58,6 +58,8 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import static ai.grakn.graql.Graql.and;
+import static ai.grakn.graql.Graql.approximateCountDistinct;
+import static ai.grakn.graql.Graql.approximateMedian;
 import static ai.grakn.graql.Graql.ask;
 import static ai.grakn.graql.Graql.contains;
 import static ai.grakn.graql.Graql.count;
@@ -556,6 +558,26 @@ public class QueryParserTest {
         assertEquals(expected, parsed);
     }
 
+    @Test
+    public void testParseApproximateMedian() {
+        AggregateQuery<?> expected = match(var("x").isa("movie")).aggregate(approximateMedian("x"));
+
+        AggregateQuery<Map<String, Object>> parsed =
+                parse("match $x isa movie; aggregate approximate-median $x;");
+
+        assertEquals(expected, parsed);
+    }
+
+    @Test
+    public void testParseApproximateCountDistinct() {
+        AggregateQuery<?> expected = match(var("x").isa("movie")).aggregate(approximateCountDistinct("x"));
+
+        AggregateQuery<Map<String, Object>> parsed =
+                parse("match $x isa movie; aggregate approximate-count-distinct $x;");
+
+        assertEquals(expected, parsed);
+    }
+
     @Test
     public void testParseAggregateToString() {
         String query = "match $x isa movie; aggregate group $x (count as c);";
@@ -584,6 +606,16 @@ public class QueryParserTest {
         assertParseEquivalence("compute count in movie, person;");
     }
 
+    @Test
+    public void testParseComputeCountApproximate() {
+        assertParseEquivalence("compute count in movie; approximate;");
+    }
+
+    @Test
+    public void testParseComputeCountScan() {
+        assertParseEquivalence("compute count; scan;");
+    }
+
     @Test
     public void testParseComputeCluster() {
         assertParseEquivalence("compute cluster in movie, person; members;");
@@ -635,6 +667,16 @@ public class QueryParserTest {
         assertParseEquivalence("compute median of person in movie;");
     }
 
+    @Test
+    public void testParseComputeApproximateMedian() {
+        assertParseEquivalence("compute median of person in movie; approximate;");
+    }
+
+    @Test
+    public void testParseComputePercentile() {
+        assertParseEquivalence("compute percentile 90 of person in movie; approximate;");
+    }
+
     @Test
     public void testParseComputeMin() {
         assertParseEquivalence("compute min of movie in person;");
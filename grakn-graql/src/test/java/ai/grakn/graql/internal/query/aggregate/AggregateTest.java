@@ -23,6 +23,7 @@ import ai.grakn.concept.Thing;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.graql.AggregateQuery;
 import ai.grakn.graql.Graql;
+import ai.grakn.graql.Match;
 import ai.grakn.graql.QueryBuilder;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.matcher.MovieMatchers;
@@ -39,6 +40,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static ai.grakn.graql.Graql.approximateCountDistinct;
+import static ai.grakn.graql.Graql.approximateMedian;
 import static ai.grakn.graql.Graql.count;
 import static ai.grakn.graql.Graql.group;
 import static ai.grakn.graql.Graql.max;
@@ -206,6 +209,24 @@ public class AggregateTest {
         assertEquals(8.0d, query.execute().get().doubleValue(), 0.01d);
     }
 
+    @Test
+    public void whenEstimatingTheMedianOfFewValues_TheEstimateIsTheMedian() {
+        AggregateQuery<Optional<Number>> query = qb
+                .match(var("x").isa("movie"), var().rel("x").rel("y"), var("y").isa("tmdb-vote-average"))
+                .aggregate(approximateMedian("y"));
+
+        //noinspection OptionalGetWithoutIsPresent
+        assertEquals(8.0d, query.execute().get().doubleValue(), 0.01d);
+    }
+
+    @Test
+    public void whenEstimatingTheDistinctCountOfFewConcepts_TheEstimateIsTheCount() {
+        Match match = qb.match(var("x").isa("movie"), var().rel("x").rel("y"));
+        long movies = match.stream().map(answer -> answer.get("x")).distinct().count();
+
+        assertEquals(movies, (long) match.aggregate(approximateCountDistinct("x")).execute());
+    }
+
     @Test
     public void testStdevLong() {
         AggregateQuery<Optional<Double>> query = qb
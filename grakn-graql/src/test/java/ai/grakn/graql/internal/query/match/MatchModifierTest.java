@@ -34,6 +34,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -91,6 +92,20 @@ public class MatchModifierTest {
         assertEquals(3, match.stream().count());
     }
 
+    @Test
+    public void whenLimitingAnOrderedQuery_TheAnswersAreTheFirstAnswersOfTheWholeOrdering() {
+        Var t = var("t");
+        Match match = qb.match(x.isa("movie").has("title", t)).orderBy(t, desc);
+        List<Answer> ordered = match.stream().collect(Collectors.toList());
+
+        for (int limit = 1; limit <= ordered.size() + 1; limit++) {
+            assertEquals(ordered.stream().limit(limit).collect(Collectors.toList()),
+                    match.limit(limit).stream().collect(Collectors.toList()));
+            assertEquals(ordered.stream().skip(2).limit(limit).collect(Collectors.toList()),
+                    match.offset(2).limit(limit).stream().collect(Collectors.toList()));
+        }
+    }
+
     @Test
     public void testOrPatternOrderByResource() {
         Match match = qb.match(
@@ -0,0 +1,119 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner;
+
+import ai.grakn.GraknTx;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.test.GraknTestSetup;
+import ai.grakn.test.SampleKBContext;
+import ai.grakn.test.kbs.NguyenKB;
+import ai.grakn.test.kbs.PathKB;
+import ai.grakn.test.kbs.TailRecursionKB;
+import ai.grakn.test.kbs.TransitivityMatrixKB;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class SemiNaiveResolutionTest {
+
+    @ClassRule
+    public static final SampleKBContext sameGenerationContext = SampleKBContext.preLoad("recursivity-sg-test.gql").assumeTrue(GraknTestSetup.usingTinker());
+
+    @ClassRule
+    public static final SampleKBContext ancestorContext = SampleKBContext.preLoad("ancestor-test.gql").assumeTrue(GraknTestSetup.usingTinker());
+
+    @ClassRule
+    public static final SampleKBContext reachabilityContext = SampleKBContext.preLoad("reachability-test.gql").assumeTrue(GraknTestSetup.usingTinker());
+
+    @Rule
+    public final SampleKBContext emptyKB = SampleKBContext.empty();
+
+    @Before
+    public void onStartup() throws Exception {
+        assumeTrue(GraknTestSetup.usingTinker());
+    }
+
+    @Test
+    public void whenResolvingASingleDirectionalRecursion_SemiNaiveAndNaiveResolutionAgree(){
+        assertSemiNaiveResolutionEqualsNaive(ancestorContext.tx(), "{(ancestor: $X, descendant: $Y) isa Ancestor;}");
+    }
+
+    @Test
+    public void whenResolvingANonLinearRecursion_SemiNaiveAndNaiveResolutionAgree(){
+        assertSemiNaiveResolutionEqualsNaive(sameGenerationContext.tx(), "{($x, $y) isa SameGen;}");
+    }
+
+    @Test
+    public void whenResolvingARecursionWithABoundVariable_SemiNaiveAndNaiveResolutionAgree(){
+        assertSemiNaiveResolutionEqualsNaive(reachabilityContext.tx(), "{(reach-from: $x, reach-to: $y) isa reachable;$x has index 'a';}");
+    }
+
+    @Test
+    public void whenResolvingATransitiveClosureOverAMatrix_SemiNaiveAndNaiveResolutionAgree(){
+        emptyKB.load(TransitivityMatrixKB.get(4, 4));
+        assertSemiNaiveResolutionEqualsNaive(emptyKB.tx(), "{(Q-from: $x, Q-to: $y) isa Q;}");
+    }
+
+    @Test
+    public void whenResolvingATailRecursion_SemiNaiveAndNaiveResolutionAgree(){
+        emptyKB.load(TailRecursionKB.get(5, 3));
+        assertSemiNaiveResolutionEqualsNaive(emptyKB.tx(), "{(P-from: $x, P-to: $y) isa P;}");
+    }
+
+    @Test
+    public void whenResolvingARecursionThroughAJoin_SemiNaiveAndNaiveResolutionAgree(){
+        emptyKB.load(NguyenKB.get(5));
+        assertSemiNaiveResolutionEqualsNaive(emptyKB.tx(), "{(N-rA: $x, N-rB: $y) isa N;$x has index 'c';}");
+    }
+
+    @Test
+    public void whenResolvingARecursionOverATree_SemiNaiveAndNaiveResolutionAgree(){
+        emptyKB.load(PathKB.get(3, 3));
+        assertSemiNaiveResolutionEqualsNaive(emptyKB.tx(), "{(path-from: $x, path-to: $y) isa path;$x has index 'a0';}");
+    }
+
+    private static void assertSemiNaiveResolutionEqualsNaive(GraknTx tx, String patternString){
+        ReasonerQueryImpl query = ReasonerQueries.create(conjunction(patternString, tx), tx);
+        Set<Answer> naiveAnswers = new ResolutionIterator(query, false).hasStream().collect(toSet());
+        Set<Answer> semiNaiveAnswers = new ResolutionIterator(query, true).hasStream().collect(toSet());
+
+        assertFalse(naiveAnswers.isEmpty());
+        assertEquals(naiveAnswers, semiNaiveAnswers);
+    }
+
+    private static Conjunction<VarPatternAdmin> conjunction(String patternString, GraknTx tx){
+        Set<VarPatternAdmin> vars = tx.graql().parsePattern(patternString).admin()
+                .getDisjunctiveNormalForm().getPatterns()
+                .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
+        return Patterns.conjunction(vars);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.cache;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Label;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
+import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.test.GraknTestSetup;
+import ai.grakn.test.SampleKBContext;
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class InferredAnswerCacheTest {
+
+    private static final String ANCESTOR = "{(ancestor: $x, descendant: $y) isa Ancestor;}";
+    private static final String ANCESTOR_RENAMED = "{(ancestor: $a, descendant: $b) isa Ancestor;}";
+    private static final String PARENT = "{(parent: $x, child: $y) isa Parent;}";
+
+    @ClassRule
+    public static final SampleKBContext ancestorContext = SampleKBContext.preLoad("ancestor-test.gql").assumeTrue(GraknTestSetup.usingTinker());
+
+    private final InferredAnswerCache cache = InferredAnswerCache.get();
+
+    @Before
+    public void onStartup() throws Exception {
+        assumeTrue(GraknTestSetup.usingTinker());
+    }
+
+    @After
+    public void disableCache(){
+        cache.setEnabled(false);
+    }
+
+    @Test
+    public void whenAnswersAreRecorded_AnEquivalentQueryIsAnsweredFromTheCache(){
+        GraknTx tx = ancestorContext.tx();
+        ReasonerAtomicQuery query = query(ANCESTOR, tx);
+        ReasonerAtomicQuery renamed = query(ANCESTOR_RENAMED, tx);
+        Set<Answer> answers = resolve(query);
+        QueryAnswers renamedAnswers = new QueryAnswers(resolve(renamed));
+
+        cache.setEnabled(true);
+        cache.record(query, answers, cache.version(tx.getKeyspace()));
+        long hits = cache.stats().hitCount();
+
+        assertEquals(Optional.of(new QueryAnswers(answers)), cache.getAnswers(query));
+        assertEquals(Optional.of(renamedAnswers), cache.getAnswers(renamed));
+        assertEquals(hits + 2, cache.stats().hitCount());
+    }
+
+    @Test
+    public void whenDistinctQueriesAreRecorded_TheirAnswersAreKeptApart(){
+        GraknTx tx = ancestorContext.tx();
+        ReasonerAtomicQuery ancestor = query(ANCESTOR, tx);
+        ReasonerAtomicQuery parent = query(PARENT, tx);
+        Set<Answer> ancestorAnswers = resolve(ancestor);
+        Set<Answer> parentAnswers = resolve(parent);
+        assertFalse(ancestorAnswers.equals(parentAnswers));
+
+        cache.setEnabled(true);
+        long version = cache.version(tx.getKeyspace());
+        cache.record(ancestor, ancestorAnswers, version);
+        cache.record(parent, parentAnswers, version);
+
+        assertEquals(Optional.of(new QueryAnswers(ancestorAnswers)), cache.getAnswers(ancestor));
+        assertEquals(Optional.of(new QueryAnswers(parentAnswers)), cache.getAnswers(parent));
+    }
+
+    @Test
+    public void whenATypeInferredAnswersDependOnIsModified_TheAnswersAreInvalidated(){
+        GraknTx tx = ancestorContext.tx();
+        ReasonerAtomicQuery query = query(ANCESTOR, tx);
+        Set<Answer> answers = resolve(query);
+
+        cache.setEnabled(true);
+        cache.record(query, answers, cache.version(tx.getKeyspace()));
+        cache.invalidate(tx.getKeyspace(), ImmutableSet.of(typeId("Parent", tx)));
+
+        assertEquals(Optional.empty(), cache.getAnswers(query));
+    }
+
+    @Test
+    public void whenAnUnrelatedTypeIsModified_TheAnswersAreKept(){
+        GraknTx tx = ancestorContext.tx();
+        ReasonerAtomicQuery query = query(ANCESTOR, tx);
+        Set<Answer> answers = resolve(query);
+
+        cache.setEnabled(true);
+        cache.record(query, answers, cache.version(tx.getKeyspace()));
+        cache.invalidate(tx.getKeyspace(), ImmutableSet.of(typeId("name", tx)));
+
+        assertTrue(cache.getAnswers(query).isPresent());
+    }
+
+    @Test
+    public void whenTheKeyspaceIsInvalidated_AllAnswersAreInvalidated(){
+        GraknTx tx = ancestorContext.tx();
+        ReasonerAtomicQuery query = query(PARENT, tx);
+        Set<Answer> answers = resolve(query);
+
+        cache.setEnabled(true);
+        cache.record(query, answers, cache.version(tx.getKeyspace()));
+        cache.invalidate(tx.getKeyspace());
+
+        assertEquals(Optional.empty(), cache.getAnswers(query));
+    }
+
+    @Test
+    public void whenTheDataChangesWhileResolving_StaleAnswersAreNotRecorded(){
+        GraknTx tx = ancestorContext.tx();
+        ReasonerAtomicQuery query = query(ANCESTOR, tx);
+        Set<Answer> answers = resolve(query);
+
+        cache.setEnabled(true);
+        long versionWhenResolutionStarted = cache.version(tx.getKeyspace());
+        cache.invalidate(tx.getKeyspace(), ImmutableSet.of(typeId("Parent", tx)));
+        cache.record(query, answers, versionWhenResolutionStarted);
+
+        assertEquals(Optional.empty(), cache.getAnswers(query));
+    }
+
+    private static Set<Answer> resolve(ReasonerAtomicQuery query){
+        return query.resolve(false).collect(toSet());
+    }
+
+    private static ConceptId typeId(String label, GraknTx tx){
+        return tx.getSchemaConcept(Label.of(label)).getId();
+    }
+
+    private static ReasonerAtomicQuery query(String patternString, GraknTx tx){
+        return ReasonerQueries.atomic(conjunction(patternString, tx), tx);
+    }
+
+    private static Conjunction<VarPatternAdmin> conjunction(String patternString, GraknTx tx){
+        Set<VarPatternAdmin> vars = tx.graql().parsePattern(patternString).admin()
+                .getDisjunctiveNormalForm().getPatterns()
+                .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
+        return Patterns.conjunction(vars);
+    }
+}
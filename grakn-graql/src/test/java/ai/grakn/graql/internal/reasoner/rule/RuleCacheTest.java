@@ -0,0 +1,133 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.rule;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.Rule;
+import ai.grakn.concept.SchemaConcept;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.test.SampleKBContext;
+import ai.grakn.test.kbs.GeoKB;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RuleCacheTest {
+
+    @ClassRule
+    public static final SampleKBContext geoKB = SampleKBContext.preLoad(GeoKB.get());
+
+    @ClassRule
+    public static final SampleKBContext emptyKB = SampleKBContext.empty();
+
+    @ClassRule
+    public static final SampleKBContext ruleKB = SampleKBContext.empty();
+
+    private final RuleCache ruleCache = RuleCache.get();
+
+    @Before
+    public void setUp() {
+        ruleCache.clear();
+    }
+
+    @Test
+    public void whenGettingTheRulesWithAType_TheyAreTheRulesConcludingTheTypeOrItsSubtypes() {
+        GraknTx tx = geoKB.tx();
+
+        assertEquals(ruleIds(RuleUtil.getRules(tx)), ids(ruleCache.getRulesWithType(null, tx)));
+        tx.admin().getMetaConcept().subs().forEach(type -> assertEquals(
+                ruleIds(RuleUtil.getRulesWithType(type, tx)),
+                ids(ruleCache.getRulesWithType(type, tx))));
+    }
+
+    @Test
+    public void whenGettingTheRulesOfTheSameSchemaTwice_TheCompiledRulesAreReused() {
+        GraknTx tx = geoKB.tx();
+        SchemaConcept isLocatedIn = tx.getSchemaConcept(Label.of("is-located-in"));
+
+        ruleCache.getRulesWithType(isLocatedIn, tx);
+        long hits = ruleCache.stats().hitCount();
+        ruleCache.getRulesWithType(isLocatedIn, tx);
+
+        assertEquals(hits + 1, ruleCache.stats().hitCount());
+    }
+
+    @Test
+    public void whenTheSchemaIsModifiedInTheTransaction_TheNewRulesAreFoundWithoutTheCache() {
+        GraknTx tx = emptyKB.tx();
+        tx.putEntityType("person");
+        Rule rule = tx.putRule("a-rule",
+                tx.graql().parsePattern("$x isa person;"),
+                tx.graql().parsePattern("$x isa person;"));
+        long requests = ruleCache.stats().requestCount();
+
+        assertTrue(ids(ruleCache.getRulesWithType(null, tx)).contains(rule.getId()));
+        assertEquals(requests, ruleCache.stats().requestCount());
+    }
+
+    @Test
+    public void whenGettingTheDependentRulesOfAQuery_TheyAreTheRulesReachableThroughTheTypeIndex() {
+        GraknTx tx = geoKB.tx();
+        SchemaConcept isLocatedIn = tx.getSchemaConcept(Label.of("is-located-in"));
+        ReasonerQueryImpl query = ReasonerQueries.create(InferenceRule.conjunction(
+                tx.graql().parsePattern("(geo-entity: $x, entity-location: $y) isa is-located-in;").admin()), tx);
+
+        assertEquals(ruleIds(RuleUtil.getRulesWithType(isLocatedIn, tx)), ids(ruleCache.getDependentRules(query).stream()));
+        assertEquals(ruleCache.getDependentRules(query).size(), ruleCache.countDependentRules(query));
+    }
+
+    @Test
+    public void whenARuleIsCommitted_TransactionsOpenedAfterwardsFindIt() {
+        GraknTx tx = ruleKB.tx();
+        tx.putEntityType("person");
+        tx.commit();
+
+        tx = ruleKB.tx();
+        long schemaVersion = tx.admin().getSchemaVersion();
+        assertTrue(ids(ruleCache.getRulesWithType(null, tx)).isEmpty());
+        Rule rule = tx.putRule("a-rule",
+                tx.graql().parsePattern("$x isa person;"),
+                tx.graql().parsePattern("$x isa person;"));
+        tx.commit();
+
+        tx = ruleKB.tx();
+        assertNotEquals(schemaVersion, tx.admin().getSchemaVersion());
+        assertEquals(Collections.singleton(rule.getId()), ids(ruleCache.getRulesWithType(null, tx)));
+    }
+
+    private static Set<ConceptId> ruleIds(Stream<Rule> rules) {
+        return rules.map(Rule::getId).collect(toSet());
+    }
+
+    private static Set<ConceptId> ids(Stream<InferenceRule> rules) {
+        return rules.map(InferenceRule::getRuleId).collect(toSet());
+    }
+}
@@ -99,7 +99,15 @@ public class GraknSessionImpl implements GraknSession {
     public GraknComputer getGraphComputer() {
         TxFactory<?> configuredFactory = configureGraphFactory(keyspace, location, REST.KBConfig.COMPUTER);
         Graph graph = configuredFactory.getTinkerPopGraph(false);
-        return new GraknComputerImpl(graph);
+
+        //Small subgraphs are computed in memory on the default graph, without starting any Spark jobs
+        long localThreshold = Long.parseLong(configuredFactory.properties().getProperty(
+                GraknComputerImpl.LOCAL_COMPUTER_THRESHOLD, Long.toString(GraknComputerImpl.DEFAULT_LOCAL_COMPUTER_THRESHOLD)));
+        if (localThreshold > 0 && !Grakn.IN_MEMORY.equals(location)) {
+            Graph localGraph = getConfiguredFactory().getTinkerPopGraph(false);
+            return new GraknComputerImpl(graph, localGraph, localThreshold, keyspace);
+        }
+        return new GraknComputerImpl(graph, null, 0, keyspace);
     }
 
     @Override
@@ -26,8 +26,11 @@ import ai.grakn.kb.internal.GraknTxAbstract;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static javax.annotation.meta.When.NEVER;
 
@@ -54,11 +57,11 @@ abstract class TxFactoryAbstract<M extends GraknTxAbstract<G>, G extends Graph>
     protected final String engineUrl;
     protected final Properties properties;
 
-    private M graknTx = null;
-    private M graknTxBatchLoading = null;
-    
-    G tx = null;
-    private G txBatchLoading = null;
+    private final Lazy<M> graknTx = new Lazy<>();
+    private final Lazy<M> graknTxBatchLoading = new Lazy<>();
+
+    private final Lazy<G> tx = new Lazy<>();
+    private final Lazy<G> txBatchLoading = new Lazy<>();
 
     TxFactoryAbstract(Keyspace keyspace, String engineUrl, Properties properties){
         Objects.requireNonNull(keyspace);
@@ -72,59 +75,74 @@ abstract class TxFactoryAbstract<M extends GraknTxAbstract<G>, G extends Graph>
 
     abstract G buildTinkerPopGraph(boolean batchLoading);
 
+    /**
+     * The state of a transaction is bound to the thread which opened it, so the same {@link GraknTx} hands out an
+     * independent transaction to every thread. The {@link GraknTx} is only built, under the lock of its type,
+     * when it does not exist yet or its session has been closed.
+     */
     @Override
-    public synchronized M open(GraknTxType txType){
-        if(GraknTxType.BATCH.equals(txType)){
-            checkOtherGraphOpen(graknTx);
-            graknTxBatchLoading = getGraph(graknTxBatchLoading, txType);
-            return graknTxBatchLoading;
-        } else {
-            checkOtherGraphOpen(graknTxBatchLoading);
-            graknTx = getGraph(graknTx, txType);
-            return graknTx;
-        }
-    }
-
-    private void checkOtherGraphOpen(GraknTx otherGraph){
-        if(otherGraph != null && !otherGraph.isClosed()) throw GraknTxOperationException.transactionOpen(otherGraph);
-    }
-
-    private M getGraph(M graknGraph, GraknTxType txType){
+    public M open(GraknTxType txType){
         boolean batchLoading = GraknTxType.BATCH.equals(txType);
+        Lazy<M> graph = batchLoading ? graknTxBatchLoading : graknTx;
 
-        if(graknGraph == null){
-            graknGraph = buildGraknGraphFromTinker(getTinkerPopGraph(batchLoading));
-        } else {
-            if(!graknGraph.isClosed()) throw GraknTxOperationException.transactionOpen(graknGraph);
+        checkOtherGraphOpen((batchLoading ? graknTx : graknTxBatchLoading).peek());
+        checkOtherGraphOpen(graph.peek());
 
-            if(graknGraph.isSessionClosed()){
-                graknGraph = buildGraknGraphFromTinker(getTinkerPopGraph(batchLoading));
-            }
-        }
+        M graknGraph = graph.get(GraknTxAbstract::isSessionClosed,
+                () -> buildGraknGraphFromTinker(getTinkerPopGraph(batchLoading)));
         graknGraph.openTransaction(txType);
         return graknGraph;
     }
 
+    private void checkOtherGraphOpen(@Nullable GraknTx otherGraph){
+        if(otherGraph != null && !otherGraph.isClosed()) throw GraknTxOperationException.transactionOpen(otherGraph);
+    }
+
+    @Override
+    public Properties properties(){
+        return properties;
+    }
 
     @Override
-    public synchronized G getTinkerPopGraph(boolean batchLoading){
-        if(batchLoading){
-            txBatchLoading = getTinkerPopGraph(txBatchLoading, true);
-            return txBatchLoading;
-        } else {
-            tx = getTinkerPopGraph(tx, false);
-            return tx;
-        }
+    public G getTinkerPopGraph(boolean batchLoading){
+        Lazy<G> graph = batchLoading ? txBatchLoading : tx;
+        return getGraphWithNewTransaction(graph.get(this::isClosed, () -> buildTinkerPopGraph(batchLoading)), batchLoading);
     }
-    G getTinkerPopGraph(G graph, boolean batchLoading){
-        if(graph == null){
-            return buildTinkerPopGraph(batchLoading);
-        }
 
-        return getGraphWithNewTransaction(graph, batchLoading);
+    /**
+     * @param graph A vendor graph previously built by this factory
+     * @return true if the graph can no longer be used and must be rebuilt
+     */
+    boolean isClosed(G graph){
+        return false;
     }
 
     @CheckReturnValue(when=NEVER)
     protected abstract G getGraphWithNewTransaction(G graph, boolean batchloading);
 
+    /**
+     * Holds a value which is built on first use and rebuilt once it becomes stale.
+     * Reads do not lock, only building the value locks, so threads only wait on each other when a value is built.
+     */
+    private static class Lazy<T> {
+        private volatile @Nullable T value = null;
+
+        @Nullable T peek(){
+            return value;
+        }
+
+        T get(Predicate<T> isStale, Supplier<T> builder){
+            T current = value;
+            if(current == null || isStale.test(current)){
+                synchronized (this){
+                    current = value;
+                    if(current == null || isStale.test(current)){
+                        current = builder.get();
+                        value = current;
+                    }
+                }
+            }
+            return current;
+        }
+    }
 }
@@ -45,7 +45,8 @@ public class TxFactoryTinker extends TxFactoryAbstract<GraknTxTinker, TinkerGrap
         super(keyspace, engineUrl, properties);
     }
 
-    private boolean isClosed(TinkerGraph innerGraph) {
+    @Override
+    boolean isClosed(TinkerGraph innerGraph) {
         return !innerGraph.traversal().V().has(Schema.VertexProperty.SCHEMA_LABEL.name(), Schema.MetaSchema.ENTITY.getLabel().getValue()).hasNext();
     }
 
@@ -59,12 +60,10 @@ public class TxFactoryTinker extends TxFactoryAbstract<GraknTxTinker, TinkerGrap
         return TinkerGraph.open();
     }
 
+    //Batch loading makes no difference in memory so both types of transaction share the same graph
     @Override
-    protected TinkerGraph getTinkerPopGraph(TinkerGraph graph, boolean batchLoading){
-        if(super.tx == null || isClosed(super.tx)){
-            super.tx = buildTinkerPopGraph(batchLoading);
-        }
-        return super.tx;
+    public TinkerGraph getTinkerPopGraph(boolean batchLoading){
+        return super.getTinkerPopGraph(false);
     }
 
     @Override
@@ -41,9 +41,13 @@ import ai.grakn.exception.InvalidKBException;
 import ai.grakn.exception.PropertyNotUniqueException;
 import ai.grakn.graql.QueryBuilder;
 import ai.grakn.graql.Pattern;
+import ai.grakn.kb.admin.AttributeReservations;
 import ai.grakn.kb.admin.GraknAdmin;
+import ai.grakn.kb.admin.KeyspaceStatistics;
 import ai.grakn.kb.internal.cache.GlobalCache;
+import ai.grakn.kb.internal.cache.KeyspaceStatisticsImpl;
 import ai.grakn.kb.internal.cache.TxCache;
+import ai.grakn.kb.internal.computer.GraphSnapshots;
 import ai.grakn.kb.internal.concept.AttributeImpl;
 import ai.grakn.kb.internal.concept.ConceptImpl;
 import ai.grakn.kb.internal.concept.ConceptVertex;
@@ -59,6 +63,7 @@ import ai.grakn.util.EngineCommunicator;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
+import com.google.common.primitives.Longs;
 import mjson.Json;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -68,6 +73,7 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,20 +81,20 @@ import javax.annotation.Nullable;
 import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toSet;
-
 /**
  * <p>
  * The {@link GraknTx} Base Implementation
@@ -140,7 +146,7 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
         elementFactory = new ElementFactory(this);
 
         //Initialise Graph Caches
-        globalCache = new GlobalCache(properties);
+        globalCache = new GlobalCache(keyspace, properties);
 
         //Initialise Graph
         txCache().openTx(GraknTxType.WRITE);
@@ -216,7 +222,7 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
     public TxCache txCache() {
         TxCache txCache = localConceptLog.get();
         if (txCache == null) {
-            localConceptLog.set(txCache = new TxCache(getGlobalCache()));
+            localConceptLog.set(txCache = new TxCache(getGlobalCache(), this::getConceptByVertexId));
         }
 
         if (txCache.isTxOpen() && txCache.schemaNotCached()) {
@@ -287,6 +293,8 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
         copyToCache(getMetaRole());
         copyToCache(getMetaRule());
 
+        if (schemaInitialised) newSchemaVersion();
+
         return schemaInitialised;
     }
 
@@ -361,6 +369,7 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
     public void checkSchemaMutationAllowed() {
         checkMutationAllowed();
         if (isBatchTx()) throw GraknTxOperationException.schemaMutation();
+        txCache().schemaModified();
     }
 
     public void checkMutationAllowed() {
@@ -548,15 +557,85 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
             if (txCache().isConceptCached(id)) {
                 return txCache().getCachedConcept(id);
             } else {
-                if (id.getValue().startsWith(Schema.PREFIX_EDGE)) {
-                    T concept = getConceptEdge(id);
-                    if (concept != null) return concept;
+                Long vertexId = vertexIdOf(id);
+                if (vertexId != null) {
+                    Iterator<Vertex> vertices = getTinkerPopGraph().vertices(vertexId);
+                    if (vertices.hasNext()) {
+                        Vertex vertex = vertices.next();
+                        if (hasConceptId(vertex, id)) return factory().buildConcept(vertex);
+                    }
                 }
-                return getConcept(Schema.VertexProperty.ID, id.getValue());
+                return getConceptWithoutVertexId(id);
             }
         });
     }
 
+    @Override
+    public <T extends Concept> Map<ConceptId, T> getConcepts(Collection<ConceptId> ids) {
+        return operateOnOpenGraph(() -> {
+            Map<ConceptId, T> concepts = new HashMap<>();
+            Map<Long, ConceptId> idsByVertexId = new HashMap<>();
+
+            for (ConceptId id : ids) {
+                if (txCache().isConceptCached(id)) {
+                    concepts.put(id, txCache().getCachedConcept(id));
+                } else {
+                    Long vertexId = vertexIdOf(id);
+                    if (vertexId != null) idsByVertexId.put(vertexId, id);
+                }
+            }
+
+            //Fetch all the vertices in a single call so the backend can retrieve them together
+            if (!idsByVertexId.isEmpty()) {
+                getTinkerPopGraph().vertices(idsByVertexId.keySet().toArray()).forEachRemaining(vertex -> {
+                    ConceptId id = idsByVertexId.get(vertex.id());
+                    if (id != null && hasConceptId(vertex, id)) concepts.put(id, factory().buildConcept(vertex));
+                });
+            }
+
+            for (ConceptId id : ids) {
+                if (!concepts.containsKey(id)) {
+                    T concept = getConceptWithoutVertexId(id);
+                    if (concept != null) concepts.put(id, concept);
+                }
+            }
+
+            return concepts;
+        });
+    }
+
+    /**
+     * Looks up a concept whose id is not the id of its vertex. This is the case for edges, concepts created with an
+     * explicit {@link ConceptId} and concepts whose vertex no longer exists.
+     */
+    @Nullable
+    private <T extends Concept> T getConceptWithoutVertexId(ConceptId id) {
+        if (id.getValue().startsWith(Schema.PREFIX_EDGE)) {
+            T concept = getConceptEdge(id);
+            if (concept != null) return concept;
+        }
+        return getConcept(Schema.VertexProperty.ID, id.getValue());
+    }
+
+    /**
+     * @return the id of the vertex the {@link ConceptId} was generated from, or null if it was not generated from one
+     */
+    @Nullable
+    private static Long vertexIdOf(ConceptId id) {
+        String value = id.getValue();
+        if (!value.startsWith(Schema.PREFIX_VERTEX)) return null;
+        return Longs.tryParse(value.substring(Schema.PREFIX_VERTEX.length()));
+    }
+
+    /**
+     * A concept can be created with any {@link ConceptId}, so the vertex found from a {@link ConceptId} is only the
+     * right one if it holds that {@link ConceptId}
+     */
+    private static boolean hasConceptId(Vertex vertex, ConceptId id) {
+        VertexProperty<Object> property = vertex.property(Schema.VertexProperty.ID.name());
+        return property.isPresent() && id.getValue().equals(property.value());
+    }
+
     private <T extends Concept> T getConceptEdge(ConceptId id) {
         String edgeId = id.getValue().substring(1);
         GraphTraversal<Edge, Edge> traversal = getTinkerTraversal().E(edgeId);
@@ -566,6 +645,15 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
         return null;
     }
 
+    /**
+     * Rebuilds the concept of a vertex which the {@link TxCache} tracks by vertex id only
+     */
+    @Nullable
+    private Concept getConceptByVertexId(Object vertexId) {
+        Iterator<Vertex> vertices = getTinkerPopGraph().vertices(vertexId);
+        return vertices.hasNext() ? factory().buildConcept(vertices.next()) : null;
+    }
+
     private <T extends SchemaConcept> T getSchemaConcept(Label label, Schema.BaseType baseType) {
         operateOnOpenGraph(() -> null); //Makes sure the graph is open
 
@@ -679,6 +767,8 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
             edge.property(Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID, fromRelation.type().getLabelId().getValue());
             edge.property(Schema.EdgeProperty.ROLE_LABEL_ID, roleType.getLabelId().getValue());
             txCache().trackForValidation(factory().buildCasting(edge));
+            txCache().addedRolePlayer(roleType.getId());
+            txCache().modifiedInstance(fromRelation.type().getId());
         }
     }
 
@@ -687,6 +777,7 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
         closeSession();
         clearGraph();
         txCache().closeTx(ErrorMessage.CLOSED_CLEAR.getMessage());
+        KeyspaceStatisticsImpl.clear(getKeyspace());
 
         //TODO We should not hit the REST endpoint when deleting keyspaces through a graph
         // retrieved from and EngineGraknGraphFactory
@@ -735,6 +826,7 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
             if (commitRequired) {
                 closeMessage = ErrorMessage.TX_CLOSED_ON_ACTION.getMessage("committed", getKeyspace());
                 logs = commitWithLogs();
+                txCache().releaseAttributeReservations(true);
                 if (logs.isPresent() && submitLogs) {
                     String logsToUpload = logs.get();
                     new Thread(() -> LOG.debug("Response from engine [" + EngineCommunicator.contactEngine(getCommitLogEndPoint(), REST.HttpConn.POST_METHOD, logsToUpload) + "]")).start();
@@ -771,9 +863,12 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
 
     private Optional<String> commitWithLogs() throws InvalidKBException {
         validateGraph();
+        if (txCache().isSchemaModified()) newSchemaVersion();
 
+        // Any change to the data or schema needs a log, so that engine invalidates what it derived from the keyspace
         boolean submissionNeeded = !txCache().getShardingCount().isEmpty() ||
-                !txCache().getModifiedAttributes().isEmpty();
+                !txCache().getModifiedAttributes().isEmpty() ||
+                txCache().isModified();
         Json conceptLog = txCache().getFormattedLog();
 
         LOG.trace("Graph is valid. Committing graph . . . ");
@@ -782,6 +877,8 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
         LOG.trace("Graph committed.");
 
         if (submissionNeeded) {
+            // Drop snapshots held by this JVM even when the log is never submitted, such as on commitNoLogs
+            GraphSnapshots.get().invalidate(keyspace);
             return Optional.of(conceptLog.toString());
         }
         return Optional.empty();
@@ -831,11 +928,8 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
      * @return a set containing the duplicates of the given concept
      */
     private <X extends ConceptImpl> Set<X> getDuplicates(X mainConcept, Set<ConceptId> conceptIds) {
-        Set<X> duplicated = conceptIds.stream()
-                .map(this::<X>getConcept)
-                //filter non-null, will be null if previously deleted/merged
-                .filter(Objects::nonNull)
-                .collect(toSet());
+        //Concepts which were previously deleted/merged are not found
+        Set<X> duplicated = new HashSet<>(this.<X>getConcepts(conceptIds).values());
 
         duplicated.remove(mainConcept);
 
@@ -896,7 +990,7 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
      * @param otherRelationship The other relation to potentially be absorbed
      */
     private void copyRelation(Attribute main, Attribute other, Relationship otherRelationship) {
-        //Gets the other resource index and replaces all occurrences of the other resource id with the main resource id
+        //Gets the index the other relation would have if the other resource was replaced with the main resource
         //This allows us to find relations far more quickly.
         Optional<RelationshipReified> reifiedRelation = ((RelationshipImpl) otherRelationship).reified();
 
@@ -911,9 +1005,15 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
      * Copy a relation which has been reified - {@link RelationshipReified}
      */
     private void copyRelation(Attribute main, Attribute other, Relationship otherRelationship, RelationshipReified reifiedRelation) {
-        String newIndex = reifiedRelation.getIndex().replaceAll(other.getId().getValue(), main.getId().getValue());
-        Relationship foundRelationship = txCache().getCachedRelation(newIndex);
-        if (foundRelationship == null) foundRelationship = getConcept(Schema.VertexProperty.INDEX, newIndex);
+        List<String> hashInputs = ValidateGlobalRules.hashInputs(reifiedRelation, thing -> thing.equals(other) ? main : thing);
+        String newIndex = RelationshipReified.generateNewHash(hashInputs);
+        Relationship foundRelationship = getRelationship(newIndex);
+
+        //The digest is held by a relation with different role players, so the copy is identified by its collision hash
+        if (ValidateGlobalRules.isCollision(foundRelationship, reifiedRelation, hashInputs)) {
+            newIndex = RelationshipReified.generateCollisionHash(hashInputs);
+            foundRelationship = getRelationship(newIndex);
+        }
 
         if (foundRelationship != null) {//If it exists delete the other one
             reifiedRelation.deleteNode(); //Raw deletion because the castings should remain
@@ -932,6 +1032,15 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
         txCache().getRelationIndexCache().put(newIndex, foundRelationship);
     }
 
+    /**
+     * @return The relation with the given hash, looking at the relations copied during this transaction first
+     */
+    @Nullable
+    private Relationship getRelationship(String hash) {
+        Relationship relationship = txCache().getCachedRelation(hash);
+        return relationship != null ? relationship : getConcept(Schema.VertexProperty.INDEX, hash);
+    }
+
     /**
      * Copy a relation which is an edge - {@link RelationshipEdge}
      */
@@ -957,10 +1066,127 @@ public abstract class GraknTxAbstract<G extends Graph> implements GraknTx, Grakn
             if (value != 0) {
                 ConceptImpl concept = getConcept(key);
                 concept.setShardCount(concept.getShardCount() + value);
+                statistics().updateInstanceCounts(Collections.singletonMap(key, concept.getShardCount()));
             }
         });
     }
 
+    @Override
+    public KeyspaceStatistics statistics() {
+        return getGlobalCache().getStatistics();
+    }
+
+    @Override
+    public long getSchemaVersion() {
+        Long schemaVersion = txCache().getSchemaVersion();
+        if (schemaVersion == null) {
+            schemaVersion = getMetaConceptVertex().property(Schema.VertexProperty.SCHEMA_VERSION);
+            if (schemaVersion == null) schemaVersion = 0L;
+            txCache().setSchemaVersion(schemaVersion);
+        }
+        return schemaVersion;
+    }
+
+    /**
+     * Stores a new random schema version, so that everything derived from the previous schema is no longer used
+     */
+    private void newSchemaVersion() {
+        //Vertex is used directly here to bypass meta type mutation check
+        getMetaConceptVertex().property(Schema.VertexProperty.SCHEMA_VERSION, ThreadLocalRandom.current().nextLong());
+    }
+
+    private VertexElement getMetaConceptVertex() {
+        return ((TypeImpl<?, ?>) getMetaConcept()).vertex();
+    }
+
+    @Override
+    public boolean isModified() {
+        return txCache().isModified();
+    }
+
+    @Override
+    public boolean isSchemaModified() {
+        return txCache().isSchemaModified();
+    }
+
+    @Override
+    public long migrateRelationshipHashes() {
+        checkMutationAllowed();
+
+        long migrated = 0;
+        Iterator<Vertex> relationships = getTinkerTraversal().V().
+                hasLabel(Schema.BaseType.RELATIONSHIP.name()).has(Schema.VertexProperty.INDEX.name());
+
+        while (relationships.hasNext()) {
+            Vertex vertex = relationships.next();
+            String hash = vertex.value(Schema.VertexProperty.INDEX.name());
+            if (!RelationshipReified.isLegacyHash(hash)) continue;
+
+            RelationshipImpl relationship = factory().buildConcept(vertex);
+            String newHash = RelationshipReified.generateNewHash(
+                    ValidateGlobalRules.hashInputs(relationship.reify(), UnaryOperator.identity()));
+            //NOTE: Vertex Element is used directly so the legacy hash is replaced without a uniqueness check
+            vertex.property(Schema.VertexProperty.INDEX.name(), newHash);
+            migrated++;
+        }
+
+        return migrated;
+    }
+
+    @Override
+    public long migrateAttributeValueIndex() {
+        checkMutationAllowed();
+
+        long migrated = 0;
+        Iterator<Vertex> shards = getTinkerTraversal().V().
+                hasLabel(Schema.BaseType.SHARD.name()).hasNot(Schema.VertexProperty.IS_VALUE_INDEXED.name());
+
+        while (shards.hasNext()) {
+            Vertex shard = shards.next();
+            Iterator<Vertex> instances = shard.vertices(Direction.IN, Schema.EdgeLabel.ISA.getLabel());
+            while (instances.hasNext()) {
+                Vertex instance = instances.next();
+                if (!instance.label().equals(Schema.BaseType.ATTRIBUTE.name())) continue;
+
+                AttributeImpl<?> attribute = factory().buildConcept(instance);
+                attribute.indexValue();
+                migrated++;
+            }
+            shard.property(Schema.VertexProperty.IS_VALUE_INDEXED.name(), true);
+        }
+
+        return migrated;
+    }
+
+    @Override
+    public void reserveAttributesWith(AttributeReservations reservations) {
+        txCache().reserveAttributesWith(reservations);
+    }
+
+    /**
+     * Finds an {@link Attribute} by its index. If it does not exist and this transaction reserves attributes, the
+     * index is reserved and looked up again, so an {@link Attribute} committed concurrently by the previous holder of
+     * the reservation is reused rather than duplicated.
+     *
+     * @param index The index of the {@link Attribute}
+     * @return The {@link Attribute} with the index, or null if it should be created by this transaction
+     */
+    @Nullable
+    public <T extends Concept> T findOrReserveAttribute(String index) {
+        T attribute = getConcept(Schema.VertexProperty.INDEX, index);
+        if (attribute != null) return attribute;
+
+        Optional<AttributeReservations.Reservation> reservation = txCache().reserveAttribute(getKeyspace(), index);
+        if (!reservation.isPresent()) return null;
+
+        Optional<ConceptId> committedId = reservation.get().attributeId();
+        if (committedId.isPresent()) {
+            attribute = getConcept(committedId.get());
+            if (attribute != null) return attribute;
+        }
+        return getConcept(Schema.VertexProperty.INDEX, index);
+    }
+
     @Override
     public void shard(ConceptId conceptId) {
         ConceptImpl type = getConcept(conceptId);
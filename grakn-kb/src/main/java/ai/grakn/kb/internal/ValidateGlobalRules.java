@@ -46,14 +46,19 @@ import ai.grakn.util.CommonUtil;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -105,35 +110,44 @@ class ValidateGlobalRules {
      * @return A specific error if one is found.
      */
     static Optional<String> validatePlaysStructure(Casting casting) {
+        return validatePlaysStructure(casting, playedRoles(casting.getInstance().type()));
+    }
+
+    /**
+     * @param casting The casting to be validated
+     * @param playedRoles The roles the type of the role player can play, as computed by {@link #playedRoles(Type)}
+     * @return A specific error if one is found.
+     */
+    static Optional<String> validatePlaysStructure(Casting casting, Map<Label, Boolean> playedRoles) {
         Thing thing = casting.getInstance();
-        TypeImpl<?, ?> currentConcept = (TypeImpl<?, ?>) thing.type();
         Role role = casting.getRoleType();
 
-        boolean satisfiesPlays = false;
+        Boolean required = playedRoles.get(role.getLabel());
+        if(required == null) {
+            return Optional.of(VALIDATION_CASTING.getMessage(thing.type().getLabel(), thing.getId(), role.getLabel()));
+        }
 
-        while(currentConcept != null){
-            Map<Role, Boolean> plays = currentConcept.directPlays();
+        // Assert unique relation for this role type
+        if (required && !CommonUtil.containsOnly(thing.relationships(role), 1)) {
+            return Optional.of(VALIDATION_REQUIRED_RELATION.getMessage(thing.getId(), thing.type().getLabel(), role.getLabel(), thing.relationships(role).count()));
+        }
+        return Optional.empty();
+    }
 
-            for (Map.Entry<Role, Boolean> playsEntry : plays.entrySet()) {
-                Role rolePlayed = playsEntry.getKey();
-                Boolean required = playsEntry.getValue();
-                if(rolePlayed.getLabel().equals(role.getLabel())){
-                    satisfiesPlays = true;
+    /**
+     * @param type The type whose hierarchy is searched
+     * @return The labels of the roles which instances of the type can play, mapped to true if any type in the
+     * hierarchy requires the role to be played exactly once
+     */
+    static Map<Label, Boolean> playedRoles(Type type) {
+        Map<Label, Boolean> playedRoles = new HashMap<>();
+        TypeImpl<?, ?> currentConcept = (TypeImpl<?, ?>) type;
 
-                    // Assert unique relation for this role type
-                    if (required && !CommonUtil.containsOnly(thing.relationships(role), 1)) {
-                        return Optional.of(VALIDATION_REQUIRED_RELATION.getMessage(thing.getId(), thing.type().getLabel(), role.getLabel(), thing.relationships(role).count()));
-                    }
-                }
-            }
+        while(currentConcept != null){
+            currentConcept.directPlays().forEach((role, required) -> playedRoles.merge(role.getLabel(), required, Boolean::logicalOr));
             currentConcept = (TypeImpl) currentConcept.sup();
         }
-
-        if(satisfiesPlays) {
-            return Optional.empty();
-        } else {
-            return Optional.of(VALIDATION_CASTING.getMessage(thing.type().getLabel(), thing.getId(), casting.getRoleType().getLabel()));
-        }
+        return playedRoles;
     }
 
     /**
@@ -241,26 +255,43 @@ class ValidateGlobalRules {
      * @return An error message if the thing does not have all the required resources
      */
     static Optional<String> validateInstancePlaysAllRequiredRoles(Thing thing) {
-        TypeImpl<?, ?> currentConcept = (TypeImpl) thing.type();
+        return validateInstancePlaysAllRequiredRoles(thing, requiredRoles(thing.type()));
+    }
 
-        while(currentConcept != null){
+    /**
+     *
+     * @param thing The thing to be validated
+     * @param requiredRoles The roles the thing must play, as computed by {@link #requiredRoles(Type)}
+     * @return An error message if the thing does not have all the required resources
+     */
+    static Optional<String> validateInstancePlaysAllRequiredRoles(Thing thing, Set<Role> requiredRoles) {
+        for (Role role : requiredRoles) {
+            // Assert there is a relation for this type
+            Stream<Relationship> relations = thing.relationships(role);
+
+            if(!CommonUtil.containsOnly(relations, 1)){
+                Label resourceTypeLabel = Schema.ImplicitType.explicitLabel(role.getLabel());
+                return Optional.of(VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(thing.getId(), resourceTypeLabel));
+            }
+        }
+        return Optional.empty();
+    }
 
-            Map<Role, Boolean> plays = currentConcept.directPlays();
-            for (Map.Entry<Role, Boolean> playsEntry : plays.entrySet()) {
-                if(playsEntry.getValue()){
-                    Role role = playsEntry.getKey();
-                    // Assert there is a relation for this type
-                    Stream<Relationship> relations = thing.relationships(role);
+    /**
+     * @param type The type whose hierarchy is searched
+     * @return The roles which instances of the type must play exactly once, starting from the type itself
+     */
+    static Set<Role> requiredRoles(Type type) {
+        Set<Role> requiredRoles = new LinkedHashSet<>();
+        TypeImpl<?, ?> currentConcept = (TypeImpl<?, ?>) type;
 
-                    if(!CommonUtil.containsOnly(relations, 1)){
-                        Label resourceTypeLabel = Schema.ImplicitType.explicitLabel(role.getLabel());
-                        return Optional.of(VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(thing.getId(), resourceTypeLabel));
-                    }
-                }
-            }
+        while(currentConcept != null){
+            currentConcept.directPlays().forEach((role, required) -> {
+                if(required) requiredRoles.add(role);
+            });
             currentConcept = (TypeImpl) currentConcept.sup();
         }
-        return Optional.empty();
+        return requiredRoles;
     }
 
     /**
@@ -269,48 +300,36 @@ class ValidateGlobalRules {
      * @return An error message if the {@link Relationship} is not unique.
      */
     static Optional<String> validateRelationIsUnique(GraknTxAbstract<?> graph, RelationshipReified relationReified){
-        Iterator<AttributeType> keys = relationReified.type().keys().iterator();
-        if(keys.hasNext()){
-            return validateKeyControlledRelation(graph, relationReified, keys);
-        } else {
-            return validateNonKeyControlledRelation(graph, relationReified);
-        }
+        return setRelationUnique(graph, relationReified, hashInputs(relationReified, UnaryOperator.identity()));
     }
 
     /**
-     * Checks that a {@link Relationship} which is bound to a {@link Attribute} as a key actually is unique to that key.
-     * The check for if the key is actually connected to the relation is done in {@link #validateInstancePlaysAllRequiredRoles}
+     * A {@link Relationship} which is bound to {@link Attribute}s as keys is unique to those keys. The check for if the
+     * keys are actually connected to the relation is done in {@link #validateInstancePlaysAllRequiredRoles}.
+     * Any other {@link Relationship} is unique by its {@link Role}s and the {@link Thing}s which play those roles.
      *
-     * @param graph the {@link GraknTx} used to check for uniqueness
-     * @param relationReified the {@link Relationship} to check
-     * @param keys the {@link AttributeType} indicating the key which the relation must be bound to and unique to
-     * @return An error message if the {@link Relationship} is not unique.
+     * @param relationReified the {@link Relationship} to identify
+     * @param replacement replaces each role player and key of the {@link Relationship}, e.g. when merging attributes
+     * @return The parts which identify the {@link Relationship}, from which its hash is built
      */
-    private static Optional<String> validateKeyControlledRelation(GraknTxAbstract<?> graph, RelationshipReified relationReified, Iterator<AttributeType> keys) {
-        TreeMap<String, String> resources = new TreeMap<>();
-        while(keys.hasNext()){
-            Optional<Attribute<?>> foundResource = relationReified.attributes(keys.next()).findAny();
-            //Lack of resource key is handled by another method.
-            //Handling the lack of a key here would result in duplicate error messages
-            foundResource.ifPresent(resource -> resources.put(resource.type().getId().getValue(), resource.getId().getValue()));
+    static List<String> hashInputs(RelationshipReified relationReified, UnaryOperator<Thing> replacement) {
+        Iterator<AttributeType> keys = relationReified.type().keys().iterator();
+        if(keys.hasNext()){
+            TreeMap<String, String> resources = new TreeMap<>();
+            while(keys.hasNext()){
+                Optional<Attribute<?>> foundResource = relationReified.attributes(keys.next()).findAny();
+                //Lack of resource key is handled by another method.
+                //Handling the lack of a key here would result in duplicate error messages
+                foundResource.ifPresent(resource -> resources.put(
+                        resource.type().getId().getValue(), replacement.apply(resource).getId().getValue()));
+            }
+            return RelationshipReified.hashInputs(relationReified.type(), resources);
         }
 
-        String hash = RelationshipReified.generateNewHash(relationReified.type(), resources);
-
-        return setRelationUnique(graph, relationReified, hash);
-    }
-
-    /**
-     * Checks if {@link Relationship}s which are not bound to {@link Attribute}s as keys are unique by their
-     * {@link Role}s and the {@link Thing}s which play those roles.
-     *
-     * @param graph the {@link GraknTx} used to check for uniqueness
-     * @param relationReified the {@link Relationship} to check
-     * @return An error message if the {@link Relationship} is not unique.
-     */
-    private static Optional<String> validateNonKeyControlledRelation(GraknTxAbstract<?> graph, RelationshipReified relationReified){
-        String hash = RelationshipReified.generateNewHash(relationReified.type(), relationReified.allRolePlayers());
-        return setRelationUnique(graph, relationReified, hash);
+        Map<Role, Set<Thing>> rolePlayers = new HashMap<>();
+        relationReified.allRolePlayers().forEach((role, things) ->
+                rolePlayers.put(role, things.stream().map(replacement).collect(Collectors.toSet())));
+        return RelationshipReified.hashInputs(relationReified.type(), rolePlayers);
     }
 
     /**
@@ -319,20 +338,44 @@ class ValidateGlobalRules {
      *
      * @param graph the {@link GraknTx} used to check for uniqueness
      * @param relationReified The candidate unique {@link Relationship}
-     * @param hash The hash to use to find other potential {@link Relationship}s
+     * @param hashInputs The parts which identify the {@link Relationship}
      * @return An error message if the provided {@link Relationship} is not unique and were unable to set the hash
      */
-    private static Optional<String> setRelationUnique(GraknTxAbstract<?> graph, RelationshipReified relationReified, String hash){
+    private static Optional<String> setRelationUnique(GraknTxAbstract<?> graph, RelationshipReified relationReified, List<String> hashInputs){
+        String hash = RelationshipReified.generateNewHash(hashInputs);
         RelationshipImpl foundRelation = graph.getConcept(Schema.VertexProperty.INDEX, hash);
 
+        if(isCollision(foundRelation, relationReified, hashInputs)){
+            //The hashes of two different relations collided, so this one is identified by its full hash inputs
+            hash = RelationshipReified.generateCollisionHash(hashInputs);
+            foundRelation = graph.getConcept(Schema.VertexProperty.INDEX, hash);
+        }
+
         if(foundRelation == null){
             relationReified.setHash(hash);
-        } else if(foundRelation.reified().isPresent() && !foundRelation.reified().get().equals(relationReified)){
+        } else if(isOtherReifiedRelation(foundRelation, relationReified)){
             return Optional.of(VALIDATION_RELATION_DUPLICATE.getMessage(relationReified));
         }
         return Optional.empty();
     }
 
+    /**
+     * @param foundRelation The {@link Relationship} found with the digest of the hash inputs, if any
+     * @param relationReified The {@link Relationship} the hash inputs were built for
+     * @param hashInputs The parts which identify the {@link Relationship}
+     * @return True if the digest is held by a different {@link Relationship} with different hash inputs, in which case
+     * the {@link Relationship} is identified by {@link RelationshipReified#generateCollisionHash(List)}
+     */
+    static boolean isCollision(@Nullable Relationship foundRelation, RelationshipReified relationReified, List<String> hashInputs){
+        RelationshipImpl found = (RelationshipImpl) foundRelation;
+        return isOtherReifiedRelation(found, relationReified) &&
+                !hashInputs.equals(hashInputs(found.reified().get(), UnaryOperator.identity()));
+    }
+
+    private static boolean isOtherReifiedRelation(@Nullable RelationshipImpl foundRelation, RelationshipReified relationReified){
+        return foundRelation != null && foundRelation.reified().isPresent() && !foundRelation.reified().get().equals(relationReified);
+    }
+
 
     /**
      * @param graph graph used to ensure the rule is a valid Horn clause
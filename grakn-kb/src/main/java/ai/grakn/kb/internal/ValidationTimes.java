@@ -0,0 +1,70 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * <p>
+ *     Reports the time spent on each kind of validation
+ * </p>
+ *
+ * <p>
+ *     Every transaction validated in this JVM reports how long each kind of validation took, in nanoseconds,
+ *     to a single listener. This allows a server to record the times in its own metrics.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public final class ValidationTimes {
+    private static final ObjLongConsumer<String> NO_LISTENER = (kind, nanos) -> {};
+
+    private static final AtomicReference<ObjLongConsumer<String>> listener = new AtomicReference<>(NO_LISTENER);
+
+    private ValidationTimes() {
+    }
+
+    /**
+     * @param timesListener Receives the kind of validation and the time it took in nanoseconds
+     */
+    public static void setListener(ObjLongConsumer<String> timesListener) {
+        listener.set(timesListener);
+    }
+
+    /**
+     * Stop reporting validation times
+     */
+    public static void removeListener() {
+        listener.set(NO_LISTENER);
+    }
+
+    /**
+     * Stop reporting validation times, unless another listener has replaced the given one since it was set
+     *
+     * @param timesListener The listener to remove
+     */
+    public static void removeListener(ObjLongConsumer<String> timesListener) {
+        listener.compareAndSet(timesListener, NO_LISTENER);
+    }
+
+    static void record(String kind, long nanos) {
+        listener.get().accept(kind, nanos);
+    }
+}
@@ -18,19 +18,29 @@
 
 package ai.grakn.kb.internal;
 
+import ai.grakn.concept.Label;
 import ai.grakn.concept.Relationship;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
 import ai.grakn.concept.Rule;
 import ai.grakn.concept.Thing;
+import ai.grakn.concept.Type;
 import ai.grakn.kb.internal.concept.RelationshipImpl;
 import ai.grakn.kb.internal.concept.RelationshipReified;
 import ai.grakn.kb.internal.structure.Casting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -40,14 +50,23 @@ import java.util.Set;
  * <p>
  *      Handles calling the relevant validation defined in {@link ValidateGlobalRules} depending on the
  *      type of the concept.
+ *      The roles which can and must be played by the instances of a {@link Type} are only looked up once per
+ *      {@link Type}, and the time spent on each kind of validation is recorded and reported to {@link ValidationTimes}.
  * </p>
  *
  * @author fppt
  *
  */
 class Validator {
+    private static final Logger LOG = LoggerFactory.getLogger(Validator.class);
+
     private final GraknTxAbstract<?> graknGraph;
     private final List<String> errorsFound = new ArrayList<>();
+    private final Map<String, Long> validationTimes = new LinkedHashMap<>();
+
+    //The schema cannot change during validation so these are computed once per type
+    private final Map<Type, Set<Role>> requiredRoles = new HashMap<>();
+    private final Map<Type, Map<Label, Boolean>> playedRoles = new HashMap<>();
 
     public Validator(GraknTxAbstract graknGraph){
         this.graknGraph = graknGraph;
@@ -61,6 +80,14 @@ class Validator {
         return errorsFound;
     }
 
+    /**
+     *
+     * @return The time in nanoseconds spent validating each kind of concept, in the order they were validated
+     */
+    public Map<String, Long> getValidationTimes(){
+        return Collections.unmodifiableMap(validationTimes);
+    }
+
     /**
      *
      * @return True if the data and schema conforms to our concept.
@@ -69,31 +96,53 @@ class Validator {
         //Validate Entity Types
         //Not Needed
         //Validate Entities
-        graknGraph.txCache().getModifiedEntities().forEach(this::validateThing);
+        validateAll("entities", graknGraph.txCache().getModifiedEntities(), this::validateThing);
 
         //Validate RoleTypes
-        graknGraph.txCache().getModifiedRoles().forEach(this::validateRole);
+        validateAll("roles", graknGraph.txCache().getModifiedRoles(), this::validateRole);
         //Validate Role Players
-        graknGraph.txCache().getModifiedCastings().forEach(this::validateCasting);
+        validateAll("castings", graknGraph.txCache().getModifiedCastings(), this::validateCasting);
 
         //Validate Relationship Types
-        graknGraph.txCache().getModifiedRelationshipTypes().forEach(this::validateRelationType);
+        validateAll("relationship-types", graknGraph.txCache().getModifiedRelationshipTypes(), this::validateRelationType);
         //Validate Relations
-        graknGraph.txCache().getModifiedRelationships().forEach(relation -> validateRelation(graknGraph, relation));
+        validateAll("relationships", graknGraph.txCache().getModifiedRelationships(), relation -> validateRelation(graknGraph, relation));
 
         //Validate Rule Types
         //Not Needed
         //Validate Rules
-        graknGraph.txCache().getModifiedRules().forEach(rule -> validateRule(graknGraph, rule));
+        validateAll("rules", graknGraph.txCache().getModifiedRules(), rule -> validateRule(graknGraph, rule));
 
         //Validate Attribute Types
         //Not Needed
         //Validate Attribute
-        graknGraph.txCache().getModifiedAttributes().forEach(this::validateThing);
+        validateAll("attributes", graknGraph.txCache().getModifiedAttributes(), this::validateThing);
+
+        if (LOG.isDebugEnabled()) {
+            validationTimes.forEach((kind, time) ->
+                    LOG.debug("Validated " + kind + " in " + TimeUnit.NANOSECONDS.toMillis(time) + "ms"));
+        }
 
         return errorsFound.size() == 0;
     }
 
+    /**
+     * Validates every modified concept of one kind and records how long it took
+     *
+     * @param kind The kind of concept being validated
+     * @param concepts The modified concepts of that kind
+     * @param validation The validation applied to each concept
+     */
+    private <X> void validateAll(String kind, Set<X> concepts, Consumer<X> validation){
+        if (concepts.isEmpty()) return;
+
+        long start = System.nanoTime();
+        concepts.forEach(validation);
+        long time = System.nanoTime() - start;
+        validationTimes.put(kind, time);
+        ValidationTimes.record(kind, time);
+    }
+
     /**
      * Validation rules exclusive to rules
      * @param graph the graph to query against
@@ -127,7 +176,9 @@ class Validator {
      * @param casting The Role player to validate
      */
     private void validateCasting(Casting casting){
-        ValidateGlobalRules.validatePlaysStructure(casting).ifPresent(errorsFound::add);
+        Type type = casting.getInstance().type();
+        Map<Label, Boolean> roles = playedRoles.computeIfAbsent(type, ValidateGlobalRules::playedRoles);
+        ValidateGlobalRules.validatePlaysStructure(casting, roles).ifPresent(errorsFound::add);
     }
 
     /**
@@ -152,6 +203,8 @@ class Validator {
      * @param thing The {@link Thing} to validate
      */
     private void validateThing(Thing thing) {
-        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(thing).ifPresent(errorsFound::add);
+        Set<Role> roles = requiredRoles.computeIfAbsent(thing.type(), ValidateGlobalRules::requiredRoles);
+        if (roles.isEmpty()) return;
+        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(thing, roles).ifPresent(errorsFound::add);
     }
 }
@@ -53,7 +53,7 @@ public class Cache<V> {
     private final ThreadLocal<V> valueTx = new ThreadLocal<>();
 
     //Globally bound value which has already been persisted and acts as a shared component cache
-    private Optional<V> valueGlobal = Optional.empty();
+    private volatile Optional<V> valueGlobal = Optional.empty();
 
     public Cache(Cacheable<V> cacheable, Supplier<V> databaseReader){
         this.cacheable = cacheable;
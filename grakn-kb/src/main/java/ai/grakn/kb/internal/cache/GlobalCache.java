@@ -18,6 +18,7 @@
 
 package ai.grakn.kb.internal.cache;
 
+import ai.grakn.Keyspace;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.LabelId;
 import ai.grakn.concept.SchemaConcept;
@@ -25,12 +26,12 @@ import ai.grakn.kb.internal.GraknTxAbstract;
 import ai.grakn.kb.internal.concept.SchemaConceptImpl;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.ImmutableMap;
 
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>
@@ -45,6 +46,10 @@ import java.util.concurrent.TimeUnit;
  *             Label Cache - All the labels which make up the schema. This can never expire and is needed in order
  *             to perform fast lookups. Essentially it is used for mapping labels to ids.
  *         </li>
+ *         <li>
+ *             Statistics - Estimates of instance and role player counts used for query planning. These are shared
+ *             by every transaction of the keyspace.
+ *         </li>
  *     <ol/>
  * </p>
  *
@@ -58,8 +63,19 @@ public class GlobalCache {
     //Caches
     private final Cache<Label, SchemaConcept> cachedTypes;
     private final Map<Label, LabelId> cachedLabels;
+    private final KeyspaceStatisticsImpl statistics;
+    //Changes every time a transaction of this cache which modified the schema commits
+    private final AtomicLong schemaVersion = new AtomicLong();
+
+    //The schema version each thread last opened a transaction with
+    private final ThreadLocal<Long> threadSchemaVersion = new ThreadLocal<>();
 
-    public GlobalCache(Properties properties) {
+    //Changes whenever the cached types or labels change, so that a new snapshot of the schema is built
+    private final AtomicLong cacheVersion = new AtomicLong();
+    private volatile SchemaSnapshot schemaSnapshot = null;
+
+    public GlobalCache(Keyspace keyspace, Properties properties) {
+        statistics = KeyspaceStatisticsImpl.of(keyspace);
         cachedLabels = new ConcurrentHashMap<>();
 
         int cacheTimeout = Integer.parseInt(properties
@@ -79,6 +95,7 @@ public class GlobalCache {
      */
     public void cacheType(Label label, SchemaConcept type) {
         cachedTypes.put(label, type);
+        cacheVersion.incrementAndGet();
     }
 
     /**
@@ -90,6 +107,7 @@ public class GlobalCache {
      */
     public void cacheLabel(Label label, LabelId id) {
         cachedLabels.put(label, id);
+        cacheVersion.incrementAndGet();
     }
 
     /**
@@ -103,27 +121,76 @@ public class GlobalCache {
         //TODO: The difference between the caches need to be taken into account. For example if a type is delete then it should be removed from the cachedLabels
         cachedLabels.putAll(txCache.getLabelCache());
         cachedTypes.putAll(txCache.getSchemaConceptCache());
+        statistics.readTxCache(txCache);
 
-        //Flush All The Internal Transaction Caches
+        //Flush the internal caches of the schema concepts the transaction may have changed.
+        //A schema mutation can change any concept it is connected to, so then the whole snapshot is flushed.
         txCache.getSchemaConceptCache().values().forEach(schemaConcept
                 -> SchemaConceptImpl.from(schemaConcept).txCacheFlush());
+        if(txCache.isSchemaModified()) {
+            txCache.getSchemaSnapshot().ifPresent(snapshot -> snapshot.types().values().forEach(schemaConcept
+                    -> SchemaConceptImpl.from(schemaConcept).txCacheFlush()));
+            schemaVersion.incrementAndGet();
+        }
+
+        if(!txCache.getLabelCache().isEmpty() || txCache.isSchemaModified()) cacheVersion.incrementAndGet();
     }
 
     /**
-     * A copy of the cached labels. This is used when creating a new transaction.
+     * Called when a transaction is opened on the current thread. If a schema change has been committed since this
+     * thread last opened a transaction, the components of the schema concepts it read then are stale, so they are
+     * cleared and read again.
+     */
+    void clearStaleThreadReads() {
+        long version = schemaVersion.get();
+        Long threadVersion = threadSchemaVersion.get();
+        if(threadVersion != null && threadVersion != version) {
+            getSchemaSnapshot().types().values().forEach(schemaConcept
+                    -> SchemaConceptImpl.from(schemaConcept).txCacheClear());
+        }
+        threadSchemaVersion.set(version);
+    }
+
+    /**
+     * The schema as it is currently cached. The snapshot is shared by all transactions and is only rebuilt after
+     * the cache changes. Types which expire from the cache stay in the snapshot until it is next rebuilt.
      *
-     * @return an immutable copy of the cached labels.
+     * @return an immutable snapshot of the cached schema
+     */
+    SchemaSnapshot getSchemaSnapshot() {
+        long version = cacheVersion.get();
+        SchemaSnapshot snapshot = schemaSnapshot;
+        if(snapshot == null || snapshot.version() != version) {
+            snapshot = new SchemaSnapshot(version, cachedTypes.asMap(), cachedLabels);
+            schemaSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * The labels of the current schema snapshot.
+     *
+     * @return an immutable map of the cached labels.
      */
     Map<Label, LabelId> getCachedLabels() {
-        return ImmutableMap.copyOf(cachedLabels);
+        return getSchemaSnapshot().labels();
     }
 
     /**
-     * A copy of the cached schema. This is used when creating a new transaction.
+     * The types of the current schema snapshot.
      *
-     * @return an immutable copy of the cached schema.
+     * @return an immutable map of the cached schema.
      */
     public Map<Label, SchemaConcept> getCachedTypes() {
-        return ImmutableMap.copyOf(cachedTypes.asMap());
+        return getSchemaSnapshot().types();
+    }
+
+    /**
+     * The statistics of the knowledge base. These are refreshed whenever a transaction commits.
+     *
+     * @return the statistics which are shared across transactions.
+     */
+    public KeyspaceStatisticsImpl getStatistics() {
+        return statistics;
     }
 }
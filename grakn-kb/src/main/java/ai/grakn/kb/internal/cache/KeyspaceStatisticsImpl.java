@@ -0,0 +1,189 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.kb.admin.KeyspaceStatistics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     Tracks Keyspace Statistics
+ * </p>
+ *
+ * <p>
+ *     Keeps running estimates of the number of instances of each {@link ai.grakn.concept.Type} and the number of
+ *     times each {@link ai.grakn.concept.Role} has been played. The estimates are built incrementally from the
+ *     deltas of committed transactions and are periodically corrected with the authoritative counts maintained
+ *     by engine. The smallest and largest numeric value added to each {@link ai.grakn.concept.AttributeType} are
+ *     kept as well. They only ever widen, because deleted values are not tracked. An epoch records when any count
+ *     has changed enough to affect query plans.
+ * </p>
+ *
+ * <p>
+ *     The authoritative counts are also kept separately, together with the changes of the commit logs received
+ *     by this JVM since, so that exact counts can be answered without scanning the instances of a type. Pending
+ *     changes are grouped by the batch they will be counted in.
+ * </p>
+ *
+ * <p>
+ *     The statistics of a keyspace are shared by every transaction of the keyspace opened in this JVM, including
+ *     batch loading transactions, so that engine can update them without opening a transaction.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
+    private static final Map<Keyspace, KeyspaceStatisticsImpl> STATISTICS = new ConcurrentHashMap<>();
+    private static final long SIGNIFICANT_CHANGE = 2;
+
+    private final Map<ConceptId, Long> instanceCounts = new ConcurrentHashMap<>();
+    private final Map<ConceptId, Long> rolePlayerCounts = new ConcurrentHashMap<>();
+    private final Map<ConceptId, Double> minimumValues = new ConcurrentHashMap<>();
+    private final Map<ConceptId, Double> maximumValues = new ConcurrentHashMap<>();
+
+    //The counts as they were when the epoch last changed, so that small changes do not change it
+    private final Map<ConceptId, Long> epochCounts = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    //Guarded by this, so that authoritative counts and the pending changes they include are updated together
+    private final Map<ConceptId, Long> authoritativeCounts = new HashMap<>();
+    private final Map<String, Map<ConceptId, Long>> pendingChanges = new HashMap<>();
+
+    private KeyspaceStatisticsImpl() {
+    }
+
+    /**
+     * @param keyspace The keyspace the statistics describe
+     * @return The statistics of the keyspace, shared by all its transactions
+     */
+    public static KeyspaceStatisticsImpl of(Keyspace keyspace) {
+        return STATISTICS.computeIfAbsent(keyspace, k -> new KeyspaceStatisticsImpl());
+    }
+
+    /**
+     * Forget the statistics of a keyspace which has been deleted
+     *
+     * @param keyspace The keyspace which has been deleted
+     */
+    public static void clear(Keyspace keyspace) {
+        STATISTICS.remove(keyspace);
+    }
+
+    @Override
+    public Optional<Long> instanceCount(ConceptId typeId) {
+        return Optional.ofNullable(instanceCounts.get(typeId));
+    }
+
+    @Override
+    public synchronized Optional<Long> exactInstanceCount(ConceptId typeId) {
+        Long count = authoritativeCounts.get(typeId);
+        if (count == null) return Optional.empty();
+        long pending = pendingChanges.values().stream().mapToLong(changes -> changes.getOrDefault(typeId, 0L)).sum();
+        return Optional.of(Math.max(0L, count + pending));
+    }
+
+    @Override
+    public Optional<Long> rolePlayerCount(ConceptId roleId) {
+        return Optional.ofNullable(rolePlayerCounts.get(roleId));
+    }
+
+    @Override
+    public Optional<Double> minimumValue(ConceptId attributeTypeId) {
+        return Optional.ofNullable(minimumValues.get(attributeTypeId));
+    }
+
+    @Override
+    public Optional<Double> maximumValue(ConceptId attributeTypeId) {
+        return Optional.ofNullable(maximumValues.get(attributeTypeId));
+    }
+
+    @Override
+    public long epoch() {
+        return epoch.get();
+    }
+
+    @Override
+    public synchronized void updateInstanceCounts(Map<ConceptId, Long> counts, Set<String> countedBatches) {
+        instanceCounts.putAll(counts);
+        counts.forEach(this::countChanged);
+        authoritativeCounts.putAll(counts);
+        countedBatches.forEach(batchId -> {
+            Map<ConceptId, Long> changes = pendingChanges.get(batchId);
+            if (changes == null) return;
+            changes.keySet().removeAll(counts.keySet());
+            if (changes.isEmpty()) pendingChanges.remove(batchId);
+        });
+    }
+
+    @Override
+    public synchronized void addPendingInstanceCounts(String batchId, Map<ConceptId, Long> changes) {
+        Map<ConceptId, Long> pending = pendingChanges.computeIfAbsent(batchId, id -> new HashMap<>());
+        changes.forEach((id, change) -> pending.merge(id, change, Long::sum));
+        pending.values().removeIf(change -> change == 0L);
+        if (pending.isEmpty()) pendingChanges.remove(batchId);
+    }
+
+    @Override
+    public synchronized void discardPendingInstanceCounts(String batchId) {
+        pendingChanges.remove(batchId);
+    }
+
+    @Override
+    public synchronized Set<String> pendingBatches() {
+        return new HashSet<>(pendingChanges.keySet());
+    }
+
+    /**
+     * Reads the changes made by a committed transaction into the statistics.
+     *
+     * @param txCache The cache of the transaction which has been committed
+     */
+    void readTxCache(TxCache txCache) {
+        applyDeltas(instanceCounts, txCache.getShardingCount());
+        applyDeltas(rolePlayerCounts, txCache.getRolePlayerCount());
+        txCache.getMinimumValues().forEach((id, value) -> minimumValues.merge(id, value, Math::min));
+        txCache.getMaximumValues().forEach((id, value) -> maximumValues.merge(id, value, Math::max));
+    }
+
+    private void applyDeltas(Map<ConceptId, Long> counts, Map<ConceptId, Long> deltas) {
+        deltas.forEach((id, delta) -> {
+            long count = counts.compute(id, (key, current) -> Math.max(0L, (current == null ? 0L : current) + delta));
+            countChanged(id, count);
+        });
+    }
+
+    private void countChanged(ConceptId id, long count) {
+        epochCounts.compute(id, (key, epochCount) -> {
+            if (epochCount != null && count <= epochCount * SIGNIFICANT_CHANGE && count * SIGNIFICANT_CHANGE >= epochCount) {
+                return epochCount;
+            }
+            epoch.incrementAndGet();
+            return count;
+        });
+    }
+}
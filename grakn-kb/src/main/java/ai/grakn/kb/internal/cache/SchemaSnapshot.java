@@ -0,0 +1,84 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.LabelId;
+import ai.grakn.concept.SchemaConcept;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *     An immutable view of the schema cached in the {@link GlobalCache}
+ * </p>
+ *
+ * <p>
+ *     Transactions read the schema through the snapshot which was current when they opened rather than copying it,
+ *     so opening a transaction does not depend on the size of the schema. A new snapshot is only built after the
+ *     {@link GlobalCache} changes.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+class SchemaSnapshot {
+    private final long version;
+    private final Map<Label, SchemaConcept> types;
+    private final Map<Label, LabelId> labels;
+
+    //Built on first use because reading the ids of the concepts may need an open transaction
+    private final Supplier<Map<ConceptId, SchemaConcept>> typesById;
+
+    SchemaSnapshot(long version, Map<Label, SchemaConcept> types, Map<Label, LabelId> labels) {
+        this.version = version;
+        this.types = ImmutableMap.copyOf(types);
+        this.labels = ImmutableMap.copyOf(labels);
+        this.typesById = Suppliers.memoize(() -> {
+            //A relabelled type may still be cached under its old label as well
+            Map<ConceptId, SchemaConcept> byId = new HashMap<>();
+            this.types.values().forEach(type -> byId.put(type.getId(), type));
+            return ImmutableMap.copyOf(byId);
+        });
+    }
+
+    /**
+     * @return the version of the {@link GlobalCache} this snapshot was built from
+     */
+    long version() {
+        return version;
+    }
+
+    Map<Label, SchemaConcept> types() {
+        return types;
+    }
+
+    Map<Label, LabelId> labels() {
+        return labels;
+    }
+
+    @Nullable
+    SchemaConcept type(ConceptId id) {
+        return typesById.get().get(id);
+    }
+}
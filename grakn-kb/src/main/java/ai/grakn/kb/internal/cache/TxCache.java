@@ -19,6 +19,7 @@
 package ai.grakn.kb.internal.cache;
 
 import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.Concept;
 import ai.grakn.concept.ConceptId;
@@ -31,18 +32,27 @@ import ai.grakn.concept.Role;
 import ai.grakn.concept.Rule;
 import ai.grakn.concept.SchemaConcept;
 import ai.grakn.concept.Thing;
+import ai.grakn.kb.admin.AttributeReservations;
+import ai.grakn.kb.internal.concept.ConceptImpl;
 import ai.grakn.kb.internal.concept.RelationshipReified;
 import ai.grakn.kb.internal.concept.SchemaConceptImpl;
 import ai.grakn.kb.internal.concept.ThingImpl;
 import ai.grakn.kb.internal.structure.Casting;
 import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
+import com.google.common.collect.Iterators;
 import mjson.Json;
 
+import javax.annotation.Nullable;
+import java.util.AbstractSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * <p>
@@ -60,6 +70,13 @@ import java.util.Set;
  *     <ol/>
  * </p>
  *
+ * <p>
+ *     In {@link GraknTxType#BATCH} transactions {@link Entity}s and {@link Attribute}s are not kept in the concept
+ *     cache and are tracked for validation by vertex id only. They are rebuilt from their vertices when validated.
+ *     This keeps the memory used by large bulk loading transactions proportional to the number of vertices modified
+ *     rather than to the size of the concepts built.
+ * </p>
+ *
  * @author fppt
  *
  */
@@ -67,11 +84,20 @@ public class TxCache {
     //Cache which is shared across multiple transactions
     private final GlobalCache globalCache;
 
+    //Rebuilds concepts which are only tracked by vertex id
+    private final Function<Object, Concept> conceptLoader;
+
     //Caches any concept which has been touched before
     private final Map<ConceptId, Concept> conceptCache = new HashMap<>();
     private final Map<Label, SchemaConcept> schemaConceptCache = new HashMap<>();
     private final Map<Label, LabelId> labelCache = new HashMap<>();
 
+    //The schema shared across transactions. It is read in place and only the concepts touched are tracked above.
+    @Nullable private SchemaSnapshot schemaSnapshot = null;
+    private final Set<Label> removedLabels = new HashSet<>();
+    private final Set<ConceptId> removedSchemaConcepts = new HashSet<>();
+    private final Set<SchemaConcept> usedSchemaConcepts = new HashSet<>();
+
     //Elements Tracked For Validation
     private final Set<Entity> modifiedEntities = new HashSet<>();
 
@@ -85,19 +111,46 @@ public class TxCache {
 
     private final Set<Attribute> modifiedAttributes = new HashSet<>();
 
+    //Instances Tracked For Validation by vertex id in batch transactions
+    private final VertexIdSet modifiedEntityIds = new VertexIdSet();
+    private final VertexIdSet modifiedAttributeIds = new VertexIdSet();
+
     //We Track Relations so that we can look them up before they are completely defined and indexed on commit
     private final Map<String, Relationship> relationIndexCache = new HashMap<>();
 
     //We Track the number of concept connections which have been made which may result in a new shard
     private final Map<ConceptId, Long> shardingCount = new HashMap<>();
 
+    //We Track the number of role players added for each role so the keyspace statistics can be kept up to date
+    private final Map<ConceptId, Long> rolePlayerCount = new HashMap<>();
+
+    //We Track the smallest and largest numeric values added to each attribute type so the planner can estimate ranges
+    private final Map<ConceptId, Double> minimumValues = new HashMap<>();
+    private final Map<ConceptId, Double> maximumValues = new HashMap<>();
+
+    //We Track the types and roles whose instances have been modified so that caches of derived data can be invalidated
+    private final Set<ConceptId> modifiedTypes = new HashSet<>();
+
+    //We Track the attribute indices reserved by this transaction so they are released when it closes
+    @Nullable private AttributeReservations attributeReservations = null;
+    private final Map<String, AttributeReservations.Reservation> reservedAttributes = new HashMap<>();
+    private final Map<String, ConceptId> reservedAttributeIds = new HashMap<>();
+
     //Transaction Specific Meta Data
     private boolean isTxOpen = false;
+    private boolean isSchemaModified = false;
+    @Nullable private Long schemaVersion = null;
     private GraknTxType txType;
     private String closedReason = null;
+    private boolean isCompact = false;
 
-    public TxCache(GlobalCache globalCache) {
+    /**
+     * @param globalCache the cache shared across transactions
+     * @param conceptLoader rebuilds the concept of a vertex from its id, returning null if the vertex does not exist
+     */
+    public TxCache(GlobalCache globalCache, Function<Object, Concept> conceptLoader) {
         this.globalCache = globalCache;
+        this.conceptLoader = conceptLoader;
     }
 
     /**
@@ -107,7 +160,9 @@ public class TxCache {
      */
     public void writeToGraphCache(boolean isSafe){
         //When a commit has occurred or a graph is read only all types can be overridden this is because we know they are valid.
-        if(isSafe) globalCache.readTxCache(this);
+        if(isSafe) {
+            globalCache.readTxCache(this);
+        }
 
         //When a commit has not occurred some checks are required
         //TODO: Fill our cache when not committing and when not read only graph.
@@ -118,26 +173,24 @@ public class TxCache {
      * @return true if ths schema labels have been cached. The graph cannot operate if this is false.
      */
     public boolean schemaNotCached(){
-        return labelCache.isEmpty();
+        return (schemaSnapshot == null || schemaSnapshot.labels().isEmpty()) && labelCache.isEmpty();
     }
 
     /**
-     * Refreshes the transaction schema cache by reading the central schema cache is read into this transaction cache.
-     * This method performs this operation whilst making a deep clone of the cached concepts to ensure transactions
-     * do not accidentally break the central schema cache.
-     *
+     * Refreshes the transaction schema cache by pointing it at the current snapshot of the central schema cache.
+     * The snapshot is not copied. The components of the cached concepts are copied lazily by each transaction
+     * which reads them, so transactions cannot accidentally break the central schema cache.
      */
     public void refreshSchemaCache(){
-        Map<Label, SchemaConcept> cachedSchemaSnapshot = globalCache.getCachedTypes();
-        Map<Label, LabelId> cachedLabelsSnapshot = globalCache.getCachedLabels();
-
-        //Read central cache into txCache cloning only base concepts. Sets clones later
-        for (SchemaConcept type : cachedSchemaSnapshot.values()) {
-            cacheConcept(type);
-        }
+        schemaSnapshot = globalCache.getSchemaSnapshot();
+    }
 
-        //Load Labels Separately. We do this because the TypeCache may have expired.
-        cachedLabelsSnapshot.forEach(this::cacheLabel);
+    /**
+     *
+     * @return the snapshot of the central schema cache this transaction reads from
+     */
+    Optional<SchemaSnapshot> getSchemaSnapshot(){
+        return Optional.ofNullable(schemaSnapshot);
     }
 
     /**
@@ -145,7 +198,11 @@ public class TxCache {
      * @param concept The element to be later validated
      */
     public void trackForValidation(Concept concept) {
-        if (concept.isEntity()) {
+        if (isCompact && concept.isEntity()) {
+            modifiedEntityIds.add(vertexId(concept));
+        } else if (isCompact && concept.isAttribute()) {
+            modifiedAttributeIds.add(vertexId(concept));
+        } else if (concept.isEntity()) {
             modifiedEntities.add(concept.asEntity());
         } else if (concept.isRole()) {
             modifiedRoles.add(concept.asRole());
@@ -182,6 +239,38 @@ public class TxCache {
         return shardingCount;
     }
 
+    /**
+     *
+     * @return All the roles which have gained role players and by how much
+     */
+    Map<ConceptId, Long> getRolePlayerCount(){
+        return rolePlayerCount;
+    }
+
+    /**
+     *
+     * @return The attribute types which have gained numeric values mapped to the smallest value they gained
+     */
+    Map<ConceptId, Double> getMinimumValues(){
+        return minimumValues;
+    }
+
+    /**
+     *
+     * @return The attribute types which have gained numeric values mapped to the largest value they gained
+     */
+    Map<ConceptId, Double> getMaximumValues(){
+        return maximumValues;
+    }
+
+    /**
+     *
+     * @return All the types and roles which have had instances added, removed or modified
+     */
+    public Set<ConceptId> getModifiedTypes(){
+        return modifiedTypes;
+    }
+
     /**
      *
      * @return All the types currently cached in the transaction. Used for
@@ -218,12 +307,18 @@ public class TxCache {
         modifiedRelationships.remove(concept);
         modifiedRules.remove(concept);
         modifiedAttributes.remove(concept);
+        if (concept.isEntity() || concept.isAttribute()) {
+            modifiedEntityIds.remove(vertexId(concept));
+            modifiedAttributeIds.remove(vertexId(concept));
+        }
 
         conceptCache.remove(concept.getId());
         if (concept.isSchemaConcept()) {
             Label label = ((SchemaConceptImpl) concept).getLabel();
             schemaConceptCache.remove(label);
             labelCache.remove(label);
+            removedLabels.add(label);
+            removedSchemaConcepts.add(concept.getId());
         }
     }
 
@@ -242,25 +337,19 @@ public class TxCache {
      * @param concept The concept to be cached.
      */
     public void cacheConcept(Concept concept){
+        if(isCompact && (concept.isEntity() || concept.isAttribute())) return;
+
         conceptCache.put(concept.getId(), concept);
         if(concept.isSchemaConcept()){
             SchemaConceptImpl schemaConcept = (SchemaConceptImpl) concept;
             schemaConceptCache.put(schemaConcept.getLabel(), schemaConcept);
             labelCache.put(schemaConcept.getLabel(), schemaConcept.getLabelId());
+            removedLabels.remove(schemaConcept.getLabel());
+            removedSchemaConcepts.remove(schemaConcept.getId());
         }
     }
 
 
-    /**
-     * Caches the mapping of a type label to a type id. This is necessary in order for ANY types to be looked up.
-     *
-     * @param label The type label to cache
-     * @param id Its equivalent id which can be looked up quickly in the graph
-     */
-    private void cacheLabel(Label label, LabelId id){
-        labelCache.put(label, id);
-    }
-
     /**
      * Checks if the concept has been built before and is currently cached
      *
@@ -268,7 +357,7 @@ public class TxCache {
      * @return true if the concept is cached
      */
     public boolean isConceptCached(ConceptId id){
-        return conceptCache.containsKey(id);
+        return conceptCache.containsKey(id) || sharedSchemaConcept(id) != null;
     }
 
     /**
@@ -277,7 +366,7 @@ public class TxCache {
      * @return true if the concept is cached
      */
     public boolean isTypeCached(Label label){
-        return schemaConceptCache.containsKey(label);
+        return schemaConceptCache.containsKey(label) || sharedSchemaConcept(label) != null;
     }
 
     /**
@@ -286,7 +375,7 @@ public class TxCache {
      * @return true if the label is cached and has a valid mapping to a id
      */
     public boolean isLabelCached(Label label){
-        return labelCache.containsKey(label);
+        return convertLabelToId(label) != null;
     }
 
     /**
@@ -297,8 +386,10 @@ public class TxCache {
      * @return The cached concept
      */
     public <X extends Concept> X getCachedConcept(ConceptId id){
+        Concept concept = conceptCache.get(id);
+        if(concept == null) concept = sharedSchemaConcept(id);
         //noinspection unchecked
-        return (X) conceptCache.get(id);
+        return (X) concept;
     }
 
     /**
@@ -309,25 +400,66 @@ public class TxCache {
      * @return The cached type
      */
     public <X extends SchemaConcept> X getCachedSchemaConcept(Label label){
+        SchemaConcept schemaConcept = schemaConceptCache.get(label);
+        if(schemaConcept == null) schemaConcept = sharedSchemaConcept(label);
         //noinspection unchecked
-        return (X) schemaConceptCache.get(label);
+        return (X) schemaConcept;
     }
 
+    @Nullable
     public LabelId convertLabelToId(Label label){
-        return labelCache.get(label);
+        LabelId id = labelCache.get(label);
+        if(id == null && schemaSnapshot != null && !removedLabels.contains(label)) id = schemaSnapshot.labels().get(label);
+        return id;
+    }
+
+    @Nullable
+    private SchemaConcept sharedSchemaConcept(Label label){
+        if(schemaSnapshot == null || removedLabels.contains(label)) return null;
+        return useSharedSchemaConcept(schemaSnapshot.types().get(label));
+    }
+
+    @Nullable
+    private SchemaConcept sharedSchemaConcept(ConceptId id){
+        if(schemaSnapshot == null || removedSchemaConcepts.contains(id)) return null;
+        return useSharedSchemaConcept(schemaSnapshot.type(id));
+    }
+
+    //Tracks the shared schema concepts used by this transaction so that their components are cleared when it closes
+    @Nullable
+    private SchemaConcept useSharedSchemaConcept(@Nullable SchemaConcept schemaConcept){
+        if(schemaConcept != null && isTxOpen) usedSchemaConcepts.add(schemaConcept);
+        return schemaConcept;
     }
 
     public void addedInstance(ConceptId conceptId){
         shardingCount.compute(conceptId, (key, value) -> value == null ? 1 : value + 1);
+        modifiedTypes.add(conceptId);
         cleanupShardingCount(conceptId);
     }
     public void removedInstance(ConceptId conceptId){
         shardingCount.compute(conceptId, (key, value) -> value == null ? -1 : value - 1);
+        modifiedTypes.add(conceptId);
         cleanupShardingCount(conceptId);
     }
     private void cleanupShardingCount(ConceptId conceptId){
         if(shardingCount.get(conceptId) == 0) shardingCount.remove(conceptId);
     }
+    public void modifiedInstance(ConceptId typeId){
+        modifiedTypes.add(typeId);
+    }
+    public void addedRolePlayer(ConceptId roleId){
+        rolePlayerCount.merge(roleId, 1L, Long::sum);
+        modifiedTypes.add(roleId);
+    }
+    public void removedRolePlayer(ConceptId roleId){
+        rolePlayerCount.merge(roleId, -1L, Long::sum);
+        modifiedTypes.add(roleId);
+    }
+    public void addedAttributeValue(ConceptId attributeTypeId, Number persistedValue){
+        minimumValues.merge(attributeTypeId, persistedValue.doubleValue(), Math::min);
+        maximumValues.merge(attributeTypeId, persistedValue.doubleValue(), Math::max);
+    }
 
     public Json getFormattedLog(){
         //Concepts In Need of Inspection
@@ -344,10 +476,16 @@ public class TxCache {
             typesWithInstanceChanges.add(jsonObject);
         });
 
+        //Types with modified instances
+        Json modifiedTypeIds = Json.array();
+        getModifiedTypes().forEach(typeId -> modifiedTypeIds.add(typeId.getValue()));
+
         //Final Commit Log
         Json formattedLog = Json.object();
         formattedLog.set(REST.Request.COMMIT_LOG_FIXING, conceptsForInspection);
         formattedLog.set(REST.Request.COMMIT_LOG_COUNTING, typesWithInstanceChanges);
+        formattedLog.set(REST.Request.COMMIT_LOG_MODIFIED_TYPES, modifiedTypeIds);
+        formattedLog.set(REST.Request.COMMIT_LOG_SCHEMA_MODIFIED, isSchemaModified());
 
         return formattedLog;
     }
@@ -360,7 +498,7 @@ public class TxCache {
 
     //--------------------------------------- Concepts Needed For Validation -------------------------------------------
     public Set<Entity> getModifiedEntities() {
-        return modifiedEntities;
+        return isCompact ? new TrackedByVertexId<>(modifiedEntityIds) : modifiedEntities;
     }
 
     public Set<Role> getModifiedRoles() {
@@ -379,7 +517,7 @@ public class TxCache {
     }
 
     public Set<Attribute> getModifiedAttributes() {
-        return modifiedAttributes;
+        return isCompact ? new TrackedByVertexId<>(modifiedAttributeIds) : modifiedAttributes;
     }
 
     public Set<Casting> getModifiedCastings() {
@@ -390,9 +528,17 @@ public class TxCache {
     public void closeTx(String closedReason){
         isTxOpen = false;
         this.closedReason = closedReason;
+        schemaVersion = null;
+
+        releaseAttributeReservations(false);
+        attributeReservations = null;
 
-        //Clear Concept Caches
+        //Clear Concept Caches. A schema mutation can change any shared schema concept so then they are all cleared.
         conceptCache.values().forEach(concept -> ContainsTxCache.from(concept).txCacheClear());
+        usedSchemaConcepts.forEach(concept -> ContainsTxCache.from(concept).txCacheClear());
+        if(isSchemaModified && schemaSnapshot != null) {
+            schemaSnapshot.types().values().forEach(concept -> ContainsTxCache.from(concept).txCacheClear());
+        }
 
         //Clear Collection Caches
         modifiedEntities.clear();
@@ -402,21 +548,114 @@ public class TxCache {
         modifiedRules.clear();
         modifiedAttributes.clear();
         modifiedCastings.clear();
+        modifiedEntityIds.clear();
+        modifiedAttributeIds.clear();
         relationIndexCache.clear();
         shardingCount.clear();
+        rolePlayerCount.clear();
+        minimumValues.clear();
+        maximumValues.clear();
+        modifiedTypes.clear();
         conceptCache.clear();
         schemaConceptCache.clear();
         labelCache.clear();
+        schemaSnapshot = null;
+        removedLabels.clear();
+        removedSchemaConcepts.clear();
+        usedSchemaConcepts.clear();
+        isSchemaModified = false;
+    }
+    /**
+     * @param reservations the service used to reserve the indices of the attributes created in this transaction
+     */
+    public void reserveAttributesWith(AttributeReservations reservations){
+        attributeReservations = reservations;
     }
+
+    /**
+     * Reserves the index of an attribute which is about to be created.
+     *
+     * @param keyspace the keyspace of the transaction
+     * @param index the index of the attribute
+     * @return the reservation, or nothing if no reservation was made by this call
+     */
+    public Optional<AttributeReservations.Reservation> reserveAttribute(Keyspace keyspace, String index){
+        if(attributeReservations == null || reservedAttributes.containsKey(index)) return Optional.empty();
+
+        Optional<AttributeReservations.Reservation> reservation = attributeReservations.reserve(keyspace, index, reservedAttributes.values());
+        reservation.ifPresent(held -> reservedAttributes.put(index, held));
+        return reservation;
+    }
+
+    /**
+     * Records the id of an attribute created under a reserved index so it can be shared once the transaction commits
+     *
+     * @param index the index of the attribute
+     * @param attributeId the id of the new attribute
+     */
+    public void createdAttribute(String index, ConceptId attributeId){
+        if(reservedAttributes.containsKey(index)) reservedAttributeIds.put(index, attributeId);
+    }
+
+    /**
+     * Releases all the attribute indices reserved by this transaction
+     *
+     * @param committed true if the transaction was committed, in which case the ids of the attributes it created are
+     *                  shared with the next holders of the reservations
+     */
+    public void releaseAttributeReservations(boolean committed){
+        reservedAttributes.forEach((index, reservation) -> {
+            ConceptId attributeId = reservedAttributeIds.get(index);
+            if(committed && attributeId != null){
+                reservation.releaseCommitted(attributeId);
+            } else {
+                reservation.release();
+            }
+        });
+        reservedAttributes.clear();
+        reservedAttributeIds.clear();
+    }
+
     public void openTx(GraknTxType txType){
         isTxOpen = true;
         this.txType = txType;
+        isCompact = GraknTxType.BATCH.equals(txType);
         closedReason = null;
+        globalCache.clearStaleThreadReads();
     }
     public boolean isTxOpen(){
         return isTxOpen;
     }
 
+    /**
+     * Marks the schema as modified in this transaction, so that caches derived from the schema can be invalidated
+     * when the transaction commits.
+     */
+    public void schemaModified(){
+        isSchemaModified = true;
+    }
+    public boolean isSchemaModified(){
+        return isSchemaModified;
+    }
+
+    /**
+     * @return the version of the schema read by this transaction, or null if it has not been read yet
+     */
+    @Nullable
+    public Long getSchemaVersion(){
+        return schemaVersion;
+    }
+    public void setSchemaVersion(long schemaVersion){
+        this.schemaVersion = schemaVersion;
+    }
+
+    /**
+     * @return true if the schema or any instance has been modified in this transaction
+     */
+    public boolean isModified(){
+        return isSchemaModified || !modifiedTypes.isEmpty();
+    }
+
     public GraknTxType txType(){
         return txType;
     }
@@ -424,4 +663,49 @@ public class TxCache {
     public String getClosedReason(){
         return closedReason;
     }
+
+    private static Object vertexId(Concept concept){
+        return ((ConceptImpl) concept).vertex().element().id();
+    }
+
+    /**
+     * A read only view of concepts tracked by vertex id, which rebuilds each concept as it is iterated over.
+     * Vertices which no longer exist are skipped, so the size is only known by rebuilding the concepts.
+     *
+     * @param <X> The type of the concepts tracked
+     */
+    private class TrackedByVertexId<X extends Concept> extends AbstractSet<X> {
+        private final VertexIdSet vertexIds;
+
+        TrackedByVertexId(VertexIdSet vertexIds){
+            this.vertexIds = vertexIds;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<X> iterator() {
+            Iterator<X> concepts = Iterators.transform(vertexIds.iterator(), id -> (X) load(id));
+            return Iterators.filter(concepts, Objects::nonNull);
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            return object instanceof ConceptImpl && vertexIds.contains(vertexId((Concept) object));
+        }
+
+        @Override
+        public int size() {
+            return Iterators.size(iterator());
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !iterator().hasNext();
+        }
+
+        @Nullable
+        private Concept load(Object vertexId){
+            return conceptLoader.apply(vertexId);
+        }
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import com.google.common.collect.Iterators;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ *     A compact set of vertex ids
+ * </p>
+ *
+ * <p>
+ *     {@link Long} vertex ids, which is what the supported backends generate, are stored unboxed in an open addressing
+ *     hash table. Any other kind of id is stored in a plain {@link HashSet}.
+ *     This lets a {@link TxCache} track hundreds of thousands of vertices in a bulk loading transaction using a small
+ *     fraction of the memory needed to hold the concepts themselves.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+class VertexIdSet implements Iterable<Object> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] table = emptyTable(INITIAL_CAPACITY);
+    private int longCount = 0;
+    private boolean containsEmptyMarker = false;
+    private final Set<Object> otherIds = new HashSet<>();
+
+    void add(Object id){
+        if(!(id instanceof Long)) {
+            otherIds.add(id);
+            return;
+        }
+
+        long value = (Long) id;
+        if(value == EMPTY){
+            containsEmptyMarker = true;
+            return;
+        }
+
+        int slot = slot(table, value);
+        if(table[slot] == value) return;
+
+        table[slot] = value;
+        longCount++;
+        if(longCount * 2 > table.length) resize(table.length * 2);
+    }
+
+    void remove(Object id){
+        if(!(id instanceof Long)) {
+            otherIds.remove(id);
+            return;
+        }
+
+        long value = (Long) id;
+        if(value == EMPTY){
+            containsEmptyMarker = false;
+            return;
+        }
+
+        int slot = slot(table, value);
+        if(table[slot] != value) return;
+
+        table[slot] = EMPTY;
+        longCount--;
+
+        //Reinsert the rest of the cluster so lookups do not stop at the hole which was just made
+        for(int i = next(slot); table[i] != EMPTY; i = next(i)){
+            long moved = table[i];
+            table[i] = EMPTY;
+            table[slot(table, moved)] = moved;
+        }
+    }
+
+    boolean contains(Object id){
+        if(!(id instanceof Long)) return otherIds.contains(id);
+
+        long value = (Long) id;
+        if(value == EMPTY) return containsEmptyMarker;
+        return table[slot(table, value)] == value;
+    }
+
+    int size(){
+        return longCount + (containsEmptyMarker ? 1 : 0) + otherIds.size();
+    }
+
+    boolean isEmpty(){
+        return size() == 0;
+    }
+
+    void clear(){
+        table = emptyTable(INITIAL_CAPACITY);
+        longCount = 0;
+        containsEmptyMarker = false;
+        otherIds.clear();
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        Iterator<Object> longIds = new Iterator<Object>() {
+            private final long[] snapshot = table;
+            private int index = advance(0);
+
+            private int advance(int from){
+                int i = from;
+                while(i < snapshot.length && snapshot[i] == EMPTY) i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < snapshot.length;
+            }
+
+            @Override
+            public Object next() {
+                if(!hasNext()) throw new NoSuchElementException();
+                long value = snapshot[index];
+                index = advance(index + 1);
+                return value;
+            }
+        };
+
+        Iterator<Object> emptyMarker = containsEmptyMarker ?
+                Iterators.<Object>singletonIterator(EMPTY) : Collections.emptyIterator();
+
+        return Iterators.concat(longIds, emptyMarker, otherIds.iterator());
+    }
+
+    private void resize(int capacity){
+        long[] old = table;
+        table = emptyTable(capacity);
+        for(long value : old){
+            if(value != EMPTY) table[slot(table, value)] = value;
+        }
+    }
+
+    private int next(int slot){
+        return (slot + 1) & (table.length - 1);
+    }
+
+    /**
+     * @return the slot which contains the value, or the empty slot where it would be inserted
+     */
+    private static int slot(long[] table, long value){
+        int mask = table.length - 1;
+        int slot = mix(value) & mask;
+        while(table[slot] != EMPTY && table[slot] != value){
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long value){
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static long[] emptyTable(int capacity){
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
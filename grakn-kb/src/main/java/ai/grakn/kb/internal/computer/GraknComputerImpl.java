@@ -19,7 +19,11 @@
 package ai.grakn.kb.internal.computer;
 
 import ai.grakn.GraknComputer;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.LabelId;
+import ai.grakn.kb.admin.KeyspaceStatistics;
+import ai.grakn.kb.internal.cache.KeyspaceStatisticsImpl;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
@@ -34,6 +38,8 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.util.Set;
@@ -54,6 +60,10 @@ import java.util.stream.Collectors;
  * <p>
  * {@link MapReduce} processed the vertices in a parallel manner by aggregating values emitted by vertices.
  * MapReduce can be executed alone or used to collect the results after executing a VertexProgram.
+ * <p>
+ * When a local graph is provided, subgraphs with fewer vertices than the local threshold are computed in memory by a
+ * {@link GraknLocalComputer}, which avoids the cost of starting Spark jobs. The instance counts of the selected types
+ * are checked first, so subgraphs known to be larger are never loaded into memory.
  * </p>
  *
  * @author duckofyork
@@ -61,24 +71,84 @@ import java.util.stream.Collectors;
  * @author fppt
  */
 public class GraknComputerImpl implements GraknComputer {
+    public static final String LOCAL_COMPUTER_THRESHOLD = "knowledge-base.analytics.local-threshold";
+    public static final long DEFAULT_LOCAL_COMPUTER_THRESHOLD = 10_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraknComputerImpl.class);
+
     private final Graph graph;
     private final Class<? extends GraphComputer> graphComputerClass;
+    private final @Nullable Graph localGraph;
+    private final long localThreshold;
+    private final @Nullable Keyspace keyspace;
     private GraphComputer graphComputer = null;
 
     public GraknComputerImpl(Graph graph) {
+        this(graph, null, 0, null);
+    }
+
+    /**
+     * @param graph          the graph to compute on
+     * @param localGraph     the graph to compute on without Spark, if the subgraph is small enough
+     * @param localThreshold the maximum number of vertices a subgraph can have to be computed without Spark
+     * @param keyspace       the keyspace of the graph, which Spark jobs use to share a {@link GraphSnapshots} snapshot
+     */
+    public GraknComputerImpl(Graph graph, @Nullable Graph localGraph, long localThreshold, @Nullable Keyspace keyspace) {
         this.graph = graph;
+        this.keyspace = keyspace;
         if (graph instanceof TinkerGraph) {
             graphComputerClass = TinkerGraphComputer.class;
         } else {
             graphComputerClass = GraknSparkComputer.class;
         }
+        this.localGraph = graphComputerClass.equals(GraknSparkComputer.class) && localThreshold > 0 ? localGraph : null;
+        this.localThreshold = localThreshold;
     }
 
     @Override
     public ComputerResult compute(@Nullable VertexProgram program, @Nullable MapReduce mapReduce,
                                   @Nullable Set<LabelId> types, Boolean includesRolePlayerEdges) {
+        if (localGraph != null && mayFitLocally(types)) {
+            try {
+                return submit(new GraknLocalComputer(localGraph, localThreshold), program, mapReduce, types,
+                        includesRolePlayerEdges);
+            } catch (GraknLocalComputer.ThresholdExceededException e) {
+                LOG.debug("Computing on Spark: " + e.getMessage());
+            }
+        }
+        return submit(getGraphComputer(), program, mapReduce, types, includesRolePlayerEdges);
+    }
+
+    /**
+     * Sums the instance counts of the selected types, so that subgraphs which are known to be too large go straight to
+     * Spark instead of being partly loaded. Types without a count are not known to be large, and are left to the
+     * threshold applied while loading.
+     */
+    private boolean mayFitLocally(@Nullable Set<LabelId> types) {
+        if (types == null || types.isEmpty() || keyspace == null) return true;
+        Set<Integer> labelIds = types.stream().map(LabelId::getValue).collect(Collectors.toSet());
+        KeyspaceStatistics statistics = KeyspaceStatisticsImpl.of(keyspace);
+
+        boolean threaded = localGraph.features().graph().supportsThreadedTransactions();
+        Graph txGraph = threaded ? localGraph.tx().createThreadedTx() : localGraph;
         try {
-            if (program != null) graphComputer = getGraphComputer().program(program);
+            long instances = txGraph.traversal().V()
+                    .has(Schema.VertexProperty.LABEL_ID.name(), P.within(labelIds))
+                    .values(Schema.VertexProperty.ID.name()).toList().stream()
+                    .map(id -> statistics.instanceCount(ConceptId.of(id.toString())))
+                    .mapToLong(count -> count.orElse(0L)).sum();
+            return instances <= localThreshold;
+        } finally {
+            if (threaded) txGraph.tx().rollback();
+        }
+    }
+
+    private ComputerResult submit(GraphComputer computer, @Nullable VertexProgram program,
+                                  @Nullable MapReduce mapReduce, @Nullable Set<LabelId> types,
+                                  boolean includesRolePlayerEdges) {
+        try {
+            graphComputer = computer;
+            if (program != null) graphComputer = graphComputer.program(program);
             if (mapReduce != null) graphComputer = graphComputer.mapReduce(mapReduce);
             applyFilters(types, includesRolePlayerEdges);
             return graphComputer.submit().get();
@@ -95,8 +165,10 @@ public class GraknComputerImpl implements GraknComputer {
 
     @Override
     public void killJobs() {
-        if (graphComputer != null && graphComputerClass.equals(GraknSparkComputer.class)) {
+        if (graphComputer instanceof GraknSparkComputer) {
             ((GraknSparkComputer) graphComputer).cancelJobs();
+        } else if (graphComputer instanceof GraknLocalComputer) {
+            ((GraknLocalComputer) graphComputer).cancelJobs();
         }
     }
 
@@ -122,7 +194,11 @@ public class GraknComputerImpl implements GraknComputer {
     }
 
     protected GraphComputer getGraphComputer() {
-        return graph.compute(this.graphComputerClass);
+        GraphComputer computer = graph.compute(this.graphComputerClass);
+        if (keyspace != null && computer instanceof GraknSparkComputer) {
+            ((GraknSparkComputer) computer).snapshotOf(keyspace);
+        }
+        return computer;
     }
 
     private void applyFilters(Set<LabelId> types, boolean includesRolePlayerEdge) {
@@ -0,0 +1,385 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.computer;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.DefaultComputerResult;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>
+ * A {@link GraphComputer} which runs on a single machine, without Spark
+ * </p>
+ *
+ * <p>
+ * The filtered subgraph is copied into memory as a {@link GraknLocalSubgraph} before the computation starts, so this
+ * is only suitable for keyspaces which fit in memory. If the subgraph has more vertices than the given threshold
+ * a {@link ThresholdExceededException} is thrown when submitting, so the computation can be run on Spark instead.
+ * </p>
+ *
+ * <p>
+ * Vertices are executed in parallel on a {@link ForkJoinPool} shared by all computations. The number of workers only
+ * decides how finely the work is split. Messages are stored by their sender and collected by
+ * their receivers, which avoids any contention between the vertices of an iteration.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public final class GraknLocalComputer implements GraphComputer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraknLocalComputer.class);
+
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    //Shared by every computation, so concurrent queries cannot start more threads than there are cores
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final ThreadFactory threadFactoryBoss =
+            new BasicThreadFactory.Builder().namingPattern(GraknLocalComputer.class.getSimpleName() + "-boss").build();
+
+    private final Graph graph;
+    private final long maxVertices;
+    private final GraphFilter graphFilter = new GraphFilter();
+    private final Set<MapReduce> mapReducers = new HashSet<>();
+    private VertexProgram<?> vertexProgram = null;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private volatile boolean cancelled = false;
+
+    GraknLocalComputer(Graph graph, long maxVertices) {
+        this.graph = graph;
+        this.maxVertices = maxVertices;
+    }
+
+    @Override
+    public GraphComputer result(ResultGraph resultGraph) {
+        return this;
+    }
+
+    @Override
+    public GraphComputer persist(Persist persist) {
+        return this;
+    }
+
+    @Override
+    public GraphComputer program(VertexProgram vertexProgram) {
+        this.vertexProgram = vertexProgram;
+        return this;
+    }
+
+    @Override
+    public GraphComputer mapReduce(MapReduce mapReduce) {
+        this.mapReducers.add(mapReduce);
+        return this;
+    }
+
+    @Override
+    public GraphComputer workers(int workers) {
+        this.workers = workers;
+        return this;
+    }
+
+    @Override
+    public GraphComputer vertices(Traversal<Vertex, Vertex> vertexFilter) {
+        this.graphFilter.setVertexFilter(vertexFilter);
+        return this;
+    }
+
+    @Override
+    public GraphComputer edges(Traversal<Vertex, Edge> edgeFilter) {
+        this.graphFilter.setEdgeFilter(edgeFilter);
+        return this;
+    }
+
+    @Override
+    public GraphComputer configure(String key, Object value) {
+        return this;
+    }
+
+    /**
+     * Copies the subgraph into memory and then runs the computation in the background
+     *
+     * @throws ThresholdExceededException if the subgraph has more vertices than this computer accepts
+     */
+    @Override
+    public Future<ComputerResult> submit() {
+        if (vertexProgram != null) mapReducers.addAll(vertexProgram.getMapReducers());
+
+        long startTime = System.currentTimeMillis();
+        GraknLocalSubgraph subgraph = GraknLocalSubgraph.load(graph, graphFilter, maxVertices);
+        LOG.debug("Loaded " + subgraph.size() + " vertices in " + (System.currentTimeMillis() - startTime) + " ms");
+
+        ExecutorService computerService = Executors.newSingleThreadExecutor(threadFactoryBoss);
+        Future<ComputerResult> result = computerService.submit(() -> {
+            try {
+                GraknLocalMemory memory = new GraknLocalMemory(vertexProgram);
+                if (vertexProgram != null) executeVertexProgram(subgraph, memory, POOL);
+                for (MapReduce mapReduce : mapReducers) {
+                    executeMapReduce(mapReduce, subgraph, memory, POOL);
+                }
+                memory.setRuntime(System.currentTimeMillis() - startTime);
+                return new DefaultComputerResult(graph, memory.asImmutable());
+            } catch (Exception e) {
+                // So it throws the same exception as tinker does
+                throw new RuntimeException(e);
+            }
+        });
+        computerService.shutdown();
+        return result;
+    }
+
+    public void cancelJobs() {
+        cancelled = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void executeVertexProgram(GraknLocalSubgraph subgraph, GraknLocalMemory memory, ForkJoinPool pool) {
+        VertexProgram<Object> program = (VertexProgram<Object>) vertexProgram;
+        Optional<MessageCombiner<Object>> combiner = program.getMessageCombiner();
+
+        program.setup(memory);
+        MessageBoard messages = new MessageBoard(subgraph.size());
+        while (true) {
+            memory.startExecute();
+            MessageBoard previousMessages = messages;
+            MessageBoard currentMessages = new MessageBoard(subgraph.size());
+            executeInParallel(pool, subgraph.size(), (start, end) -> {
+                VertexProgram<Object> worker = program.clone();
+                worker.workerIterationStart(memory);
+                for (int i = start; i < end; i++) {
+                    checkCancelled();
+                    LocalMessenger messenger = new LocalMessenger(i, subgraph, previousMessages, currentMessages, combiner);
+                    worker.execute(subgraph.vertex(i), messenger, memory);
+                }
+                worker.workerIterationEnd(memory);
+            });
+            memory.endExecute();
+            messages = currentMessages;
+
+            if (program.terminate(memory)) {
+                memory.incrIteration();
+                break;
+            } else {
+                memory.incrIteration();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void executeMapReduce(MapReduce mapReduce, GraknLocalSubgraph subgraph, GraknLocalMemory memory,
+                                  ForkJoinPool pool) {
+        Map<Object, Queue<Object>> mapped = new ConcurrentHashMap<>();
+        MapReduce.MapEmitter<Object, Object> mapEmitter = (key, value) ->
+                mapped.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(value);
+
+        executeInParallel(pool, subgraph.size(), (start, end) -> {
+            MapReduce<Object, Object, Object, Object, Object> worker = mapReduce.clone();
+            worker.workerStart(MapReduce.Stage.MAP);
+            for (int i = start; i < end; i++) {
+                checkCancelled();
+                worker.map(subgraph.vertex(i), mapEmitter);
+            }
+            worker.workerEnd(MapReduce.Stage.MAP);
+        });
+
+        List<KeyValue<Object, Object>> keyValues;
+        Optional<Comparator<Object>> keySort;
+        if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+            List<Object> keys = new ArrayList<>(mapped.keySet());
+            Queue<KeyValue<Object, Object>> reduced = new ConcurrentLinkedQueue<>();
+            MapReduce.ReduceEmitter<Object, Object> reduceEmitter = (key, value) -> reduced.add(new KeyValue<>(key, value));
+
+            executeInParallel(pool, keys.size(), (start, end) -> {
+                MapReduce<Object, Object, Object, Object, Object> worker = mapReduce.clone();
+                worker.workerStart(MapReduce.Stage.REDUCE);
+                for (int i = start; i < end; i++) {
+                    checkCancelled();
+                    worker.reduce(keys.get(i), mapped.get(keys.get(i)).iterator(), reduceEmitter);
+                }
+                worker.workerEnd(MapReduce.Stage.REDUCE);
+            });
+            keyValues = new ArrayList<>(reduced);
+            keySort = mapReduce.getReduceKeySort();
+        } else {
+            keyValues = mapped.entrySet().stream()
+                    .flatMap(entry -> entry.getValue().stream().map(value -> new KeyValue<>(entry.getKey(), value)))
+                    .collect(toList());
+            keySort = mapReduce.getMapKeySort();
+        }
+        keySort.ifPresent(comparator -> keyValues.sort((a, b) -> comparator.compare(a.getKey(), b.getKey())));
+
+        memory.set(mapReduce.getMemoryKey(), mapReduce.generateFinalResult(keyValues.iterator()));
+    }
+
+    /**
+     * Split a range into chunks which are executed on the pool, and wait for all of them to complete
+     */
+    private void executeInParallel(ForkJoinPool pool, int size, RangeTask task) {
+        int chunkSize = Math.max(1, size / (workers * CHUNKS_PER_WORKER));
+        List<Callable<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < size; start += chunkSize) {
+            int chunkStart = start;
+            int chunkEnd = Math.min(size, start + chunkSize);
+            chunks.add(() -> {
+                task.execute(chunkStart, chunkEnd);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> chunk : pool.invokeAll(chunks)) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void checkCancelled() {
+        if (cancelled) throw new TraversalInterruptedException();
+    }
+
+    private interface RangeTask {
+        void execute(int start, int end);
+    }
+
+    /**
+     * The messages sent during a single iteration. Messages sent through local scopes are stored with their sender,
+     * which only ever writes to its own slot. Messages sent to specific vertices are stored with their receiver.
+     */
+    private static class MessageBoard {
+        private final int size;
+        private final Map<MessageScope.Local<?>, List<Object>[]> sent = new ConcurrentHashMap<>();
+        private final Map<Integer, Queue<Object>> received = new ConcurrentHashMap<>();
+
+        MessageBoard(int size) {
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        void send(int sender, MessageScope.Local<?> scope, Object message) {
+            List<Object>[] messages = sent.computeIfAbsent(scope, s -> new List[size]);
+            if (messages[sender] == null) messages[sender] = new ArrayList<>();
+            messages[sender].add(message);
+        }
+
+        void send(int receiver, Object message) {
+            received.computeIfAbsent(receiver, r -> new ConcurrentLinkedQueue<>()).add(message);
+        }
+    }
+
+    private static class LocalMessenger implements Messenger<Object> {
+        private final int vertex;
+        private final GraknLocalSubgraph subgraph;
+        private final MessageBoard previousMessages;
+        private final MessageBoard currentMessages;
+        private final Optional<MessageCombiner<Object>> combiner;
+
+        LocalMessenger(int vertex, GraknLocalSubgraph subgraph, MessageBoard previousMessages,
+                       MessageBoard currentMessages, Optional<MessageCombiner<Object>> combiner) {
+            this.vertex = vertex;
+            this.subgraph = subgraph;
+            this.previousMessages = previousMessages;
+            this.currentMessages = currentMessages;
+            this.combiner = combiner;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<Object> receiveMessages() {
+            List<Object> messages = new ArrayList<>();
+            previousMessages.sent.forEach((scope, sent) -> {
+                MessageScope.Local<Object> localScope = (MessageScope.Local<Object>) scope;
+                subgraph.forEachSender(vertex, localScope, (sender, edge) -> {
+                    if (sent[sender] != null) {
+                        sent[sender].forEach(message ->
+                                messages.add(localScope.getEdgeFunction().apply(message, edge)));
+                    }
+                });
+            });
+            Queue<Object> received = previousMessages.received.get(vertex);
+            if (received != null) messages.addAll(received);
+
+            if (combiner.isPresent() && messages.size() > 1) {
+                Object combined = messages.stream().reduce(combiner.get()::combine).get();
+                return Collections.singletonList(combined).iterator();
+            }
+            return messages.iterator();
+        }
+
+        @Override
+        public void sendMessage(MessageScope messageScope, Object message) {
+            if (messageScope instanceof MessageScope.Local) {
+                currentMessages.send(vertex, (MessageScope.Local<?>) messageScope, message);
+            } else {
+                ((MessageScope.Global) messageScope).vertices().forEach(receiver ->
+                        subgraph.index(receiver.id()).ifPresent(index -> currentMessages.send(index, message)));
+            }
+        }
+    }
+
+    /**
+     * Thrown when the subgraph has too many vertices to be computed locally
+     */
+    static final class ThresholdExceededException extends RuntimeException {
+        ThresholdExceededException(long maxVertices) {
+            super("The subgraph has more than " + maxVertices + " vertices");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * The {@link Memory} of a {@link GraknLocalComputer}
+ * </p>
+ *
+ * <p>
+ * Values added while vertices are being executed are reduced into the current memory, while vertices read the
+ * memory as it was at the start of the iteration. Outside of an iteration both reads and writes use the current memory.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+final class GraknLocalMemory implements Memory.Admin {
+    private final Map<String, MemoryComputeKey> memoryKeys = new HashMap<>();
+    private final AtomicInteger iteration = new AtomicInteger(0);
+    private final AtomicLong runtime = new AtomicLong(0L);
+    private Map<String, Object> previousMap = new ConcurrentHashMap<>();
+    private final Map<String, Object> currentMap = new ConcurrentHashMap<>();
+    private volatile boolean inExecute = false;
+
+    GraknLocalMemory(@Nullable VertexProgram<?> vertexProgram) {
+        if (vertexProgram != null) {
+            for (MemoryComputeKey<?> key : vertexProgram.getMemoryComputeKeys()) {
+                memoryKeys.put(key.getKey(), key);
+            }
+        }
+    }
+
+    /**
+     * Start executing the vertices of an iteration, so they all read the memory as it is now
+     */
+    void startExecute() {
+        previousMap = new ConcurrentHashMap<>(currentMap);
+        inExecute = true;
+    }
+
+    /**
+     * Finish executing the vertices of an iteration, so the values they added become visible
+     */
+    void endExecute() {
+        inExecute = false;
+    }
+
+    @Override
+    public Set<String> keys() {
+        return (inExecute ? previousMap : currentMap).keySet();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R get(String key) throws IllegalArgumentException {
+        R value = (R) (inExecute ? previousMap.get(key) : currentMap.get(key));
+        if (value == null) throw Memory.Exceptions.memoryDoesNotExist(key);
+        return value;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        currentMap.put(key, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void add(String key, Object value) {
+        MemoryComputeKey memoryKey = memoryKeys.get(key);
+        currentMap.compute(key, (k, current) ->
+                current == null || memoryKey == null ? value : memoryKey.getReducer().apply(current, value));
+    }
+
+    @Override
+    public int getIteration() {
+        return iteration.get();
+    }
+
+    @Override
+    public long getRuntime() {
+        return runtime.get();
+    }
+
+    @Override
+    public void incrIteration() {
+        iteration.incrementAndGet();
+    }
+
+    @Override
+    public void setIteration(int iteration) {
+        this.iteration.set(iteration);
+    }
+
+    @Override
+    public void setRuntime(long runtime) {
+        this.runtime.set(runtime);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.computer;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * An in-memory copy of the subgraph a {@link GraknLocalComputer} runs on
+ * </p>
+ *
+ * <p>
+ * Each vertex is copied along with its properties and incident edges, and is identified by its position in the
+ * subgraph. The adjacency of the subgraph is stored in compressed sparse row arrays, one for each direction, so
+ * messages sent through plain incident edges can be routed without evaluating any traversal.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+final class GraknLocalSubgraph {
+    private final Vertex[] vertices;
+    private final Map<Object, Integer> indices;
+    private final Adjacency out;
+    private final Adjacency in;
+    private final Map<MessageScope.Local<?>, Optional<IncidentEdges>> scopes = new ConcurrentHashMap<>();
+
+    private GraknLocalSubgraph(List<Vertex> vertices) {
+        this.vertices = vertices.toArray(new Vertex[vertices.size()]);
+        this.indices = new HashMap<>();
+        for (int i = 0; i < this.vertices.length; i++) {
+            indices.put(this.vertices[i].id(), i);
+        }
+        this.out = new Adjacency(Direction.OUT);
+        this.in = new Adjacency(Direction.IN);
+    }
+
+    /**
+     * Copy the vertices and edges of a graph which satisfy the given filter
+     *
+     * @param graph       the graph to copy the subgraph from
+     * @param filter      the vertices and edges to copy
+     * @param maxVertices the maximum number of vertices to copy
+     * @return the filtered subgraph
+     * @throws GraknLocalComputer.ThresholdExceededException if the subgraph has more than the maximum number of vertices
+     */
+    static GraknLocalSubgraph load(Graph graph, GraphFilter filter, long maxVertices) {
+        boolean threaded = graph.features().graph().supportsThreadedTransactions();
+        Graph txGraph = threaded ? graph.tx().createThreadedTx() : graph;
+        try {
+            List<Vertex> vertices = new ArrayList<>();
+            Iterator<Vertex> iterator = txGraph.vertices();
+            while (iterator.hasNext()) {
+                Vertex vertex = iterator.next();
+                if (!filter.legalVertex(vertex)) continue;
+                if (vertices.size() >= maxVertices) throw new GraknLocalComputer.ThresholdExceededException(maxVertices);
+                StarGraph.of(vertex).applyGraphFilter(filter).ifPresent(star -> vertices.add(star.getStarVertex()));
+            }
+            return new GraknLocalSubgraph(vertices);
+        } finally {
+            if (threaded) txGraph.tx().rollback();
+        }
+    }
+
+    int size() {
+        return vertices.length;
+    }
+
+    Vertex vertex(int index) {
+        return vertices[index];
+    }
+
+    Optional<Integer> index(Object vertexId) {
+        return Optional.ofNullable(indices.get(vertexId));
+    }
+
+    /**
+     * Visit the vertices which send messages to a vertex through the edges of a message scope.
+     * The incident traversal of the scope starts from the senders, so it is reversed to find them from the receiver,
+     * as TinkerGraph's messenger does.
+     *
+     * @param index    the vertex receiving the messages
+     * @param scope    the scope defining the incident edges of the senders
+     * @param consumer visits every sender in the subgraph along with the edge connecting it
+     */
+    void forEachSender(int index, MessageScope.Local<?> scope, NeighbourConsumer consumer) {
+        Optional<IncidentEdges> incidentEdges = scopes.computeIfAbsent(scope, GraknLocalSubgraph::incidentEdges);
+
+        if (incidentEdges.isPresent()) {
+            Direction direction = incidentEdges.get().direction.opposite();
+            Set<String> labels = incidentEdges.get().labels;
+            if (!direction.equals(Direction.IN)) out.forEachNeighbour(index, labels, consumer);
+            if (!direction.equals(Direction.OUT)) in.forEachNeighbour(index, labels, consumer);
+        } else {
+            Vertex vertex = vertices[index];
+            Traversal.Admin<Vertex, Edge> incidentTraversal = scope.getIncidentTraversal().get().asAdmin().clone();
+            TraversalUtil.applyAll(vertex, VertexProgramHelper.reverse(incidentTraversal)).forEachRemaining(edge -> {
+                Vertex other = edge.outVertex().id().equals(vertex.id()) ? edge.inVertex() : edge.outVertex();
+                index(other.id()).ifPresent(neighbour -> consumer.accept(neighbour, edge));
+            });
+        }
+    }
+
+    /**
+     * The incident edges of a scope if the scope only follows incident edges, so it can be answered from the adjacency
+     */
+    private static Optional<IncidentEdges> incidentEdges(MessageScope.Local<?> scope) {
+        List<Step> steps = scope.getIncidentTraversal().get().asAdmin().getSteps();
+        if (steps.size() == 1 && steps.get(0) instanceof VertexStep) {
+            VertexStep<?> step = (VertexStep<?>) steps.get(0);
+            if (step.returnsEdge()) {
+                return Optional.of(new IncidentEdges(step.getDirection(), ImmutableSet.copyOf(step.getEdgeLabels())));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Visits a neighbour of a vertex
+     */
+    interface NeighbourConsumer {
+        void accept(int neighbour, Edge edge);
+    }
+
+    private static class IncidentEdges {
+        private final Direction direction;
+        private final Set<String> labels;
+
+        IncidentEdges(Direction direction, Set<String> labels) {
+            this.direction = direction;
+            this.labels = labels;
+        }
+    }
+
+    /**
+     * The edges of the subgraph in one direction, in compressed sparse row form: the neighbours of vertex {@code i}
+     * are stored between {@code offsets[i]} and {@code offsets[i + 1]}.
+     */
+    private class Adjacency {
+        private final int[] offsets;
+        private final int[] neighbours;
+        private final Edge[] edges;
+
+        Adjacency(Direction direction) {
+            offsets = new int[vertices.length + 1];
+            List<Edge> edgeList = new ArrayList<>();
+            List<Integer> neighbourList = new ArrayList<>();
+            for (int i = 0; i < vertices.length; i++) {
+                offsets[i] = edgeList.size();
+                vertices[i].edges(direction).forEachRemaining(edge -> {
+                    Vertex other = direction.equals(Direction.OUT) ? edge.inVertex() : edge.outVertex();
+                    Integer neighbour = indices.get(other.id());
+                    if (neighbour != null) {
+                        edgeList.add(edge);
+                        neighbourList.add(neighbour);
+                    }
+                });
+            }
+            offsets[vertices.length] = edgeList.size();
+
+            edges = edgeList.toArray(new Edge[edgeList.size()]);
+            neighbours = new int[neighbourList.size()];
+            for (int i = 0; i < neighbours.length; i++) {
+                neighbours[i] = neighbourList.get(i);
+            }
+        }
+
+        void forEachNeighbour(int index, Set<String> labels, NeighbourConsumer consumer) {
+            for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                if (labels.isEmpty() || labels.contains(edges[i].label())) {
+                    consumer.accept(neighbours[i], edges[i]);
+                }
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package ai.grakn.kb.internal.computer;
 
+import ai.grakn.Keyspace;
 import org.apache.commons.configuration.ConfigurationUtils;
 import org.apache.commons.configuration.FileConfiguration;
 import org.apache.commons.configuration.PropertiesConfiguration;
@@ -70,6 +71,7 @@ import org.apache.tinkerpop.gremlin.structure.io.Storage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashSet;
@@ -109,6 +111,7 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
     }
 
     private String jobGroupId = null;
+    private @Nullable Keyspace snapshotKeyspace = null;
 
     public GraknSparkComputer(final HadoopGraph hadoopGraph) {
         super(hadoopGraph);
@@ -141,6 +144,17 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
                 .runWithBackgroundThread(this::submitWithExecutor, "SparkSubmitter");
     }
 
+    /**
+     * Run this job on the persisted graph of the keyspace if {@link GraphSnapshots} are enabled, rather than loading
+     * the graph from the storage backend
+     *
+     * @param keyspace the keyspace the input graph of this job belongs to
+     */
+    public GraknSparkComputer snapshotOf(Keyspace keyspace) {
+        this.snapshotKeyspace = keyspace;
+        return this;
+    }
+
     public void cancelJobs() {
         if (jobGroupId != null) {
             Spark.getContext().cancelJobGroup(jobGroupId);
@@ -187,6 +201,8 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
                     Constants.GREMLIN_SPARK_SKIP_PARTITIONER, false);
             final boolean skipPersist = graphComputerConfiguration.getBoolean(
                     Constants.GREMLIN_SPARK_SKIP_GRAPH_CACHE, false);
+            // a snapshot holds the whole graph, so the filters of this job are applied after loading it
+            final boolean useSnapshot = snapshotKeyspace != null && GraphSnapshots.get().isEnabled() && !inputFromSpark;
 
             if (inputFromHDFS) {
                 String inputLocation = Constants
@@ -226,7 +242,9 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
                         OutputFormatRDD.class.newInstance();
 
                 // if the input class can filter on load, then set the filters
-                if (inputRDD instanceof InputFormatRDD &&
+                if (useSnapshot) {
+                    filtered = this.graphFilter.hasFilter();
+                } else if (inputRDD instanceof InputFormatRDD &&
                         GraphFilterAware.class.isAssignableFrom(hadoopConfiguration.getClass(
                                 Constants.GREMLIN_HADOOP_GRAPH_READER, InputFormat.class, InputFormat.class))) {
                     GraphFilterAware.storeGraphFilter(
@@ -271,52 +289,32 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
 
             // create a message-passing friendly rdd from the input rdd
             boolean partitioned = false;
-            JavaPairRDD<Object, VertexWritable> loadedGraphRDD =
-                    inputRDD.readGraphRDD(graphComputerConfiguration, sparkContext);
-
-            // if there are vertex or edge filters, filter the loaded graph rdd prior to partitioning and persisting
-            if (filtered) {
-                this.logger.debug("Filtering the loaded graphRDD: " + this.graphFilter);
-                loadedGraphRDD = GraknSparkExecutor.applyGraphFilter(loadedGraphRDD, this.graphFilter);
-            }
-            // if the loaded graph RDD is already partitioned use that partitioner,
-            // else partition it with HashPartitioner
-            if (loadedGraphRDD.partitioner().isPresent()) {
-                this.logger.debug("Using the existing partitioner associated with the loaded graphRDD: " +
-                        loadedGraphRDD.partitioner().get());
-            } else {
-                if (!skipPartitioner) {
-                    final Partitioner partitioner =
-                            new HashPartitioner(this.workersSet ?
-                                    this.workers : loadedGraphRDD.partitions().size());
-                    this.logger.debug("Partitioning the loaded graphRDD: " + partitioner);
-                    loadedGraphRDD = loadedGraphRDD.partitionBy(partitioner);
-                    partitioned = true;
-                    assert loadedGraphRDD.partitioner().isPresent();
-                } else {
-                    // no easy way to test this with a test case
-                    assert skipPartitioner == !loadedGraphRDD.partitioner().isPresent();
-
-                    this.logger.debug("Partitioning has been skipped for the loaded graphRDD via " +
-                            Constants.GREMLIN_SPARK_SKIP_PARTITIONER);
+            JavaPairRDD<Object, VertexWritable> loadedGraphRDD;
+            if (useSnapshot) {
+                // the snapshot is already partitioned and persisted, so it is treated like an input from spark
+                loadedGraphRDD = GraphSnapshots.get().getOrLoad(
+                        snapshotKeyspace, this.workersSet ? this.workers : 0, sparkContext.sc(),
+                        () -> partition(inputRDD.readGraphRDD(graphComputerConfiguration, sparkContext), skipPartitioner));
+                if (filtered) {
+                    this.logger.debug("Filtering the graph snapshot: " + this.graphFilter);
+                    loadedGraphRDD = GraknSparkExecutor.applyGraphFilter(loadedGraphRDD, this.graphFilter);
                 }
-            }
-            // if the loaded graphRDD was already partitioned previous,
-            // then this coalesce/repartition will not take place
-            if (this.workersSet) {
-                // ensures that the loaded graphRDD does not have more partitions than workers
-                if (loadedGraphRDD.partitions().size() > this.workers) {
-                    loadedGraphRDD = loadedGraphRDD.coalesce(this.workers);
-                } else {
-                    // ensures that the loaded graphRDD does not have less partitions than workers
-                    if (loadedGraphRDD.partitions().size() < this.workers) {
-                        loadedGraphRDD = loadedGraphRDD.repartition(this.workers);
-                    }
+            } else {
+                loadedGraphRDD = inputRDD.readGraphRDD(graphComputerConfiguration, sparkContext);
+
+                // if there are vertex or edge filters, filter the loaded graph rdd prior to partitioning and persisting
+                if (filtered) {
+                    this.logger.debug("Filtering the loaded graphRDD: " + this.graphFilter);
+                    loadedGraphRDD = GraknSparkExecutor.applyGraphFilter(loadedGraphRDD, this.graphFilter);
                 }
+                partitioned = !loadedGraphRDD.partitioner().isPresent() && !skipPartitioner;
+                loadedGraphRDD = partition(loadedGraphRDD, skipPartitioner);
             }
+            final boolean reusedInput = inputFromSpark || useSnapshot;
+
             // persist the vertex program loaded graph as specified by configuration
             // or else use default cache() which is MEMORY_ONLY
-            if (!skipPersist && (!inputFromSpark || partitioned || filtered)) {
+            if (!skipPersist && (!reusedInput || partitioned || filtered)) {
                 loadedGraphRDD = loadedGraphRDD.persist(StorageLevel.fromString(hadoopConfiguration.get(
                         Constants.GREMLIN_SPARK_GRAPH_STORAGE_LEVEL, "MEMORY_ONLY")));
             }
@@ -450,9 +448,9 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
                     }
                 }
 
-                // unpersist the loaded graph if it will not be used again (no PersistedInputRDD)
+                // unpersist the loaded graph if it will not be used again (no PersistedInputRDD or snapshot)
                 // if the graphRDD was loaded from Spark, but then partitioned or filtered, its a different RDD
-                if (!inputFromSpark || partitioned || filtered) {
+                if (!reusedInput || partitioned || filtered) {
                     loadedGraphRDD.unpersist();
                 }
                 // unpersist the computed graph if it will not be used again (no PersistedOutputRDD)
@@ -489,6 +487,45 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
         return result;
     }
 
+    private JavaPairRDD<Object, VertexWritable> partition(JavaPairRDD<Object, VertexWritable> loadedGraphRDD,
+                                                          boolean skipPartitioner) {
+        // if the loaded graph RDD is already partitioned use that partitioner,
+        // else partition it with HashPartitioner
+        if (loadedGraphRDD.partitioner().isPresent()) {
+            this.logger.debug("Using the existing partitioner associated with the loaded graphRDD: " +
+                    loadedGraphRDD.partitioner().get());
+        } else {
+            if (!skipPartitioner) {
+                final Partitioner partitioner =
+                        new HashPartitioner(this.workersSet ?
+                                this.workers : loadedGraphRDD.partitions().size());
+                this.logger.debug("Partitioning the loaded graphRDD: " + partitioner);
+                loadedGraphRDD = loadedGraphRDD.partitionBy(partitioner);
+                assert loadedGraphRDD.partitioner().isPresent();
+            } else {
+                // no easy way to test this with a test case
+                assert !loadedGraphRDD.partitioner().isPresent();
+
+                this.logger.debug("Partitioning has been skipped for the loaded graphRDD via " +
+                        Constants.GREMLIN_SPARK_SKIP_PARTITIONER);
+            }
+        }
+        // if the loaded graphRDD was already partitioned previous,
+        // then this coalesce/repartition will not take place
+        if (this.workersSet) {
+            // ensures that the loaded graphRDD does not have more partitions than workers
+            if (loadedGraphRDD.partitions().size() > this.workers) {
+                loadedGraphRDD = loadedGraphRDD.coalesce(this.workers);
+            } else {
+                // ensures that the loaded graphRDD does not have less partitions than workers
+                if (loadedGraphRDD.partitions().size() < this.workers) {
+                    loadedGraphRDD = loadedGraphRDD.repartition(this.workers);
+                }
+            }
+        }
+        return loadedGraphRDD;
+    }
+
     private static void updateConfigKeys(org.apache.commons.configuration.Configuration sparkConfiguration) {
         Set<String> wrongKeys = new HashSet<>();
         sparkConfiguration.getKeys().forEachRemaining(wrongKeys::add);
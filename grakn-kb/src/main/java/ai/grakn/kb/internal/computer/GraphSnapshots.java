@@ -0,0 +1,180 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.computer;
+
+import ai.grakn.Keyspace;
+import org.apache.spark.SparkContext;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ *     Keeps the loaded and partitioned graph of a keyspace persisted across {@link GraknSparkComputer} jobs
+ * </p>
+ *
+ * <p>
+ *     Without snapshots every job reads the whole keyspace from the storage backend, partitions it and throws it
+ *     away once the job is done. When snapshots are enabled, the first job of a keyspace persists the partitioned
+ *     graph and later jobs run on it, applying their own filters on top. A snapshot is dropped when engine learns that
+ *     its keyspace was modified and expires after a while, so jobs may see data which is briefly stale.
+ * </p>
+ *
+ * <p>
+ *     Jobs filter the vertices of the snapshot in place, so snapshots must be persisted in a serialized storage
+ *     level, which hands every job its own copy of the vertices.
+ * </p>
+ *
+ * @author pluraliseseverythings
+ */
+public class GraphSnapshots {
+    private static final Logger LOG = LoggerFactory.getLogger(GraphSnapshots.class);
+
+    public static final String DEFAULT_STORAGE_LEVEL = "MEMORY_AND_DISK_SER";
+    public static final long DEFAULT_TTL_MS = 10 * 60 * 1000;
+
+    private static final GraphSnapshots INSTANCE = new GraphSnapshots();
+
+    private final Map<Keyspace, KeyspaceSnapshots> snapshots = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = false;
+    private volatile StorageLevel storageLevel = StorageLevel.fromString(DEFAULT_STORAGE_LEVEL);
+    private volatile long ttlMs = DEFAULT_TTL_MS;
+
+    private GraphSnapshots() {
+    }
+
+    /**
+     * @return the snapshots shared by all jobs
+     */
+    public static GraphSnapshots get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param enabled      true if the loaded graph of a keyspace should be reused by later jobs
+     * @param storageLevel the serialized Spark storage level snapshots are persisted with
+     * @param ttlMs        how long, in milliseconds, a snapshot can be reused for
+     */
+    public void configure(boolean enabled, String storageLevel, long ttlMs) {
+        StorageLevel level = StorageLevel.fromString(storageLevel);
+        if (level.deserialized()) {
+            throw new IllegalArgumentException("Graph snapshots must use a serialized storage level, not " + storageLevel);
+        }
+
+        this.storageLevel = level;
+        this.ttlMs = ttlMs;
+        this.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    /**
+     * @return true if the loaded graph of a keyspace is reused by later jobs
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drop the snapshots of a keyspace, so that the next job reads the keyspace from the storage backend
+     *
+     * @param keyspace the keyspace which has been modified
+     */
+    public void invalidate(Keyspace keyspace) {
+        KeyspaceSnapshots keyspaceSnapshots = snapshots.get(keyspace);
+        if (keyspaceSnapshots != null) keyspaceSnapshots.clear();
+    }
+
+    /**
+     * Drop the snapshots of every keyspace
+     */
+    public void clear() {
+        snapshots.values().forEach(KeyspaceSnapshots::clear);
+    }
+
+    /**
+     * Get the persisted graph of a keyspace, loading and persisting it if there is no valid snapshot
+     *
+     * @param keyspace     the keyspace the graph belongs to
+     * @param partitions   the number of partitions of the graph, or 0 if it keeps the partitions of its input
+     * @param sparkContext the context the graph will be used in
+     * @param loader       loads and partitions the graph of the keyspace
+     * @return the persisted graph of the keyspace
+     */
+    public JavaPairRDD<Object, VertexWritable> getOrLoad(Keyspace keyspace, int partitions, SparkContext sparkContext,
+                                                         Supplier<JavaPairRDD<Object, VertexWritable>> loader) {
+        return snapshots.computeIfAbsent(keyspace, KeyspaceSnapshots::new)
+                .getOrLoad(partitions, sparkContext, loader, storageLevel, ttlMs);
+    }
+
+    /**
+     * The snapshots of a single keyspace, by number of partitions
+     */
+    private static class KeyspaceSnapshots {
+        private final Keyspace keyspace;
+        private final Map<Integer, Snapshot> byPartitions = new HashMap<>();
+
+        KeyspaceSnapshots(Keyspace keyspace) {
+            this.keyspace = keyspace;
+        }
+
+        synchronized JavaPairRDD<Object, VertexWritable> getOrLoad(
+                int partitions, SparkContext sparkContext, Supplier<JavaPairRDD<Object, VertexWritable>> loader,
+                StorageLevel storageLevel, long ttlMs) {
+            Snapshot snapshot = byPartitions.get(partitions);
+            if (snapshot != null && snapshot.isValid(sparkContext, ttlMs)) {
+                LOG.debug("Reusing the graph snapshot of keyspace [" + keyspace + "]");
+                return snapshot.graphRDD;
+            }
+            if (snapshot != null) snapshot.graphRDD.unpersist(false);
+
+            LOG.debug("Creating a graph snapshot of keyspace [" + keyspace + "]");
+            snapshot = new Snapshot(loader.get().persist(storageLevel), sparkContext);
+            byPartitions.put(partitions, snapshot);
+            return snapshot.graphRDD;
+        }
+
+        synchronized void clear() {
+            byPartitions.values().forEach(snapshot -> snapshot.graphRDD.unpersist(false));
+            byPartitions.clear();
+        }
+    }
+
+    private static class Snapshot {
+        private final JavaPairRDD<Object, VertexWritable> graphRDD;
+        private final SparkContext sparkContext;
+        private final long createdAt = System.currentTimeMillis();
+
+        Snapshot(JavaPairRDD<Object, VertexWritable> graphRDD, SparkContext sparkContext) {
+            this.graphRDD = graphRDD;
+            this.sparkContext = sparkContext;
+        }
+
+        boolean isValid(SparkContext currentContext, long ttlMs) {
+            return sparkContext == currentContext && System.currentTimeMillis() - createdAt < ttlMs;
+        }
+    }
+}
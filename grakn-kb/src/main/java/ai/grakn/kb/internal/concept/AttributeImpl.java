@@ -94,6 +94,21 @@ public class AttributeImpl<D> extends ThingImpl<Attribute<D>, AttributeType<D>>
         Schema.VertexProperty property = dataType().getVertexProperty();
         //noinspection unchecked
         vertex().propertyImmutable(property, value, vertex().property(property));
+        indexValue();
+    }
+
+    /**
+     * Copies the value onto the isa edge so that the shards of the type can be range scanned by value. Attributes
+     * created before values were copied are indexed when their keyspace is migrated.
+     */
+    public void indexValue() {
+        Schema.VertexProperty property = dataType().getVertexProperty();
+        Schema.EdgeProperty edgeProperty = Schema.EdgeProperty.valueOf(property.name());
+        Object storedValue = vertex().property(property);
+        vertex().getEdgesOfType(Direction.OUT, Schema.EdgeLabel.ISA).forEach(isa -> isa.property(edgeProperty, storedValue));
+
+        //Dates are persisted as longs, so they are tracked as numbers as well
+        if(storedValue instanceof Number) vertex().tx().txCache().addedAttributeValue(type().getId(), (Number) storedValue);
     }
 
     /**
@@ -106,17 +106,19 @@ public class AttributeTypeImpl<D> extends TypeImpl<AttributeType<D>, Attribute<D
     @Override
     public Attribute<D> putAttribute(D value) {
         Objects.requireNonNull(value);
+        String index = Schema.generateAttributeIndex(getLabel(), value.toString());
 
         BiFunction<VertexElement, AttributeType<D>, Attribute<D>> instanceBuilder = (vertex, type) -> {
             if(getDataType().equals(DataType.STRING)) checkConformsToRegexes(value);
             Object persistenceValue = castValue(value);
             AttributeImpl<D> resource = vertex().tx().factory().buildResource(vertex, type, persistenceValue);
-            resource.vertex().propertyUnique(Schema.VertexProperty.INDEX, Schema.generateAttributeIndex(getLabel(), value.toString()));
+            resource.vertex().propertyUnique(Schema.VertexProperty.INDEX, index);
+            vertex().tx().txCache().createdAttribute(index, resource.getId());
             return resource;
         };
 
         return putInstance(Schema.BaseType.ATTRIBUTE,
-                () -> getAttribute(value), instanceBuilder);
+                () -> vertex().tx().findOrReserveAttribute(index), instanceBuilder);
     }
 
     /**
@@ -71,13 +71,14 @@ public final class ElementFactory {
     }
 
     private <X extends Concept, E extends AbstractElement> X getOrBuildConcept(E element, ConceptId conceptId, Function<E, X> conceptBuilder){
-        if(!tx.txCache().isConceptCached(conceptId)){
-            X newConcept = conceptBuilder.apply(element);
-            tx.txCache().cacheConcept(newConcept);
+        X concept;
+        if(tx.txCache().isConceptCached(conceptId)){
+            concept = tx.txCache().getCachedConcept(conceptId);
+        } else {
+            concept = conceptBuilder.apply(element);
+            tx.txCache().cacheConcept(concept);
         }
 
-        X concept = tx.txCache().getCachedConcept(conceptId);
-
         //Only track concepts which have been modified.
         if(tx.isConceptModified(concept)) {
             tx.txCache().trackForValidation(concept);
@@ -169,42 +170,44 @@ public final class ElementFactory {
         }
 
         ConceptId conceptId = ConceptId.of(vertexElement.property(Schema.VertexProperty.ID));
-        if(!tx.txCache().isConceptCached(conceptId)){
-            Concept concept;
-            switch (type) {
-                case RELATIONSHIP:
-                    concept = new RelationshipImpl(new RelationshipReified(vertexElement));
-                    break;
-                case TYPE:
-                    concept = new TypeImpl<>(vertexElement);
-                    break;
-                case ROLE:
-                    concept = new RoleImpl(vertexElement);
-                    break;
-                case RELATIONSHIP_TYPE:
-                    concept = new RelationshipTypeImpl(vertexElement);
-                    break;
-                case ENTITY:
-                    concept = new EntityImpl(vertexElement);
-                    break;
-                case ENTITY_TYPE:
-                    concept = new EntityTypeImpl(vertexElement);
-                    break;
-                case ATTRIBUTE_TYPE:
-                    concept = new AttributeTypeImpl<>(vertexElement);
-                    break;
-                case ATTRIBUTE:
-                    concept = new AttributeImpl<>(vertexElement);
-                    break;
-                case RULE:
-                    concept = new RuleImpl(vertexElement);
-                    break;
-                default:
-                    throw GraknTxOperationException.unknownConcept(type.name());
-            }
-            tx.txCache().cacheConcept(concept);
+        if(tx.txCache().isConceptCached(conceptId)) return tx.txCache().getCachedConcept(conceptId);
+
+        Concept concept;
+        switch (type) {
+            case RELATIONSHIP:
+                concept = new RelationshipImpl(new RelationshipReified(vertexElement));
+                break;
+            case TYPE:
+                concept = new TypeImpl<>(vertexElement);
+                break;
+            case ROLE:
+                concept = new RoleImpl(vertexElement);
+                break;
+            case RELATIONSHIP_TYPE:
+                concept = new RelationshipTypeImpl(vertexElement);
+                break;
+            case ENTITY:
+                concept = new EntityImpl(vertexElement);
+                break;
+            case ENTITY_TYPE:
+                concept = new EntityTypeImpl(vertexElement);
+                break;
+            case ATTRIBUTE_TYPE:
+                concept = new AttributeTypeImpl<>(vertexElement);
+                break;
+            case ATTRIBUTE:
+                concept = new AttributeImpl<>(vertexElement);
+                break;
+            case RULE:
+                concept = new RuleImpl(vertexElement);
+                break;
+            default:
+                throw GraknTxOperationException.unknownConcept(type.name());
         }
-        return tx.txCache().getCachedConcept(conceptId);
+        tx.txCache().cacheConcept(concept);
+
+        //noinspection unchecked
+        return (X) concept;
     }
 
     /**
@@ -28,13 +28,19 @@ import ai.grakn.exception.GraknTxOperationException;
 import ai.grakn.kb.internal.structure.Casting;
 import ai.grakn.kb.internal.structure.VertexElement;
 import ai.grakn.util.Schema;
-import ai.grakn.util.StringUtil;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -58,6 +64,11 @@ import java.util.stream.Stream;
  *
  */
 public class RelationshipReified extends ThingImpl<Relationship, RelationshipType> implements RelationshipStructure {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final BaseEncoding HASH_ENCODING = BaseEncoding.base64Url().omitPadding();
+    private static final String COLLISION_HASH_PREFIX = "RelationHash_";
+    private static final String LEGACY_HASH_PREFIX = "RelationType_";
+
     public RelationshipReified(VertexElement vertexElement) {
         super(vertexElement);
     }
@@ -66,6 +77,15 @@ public class RelationshipReified extends ThingImpl<Relationship, RelationshipTyp
         super(vertexElement, type);
     }
 
+    /**
+     * Deletes the relationship along with the edges to its role players, which are no longer counted
+     */
+    @Override
+    public void delete() {
+        castingsRelation().forEach(casting -> vertex().tx().txCache().removedRolePlayer(casting.getRoleType().getId()));
+        super.delete();
+    }
+
     public Map<Role, Set<Thing>> allRolePlayers() {
         HashMap<Role, Set<Thing>> roleMap = new HashMap<>();
 
@@ -104,20 +124,7 @@ public class RelationshipReified extends ThingImpl<Relationship, RelationshipTyp
      * @return A unique hash identifying this {@link Relationship}
      */
     public static String generateNewHash(RelationshipType relationshipType, Map<Role, Set<Thing>> roleMap){
-        SortedSet<Role> sortedRoleIds = new TreeSet<>(roleMap.keySet());
-        StringBuilder hash = new StringBuilder();
-        hash.append("RelationType_").append(StringUtil.escapeString(relationshipType.getId().getValue())).append("_Relation");
-
-        for(Role role: sortedRoleIds){
-            hash.append("_").append(StringUtil.escapeString(role.getId().getValue()));
-
-            roleMap.get(role).forEach(instance -> {
-                if(instance != null){
-                    hash.append("_").append(StringUtil.escapeString(instance.getId().getValue()));
-                }
-            });
-        }
-        return hash.toString();
+        return generateNewHash(hashInputs(relationshipType, roleMap));
     }
 
     /**
@@ -128,22 +135,80 @@ public class RelationshipReified extends ThingImpl<Relationship, RelationshipTyp
      * @return A unique hash identifying this {@link Relationship}
      */
     public static String generateNewHash(RelationshipType relationshipType, TreeMap<String, String> resourceMap){
-        StringBuilder hashMain = new StringBuilder();
-        hashMain.append("RelationType_").append(StringUtil.escapeString(relationshipType.getId().getValue())).append("_");
+        return generateNewHash(hashInputs(relationshipType, resourceMap));
+    }
 
-        StringBuilder hashResourceTypes = new StringBuilder();
-        hashResourceTypes.append("ResourceTypes_");
+    /**
+     * The hash is a fixed width digest of the hash inputs, so it does not grow with the number of role players.
+     * Two different {@link Relationship}s can share a digest, which is why it is checked against the hash inputs of
+     * any {@link Relationship} found with it. See {@link #generateCollisionHash(List)}.
+     *
+     * @param hashInputs The parts which identify a {@link Relationship}
+     * @return A hash identifying the {@link Relationship}
+     */
+    public static String generateNewHash(List<String> hashInputs){
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        hashInputs.forEach(input -> hasher.putInt(input.length()).putString(input, StandardCharsets.UTF_8));
+        return HASH_ENCODING.encode(hasher.hash().asBytes());
+    }
 
-        StringBuilder hashResources = new StringBuilder();
-        hashResources.append("Resources_");
+    /**
+     * Builds the hash used by a {@link Relationship} whose digest is already used by a different {@link Relationship}.
+     * It is as long as the hash inputs, like the hashes used before digests were introduced.
+     *
+     * @param hashInputs The parts which identify a {@link Relationship}
+     * @return A hash identifying the {@link Relationship} which cannot collide with the hash of another
+     */
+    public static String generateCollisionHash(List<String> hashInputs){
+        //Each input is prefixed with its length so that different inputs cannot be joined into the same hash
+        return COLLISION_HASH_PREFIX + hashInputs.stream().map(input -> input.length() + ":" + input).collect(Collectors.joining());
+    }
 
-        resourceMap.forEach((resourceTypeId, resourceId) -> {
-            hashResourceTypes.append(StringUtil.escapeString(resourceTypeId)).append("_");
-            hashResources.append(StringUtil.escapeString(resourceId)).append("_");
-        });
+    /**
+     * @return true if the hash was created before hashes were digests and so needs to be replaced
+     */
+    public static boolean isLegacyHash(String hash){
+        return hash.startsWith(LEGACY_HASH_PREFIX);
+    }
+
+    /**
+     * @param relationshipType The type of the relation
+     * @param roleMap The roles and their corresponding role players
+     * @return The parts which identify a {@link Relationship} by its role players
+     */
+    public static List<String> hashInputs(RelationshipType relationshipType, Map<Role, Set<Thing>> roleMap){
+        List<String> inputs = new ArrayList<>();
+        inputs.add("Relation");
+        inputs.add(relationshipType.getId().getValue());
+
+        SortedSet<Role> sortedRoles = new TreeSet<>(roleMap.keySet());
+        for(Role role: sortedRoles){
+            SortedSet<String> rolePlayerIds = new TreeSet<>();
+            roleMap.get(role).forEach(instance -> {
+                if(instance != null) rolePlayerIds.add(instance.getId().getValue());
+            });
 
+            inputs.add(role.getId().getValue());
+            inputs.add(Integer.toString(rolePlayerIds.size()));
+            inputs.addAll(rolePlayerIds);
+        }
+        return inputs;
+    }
 
-        return hashMain.append(hashResourceTypes).append(hashResources).toString();
+    /**
+     * @param relationshipType the {@link RelationshipType} of the {@link Relationship}
+     * @param resourceMap a sorted map of {@link AttributeType} Ids to {@link Attribute} Ids
+     * @return The parts which identify a {@link Relationship} by its key {@link Attribute}s
+     */
+    public static List<String> hashInputs(RelationshipType relationshipType, TreeMap<String, String> resourceMap){
+        List<String> inputs = new ArrayList<>();
+        inputs.add("Resources");
+        inputs.add(relationshipType.getId().getValue());
+        resourceMap.forEach((resourceTypeId, resourceId) -> {
+            inputs.add(resourceTypeId);
+            inputs.add(resourceId);
+        });
+        return inputs;
     }
 
     /**
@@ -100,9 +100,11 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
      */
     @Override
     public void delete() {
-        Set<Relationship> relationships = castingsInstance().map(Casting::getRelation).collect(Collectors.toSet());
+        Set<Casting> castings = castingsInstance().collect(Collectors.toSet());
+        Set<Relationship> relationships = castings.stream().map(Casting::getRelation).collect(Collectors.toSet());
 
         vertex().tx().txCache().removedInstance(type().getId());
+        castings.forEach(casting -> vertex().tx().txCache().removedRolePlayer(casting.getRoleType().getId()));
         deleteNode();
 
         relationships.forEach(relation -> {
@@ -111,6 +113,7 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
             } else {
                 RelationshipImpl rel = (RelationshipImpl) relation;
                 vertex().tx().txCache().trackForValidation(rel);
+                vertex().tx().txCache().modifiedInstance(rel.type().getId());
                 rel.cleanUp();
             }
         });
@@ -44,6 +44,7 @@ public class Shard {
     public Shard(ConceptImpl owner, VertexElement vertexElement){
         this(vertexElement);
         owner(owner);
+        vertex().property(Schema.VertexProperty.IS_VALUE_INDEXED, true);
     }
 
     public Shard(VertexElement vertexElement){
@@ -62,6 +63,15 @@ public class Shard {
         return vertex().property(Schema.VertexProperty.ID);
     }
 
+    /**
+     *
+     * @return true if the values of the {@link ai.grakn.concept.Attribute}s linked to this shard are copied onto their
+     * isa edges. Shards created before attribute values were indexed this way must be scanned instead.
+     */
+    public boolean isValueIndexed(){
+        return vertex().propertyBoolean(Schema.VertexProperty.IS_VALUE_INDEXED);
+    }
+
     /**
      *
      * @param owner Sets the owner of this shard
@@ -24,9 +24,12 @@ import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Entity;
 import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Label;
+import ai.grakn.concept.Relationship;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
 import ai.grakn.concept.SchemaConcept;
@@ -36,12 +39,15 @@ import ai.grakn.kb.internal.concept.EntityTypeImpl;
 import ai.grakn.kb.internal.structure.Shard;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableSet;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.VerificationException;
 import org.hamcrest.core.IsInstanceOf;
 import org.junit.Test;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -55,6 +61,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -68,6 +75,24 @@ public class GraknTxTest extends TxTestBase {
         assertEquals(entityType, tx.getConcept(entityType.getId()));
     }
 
+    @Test
+    public void whenGettingConceptsByIds_ReturnTheConceptsWhichExist(){
+        EntityType entityType = tx.putEntityType("test-name");
+        ConceptId id1 = entityType.addEntity().getId();
+        ConceptId id2 = entityType.addEntity().getId();
+        ConceptId typeId = entityType.getId();
+        tx.commit();
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+
+        ConceptId missingVertexId = ConceptId.of(Schema.PREFIX_VERTEX + Long.MAX_VALUE);
+        ConceptId notAVertexId = ConceptId.of("not-a-vertex-id");
+        Map<ConceptId, Concept> concepts = tx.getConcepts(ImmutableSet.of(id1, id2, typeId, missingVertexId, notAVertexId));
+
+        assertEquals(ImmutableSet.of(id1, id2, typeId), concepts.keySet());
+        assertEquals(tx.getConcept(id1), concepts.get(id1));
+        assertEquals(entityType.getLabel(), concepts.get(typeId).asEntityType().getLabel());
+    }
+
     @Test
     public void whenAttemptingToMutateViaTraversal_Throw(){
         expectedException.expect(VerificationException.class);
@@ -392,5 +417,45 @@ public class GraknTxTest extends TxTestBase {
             graph.commit();
         }
     }
+
+    @Test
+    public void whenCommittingSchemaChanges_TheSchemaVersionIsPersistedAndSharedAcrossTransactionTypes(){
+        long initialVersion = tx.admin().getSchemaVersion();
+        tx.putEntityType("person");
+        tx.commit();
+
+        long writeVersion;
+        try (GraknTx write = session.open(GraknTxType.WRITE)) {
+            writeVersion = write.admin().getSchemaVersion();
+        }
+        assertNotEquals(initialVersion, writeVersion);
+
+        try (GraknTx batch = session.open(GraknTxType.BATCH)) {
+            assertEquals(writeVersion, batch.admin().getSchemaVersion());
+            batch.getEntityType("person").addEntity();
+            batch.commit();
+        }
+
+        tx = (GraknTxAbstract) session.open(GraknTxType.WRITE);
+        assertEquals("Committing instance data changed the schema version", writeVersion, tx.admin().getSchemaVersion());
+    }
+
+    @Test
+    public void whenAddingARolePlayerToAnExistingRelationship_ACommitLogIsProduced(){
+        Role role1 = tx.putRole("role1");
+        Role role2 = tx.putRole("role2");
+        EntityType entityType = tx.putEntityType("thing").plays(role1).plays(role2);
+        RelationshipType relationshipType = tx.putRelationshipType("relation").relates(role1).relates(role2);
+        ConceptId relationshipId = relationshipType.addRelationship().addRolePlayer(role1, entityType.addEntity()).getId();
+        ConceptId entityId = entityType.addEntity().getId();
+        tx.commit();
+
+        //No instance is added, so only the modified types can trigger the log
+        tx = (GraknTxAbstract) session.open(GraknTxType.WRITE);
+        tx.<Relationship>getConcept(relationshipId).addRolePlayer(tx.getRole("role2"), tx.<Entity>getConcept(entityId));
+        Optional<String> log = tx.admin().commitNoLogs();
+
+        assertTrue("A commit which only modified the role players of a relationship produced no commit log", log.isPresent());
+    }
 }
 
@@ -26,6 +26,7 @@ import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Relationship;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
+import ai.grakn.concept.Thing;
 import ai.grakn.kb.internal.concept.AttributeImpl;
 import ai.grakn.kb.internal.concept.AttributeTypeImpl;
 import ai.grakn.kb.internal.concept.ConceptImpl;
@@ -41,6 +42,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -161,6 +163,37 @@ public class PostProcessingTest extends TxTestBase {
         assertEquals(5, tx.admin().getMetaRelationType().instances().count());
     }
 
+    @Test
+    public void whenMergingDuplicateResourcesAndTheHashOfACopiedRelationIsHeldByADifferentRelation_TheCopiedRelationIsKept(){
+        Role roleEntity = tx.putRole("Entity Role");
+        Role roleResource = tx.putRole("Attribute Role");
+        RelationshipType relationshipType = tx.putRelationshipType("Relationship Type").relates(roleEntity).relates(roleResource);
+        AttributeTypeImpl<String> resourceType = (AttributeTypeImpl<String>) tx.putAttributeType("Attribute Type", AttributeType.DataType.STRING).plays(roleResource);
+        EntityType entityType = tx.putEntityType("Entity Type").plays(roleEntity);
+        Entity e1 = entityType.addEntity();
+        Entity e3 = entityType.addEntity();
+
+        AttributeImpl<?> r1 = createFakeResource(resourceType, "1");
+        AttributeImpl<?> r11 = createFakeResource(resourceType, "1");
+        Set<ConceptId> resourceIds = new HashSet<>(Arrays.asList(r1.getId(), r11.getId()));
+
+        //Simulate a digest collision by giving a relation of e3 the digest of the relation e1 will have once merged
+        Relationship colliding = relationshipType.addRelationship().addRolePlayer(roleResource, r1).addRolePlayer(roleEntity, e3);
+        Map<Role, Set<Thing>> mergedRolePlayers = new HashMap<>();
+        mergedRolePlayers.put(roleResource, Collections.singleton(r1));
+        mergedRolePlayers.put(roleEntity, Collections.singleton(e1));
+        RelationshipImpl.from(colliding).reify().setHash(RelationshipReified.generateNewHash(relationshipType, mergedRolePlayers));
+
+        addReifiedRelation(roleEntity, roleResource, relationshipType, e1, r11);
+
+        tx.fixDuplicateResources(r1.getIndex(), resourceIds);
+
+        assertEquals(1, resourceType.instances().count());
+        assertEquals(2, relationshipType.instances().count());
+        Thing survivor = resourceType.instances().iterator().next();
+        assertThat(survivor.relationships().flatMap(relationship -> relationship.rolePlayers()).collect(toSet()), containsInAnyOrder(survivor, e1, e3));
+    }
+
     private void addEdgeRelation(Entity entity, Attribute<?> attribute) {
         entity.attribute(attribute);
     }
@@ -34,6 +34,8 @@ import org.junit.Test;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toSet;
@@ -43,6 +45,7 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class ValidatorTest extends TxTestBase {
 
@@ -82,6 +85,57 @@ public class ValidatorTest extends TxTestBase {
         tx.commit();
     }
 
+    @Test
+    public void whenValidatingModifiedConcepts_TheTimeSpentOnEachKindOfConceptIsRecorded(){
+        Role owner = tx.putRole("owner");
+        Role owned = tx.putRole("owned");
+        tx.putRelationshipType("ownership").relates(owner).relates(owned);
+        EntityType person = tx.putEntityType("person").plays(owner).plays(owned);
+        person.addEntity();
+
+        Validator validator = new Validator(tx);
+        assertTrue(validator.validate());
+
+        assertThat(validator.getValidationTimes().keySet(), hasItems("entities", "roles", "relationship-types"));
+    }
+
+    @Test
+    public void whenCommitting_TheTimeSpentOnEachKindOfConceptIsReportedToTheListener(){
+        Set<String> reportedKinds = ConcurrentHashMap.newKeySet();
+        ValidationTimes.setListener((kind, nanos) -> reportedKinds.add(kind));
+        try {
+            Role owner = tx.putRole("owner");
+            Role owned = tx.putRole("owned");
+            tx.putRelationshipType("ownership").relates(owner).relates(owned);
+            tx.putEntityType("person").plays(owner).plays(owned).addEntity();
+
+            tx.commit();
+        } finally {
+            ValidationTimes.removeListener();
+        }
+
+        assertThat(reportedKinds, hasItems("entities", "roles", "relationship-types"));
+    }
+
+    @Test
+    public void whenRemovingAListenerWhichHasBeenReplaced_TheNewListenerIsKept(){
+        Set<String> reportedKinds = ConcurrentHashMap.newKeySet();
+        ObjLongConsumer<String> oldListener = (kind, nanos) -> {};
+        ObjLongConsumer<String> newListener = (kind, nanos) -> reportedKinds.add(kind);
+        ValidationTimes.setListener(oldListener);
+        ValidationTimes.setListener(newListener);
+        try {
+            ValidationTimes.removeListener(oldListener);
+            tx.putEntityType("person").addEntity();
+
+            tx.commit();
+        } finally {
+            ValidationTimes.removeListener();
+        }
+
+        assertThat(reportedKinds, hasItems("entities"));
+    }
+
     @Test
     public void whenCommittingRelationWithoutSpecifyingSchema_ThrowOnCommit(){
         EntityType fakeType = tx.putEntityType("Fake Concept");
@@ -0,0 +1,227 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Relationship;
+import ai.grakn.concept.RelationshipType;
+import ai.grakn.concept.Role;
+import ai.grakn.kb.internal.GraknTxAbstract;
+import ai.grakn.kb.admin.KeyspaceStatistics;
+import ai.grakn.kb.internal.TxTestBase;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KeyspaceStatisticsTest extends TxTestBase {
+
+    @Test
+    public void whenCommittingInstances_TheStatisticsAreUpdated() {
+        Role r1 = tx.putRole("r1");
+        Role r2 = tx.putRole("r2");
+        EntityType person = tx.putEntityType("person").plays(r1).plays(r2);
+        RelationshipType friendship = tx.putRelationshipType("friendship").relates(r1).relates(r2);
+
+        ConceptId personId = person.getId();
+        ConceptId friendshipId = friendship.getId();
+        ConceptId r1Id = r1.getId();
+
+        friendship.addRelationship().addRolePlayer(r1, person.addEntity()).addRolePlayer(r2, person.addEntity());
+        friendship.addRelationship().addRolePlayer(r1, person.addEntity());
+
+        assertFalse(tx.admin().statistics().instanceCount(personId).isPresent());
+
+        tx.commit();
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+
+        assertEquals(Optional.of(3L), tx.admin().statistics().instanceCount(personId));
+        assertEquals(Optional.of(2L), tx.admin().statistics().instanceCount(friendshipId));
+        assertEquals(Optional.of(2L), tx.admin().statistics().rolePlayerCount(r1Id));
+    }
+
+    @Test
+    public void whenDeletingRelationshipsAndRolePlayers_TheRolePlayerCountsDecrease() {
+        Role r1 = tx.putRole("r1");
+        Role r2 = tx.putRole("r2");
+        EntityType person = tx.putEntityType("person").plays(r1).plays(r2);
+        RelationshipType friendship = tx.putRelationshipType("friendship").relates(r1).relates(r2);
+
+        ConceptId r1Id = r1.getId();
+        ConceptId r2Id = r2.getId();
+
+        Relationship deletedRelationship = friendship.addRelationship()
+                .addRolePlayer(r1, person.addEntity()).addRolePlayer(r2, person.addEntity());
+        Entity deletedPlayer = person.addEntity();
+        friendship.addRelationship().addRolePlayer(r1, deletedPlayer).addRolePlayer(r2, person.addEntity());
+        friendship.addRelationship().addRolePlayer(r1, person.addEntity()).addRolePlayer(r2, person.addEntity());
+
+        tx.commit();
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+        assertEquals(Optional.of(3L), tx.admin().statistics().rolePlayerCount(r1Id));
+
+        tx.getConcept(deletedRelationship.getId()).delete();
+        tx.getConcept(deletedPlayer.getId()).delete();
+
+        tx.commit();
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+
+        assertEquals(Optional.of(1L), tx.admin().statistics().rolePlayerCount(r1Id));
+        assertEquals(Optional.of(2L), tx.admin().statistics().rolePlayerCount(r2Id));
+    }
+
+    @Test
+    public void whenInstanceCountsChange_TheEpochOnlyChangesWhenTheyDoubleOrHalve() {
+        ConceptId personId = tx.putEntityType("person").getId();
+        KeyspaceStatistics statistics = tx.admin().statistics();
+
+        long epoch = statistics.epoch();
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 100L));
+        assertEquals(epoch + 1, statistics.epoch());
+
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 150L));
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 60L));
+        assertEquals(epoch + 1, statistics.epoch());
+
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 201L));
+        assertEquals(epoch + 2, statistics.epoch());
+
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 100L));
+        assertEquals(epoch + 3, statistics.epoch());
+    }
+
+    @Test
+    public void whenCommittingNumericAttributes_TheRangeOfTheirValuesIsRecorded() {
+        AttributeType<Long> age = tx.putAttributeType("age", AttributeType.DataType.LONG);
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        age.putAttribute(30L);
+        age.putAttribute(-2L);
+        age.putAttribute(7L);
+        name.putAttribute("Bob");
+
+        ConceptId ageId = age.getId();
+        ConceptId nameId = name.getId();
+
+        tx.commit();
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+
+        assertEquals(Optional.of(-2D), tx.admin().statistics().minimumValue(ageId));
+        assertEquals(Optional.of(30D), tx.admin().statistics().maximumValue(ageId));
+        assertFalse(tx.admin().statistics().minimumValue(nameId).isPresent());
+    }
+
+    @Test
+    public void whenAbortingATransaction_TheStatisticsAreNotUpdated() {
+        EntityType person = tx.putEntityType("person");
+        person.addEntity();
+        ConceptId personId = person.getId();
+
+        tx.abort();
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+
+        assertFalse(tx.admin().statistics().instanceCount(personId).isPresent());
+    }
+
+    @Test
+    public void whenUpdatingInstanceCounts_TheNewCountsOverrideTheEstimates() {
+        EntityType person = tx.putEntityType("person");
+        person.addEntity();
+        ConceptId personId = person.getId();
+
+        tx.commit();
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+
+        tx.admin().statistics().updateInstanceCounts(ImmutableMap.of(personId, 500L));
+        assertEquals(Optional.of(500L), tx.admin().statistics().instanceCount(personId));
+    }
+
+    @Test
+    public void whenCommitLogsArePending_TheExactCountsIncludeThemUntilTheyAreCounted() {
+        ConceptId personId = tx.putEntityType("person").getId();
+        KeyspaceStatistics statistics = tx.admin().statistics();
+
+        statistics.addPendingInstanceCounts("batch-1", ImmutableMap.of(personId, 3L));
+        assertFalse(statistics.exactInstanceCount(personId).isPresent());
+
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 10L));
+        assertEquals(Optional.of(13L), statistics.exactInstanceCount(personId));
+
+        statistics.addPendingInstanceCounts("batch-2", ImmutableMap.of(personId, -1L));
+        assertEquals(Optional.of(12L), statistics.exactInstanceCount(personId));
+
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 13L), ImmutableSet.of("batch-1"));
+        assertEquals(Optional.of(12L), statistics.exactInstanceCount(personId));
+        assertEquals(ImmutableSet.of("batch-2"), statistics.pendingBatches());
+    }
+
+    @Test
+    public void whenBatchesRecordedElsewhereAreCounted_OnlyTheChangesRecordedHereAreDropped() {
+        ConceptId personId = tx.putEntityType("person").getId();
+        ConceptId dogId = tx.putEntityType("dog").getId();
+        KeyspaceStatistics statistics = tx.admin().statistics();
+
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 10L, dogId, 5L));
+        statistics.addPendingInstanceCounts("local", ImmutableMap.of(personId, 2L, dogId, 1L));
+
+        //Another engine counted its own batch, so the total includes changes this engine never recorded
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 14L), ImmutableSet.of("remote"));
+        assertEquals(Optional.of(16L), statistics.exactInstanceCount(personId));
+
+        //The local batch was counted, but only the count of person was refreshed
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 16L), ImmutableSet.of("local"));
+        assertEquals(Optional.of(16L), statistics.exactInstanceCount(personId));
+        assertEquals(Optional.of(6L), statistics.exactInstanceCount(dogId));
+    }
+
+    @Test
+    public void whenAPendingBatchIsDiscarded_ItIsNoLongerIncludedInTheExactCounts() {
+        ConceptId personId = tx.putEntityType("person").getId();
+        KeyspaceStatistics statistics = tx.admin().statistics();
+
+        statistics.updateInstanceCounts(ImmutableMap.of(personId, 10L));
+        statistics.addPendingInstanceCounts("batch", ImmutableMap.of(personId, 3L));
+        statistics.discardPendingInstanceCounts("batch");
+
+        assertEquals(Optional.of(10L), statistics.exactInstanceCount(personId));
+        assertTrue(statistics.pendingBatches().isEmpty());
+    }
+
+    @Test
+    public void whenUpdatingTheStatisticsOfAKeyspace_BatchTransactionsSeeTheSameStatistics() {
+        EntityType person = tx.putEntityType("person");
+        ConceptId personId = person.getId();
+
+        tx.commit();
+
+        KeyspaceStatisticsImpl.of(tx.getKeyspace()).updateInstanceCounts(ImmutableMap.of(personId, 500L));
+
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.BATCH);
+        assertEquals(Optional.of(500L), tx.admin().statistics().instanceCount(personId));
+    }
+}
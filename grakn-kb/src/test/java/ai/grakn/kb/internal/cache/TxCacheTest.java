@@ -19,6 +19,7 @@
 package ai.grakn.kb.internal.cache;
 
 import ai.grakn.Grakn;
+import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
@@ -40,6 +41,8 @@ import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.toSet;
@@ -49,6 +52,7 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -61,6 +65,22 @@ import static org.junit.Assert.assertTrue;
  */
 public class TxCacheTest extends TxTestBase {
 
+    @Test
+    public void whenTheVertexOfATrackedEntityIsDeletedInABatchTx_ItIsNeitherIteratedNorCounted() {
+        tx.putEntityType("type");
+        tx.commit();
+        tx = (GraknTxAbstract<?>) session.open(GraknTxType.BATCH);
+
+        Entity kept = tx.getEntityType("type").addEntity();
+        Entity deleted = tx.getEntityType("type").addEntity();
+        tx.getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), deleted.getId().getValue()).drop().iterate();
+
+        Set<Entity> modifiedEntities = tx.txCache().getModifiedEntities();
+        assertThat(modifiedEntities, containsInAnyOrder(kept));
+        assertEquals(1, modifiedEntities.size());
+        assertFalse(modifiedEntities.isEmpty());
+    }
+
     @Test
     public void whenNewAddingTypesToTheGraph_EnsureTheConceptLogContainsThem() {
         // add concepts to rootGraph in as many ways as possible
@@ -144,6 +164,29 @@ public class TxCacheTest extends TxTestBase {
         assertThat(tx.txCache().getModifiedRelationships(), containsInAnyOrder(rel1));
     }
 
+    @Test
+    public void whenCreatingInstancesInABatchTransaction_EnsureInstancesAreTrackedButNotCached(){
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        EntityType person = tx.putEntityType("person").attribute(name);
+        tx.commit();
+
+        GraknTxAbstract<?> batchTx = switchToBatchGraph();
+        Entity alice = batchTx.getEntityType("person").addEntity();
+        Entity bob = batchTx.getEntityType("person").addEntity();
+        Attribute<String> aliceName = batchTx.<String>getAttributeType("name").putAttribute("alice");
+        alice.attribute(aliceName);
+
+        TxCache cache = batchTx.txCache();
+        assertThat(cache.getModifiedEntities(), containsInAnyOrder(alice, bob));
+        assertThat(cache.getModifiedAttributes(), containsInAnyOrder(aliceName));
+        assertFalse(cache.isConceptCached(alice.getId()));
+        assertFalse(cache.isConceptCached(aliceName.getId()));
+        assertTrue(cache.isConceptCached(person.getId()));
+
+        bob.delete();
+        assertThat(cache.getModifiedEntities(), containsInAnyOrder(alice));
+    }
+
     @Test
     public void whenDeletingAnInstanceWithNoRelations_EnsureLogIsEmpty(){
         EntityType t1 = tx.putEntityType("1");
@@ -300,6 +343,70 @@ public class TxCacheTest extends TxTestBase {
         assertTxBoundConceptMatches(rel, t -> t.relates().collect(toSet()), containsInAnyOrder(rol1));
     }
 
+    @Test
+    public void whenOpeningTransactions_TheSchemaSnapshotIsSharedWithoutBeingCopied(){
+        EntityType person = tx.putEntityType("person");
+        tx.commit();
+
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+        assertEquals(person, tx.getEntityType("person"));
+        assertThat(tx.txCache().getSchemaConceptCache().keySet(), empty());
+        SchemaSnapshot snapshot = tx.txCache().getSchemaSnapshot().get();
+        tx.close();
+
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.READ);
+        assertEquals(person, tx.getEntityType("person"));
+        assertSame(snapshot, tx.txCache().getSchemaSnapshot().get());
+    }
+
+    @Test
+    public void whenASchemaChangeIsCommittedOnAnotherThread_TheSharedSchemaReflectsIt() throws Exception {
+        tx.putEntityType("person");
+        tx.commit();
+
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+        assertThat(tx.getEntityType("person").subs().collect(toSet()), containsInAnyOrder(tx.getEntityType("person")));
+        tx.close();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.submit(() -> {
+            GraknTx innerTx = Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+            innerTx.putEntityType("student").sup(innerTx.getEntityType("person"));
+            innerTx.commit();
+        }).get();
+        pool.shutdown();
+
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+        EntityType person = tx.getEntityType("person");
+        assertThat(person.subs().collect(toSet()), containsInAnyOrder(person, tx.getEntityType("student")));
+    }
+
+    @Test
+    public void whenASchemaChangeIsCommittedOnAnotherThreadDuringATransaction_TheChangeIsSeenOnceANewTransactionOpens() throws Exception {
+        tx.putEntityType("person");
+        tx.commit();
+
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.READ);
+        EntityType person = tx.getEntityType("person");
+        assertThat(person.subs().collect(toSet()), containsInAnyOrder(person));
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.submit(() -> {
+            GraknTx innerTx = Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.WRITE);
+            innerTx.putEntityType("student").sup(innerTx.getEntityType("person"));
+            innerTx.commit();
+        }).get();
+        pool.shutdown();
+
+        //The schema read by a transaction only changes when a new transaction opens
+        assertThat(person.subs().collect(toSet()), containsInAnyOrder(person));
+        tx.close();
+
+        tx = (GraknTxAbstract<?>) Grakn.session(Grakn.IN_MEMORY, tx.getKeyspace()).open(GraknTxType.READ);
+        person = tx.getEntityType("person");
+        assertThat(person.subs().collect(toSet()), containsInAnyOrder(person, tx.getEntityType("student")));
+    }
+
     /**
      * Helper method which will check that the cache and the provided type have the same expected values.
      *
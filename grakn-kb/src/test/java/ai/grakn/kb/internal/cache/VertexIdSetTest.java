@@ -0,0 +1,83 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VertexIdSetTest {
+
+    @Test
+    public void whenAddingAndRemovingManyIds_TheSetBehavesLikeAHashSet(){
+        VertexIdSet ids = new VertexIdSet();
+        Set<Object> expected = new HashSet<>();
+        Random random = new Random(0);
+
+        for(int i = 0; i < 10000; i++){
+            Long id = (long) random.nextInt(2000) * 4096;
+            if(random.nextBoolean()){
+                ids.add(id);
+                expected.add(id);
+            } else {
+                ids.remove(id);
+                expected.remove(id);
+            }
+        }
+
+        assertEquals(expected.size(), ids.size());
+        assertEquals(expected, Sets.newHashSet(ids));
+        expected.forEach(id -> assertTrue(ids.contains(id)));
+    }
+
+    @Test
+    public void whenAddingIdsWhichAreNotLongs_TheyAreTracked(){
+        VertexIdSet ids = new VertexIdSet();
+        ids.add("V1");
+        ids.add(Long.MIN_VALUE);
+        ids.add(1L);
+
+        assertEquals(Sets.newHashSet("V1", Long.MIN_VALUE, 1L), Sets.newHashSet(ids));
+
+        ids.remove("V1");
+        ids.remove(Long.MIN_VALUE);
+        assertFalse(ids.contains("V1"));
+        assertFalse(ids.contains(Long.MIN_VALUE));
+        assertEquals(1, ids.size());
+    }
+
+    @Test
+    public void whenClearingTheSet_TheSetIsEmpty(){
+        VertexIdSet ids = new VertexIdSet();
+        ids.add(1L);
+        ids.add("V2");
+
+        ids.clear();
+
+        assertTrue(ids.isEmpty());
+        assertFalse(ids.iterator().hasNext());
+    }
+}
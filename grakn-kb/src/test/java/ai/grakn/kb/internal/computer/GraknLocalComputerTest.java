@@ -0,0 +1,224 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.computer;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticMapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import static org.junit.Assert.assertEquals;
+
+public class GraknLocalComputerTest {
+
+    private final TinkerGraph graph = TinkerGraph.open();
+
+    @Before
+    public void setUp() {
+        Vertex company = graph.addVertex(T.label, "company");
+        graph.addVertex(T.label, "company");
+        for (int i = 0; i < 3; i++) {
+            graph.addVertex(T.label, "person").addEdge("employment", company);
+        }
+    }
+
+    @Test
+    public void whenCountingVerticesByLabel_AllVerticesAreCounted() throws Exception {
+        ComputerResult result = new GraknLocalComputer(graph, 100).mapReduce(LabelSum.count()).submit().get();
+
+        assertEquals(ImmutableMap.of("person", 3L, "company", 2L), result.memory().get(LabelSum.COUNT));
+    }
+
+    @Test
+    public void whenFilteringVertices_OnlyTheFilteredVerticesAreCounted() throws Exception {
+        ComputerResult result = new GraknLocalComputer(graph, 100)
+                .mapReduce(LabelSum.count()).vertices(__.hasLabel("person")).submit().get();
+
+        assertEquals(ImmutableMap.of("person", 3L), result.memory().get(LabelSum.COUNT));
+    }
+
+    @Test(expected = GraknLocalComputer.ThresholdExceededException.class)
+    public void whenTheSubgraphIsLargerThanTheThreshold_SubmittingThrows() {
+        new GraknLocalComputer(graph, 4).mapReduce(LabelSum.count()).submit();
+    }
+
+    @Test
+    public void whenSendingMessagesAlongOutgoingEdges_TheyAreReceivedAtTheOtherEnd() throws Exception {
+        MessageScope.Local<Long> scope = MessageScope.Local.of(() -> __.<Vertex>outE("employment"));
+
+        assertEquals(ImmutableMap.of("person", 0L, "company", 3L), receivedMessages(scope));
+    }
+
+    @Test
+    public void whenSendingMessagesAlongIncomingEdges_TheyAreReceivedAtTheOtherEnd() throws Exception {
+        MessageScope.Local<Long> scope = MessageScope.Local.of(() -> __.<Vertex>inE("employment"));
+
+        assertEquals(ImmutableMap.of("person", 3L, "company", 0L), receivedMessages(scope));
+    }
+
+    @Test
+    public void whenSendingMessagesAlongEdgesInBothDirections_TheyAreReceivedAtBothEnds() throws Exception {
+        MessageScope.Local<Long> scope = MessageScope.Local.of(() -> __.<Vertex>bothE("employment"));
+
+        assertEquals(ImmutableMap.of("person", 3L, "company", 3L), receivedMessages(scope));
+    }
+
+    @Test
+    public void whenSendingMessagesAlongAFilteredTraversal_TheyAreReceivedAtTheOtherEnd() throws Exception {
+        MessageScope.Local<Long> scope = MessageScope.Local.of(() -> __.<Vertex>outE().hasLabel("employment"));
+
+        assertEquals(ImmutableMap.of("person", 0L, "company", 3L), receivedMessages(scope));
+    }
+
+    private Map<String, Long> receivedMessages(MessageScope.Local<Long> scope) throws Exception {
+        ComputerResult result = new GraknLocalComputer(graph, 100).program(new MessageCount(scope)).submit().get();
+        return result.memory().get(LabelSum.RECEIVED);
+    }
+
+    /**
+     * Every vertex sends a message through a scope, then counts the messages it receives
+     */
+    private static class MessageCount extends StaticVertexProgram<Long> {
+        private final MessageScope.Local<Long> scope;
+
+        MessageCount(MessageScope.Local<Long> scope) {
+            this.scope = scope;
+        }
+
+        @Override
+        public void setup(Memory memory) {
+        }
+
+        @Override
+        public void execute(Vertex vertex, Messenger<Long> messenger, Memory memory) {
+            if (memory.isInitialIteration()) {
+                messenger.sendMessage(scope, 1L);
+            } else {
+                long received = 0;
+                Iterator<Long> messages = messenger.receiveMessages();
+                while (messages.hasNext()) received += messages.next();
+                vertex.property(VertexProperty.Cardinality.single, LabelSum.RECEIVED, received);
+            }
+        }
+
+        @Override
+        public boolean terminate(Memory memory) {
+            return !memory.isInitialIteration();
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(Memory memory) {
+            return ImmutableSet.of(scope);
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return ImmutableSet.of(VertexComputeKey.of(LabelSum.RECEIVED, false));
+        }
+
+        @Override
+        public Set<MapReduce> getMapReducers() {
+            return ImmutableSet.of(LabelSum.received());
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.ORIGINAL;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.NOTHING;
+        }
+    }
+
+    /**
+     * Sums a value of the vertices by their label
+     */
+    private static class LabelSum extends StaticMapReduce<String, Long, String, Long, Map<String, Long>> {
+        static final String COUNT = "label-count";
+        static final String RECEIVED = "received";
+
+        private final String key;
+        private final ToLongFunction<Vertex> value;
+
+        private LabelSum(String key, ToLongFunction<Vertex> value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        static LabelSum count() {
+            return new LabelSum(COUNT, vertex -> 1L);
+        }
+
+        static LabelSum received() {
+            return new LabelSum(RECEIVED, vertex -> vertex.<Long>property(RECEIVED).orElse(0L));
+        }
+
+        @Override
+        public boolean doStage(Stage stage) {
+            return !stage.equals(Stage.COMBINE);
+        }
+
+        @Override
+        public void map(Vertex vertex, MapEmitter<String, Long> emitter) {
+            emitter.emit(vertex.label(), value.applyAsLong(vertex));
+        }
+
+        @Override
+        public void reduce(String key, Iterator<Long> values, ReduceEmitter<String, Long> emitter) {
+            long count = 0;
+            while (values.hasNext()) count += values.next();
+            emitter.emit(key, count);
+        }
+
+        @Override
+        public Map<String, Long> generateFinalResult(Iterator<KeyValue<String, Long>> keyValues) {
+            Map<String, Long> counts = new HashMap<>();
+            keyValues.forEachRemaining(keyValue -> counts.put(keyValue.getKey(), keyValue.getValue()));
+            return counts;
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.computer;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknTx;
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import scala.Tuple2;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GraphSnapshotsTest {
+
+    private static JavaSparkContext sparkContext;
+
+    private final GraphSnapshots snapshots = GraphSnapshots.get();
+    private final Keyspace keyspace = Keyspace.of("snapshots");
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<JavaPairRDD<Object, VertexWritable>> loader = () -> {
+        loads.incrementAndGet();
+        return sparkContext.parallelizePairs(Collections.<Tuple2<Object, VertexWritable>>emptyList());
+    };
+
+    @BeforeClass
+    public static void startSpark() {
+        sparkContext = new JavaSparkContext("local[1]", GraphSnapshotsTest.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void stopSpark() {
+        sparkContext.stop();
+    }
+
+    @After
+    public void clearSnapshots() {
+        snapshots.configure(false, GraphSnapshots.DEFAULT_STORAGE_LEVEL, GraphSnapshots.DEFAULT_TTL_MS);
+    }
+
+    @Test
+    public void whenGettingTheGraphOfAKeyspaceTwice_ItIsOnlyLoadedOnce() {
+        snapshots.configure(true, GraphSnapshots.DEFAULT_STORAGE_LEVEL, GraphSnapshots.DEFAULT_TTL_MS);
+
+        JavaPairRDD<Object, VertexWritable> first = snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+        JavaPairRDD<Object, VertexWritable> second = snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void whenTheKeyspaceIsInvalidated_TheGraphIsLoadedAgain() {
+        snapshots.configure(true, GraphSnapshots.DEFAULT_STORAGE_LEVEL, GraphSnapshots.DEFAULT_TTL_MS);
+
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+        snapshots.invalidate(Keyspace.of("other"));
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+        assertEquals(1, loads.get());
+
+        snapshots.invalidate(keyspace);
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void whenTheSnapshotExpires_TheGraphIsLoadedAgain() {
+        snapshots.configure(true, GraphSnapshots.DEFAULT_STORAGE_LEVEL, 0);
+
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void whenTheGraphIsPartitionedDifferently_ItIsLoadedAgain() {
+        snapshots.configure(true, GraphSnapshots.DEFAULT_STORAGE_LEVEL, GraphSnapshots.DEFAULT_TTL_MS);
+
+        snapshots.getOrLoad(keyspace, 2, sparkContext.sc(), loader);
+        snapshots.getOrLoad(keyspace, 4, sparkContext.sc(), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenConfiguringADeserializedStorageLevel_Throw() {
+        snapshots.configure(true, "MEMORY_ONLY", GraphSnapshots.DEFAULT_TTL_MS);
+    }
+
+    @Test
+    public void whenATransactionModifyingTheKeyspaceIsCommittedWithoutLogs_TheGraphIsLoadedAgain() {
+        snapshots.configure(true, GraphSnapshots.DEFAULT_STORAGE_LEVEL, GraphSnapshots.DEFAULT_TTL_MS);
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+
+        try (GraknTx tx = Grakn.session(Grakn.IN_MEMORY, keyspace).open(GraknTxType.WRITE)) {
+            tx.putEntityType("person");
+            tx.admin().commitNoLogs();
+        }
+        snapshots.getOrLoad(keyspace, 0, sparkContext.sc(), loader);
+
+        assertEquals(2, loads.get());
+    }
+}
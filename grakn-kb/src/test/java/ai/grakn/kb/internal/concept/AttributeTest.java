@@ -29,8 +29,10 @@ import ai.grakn.concept.Thing;
 import ai.grakn.exception.GraknTxOperationException;
 import ai.grakn.exception.InvalidKBException;
 import ai.grakn.kb.internal.TxTestBase;
+import ai.grakn.kb.internal.structure.EdgeElement;
 import ai.grakn.util.Schema;
 import com.google.common.collect.Iterables;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
@@ -251,4 +253,36 @@ public class AttributeTest extends TxTestBase {
         assertThat(attribute.relationships().collect(toSet()), containsInAnyOrder(rel1, rel2));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void whenCreatingAttributes_EnsureTheirValuesAreCopiedOntoTheirIsaEdges(){
+        AttributeType<Long> longs = tx.putAttributeType("Long Type", AttributeType.DataType.LONG);
+        AttributeType<LocalDateTime> dates = tx.putAttributeType("Date Type", AttributeType.DataType.DATE);
+
+        AttributeImpl<Long> number = (AttributeImpl<Long>) longs.putAttribute(5L);
+        AttributeImpl<LocalDateTime> date = (AttributeImpl<LocalDateTime>) dates.putAttribute(LocalDateTime.now());
+
+        assertTrue(TypeImpl.from(longs).currentShard().isValueIndexed());
+        assertEquals(5L, (long) isaEdge(number).property(Schema.EdgeProperty.VALUE_LONG));
+        assertEquals(date.vertex().<Long>property(Schema.VertexProperty.VALUE_DATE),
+                isaEdge(date).<Long>property(Schema.EdgeProperty.VALUE_DATE));
+    }
+
+    @Test
+    public void whenMigratingAttributesCreatedBeforeValuesWereIndexed_TheirValuesAreCopiedOntoTheirIsaEdges(){
+        AttributeType<Long> longs = tx.putAttributeType("Long Type", AttributeType.DataType.LONG);
+        AttributeImpl<Long> number = (AttributeImpl<Long>) longs.putAttribute(5L);
+
+        //Simulate an attribute created before values were indexed
+        isaEdge(number).element().property(Schema.EdgeProperty.VALUE_LONG.name()).remove();
+        TypeImpl.from(longs).currentShard().vertex().element().property(Schema.VertexProperty.IS_VALUE_INDEXED.name()).remove();
+
+        assertEquals(1, tx.admin().migrateAttributeValueIndex());
+        assertTrue(TypeImpl.from(longs).currentShard().isValueIndexed());
+        assertEquals(5L, (long) isaEdge(number).property(Schema.EdgeProperty.VALUE_LONG));
+        assertEquals(0, tx.admin().migrateAttributeValueIndex());
+    }
+
+    private static EdgeElement isaEdge(AttributeImpl<?> attribute){
+        return Iterables.getOnlyElement(attribute.vertex().getEdgesOfType(Direction.OUT, Schema.EdgeLabel.ISA).collect(toSet()));
+    }
+}
@@ -22,21 +22,30 @@ import ai.grakn.Grakn;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknSession;
 import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.exception.GraknTxOperationException;
+import ai.grakn.kb.admin.AttributeReservations;
 import ai.grakn.kb.internal.TxTestBase;
 import org.hamcrest.CoreMatchers;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.TimeZone;
 import java.util.regex.PatternSyntaxException;
 
 import static junit.framework.TestCase.assertNull;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class AttributeTypeTest extends TxTestBase {
     private AttributeType<String> attributeType;
@@ -173,4 +182,63 @@ public class AttributeTypeTest extends TxTestBase {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenReservingAttributes_TheIdsOfCommittedAttributesAreShared(){
+        FakeReservations reservations = new FakeReservations();
+        tx.admin().reserveAttributesWith(reservations);
+
+        Attribute<String> attribute = attributeType.putAttribute("a");
+        attributeType.putAttribute("a");
+        tx.commit();
+
+        assertEquals(Collections.singletonList(attribute.getId()), reservations.committed);
+        assertEquals(0, reservations.held);
+    }
+
+    @Test
+    public void whenClosingATransactionWithReservedAttributes_TheReservationsAreReleased(){
+        FakeReservations reservations = new FakeReservations();
+        tx.admin().reserveAttributesWith(reservations);
+
+        attributeType.putAttribute("a");
+        attributeType.putAttribute("b");
+        assertEquals(2, reservations.held);
+
+        tx.close();
+
+        assertEquals(0, reservations.held);
+        assertTrue(reservations.committed.isEmpty());
+    }
+
+    private static class FakeReservations implements AttributeReservations {
+        private final List<ConceptId> committed = new ArrayList<>();
+        private int held = 0;
+
+        @Override
+        public Optional<Reservation> reserve(Keyspace keyspace, String index, Collection<Reservation> reserved) {
+            held++;
+            return Optional.of(new Reservation() {
+                @Override
+                public Optional<ConceptId> attributeId() {
+                    return Optional.empty();
+                }
+
+                @Override
+                public void releaseCommitted(ConceptId attributeId) {
+                    committed.add(attributeId);
+                    release();
+                }
+
+                @Override
+                public void release() {
+                    held--;
+                }
+            });
+        }
+
+        @Override
+        public void clear(Keyspace keyspace) {
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.kb.internal.concept;
+
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RelationshipType;
+import ai.grakn.concept.Role;
+import ai.grakn.concept.Thing;
+import ai.grakn.kb.internal.GraknTxAbstract;
+import ai.grakn.kb.internal.TxTestBase;
+import ai.grakn.util.Schema;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the size and the cost of relationship hashes against full length hashes, which are as long as the
+ * hashes used before digests were introduced.
+ */
+@Ignore //Benchmark, run it manually when changing how relationships are hashed
+public class RelationshipHashBenchmarkTest extends TxTestBase {
+    private static final Logger LOG = LoggerFactory.getLogger(RelationshipHashBenchmarkTest.class);
+
+    private static final int[] ARITIES = {2, 16, 128};
+    private static final int HASHES = 10_000;
+    private static final int RELATIONSHIPS = 2_000;
+
+    @Test
+    public void whenRelationshipsHaveMoreRolePlayers_DigestsStayTheSameSizeWhileFullHashesGrow(){
+        Role role = tx.putRole("role");
+        EntityType type = tx.putEntityType("type").plays(role);
+        RelationshipType relationshipType = tx.putRelationshipType("relationship").relates(role);
+
+        int digestLength = -1;
+        int previousFullLength = 0;
+        for (int arity : ARITIES) {
+            Set<Thing> rolePlayers = new HashSet<>();
+            for (int i = 0; i < arity; i++) rolePlayers.add(type.addEntity());
+            List<String> hashInputs = RelationshipReified.hashInputs(relationshipType, Collections.singletonMap(role, rolePlayers));
+
+            int fullLength = RelationshipReified.generateCollisionHash(hashInputs).length();
+            int length = RelationshipReified.generateNewHash(hashInputs).length();
+            LOG.info("Arity " + arity + ": digest " + length + " chars, full hash " + fullLength + " chars");
+
+            if (digestLength >= 0) assertEquals(digestLength, length);
+            assertTrue(fullLength > previousFullLength);
+            digestLength = length;
+            previousFullLength = fullLength;
+        }
+        assertTrue(digestLength < previousFullLength);
+    }
+
+    @Test
+    public void whenHashingAndCommittingRelationships_ReportTheThroughput(){
+        Role role1 = tx.putRole("role 1");
+        Role role2 = tx.putRole("role 2");
+        EntityType type = tx.putEntityType("type").plays(role1).plays(role2);
+        RelationshipType relationshipType = tx.putRelationshipType("relationship").relates(role1).relates(role2);
+
+        List<List<String>> hashInputs = new ArrayList<>();
+        for (int i = 0; i < HASHES; i++) {
+            List<String> inputs = new ArrayList<>();
+            Collections.addAll(inputs, "Relation", relationshipType.getId().getValue(),
+                    role1.getId().getValue(), "1", Schema.PREFIX_VERTEX + i,
+                    role2.getId().getValue(), "1", Schema.PREFIX_VERTEX + (i + HASHES));
+            hashInputs.add(inputs);
+        }
+
+        long start = System.nanoTime();
+        hashInputs.forEach(RelationshipReified::generateNewHash);
+        long digestNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        hashInputs.forEach(RelationshipReified::generateCollisionHash);
+        long fullNanos = System.nanoTime() - start;
+
+        LOG.info("Digests: " + perSecond(HASHES, digestNanos) + " hashes/s, full hashes: " + perSecond(HASHES, fullNanos) + " hashes/s");
+
+        for (int i = 0; i < RELATIONSHIPS; i++) {
+            relationshipType.addRelationship().addRolePlayer(role1, type.addEntity()).addRolePlayer(role2, type.addEntity());
+        }
+        start = System.nanoTime();
+        tx.commit();
+        long commitNanos = System.nanoTime() - start;
+        LOG.info("Committed " + perSecond(RELATIONSHIPS, commitNanos) + " relationships/s");
+
+        tx = (GraknTxAbstract<?>) session.open(GraknTxType.WRITE);
+        assertEquals(RELATIONSHIPS, tx.getTinkerTraversal().V().
+                hasLabel(Schema.BaseType.RELATIONSHIP.name()).has(Schema.VertexProperty.INDEX.name()).count().next().intValue());
+    }
+
+    private static long perSecond(int count, long nanos) {
+        return count * TimeUnit.SECONDS.toNanos(1) / Math.max(1, nanos);
+    }
+}
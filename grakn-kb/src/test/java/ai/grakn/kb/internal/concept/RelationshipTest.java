@@ -38,11 +38,18 @@ import ai.grakn.kb.internal.TxTestBase;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
 import com.google.common.collect.Iterables;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +60,7 @@ import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -184,12 +192,67 @@ public class RelationshipTest extends TxTestBase {
         assertEquals(getFakeId(relation.type(), roleMap), relation.reified().get().getIndex());
     }
     private String getFakeId(RelationshipType relationshipType, TreeMap<Role, Thing> roleMap){
-        String itemIdentifier = "RelationType_" + relationshipType.getId() + "_Relation";
-        for(Map.Entry<Role, Thing> entry: roleMap.entrySet()){
-            itemIdentifier = itemIdentifier + "_" + entry.getKey().getId();
-            if(entry.getValue() != null) itemIdentifier += "_" + entry.getValue().getId();
+        //Each part is prefixed with its length: the relation, its type and then each role with its role players
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        List<String> parts = new ArrayList<>();
+        Collections.addAll(parts, "Relation", relationshipType.getId().getValue());
+        roleMap.forEach((role, thing) -> {
+            parts.add(role.getId().getValue());
+            if(thing == null){
+                parts.add("0");
+            } else {
+                Collections.addAll(parts, "1", thing.getId().getValue());
+            }
+        });
+        parts.forEach(part -> hasher.putInt(part.length()).putString(part, StandardCharsets.UTF_8));
+        return BaseEncoding.base64Url().omitPadding().encode(hasher.hash().asBytes());
+    }
+
+    @Test
+    public void whenCreatingRelation_TheHashIsAFixedWidthUrlSafeDigest(){
+        Thing thing = type.addEntity();
+        Relationship relationship = relationshipType.addRelationship().addRolePlayer(role1, thing);
+        tx.commit();
+        tx = (GraknTxAbstract<?>) session.open(GraknTxType.WRITE);
+
+        //A 128 bit digest is 22 base64 characters without padding
+        String hash = tx.<RelationshipImpl>getConcept(relationship.getId()).reified().get().getIndex();
+        assertTrue(hash, hash.matches("[A-Za-z0-9_-]{22}"));
+    }
+
+    @Test
+    public void whenRelationsHaveManyRolePlayers_TheirHashesHaveTheSameLength(){
+        Role role = tx.putRole("role");
+        EntityType type = tx.putEntityType("concept type").plays(role);
+        RelationshipType relationshipType = tx.putRelationshipType("relation type").relates(role);
+
+        Set<Thing> twoPlayers = new HashSet<>();
+        Set<Thing> manyPlayers = new HashSet<>();
+        for(int i = 0; i < 100; i++){
+            Thing thing = type.addEntity();
+            if(i < 2) twoPlayers.add(thing);
+            manyPlayers.add(thing);
         }
-        return itemIdentifier;
+
+        String twoPlayersHash = RelationshipReified.generateNewHash(relationshipType, Collections.singletonMap(role, twoPlayers));
+        String manyPlayersHash = RelationshipReified.generateNewHash(relationshipType, Collections.singletonMap(role, manyPlayers));
+
+        assertNotEquals(twoPlayersHash, manyPlayersHash);
+        assertEquals(twoPlayersHash.length(), manyPlayersHash.length());
+    }
+
+    @Test
+    public void whenMigratingLegacyRelationshipHashes_TheHashesAreReplacedWithDigests(){
+        tx.commit();
+        tx = (GraknTxAbstract<?>) session.open(GraknTxType.WRITE);
+
+        RelationshipImpl relationship = tx.getConcept(relation.getId());
+        String digest = relationship.reified().get().getIndex();
+        relationship.reified().get().vertex().element().property(Schema.VertexProperty.INDEX.name(), "RelationType_legacy");
+
+        assertEquals(1, tx.admin().migrateRelationshipHashes());
+        assertEquals(digest, relationship.reified().get().getIndex());
+        assertEquals(0, tx.admin().migrateRelationshipHashes());
     }
 
     @Test
@@ -348,4 +411,41 @@ public class RelationshipTest extends TxTestBase {
 
         tx.commit();
     }
+
+    @Test
+    public void whenTheHashOfARelationIsHeldByADifferentRelation_TheCollisionHashIsUsedAndDuplicatesAreStillDetected(){
+        tx.commit();
+        tx = (GraknTxAbstract<?>) session.open(GraknTxType.WRITE);
+
+        RelationshipType relationshipType = tx.getConcept(this.relationshipType.getId());
+        Role role1 = tx.getConcept(this.role1.getId());
+        Role role2 = tx.getConcept(this.role2.getId());
+        Thing rolePlayer1 = tx.getConcept(this.rolePlayer1.getId());
+        Thing rolePlayer3 = tx.<EntityType>getConcept(type.getId()).addEntity();
+
+        Relationship colliding = relationshipType.addRelationship().addRolePlayer(role1, rolePlayer1).addRolePlayer(role2, rolePlayer3);
+        List<String> hashInputs = RelationshipReified.hashInputs(relationshipType, colliding.allRolePlayers());
+
+        //Simulate a digest collision by giving the existing relation the digest of the new one
+        RelationshipImpl existing = tx.getConcept(relation.getId());
+        existing.reified().get().vertex().element().property(Schema.VertexProperty.INDEX.name(), RelationshipReified.generateNewHash(hashInputs));
+
+        tx.commit();
+        tx = (GraknTxAbstract<?>) session.open(GraknTxType.WRITE);
+
+        RelationshipImpl committed = tx.getConcept(colliding.getId());
+        String collisionHash = committed.reified().get().vertex().property(Schema.VertexProperty.INDEX);
+        String typeId = relationshipType.getId().getValue();
+        assertThat(collisionHash, Matchers.startsWith("RelationHash_8:Relation" + typeId.length() + ":" + typeId));
+        for(String rolePlayerId : new String[]{rolePlayer1.getId().getValue(), rolePlayer3.getId().getValue()}){
+            assertThat(collisionHash, containsString(rolePlayerId.length() + ":" + rolePlayerId));
+        }
+
+        tx.<RelationshipType>getConcept(relationshipType.getId()).addRelationship().
+                addRolePlayer(tx.getConcept(role1.getId()), tx.getConcept(rolePlayer1.getId())).
+                addRolePlayer(tx.getConcept(role2.getId()), tx.getConcept(rolePlayer3.getId()));
+
+        expectedException.expect(InvalidKBException.class);
+        tx.commit();
+    }
 }
\ No newline at end of file
@@ -108,7 +108,8 @@ public class MigrationCLI {
             migrator.print(template, data);
         } else {
             printInitMessage(options);
-            migrator.load(template, data, options.getBatch(), options.getNumberActiveTasks(), options.getRetry(), options.isDebug());
+            migrator.load(template, data, options.getBatch(), options.getNumberActiveTasks(), options.getRetry(),
+                    options.isDebug(), options.getNumberWorkers(), options.isOrdered());
             printWholeCompletionMessage(options);
         }
     }
@@ -40,6 +40,7 @@ public class MigrationOptions {
     private static final String retry = Integer.toString(Migrator.DEFAULT_MAX_RETRY);
     private static final String batch = Integer.toString(Migrator.BATCH_SIZE);
     private static final String active = Integer.toString(Migrator.ACTIVE_TASKS);
+    private static final String workers = Integer.toString(Migrator.DEFAULT_WORKERS);
     private int numberOptions;
 
     protected final Options options = new Options();
@@ -54,6 +55,8 @@ public class MigrationOptions {
         options.addOption("c", "config", true, "Configuration file.");
         options.addOption("r", "retry", true, "Number of times to retry sending tasks if engine is not available");
         options.addOption("d", "debug", false, "Immediately stop and fail migration if an error occurs");
+        options.addOption("w", "workers", true, "Number of threads templating the data. Default is the number of processors.");
+        options.addOption("o", "unordered", false, "Submit queries as soon as they are templated, rather than in the order of the data.");
     }
 
     public boolean isVerbose() {
@@ -129,11 +132,29 @@ public class MigrationOptions {
         return parseInt(command.getOptionValue("a", active));
     }
 
+    public int getNumberWorkers() {
+        String numberWorkers = command.getOptionValue("w", workers);
+        try {
+            int parsed = parseInt(numberWorkers);
+            if(parsed > 0) return parsed;
+        } catch (NumberFormatException e){
+            // Reported as a usage error below
+        }
+        throw new IllegalArgumentException("Number of workers must be a positive integer (-w), but was " + numberWorkers);
+    }
+
+    public boolean isOrdered() {
+        return !command.hasOption("o");
+    }
+
     protected void parse(String[] args){
         try {
             CommandLineParser parser = new DefaultParser();
             command = parser.parse(options, args);
             numberOptions = command.getOptions().length;
+
+            // Fail before any data is read rather than when the workers are started
+            getNumberWorkers();
         } catch (ParseException e){
             throw new IllegalArgumentException(e);
         }
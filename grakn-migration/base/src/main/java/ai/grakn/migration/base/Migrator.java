@@ -27,12 +27,32 @@ import ai.grakn.graql.Graql;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.internal.query.QueryBuilderImpl;
 import ai.grakn.graql.macro.Macro;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
@@ -43,21 +63,35 @@ import static java.lang.String.format;
  *     all extending migrator classes.
  * </p>
  *
+ * <p>
+ *     Data is migrated through a pipeline: a reader thread splits the data into chunks, a pool of workers templates
+ *     and parses the chunks, each with its own query builder, and the calling thread submits the resulting queries
+ *     in batches. Only a bounded number of chunks are in flight at any time, so reading is held back when templating
+ *     or loading cannot keep up.
+ * </p>
+ *
  * @author alexandraorth
  */
 public class Migrator {
 
-    private final static AtomicInteger numberQueriesSubmitted = new AtomicInteger(0);
-    private final static AtomicInteger numberBatchesCompleted = new AtomicInteger(0);
-
     private final static Logger LOG = LoggerFactory.getLogger(Migrator.class);
-    private final QueryBuilderImpl queryBuilder = (QueryBuilderImpl) Graql.withoutGraph().infer(false);
+    private final List<Macro> macros = new ArrayList<>();
+    private final ThreadLocal<QueryBuilderImpl> queryBuilder = ThreadLocal.withInitial(this::newQueryBuilder);
     public static final int BATCH_SIZE = 25;
     public static final int ACTIVE_TASKS = 16;
     public static final int DEFAULT_MAX_RETRY = 1;
+    public static final int DEFAULT_WORKERS = Runtime.getRuntime().availableProcessors();
+    public static final int CHUNK_SIZE = 100;
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int REPORT_INTERVAL_SECONDS = 10;
+    private static final long POLL_INTERVAL_MS = 100;
 
     private final String uri;
     private final Keyspace keyspace;
+
+    private final AtomicLong numberRowsRead = new AtomicLong(0);
+    private final AtomicLong numberQueriesSubmitted = new AtomicLong(0);
+    private final AtomicLong numberBatchesCompleted = new AtomicLong(0);
     private int batchSize;
     private long startTime;
 
@@ -79,7 +113,9 @@ public class Migrator {
      * Register a macro to use in templating
      */
     public Migrator registerMacro(Macro macro){
-        queryBuilder.registerMacro(macro);
+        macros.add(macro);
+        // the templating threads of a load are new, but this thread may have already created its query builder
+        queryBuilder.remove();
         return this;
     }
 
@@ -112,6 +148,8 @@ public class Migrator {
      * Migrate data constrained by this migrator using a loader configured
      * by the provided parameters.
      *
+     * Uses the default number of templating workers and submits queries in the order of the data.
+     *
      * @param template
      * @param converter
      * @param batchSize The number of queries to execute in one transaction. Default is 25.
@@ -121,13 +159,31 @@ public class Migrator {
      */
     public void load(String template, Stream<Map<String, Object>> converter,
                      int batchSize, int numberActiveTasks, int retrySize, boolean debug){
+        load(template, converter, batchSize, numberActiveTasks, retrySize, debug, DEFAULT_WORKERS, true);
+    }
+
+    /**
+     * Migrate data constrained by this migrator using a loader configured
+     * by the provided parameters.
+     *
+     * @param template
+     * @param converter
+     * @param batchSize The number of queries to execute in one transaction. Default is 25.
+     * @param numberActiveTasks Number of tasks running on the server at any one time. Consider this a safeguard
+     *                  to bot the system load. Default is 25.
+     * @param retrySize If the Loader should continue attempt to send tasks when Engine is not available or an exception occurs
+     * @param workers Number of threads templating and parsing the data. Default is the number of processors.
+     * @param ordered If queries should be submitted in the order of the data, rather than as soon as they are ready
+     */
+    public void load(String template, Stream<Map<String, Object>> converter,
+                     int batchSize, int numberActiveTasks, int retrySize, boolean debug, int workers, boolean ordered){
         this.startTime = System.currentTimeMillis();
         this.batchSize = batchSize;
+        numberRowsRead.set(0);
+        numberQueriesSubmitted.set(0);
+        numberBatchesCompleted.set(0);
 
-        BatchMutatorClient loader = new BatchMutatorClient(keyspace, uri, recordMigrationStates(), true, debug, retrySize);
-        loader.setBatchSize(batchSize);
-        loader.setNumberActiveTasks(numberActiveTasks);
-        loader.setTaskCompletionConsumer(taskResult -> {
+        Consumer<TaskResult> onCompletionOfTask = recordMigrationStates().andThen(taskResult -> {
             String stackTrace = taskResult.getStackTrace();
             if (stackTrace != null && !stackTrace.isEmpty()) {
                 if(debug){
@@ -138,14 +194,105 @@ public class Migrator {
             }
         });
 
-        converter
-                .flatMap(d -> template(template, d))
-                .forEach(q -> {
+        BatchMutatorClient loader = new BatchMutatorClient(keyspace, uri, onCompletionOfTask, true, debug, retrySize);
+        loader.setBatchSize(batchSize);
+        loader.setNumberActiveTasks(numberActiveTasks);
+
+        ExecutorService templatingPool = Executors.newFixedThreadPool(workers,
+                new ThreadFactoryBuilder().setNameFormat("migration-templating-%d").setDaemon(true).build());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("migration-report-%d").setDaemon(true).build());
+        reporter.scheduleAtFixedRate(this::reportThroughput,
+                REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        try {
+            runPipeline(template, converter, loader, templatingPool, workers, ordered);
+            loader.waitToFinish();
+        } finally {
+            templatingPool.shutdownNow();
+            reporter.shutdownNow();
+            loader.close();
+            reportThroughput();
+        }
+    }
+
+    /**
+     * Read the data in chunks on a separate thread, template the chunks on the pool and submit the queries to the
+     * loader on this thread. At most a few chunks per worker are read but not yet submitted.
+     */
+    private void runPipeline(String template, Stream<Map<String, Object>> converter, BatchMutatorClient loader,
+                             ExecutorService templatingPool, int workers, boolean ordered) {
+        CompletionService<List<Query>> templated = new ExecutorCompletionService<>(templatingPool);
+        BlockingQueue<Future<List<Query>>> inOrder = new LinkedBlockingQueue<>();
+        Semaphore inFlight = new Semaphore(workers * CHUNKS_PER_WORKER);
+        AtomicLong chunksRead = new AtomicLong(0);
+        AtomicBoolean readingDone = new AtomicBoolean(false);
+        AtomicReference<RuntimeException> readingError = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            try {
+                Iterator<List<Map<String, Object>>> chunks = Iterators.partition(converter.iterator(), CHUNK_SIZE);
+                while (chunks.hasNext()) {
+                    List<Map<String, Object>> chunk = chunks.next();
+                    inFlight.acquire();
+                    Callable<List<Query>> templating = () -> templateChunk(template, chunk);
+                    if (ordered) {
+                        inOrder.add(templatingPool.submit(templating));
+                    } else {
+                        templated.submit(templating);
+                    }
+                    numberRowsRead.addAndGet(chunk.size());
+                    chunksRead.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                readingError.set(e);
+            } finally {
+                readingDone.set(true);
+            }
+        }, "migration-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            long chunksSubmitted = 0;
+            while (!readingDone.get() || chunksSubmitted < chunksRead.get()) {
+                Future<List<Query>> chunk = ordered ?
+                        inOrder.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS) :
+                        templated.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (chunk == null) continue;
+
+                List<Query> queries = getQueries(chunk);
+                inFlight.release();
+                chunksSubmitted++;
+
+                queries.forEach(q -> {
                     numberQueriesSubmitted.incrementAndGet();
                     loader.add(q);
                 });
-        loader.waitToFinish();
-        loader.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            reader.interrupt();
+        }
+
+        if (readingError.get() != null) throw readingError.get();
+    }
+
+    private static List<Query> getQueries(Future<List<Query>> chunk) throws InterruptedException {
+        try {
+            return chunk.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private List<Query> templateChunk(String template, List<Map<String, Object>> chunk) {
+        return chunk.stream().flatMap(d -> template(template, d)).collect(Collectors.toList());
     }
 
     /**
@@ -155,7 +302,7 @@ public class Migrator {
      */
     protected Stream<Query> template(String template, Map<String, Object> data){
         try {
-            return queryBuilder.parseTemplate(template, data);
+            return queryBuilder.get().parseTemplate(template, data);
 
             //TODO Graql should throw a GraqlParsingException so we do not need to catch IllegalArgumentException
         } catch (GraqlSyntaxException | IllegalArgumentException e){
@@ -165,23 +312,35 @@ public class Migrator {
         return Stream.empty();
     }
 
+    /**
+     * Every templating thread uses its own query builder, with the macros registered on this migrator
+     */
+    private QueryBuilderImpl newQueryBuilder() {
+        QueryBuilderImpl builder = (QueryBuilderImpl) Graql.withoutGraph().infer(false);
+        macros.forEach(builder::registerMacro);
+        return builder;
+    }
+
     /**
      * Consumer function which will operate on the results of the loader
-     * and print the current status of the migrator.
+     * and count the completed batches.
      *
      * @return function that operates on completion of a task
      */
     private Consumer<TaskResult> recordMigrationStates(){
-        return (TaskResult taskId) -> {
-            numberBatchesCompleted.incrementAndGet();
+        return (TaskResult taskId) -> numberBatchesCompleted.incrementAndGet();
+    }
 
-            long timeElapsedSeconds = (System.currentTimeMillis() - startTime)/1000;
-            long numberQueriesCompleted = numberBatchesCompleted.get() * batchSize;
+    /**
+     * Log the progress and throughput of the migration
+     */
+    private void reportThroughput(){
+        double timeElapsedSeconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000D;
+        long numberQueriesCompleted = numberBatchesCompleted.get() * batchSize;
 
-            LOG.info(format("Number queries submitted: %s", numberQueriesSubmitted.get()));
-            LOG.info(format("Number batches completed: %s", numberBatchesCompleted.get()));
-            LOG.info(format("~Number queries completed: %s", numberQueriesCompleted));
-            LOG.info(format("~Rate of completion (queries/second): %s", numberQueriesCompleted / timeElapsedSeconds));
-        };
+        LOG.info(format("Rows read: %s, queries submitted: %s, batches completed: %s, " +
+                        "~rate of completion (queries/second): %.1f",
+                numberRowsRead.get(), numberQueriesSubmitted.get(), numberBatchesCompleted.get(),
+                numberQueriesCompleted / timeElapsedSeconds));
     }
 }
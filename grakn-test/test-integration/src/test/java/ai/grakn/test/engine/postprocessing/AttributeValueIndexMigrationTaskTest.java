@@ -0,0 +1,92 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.postprocessing;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknTx;
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.postprocessing.AttributeValueIndexMigrationTask;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.test.EngineContext;
+import ai.grakn.util.MockRedisRule;
+import ai.grakn.util.SampleKBLoader;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import static ai.grakn.engine.TaskStatus.COMPLETED;
+import static ai.grakn.test.engine.tasks.BackgroundTaskTestUtils.waitForDoneStatus;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AttributeValueIndexMigrationTaskTest {
+
+    @ClassRule
+    public static final EngineContext engine = EngineContext.startSingleQueueServer();
+
+    @ClassRule
+    public static final MockRedisRule mockRedisRule = new MockRedisRule();
+
+    @Test
+    public void whenMigratingAKeyspaceWithUnindexedAttributeValues_TheValuesAreCopiedOntoTheIsaEdges() {
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+        ConceptId attributeId;
+
+        try (GraknTx tx = Grakn.session(engine.uri(), keyspace).open(GraknTxType.WRITE)) {
+            AttributeType<Long> age = tx.putAttributeType("age", AttributeType.DataType.LONG);
+            attributeId = age.putAttribute(42L).getId();
+            tx.commit();
+        }
+
+        //Simulate an attribute stored before values were copied onto isa edges
+        try (GraknTx tx = Grakn.session(engine.uri(), keyspace).open(GraknTxType.WRITE)) {
+            Edge isa = isaEdge(tx, attributeId);
+            isa.property(Schema.EdgeProperty.VALUE_LONG.name()).remove();
+            isa.inVertex().property(Schema.VertexProperty.IS_VALUE_INDEXED.name()).remove();
+            tx.admin().commitNoLogs();
+        }
+
+        try (GraknTx tx = Grakn.session(engine.uri(), keyspace).open(GraknTxType.READ)) {
+            assertFalse(isaEdge(tx, attributeId).property(Schema.EdgeProperty.VALUE_LONG.name()).isPresent());
+        }
+
+        TaskState task = AttributeValueIndexMigrationTask.createTask(getClass());
+        engine.getTaskManager().addTask(task, AttributeValueIndexMigrationTask.createConfig(keyspace));
+        waitForDoneStatus(engine.getTaskManager().storage(), singleton(task));
+        assertEquals(COMPLETED, engine.getTaskManager().storage().getState(task.getId()).status());
+
+        try (GraknTx tx = Grakn.session(engine.uri(), keyspace).open(GraknTxType.READ)) {
+            Edge isa = isaEdge(tx, attributeId);
+            assertEquals(42L, (long) isa.<Long>value(Schema.EdgeProperty.VALUE_LONG.name()));
+            assertEquals(true, isa.inVertex().value(Schema.VertexProperty.IS_VALUE_INDEXED.name()));
+        }
+    }
+
+    private static Edge isaEdge(GraknTx tx, ConceptId attributeId) {
+        Vertex attribute = tx.admin().getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), attributeId.getValue()).next();
+        return attribute.edges(Direction.OUT, Schema.EdgeLabel.ISA.getLabel()).next();
+    }
+}
@@ -19,15 +19,20 @@
 package ai.grakn.test.engine.postprocessing;
 
 import ai.grakn.Grakn;
+import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.Attribute;
 import ai.grakn.concept.ConceptId;
 import ai.grakn.engine.SystemKeyspace;
+import ai.grakn.engine.factory.EngineGraknTxFactory;
 import ai.grakn.engine.lock.ProcessWideLockProvider;
 import ai.grakn.engine.postprocessing.PostProcessingTask;
 import ai.grakn.engine.tasks.manager.StandaloneTaskManager;
 import ai.grakn.engine.tasks.manager.TaskCheckpoint;
 import ai.grakn.engine.tasks.manager.TaskConfiguration;
 import ai.grakn.engine.tasks.manager.TaskSubmitter;
+import ai.grakn.kb.admin.GraknAdmin;
 import ai.grakn.test.EngineContext;
 import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
@@ -43,6 +48,13 @@ import java.util.UUID;
 import java.util.function.Consumer;
 
 import static ai.grakn.util.REST.Request.KEYSPACE;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -122,4 +134,47 @@ public class PostProcessingTaskTest {
 
         verify(mockConfiguration, times(4)).json();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenOneIndexFailsToMerge_TheOtherIndicesOfItsGroupAreStillMerged(){
+        String goodIndex = "a-good-index";
+        String badIndex = "b-bad-index";
+        Set<ConceptId> goodIds = Sets.newHashSet(ConceptId.of("good"));
+        Set<ConceptId> badIds = Sets.newHashSet(ConceptId.of("bad"));
+        TaskConfiguration configuration = mock(TaskConfiguration.class);
+        when(configuration.json()).thenReturn(Json.object(
+                KEYSPACE, "testing",
+                REST.Request.COMMIT_LOG_FIXING, Json.object(
+                        Schema.BaseType.ATTRIBUTE.name(), Json.object(goodIndex, goodIds, badIndex, badIds)
+                )));
+
+        GraknAdmin admin = mock(GraknAdmin.class);
+        GraknTx tx = mock(GraknTx.class);
+        when(tx.admin()).thenReturn(admin);
+        when(tx.getKeyspace()).thenReturn(Keyspace.of("testing"));
+        when(admin.duplicateResourcesExist(any(), any())).thenReturn(true);
+        when(admin.getConcept(eq(Schema.VertexProperty.INDEX), anyString())).thenReturn(mock(Attribute.class));
+        doThrow(new RuntimeException("merge failed")).when(admin).fixDuplicateResources(eq(badIndex), any());
+
+        SystemKeyspace systemKeyspace = mock(SystemKeyspace.class);
+        when(systemKeyspace.containsKeyspace(any())).thenReturn(true);
+        EngineGraknTxFactory factory = mock(EngineGraknTxFactory.class);
+        when(factory.systemKeyspace()).thenReturn(systemKeyspace);
+        when(factory.tx(any(Keyspace.class), any())).thenReturn(tx);
+
+        PostProcessingTask task = new PostProcessingTask();
+        task.initialize(mockConsumer, configuration, mockTaskSubmitter, engine.config(), null, factory,
+                new ProcessWideLockProvider(), METRIC_REGISTRY);
+
+        try {
+            task.start();
+            fail("The task should report the index which could not be merged");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), containsString(badIndex));
+        }
+
+        // The good index is tried once with the failed group and once on its own, which commits
+        verify(admin, times(2)).fixDuplicateResources(goodIndex, goodIds);
+        verify(admin, times(1)).commitNoLogs();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.postprocessing;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknTx;
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Relationship;
+import ai.grakn.concept.RelationshipType;
+import ai.grakn.concept.Role;
+import ai.grakn.engine.postprocessing.RelationshipHashMigrationTask;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.kb.internal.concept.RelationshipReified;
+import ai.grakn.test.EngineContext;
+import ai.grakn.util.MockRedisRule;
+import ai.grakn.util.SampleKBLoader;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import static ai.grakn.engine.TaskStatus.COMPLETED;
+import static ai.grakn.test.engine.tasks.BackgroundTaskTestUtils.waitForDoneStatus;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+
+public class RelationshipHashMigrationTaskTest {
+
+    @ClassRule
+    public static final EngineContext engine = EngineContext.startSingleQueueServer();
+
+    @ClassRule
+    public static final MockRedisRule mockRedisRule = new MockRedisRule();
+
+    @Test
+    public void whenMigratingAKeyspaceWithLegacyRelationshipHashes_TheHashesAreReplacedWithDigests() {
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+        ConceptId relationshipId;
+        String digest;
+
+        try (GraknTx tx = Grakn.session(engine.uri(), keyspace).open(GraknTxType.WRITE)) {
+            Role husband = tx.putRole("husband");
+            Role wife = tx.putRole("wife");
+            RelationshipType marriage = tx.putRelationshipType("marriage").relates(husband).relates(wife);
+            EntityType person = tx.putEntityType("person").plays(husband).plays(wife);
+            Relationship relationship = marriage.addRelationship()
+                    .addRolePlayer(husband, person.addEntity()).addRolePlayer(wife, person.addEntity());
+            relationshipId = relationship.getId();
+            digest = RelationshipReified.generateNewHash(marriage, relationship.allRolePlayers());
+            tx.commit();
+        }
+
+        //Simulate a relationship stored before hashes were digests
+        try (GraknTx tx = Grakn.session(engine.uri(), keyspace).open(GraknTxType.WRITE)) {
+            relationshipVertex(tx, relationshipId).property(Schema.VertexProperty.INDEX.name(), "RelationType_legacy");
+            tx.admin().commitNoLogs();
+        }
+
+        TaskState task = RelationshipHashMigrationTask.createTask(getClass());
+        engine.getTaskManager().addTask(task, RelationshipHashMigrationTask.createConfig(keyspace));
+        waitForDoneStatus(engine.getTaskManager().storage(), singleton(task));
+        assertEquals(COMPLETED, engine.getTaskManager().storage().getState(task.getId()).status());
+
+        try (GraknTx tx = Grakn.session(engine.uri(), keyspace).open(GraknTxType.READ)) {
+            assertEquals(digest, relationshipVertex(tx, relationshipId).value(Schema.VertexProperty.INDEX.name()));
+        }
+    }
+
+    private static Vertex relationshipVertex(GraknTx tx, ConceptId relationshipId) {
+        return tx.admin().getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), relationshipId.getValue()).next();
+    }
+}
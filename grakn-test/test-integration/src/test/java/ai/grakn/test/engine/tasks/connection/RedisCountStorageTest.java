@@ -24,11 +24,15 @@ import ai.grakn.engine.tasks.connection.RedisCountStorage;
 import ai.grakn.test.EngineContext;
 import ai.grakn.util.MockRedisRule;
 import ai.grakn.util.SampleKBLoader;
+import com.google.common.collect.ImmutableMap;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -99,4 +103,36 @@ public class RedisCountStorageTest {
         assertEquals(0, redis.getCount(RedisCountStorage.getKeyNumInstances(keyspace1, ciri)));
         assertEquals(1, redis.getCount(RedisCountStorage.getKeyNumInstances(keyspace2, ciri)));
     }
+
+    @Test
+    public void whenAdjustingSeveralInstanceCounts_AllCountsAreChangedAndTypesOverTheThresholdNeedSharding(){
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+        ConceptId roach = ConceptId.of("Roach");
+        ConceptId ciri = ConceptId.of("Ciri");
+        ConceptId geralt = ConceptId.of("Geralt");
+
+        redis.adjustCount(RedisCountStorage.getKeyNumInstances(keyspace, geralt), 5);
+        redis.adjustCount(RedisCountStorage.getKeyNumShards(keyspace, ciri), 2);
+
+        Map<ConceptId, Long> changes = new HashMap<>();
+        changes.put(roach, 15L);
+        changes.put(ciri, 15L);
+        changes.put(geralt, -5L);
+        RedisCountStorage.InstanceCountUpdate update = redis.adjustInstanceCounts(keyspace, changes, 10);
+
+        assertEquals(ImmutableMap.of(roach, 15L, ciri, 15L, geralt, 0L), update.instanceCounts());
+        assertEquals(Collections.singleton(roach), update.typesToShard());
+        assertEquals(15, redis.getCount(RedisCountStorage.getKeyNumInstances(keyspace, ciri)));
+    }
+
+    @Test
+    public void whenABatchWithNoChangesIsCounted_ItIsReportedAsCounted(){
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+
+        redis.adjustInstanceCounts(keyspace, Collections.emptyMap(), "empty-batch", Collections.emptySet(), 10);
+
+        RedisCountStorage.InstanceCountUpdate update = redis.adjustInstanceCounts(
+                keyspace, Collections.emptyMap(), null, Collections.singleton("empty-batch"), 10);
+        assertEquals(Collections.singleton("empty-batch"), update.countedBatches());
+    }
 }
@@ -21,17 +21,25 @@ package ai.grakn.test.graql.analytics;
 import ai.grakn.GraknSession;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Entity;
 import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
 import ai.grakn.graql.Graql;
+import ai.grakn.kb.internal.cache.KeyspaceStatisticsImpl;
 import ai.grakn.test.EngineContext;
 import ai.grakn.test.GraknTestSetup;
+import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableMap;
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.response.Response;
+import mjson.Json;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -41,6 +49,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
 
@@ -118,6 +127,22 @@ public class CountTest {
 
     }
 
+    @Test
+    public void whenCountingApproximatelyOrByScanning_TheCountsAgree() {
+        try (GraknTx graph = factory.open(GraknTxType.WRITE)) {
+            EntityType thingy = graph.putEntityType("thingy");
+            thingy.addEntity();
+            thingy.addEntity();
+            graph.commit();
+        }
+
+        try (GraknTx graph = factory.open(GraknTxType.READ)) {
+            assertEquals(2L, graph.graql().compute().count().in("thingy").approximate().execute().longValue());
+            assertEquals(2L, graph.graql().compute().count().in("thingy").scan().execute().longValue());
+            assertEquals(2L, graph.graql().compute().count().in("thingy").execute().longValue());
+        }
+    }
+
     @Test
     public void testHasResourceEdges() {
         try (GraknTx graph = factory.open(GraknTxType.WRITE)) {
@@ -256,9 +281,57 @@ public class CountTest {
         }
     }
 
+    @Test
+    public void whenSelectedTypesAreAbstractOrHaveNeverHadInstances_TheCountIsAnsweredWithoutScanning() {
+        Keyspace keyspace;
+        ConceptId carId;
+        try (GraknTx graph = factory.open(GraknTxType.WRITE)) {
+            keyspace = graph.getKeyspace();
+            EntityType vehicle = graph.putEntityType("vehicle").setAbstract(true);
+            carId = graph.putEntityType("car").sup(vehicle).getId();
+            graph.putEntityType("boat").sup(vehicle);
+            graph.commit();
+        }
+
+        // The recorded count deliberately disagrees with the graph, so a scan would be noticed
+        KeyspaceStatisticsImpl.of(keyspace).updateInstanceCounts(ImmutableMap.of(carId, 2L));
+
+        try (GraknTx graph = factory.open(GraknTxType.READ)) {
+            assertEquals(2L, graph.graql().compute().count().in("vehicle").execute().longValue());
+            assertEquals(0L, graph.graql().compute().count().in("vehicle").scan().execute().longValue());
+        }
+    }
+
     private Long executeCount(GraknSession factory) {
         try (GraknTx graph = factory.open(GraknTxType.READ)) {
             return graph.graql().compute().count().execute();
         }
     }
+
+    @Test
+    public void whenInstancesAreLoadedThroughTheLoader_TheExactCountIncludesThemBeforeTheyAreCounted() {
+        Keyspace keyspace;
+        ConceptId thingyId;
+        try (GraknTx graph = factory.open(GraknTxType.WRITE)) {
+            keyspace = graph.getKeyspace();
+            thingyId = graph.putEntityType("thingy").getId();
+            graph.commit();
+        }
+
+        // The keyspace holds no instances, so this is the authoritative count until the loaded batch is counted
+        KeyspaceStatisticsImpl.of(keyspace).updateInstanceCounts(ImmutableMap.of(thingyId, 0L));
+
+        String body = Stream.generate(() -> Json.make("insert $x isa thingy;").toString())
+                .limit(3).collect(Collectors.joining("\n"));
+        Response response = RestAssured.with()
+                .queryParam(REST.Request.KEYSPACE, keyspace.getValue())
+                .body(body)
+                .post(REST.WebPath.KB.LOAD);
+        assertEquals(200, response.statusCode());
+
+        try (GraknTx graph = factory.open(GraknTxType.READ)) {
+            assertEquals(3L, graph.graql().compute().count().in("thingy").execute().longValue());
+            assertEquals(3L, graph.graql().compute().count().in("thingy").scan().execute().longValue());
+        }
+    }
 }
\ No newline at end of file
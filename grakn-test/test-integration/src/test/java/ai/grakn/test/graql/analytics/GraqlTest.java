@@ -39,6 +39,7 @@ import ai.grakn.graql.analytics.MeanQuery;
 import ai.grakn.graql.analytics.MedianQuery;
 import ai.grakn.graql.analytics.MinQuery;
 import ai.grakn.graql.analytics.PathQuery;
+import ai.grakn.graql.analytics.PercentileQuery;
 import ai.grakn.graql.analytics.SumQuery;
 import ai.grakn.test.EngineContext;
 import ai.grakn.util.Schema;
@@ -291,4 +292,53 @@ public class GraqlTest {
             graph.commit();
         }
     }
+
+    @Test
+    public void whenComputingAnApproximateMedianWithGraql_TheMedianOfTheOwnedValuesIsReturned() {
+        try (GraknTx graph = factory.open(GraknTxType.WRITE)) {
+            AttributeType<Long> resource = graph.putAttributeType("my-resource", AttributeType.DataType.LONG);
+            graph.putEntityType("nothing").attribute(resource);
+            EntityType thingy = graph.putEntityType("thingy").attribute(resource);
+
+            Entity theResourceOwner = thingy.addEntity();
+            theResourceOwner.attribute(resource.putAttribute(1L));
+            theResourceOwner.attribute(resource.putAttribute(2L));
+            theResourceOwner.attribute(resource.putAttribute(3L));
+            graph.commit();
+        }
+
+        try (GraknTx graph = factory.open(GraknTxType.READ)) {
+            Optional<? extends Number> result =
+                    graph.graql().<MedianQuery>parse("compute median of my-resource; approximate;").execute();
+            assertEquals(Optional.of(2L), result);
+
+            result = graph.graql().<MedianQuery>parse("compute median of my-resource in nothing; approximate;").execute();
+            assertEquals(Optional.empty(), result);
+        }
+    }
+
+    @Test
+    public void whenComputingAPercentileWithGraql_TheValueAtThePercentileIsEstimated() {
+        try (GraknTx graph = factory.open(GraknTxType.WRITE)) {
+            AttributeType<Long> resource = graph.putAttributeType("my-resource", AttributeType.DataType.LONG);
+            graph.putEntityType("nothing").attribute(resource);
+            EntityType thingy = graph.putEntityType("thingy").attribute(resource);
+
+            Entity theResourceOwner = thingy.addEntity();
+            for (long i = 1; i <= 10; i++) theResourceOwner.attribute(resource.putAttribute(i));
+            graph.commit();
+        }
+
+        try (GraknTx graph = factory.open(GraknTxType.READ)) {
+            Optional<? extends Number> result =
+                    graph.graql().<PercentileQuery>parse("compute percentile 100 of my-resource; approximate;").execute();
+            assertEquals(Optional.of(10L), result);
+
+            result = graph.graql().<PercentileQuery>parse("compute percentile 0 of my-resource; approximate;").execute();
+            assertEquals(Optional.of(1L), result);
+
+            result = graph.graql().<PercentileQuery>parse("compute percentile 90 of my-resource in nothing; approximate;").execute();
+            assertEquals(Optional.empty(), result);
+        }
+    }
 }
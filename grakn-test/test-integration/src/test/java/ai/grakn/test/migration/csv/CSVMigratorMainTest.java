@@ -149,6 +149,17 @@ public class CSVMigratorMainTest {
         assertThat(sysErr.getLog(), containsString("Unrecognized option: -whale"));
     }
 
+    @Test
+    public void csvMigratorCalledWithNonPositiveWorkers_ErrorIsPrintedToSystemErr(){
+        run("-input", dataFile, "-template", templateFile, "-u", engine.uri(), "-keyspace", keyspace.getValue(), "-w", "0");
+        assertThat(sysErr.getLog(), containsString("Number of workers must be a positive integer (-w), but was 0"));
+    }
+
+    @Test
+    public void runningUnorderedCSVMigrationWithSeveralWorkers_PetDataMigratedCorrectly(){
+        runAndAssertDataCorrect("-u", engine.uri(), "-input", dataFile, "-template", templateFile, "-keyspace", keyspace.getValue(), "-w", "4", "-o");
+    }
+
     private void run(String... args){
         CSVMigrator.main(args);
     }
@@ -97,6 +97,19 @@ public class CSVMigratorTest {
         assertPokemonGraphCorrect(factory);
     }
 
+    @Test
+    public void whenMigratorLoadsWithSeveralWorkersOutOfOrder_AllDataIsPersistedInGraph() throws IOException {
+        load(factory, getFile("csv", "pets/schema.gql"));
+        String template = getFileAsString("csv", "pets/template.gql");
+
+        try(CSVMigrator m = new CSVMigrator(getFile("csv", "pets/data/pets.csv"))) {
+            migrator.load(template, m.convert(), Migrator.BATCH_SIZE, Migrator.ACTIVE_TASKS,
+                    Migrator.DEFAULT_MAX_RETRY, true, 4, false);
+        }
+
+        assertPetGraphCorrect(factory);
+    }
+
     @Test
     public void whenDataContainsEmptyQuotes_PetDataIsMigratedCorrectly() throws IOException {
         load(factory, getFile("csv", "pets/schema.gql"));